@@ -0,0 +1,195 @@
+package com.hexaware.cms.bench;
+
+import com.hexaware.cms.service.SectionAttendance;
+import com.hexaware.cms.util.RoaringBitmap;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// 20k students x 200 sessions (~85% attendance, one in eight students a chronic absentee).
+// The bitmap store is compared with the row-per-record layout it replaces, held in memory with
+// a by-student index so the baseline gets the same access paths a database would. Memory for
+// both is printed once per trial; the blob figure is what attendance_sessions stores on disk.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 3)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class AttendanceBenchmark {
+
+    private static final LocalDate TERM_START = LocalDate.of(2025, 1, 6);
+
+    // Baseline layout: what one attendance row per student per session looks like in memory
+    public record AttendanceRow(String studentId, LocalDate date, int period, boolean present) {}
+
+    @Param({"20000"})
+    public int students;
+
+    @Param({"200"})
+    public int sessions;
+
+    private String[] ids;
+    private SectionAttendance section;
+    private List<byte[]> blobs;
+    private List<AttendanceRow> rows;
+    private Map<String, List<AttendanceRow>> rowsByStudent;
+    private RoaringBitmap replacement;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SplittableRandom seed = new SplittableRandom(17);
+        ids = new String[students];
+        for (int i = 0; i < students; i++) {
+            ids[i] = "STU" + i;
+        }
+        double[] attendance = new double[students];
+        for (int i = 0; i < students; i++) {
+            attendance[i] = seed.nextInt(8) == 0 ? 0.55 + seed.nextDouble() * 0.2 : 0.85 + seed.nextDouble() * 0.13;
+        }
+        boolean[][] present = new boolean[sessions][students];
+        for (int s = 0; s < sessions; s++) {
+            for (int i = 0; i < students; i++) {
+                present[s][i] = seed.nextDouble() < attendance[i];
+            }
+        }
+
+        long before = usedHeap();
+        section = new SectionAttendance(1);
+        for (int i = 0; i < students; i++) {
+            section.addToRoster(ids[i], i);
+        }
+        section.setActive(RoaringBitmap.range(0, students));
+        blobs = new ArrayList<>(sessions);
+        for (int s = 0; s < sessions; s++) {
+            RoaringBitmap bitmap = new RoaringBitmap();
+            for (int i = 0; i < students; i++) {
+                if (present[s][i]) {
+                    bitmap.add(i);
+                }
+            }
+            bitmap.runOptimize();
+            blobs.add(bitmap.serialize());
+            section.putSession(key(s), bitmap, students);
+        }
+        long bitmapHeap = usedHeap() - before;
+
+        before = usedHeap();
+        rows = new ArrayList<>(students * sessions);
+        rowsByStudent = new HashMap<>(students * 2);
+        for (int s = 0; s < sessions; s++) {
+            LocalDate date = key(s).date();
+            for (int i = 0; i < students; i++) {
+                AttendanceRow row = new AttendanceRow(ids[i], date, 1, present[s][i]);
+                rows.add(row);
+                rowsByStudent.computeIfAbsent(row.studentId(), id -> new ArrayList<>(sessions)).add(row);
+            }
+        }
+        long rowHeap = usedHeap() - before;
+
+        long blobBytes = blobs.stream().mapToLong(blob -> blob.length).sum();
+        Map<String, Object> summary = section.summary();
+        System.out.printf("%n[memory] bitmaps: %,d bytes estimated / %,d bytes measured heap (incl. roster), %,d bytes stored%n",
+                (long) summary.get("bitmapHeapBytes"), bitmapHeap, blobBytes);
+        System.out.printf("[memory] rows: %,d records, %,d bytes measured heap (incl. by-student index)%n",
+                (long) rows.size(), rowHeap);
+
+        replacement = RoaringBitmap.deserialize(blobs.get(0));
+        random = new SplittableRandom(5);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<SectionAttendance.StudentAttendance> bitmapBelow75() {
+        return section.below(75);
+    }
+
+    // Baseline: GROUP BY student over every row, then filter
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<String> rowsBelow75() {
+        Map<String, int[]> counts = new HashMap<>(students * 2);
+        for (AttendanceRow row : rows) {
+            int[] c = counts.computeIfAbsent(row.studentId(), id -> new int[2]);
+            c[0] += row.present() ? 1 : 0;
+            c[1]++;
+        }
+        List<String> below = new ArrayList<>();
+        counts.forEach((id, c) -> {
+            if (c[0] * 100 < 75 * c[1]) {
+                below.add(id);
+            }
+        });
+        return below;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public SectionAttendance.StudentAttendance bitmapStudentPercentage() {
+        return section.student(ids[random.nextInt(students)]);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public double rowsStudentPercentage() {
+        List<AttendanceRow> history = rowsByStudent.get(ids[random.nextInt(students)]);
+        int attended = 0;
+        for (AttendanceRow row : history) {
+            attended += row.present() ? 1 : 0;
+        }
+        return attended * 100.0 / history.size();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<SectionAttendance.SessionKey> bitmapStudentAbsences() {
+        return section.absences(ids[random.nextInt(students)]);
+    }
+
+    // Roster AND-NOT the OR of a week's sessions
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<String> bitmapAbsentAllWeek() {
+        int first = random.nextInt(sessions - 5);
+        return section.absentThroughout(key(first).date(), key(first + 4).date());
+    }
+
+    // Re-recording a session only touches the students whose bit changed
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void bitmapRecordSession() {
+        section.putSession(key(random.nextInt(sessions)), replacement, students);
+    }
+
+    // Cold load of the whole section from its stored blobs
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public SectionAttendance bitmapLoadFromBlobs() {
+        SectionAttendance loaded = new SectionAttendance(2);
+        for (int i = 0; i < students; i++) {
+            loaded.addToRoster(ids[i], i);
+        }
+        for (int s = 0; s < sessions; s++) {
+            loaded.putSession(key(s), RoaringBitmap.deserialize(blobs.get(s)), students);
+        }
+        return loaded;
+    }
+
+    private static SectionAttendance.SessionKey key(int session) {
+        return new SectionAttendance.SessionKey(TERM_START.plusDays(session), 1);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,65 @@
+package com.hexaware.cms.bench;
+
+import com.hexaware.cms.dto.AuthResponse;
+import com.hexaware.cms.model.Role;
+import com.hexaware.cms.model.UserPrincipal;
+import com.hexaware.cms.repository.UserRepository;
+import com.hexaware.cms.service.AuthService;
+import com.hexaware.cms.service.PasswordHashingExecutor;
+import com.hexaware.cms.service.UserPrincipalCache;
+import com.hexaware.cms.util.JwtUtil;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+// BCrypt dominates here, so report per-op latency rather than ops/ms
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class AuthServiceBenchmark {
+
+    private AuthService authService;
+    private PasswordHashingExecutor hashingExecutor;
+
+    @Setup
+    public void setup() {
+        // Same encoder as SecurityConfig.passwordEncoder()
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
+        UserPrincipal principal = new UserPrincipal(1L, "student@hexaware.college", "Student",
+                encoder.encode("secret123"), Role.STUDENT);
+
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        Mockito.when(userRepository.findPrincipalByEmail("student@hexaware.college"))
+                .thenReturn(Optional.of(principal));
+
+        authService = new AuthService();
+        ReflectionTestUtils.setField(authService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(authService, "userPrincipalCache",
+                new UserPrincipalCache(userRepository, 10_000, 600_000L));
+        hashingExecutor = new PasswordHashingExecutor(encoder, 0, 1024, 1, 0, 256);
+        ReflectionTestUtils.setField(authService, "passwordHashingExecutor", hashingExecutor);
+        ReflectionTestUtils.setField(authService, "ioExecutor", (Executor) Runnable::run);
+        ReflectionTestUtils.setField(authService, "jwtUtil",
+                new JwtUtil(JwtBenchmark.SECRET, 86_400_000L, 0, 0));
+    }
+
+    @TearDown
+    public void tearDown() {
+        hashingExecutor.destroy();
+    }
+
+    // Caller blocks on the hashing pool, like a request thread waiting on the async result
+    @Benchmark
+    @Threads(Threads.MAX)
+    public AuthResponse login() {
+        return authService.login("student@hexaware.college", "secret123").join();
+    }
+}
@@ -0,0 +1,25 @@
+package com.hexaware.cms.bench;
+
+import com.hexaware.cms.CollegeManagementApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// Boots the real application against a private in-memory H2 database for benchmarks
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {}
+
+    static ConfigurableApplicationContext start(String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "--logging.level.root=WARN",
+                "--logging.level.com.hexaware.cms=WARN"));
+        args.addAll(List.of(extraArgs));
+        return SpringApplication.run(CollegeManagementApplication.class, args.toArray(new String[0]));
+    }
+}
@@ -0,0 +1,109 @@
+package com.hexaware.cms.bench;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * End-to-end latency of loading the dashboard against a running backend, the way the
+ * browser does it: the old page fires GET /api/students, /api/courses, /api/fees and
+ * /api/fees/summary in parallel and renders once all four are back; the new one makes a
+ * single GET /api/dashboard with the fields it shows. Each "user" repeats page loads back
+ * to back; per-load wall time and bytes received are reported as p50 / p95 / p99.
+ *
+ * <pre>
+ * java src/jmh/java/com/hexaware/cms/bench/DashboardLatencyCheck.java http://localhost:8080 16 200 [bearer token]
+ * </pre>
+ *
+ * Arguments: base URL, concurrent users, page loads per user and mode, optional JWT (each
+ * request then also pays the token check, as the frontend's requests do).
+ */
+public final class DashboardLatencyCheck {
+
+    private static final String[] FAN_OUT = {"/api/students", "/api/courses", "/api/fees", "/api/fees/summary"};
+    private static final String AGGREGATE = "/api/dashboard?fields=students,courses,fees.totalFeesCollected,fees.totalOutstanding";
+
+    private DashboardLatencyCheck() {}
+
+    public static void main(String[] args) throws Exception {
+        String base = args.length > 0 ? args[0] : "http://localhost:8080";
+        int users = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        int loads = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+        String token = args.length > 3 ? args[3] : null;
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        List<HttpRequest> fanOut = new ArrayList<>();
+        for (String path : FAN_OUT) {
+            fanOut.add(request(base + path, token));
+        }
+        List<HttpRequest> aggregate = List.of(request(base + AGGREGATE, token));
+
+        // Warm-up: JIT, connection pools, caches on both paths
+        run(client, fanOut, Math.min(users, 4), 50);
+        run(client, aggregate, Math.min(users, 4), 50);
+
+        report("fan-out (4 requests)", run(client, fanOut, users, loads));
+        report("aggregate (1 request)", run(client, aggregate, users, loads));
+    }
+
+    private record Result(long[] nanos, long bytes, long errors) {}
+
+    private static Result run(HttpClient client, List<HttpRequest> page, int users, int loads) throws Exception {
+        long[] nanos = new long[users * loads];
+        AtomicLong bytes = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        ExecutorService threads = Executors.newFixedThreadPool(users);
+        List<CompletableFuture<Void>> running = new ArrayList<>();
+        for (int u = 0; u < users; u++) {
+            int user = u;
+            running.add(CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < loads; i++) {
+                    long start = System.nanoTime();
+                    List<CompletableFuture<HttpResponse<byte[]>>> responses = new ArrayList<>(page.size());
+                    for (HttpRequest request : page) {
+                        responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()));
+                    }
+                    for (CompletableFuture<HttpResponse<byte[]>> response : responses) {
+                        HttpResponse<byte[]> r = response.join();
+                        bytes.addAndGet(r.body().length);
+                        if (r.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                    nanos[user * loads + i] = System.nanoTime() - start;
+                }
+            }, threads));
+        }
+        CompletableFuture.allOf(running.toArray(new CompletableFuture[0])).join();
+        threads.shutdown();
+        return new Result(nanos, bytes.get() / nanos.length, errors.get());
+    }
+
+    private static void report(String mode, Result result) {
+        long[] sorted = result.nanos().clone();
+        Arrays.sort(sorted);
+        System.out.printf("%-22s p50 %7.2f ms  p95 %7.2f ms  p99 %7.2f ms  %,9d bytes/load  %d non-200%n",
+                mode, millis(sorted, 0.50), millis(sorted, 0.95), millis(sorted, 0.99), result.bytes(), result.errors());
+    }
+
+    private static double millis(long[] sorted, double quantile) {
+        return sorted[Math.min(sorted.length - 1, (int) (quantile * sorted.length))] / 1_000_000.0;
+    }
+
+    private static HttpRequest request(String url, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(10)).GET();
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+}
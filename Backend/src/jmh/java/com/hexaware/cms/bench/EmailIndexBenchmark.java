@@ -0,0 +1,85 @@
+package com.hexaware.cms.bench;
+
+import com.hexaware.cms.util.EmailHashSet;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Registered-email index at 1M users: the hashed open-addressing set behind check-email and
+// registration, against the HashSet<String> it avoids. Heap per million users for both is
+// printed once per trial; lookups are timed for taken and free addresses on 8 threads.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 3)
+@Threads(8)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class EmailIndexBenchmark {
+
+    @Param({"1000000"})
+    public int users;
+
+    private EmailHashSet index;
+    private Set<String> baseline;
+    private String[] taken;
+    private String[] free;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        taken = new String[users];
+        for (int i = 0; i < users; i++) {
+            taken[i] = "student" + i + "@hexaware.college";
+        }
+        free = new String[4096];
+        for (int i = 0; i < free.length; i++) {
+            free[i] = "applicant" + i + "@hexaware.college";
+        }
+
+        long before = usedHeap();
+        index = new EmailHashSet(users);
+        for (String email : taken) {
+            index.add(email);
+        }
+        long indexHeap = usedHeap() - before;
+
+        before = usedHeap();
+        baseline = new HashSet<>(users * 2);
+        for (String email : taken) {
+            baseline.add(new String(email.toCharArray())); // own copies, as rows loaded from the database would be
+        }
+        long baselineHeap = usedHeap() - before;
+
+        double perMillion = 1_000_000.0 / users;
+        System.out.printf("%n[memory] EmailHashSet: %,d bytes table / %,d measured (%,.0f bytes per 1M users, %.1f per user)%n",
+                index.sizeInBytes(), indexHeap, indexHeap * perMillion, (double) indexHeap / users);
+        System.out.printf("[memory] HashSet<String>: %,d measured (%,.0f bytes per 1M users, %.1f per user)%n",
+                baselineHeap, baselineHeap * perMillion, (double) baselineHeap / users);
+    }
+
+    @Benchmark
+    public boolean indexTaken() {
+        return index.contains(taken[ThreadLocalRandom.current().nextInt(users)]);
+    }
+
+    @Benchmark
+    public boolean indexFree() {
+        return index.contains(free[ThreadLocalRandom.current().nextInt(free.length)]);
+    }
+
+    @Benchmark
+    public boolean hashSetTaken() {
+        return baseline.contains(taken[ThreadLocalRandom.current().nextInt(users)]);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,147 @@
+package com.hexaware.cms.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seeds N fee rows and downloads /api/fees/export as CSV and XLSX, reporting time to first
+ * byte, total time, size and the server's peak heap while streaming. With a constant-memory
+ * export the heap peak should not move between 100k and 1M rows.
+ *
+ * <pre>
+ * mvn -Pbenchmarks test-compile exec:exec -Dbench.main=com.hexaware.cms.bench.FeeExportLoadTest -Djmh.args="1000000"
+ * </pre>
+ */
+public final class FeeExportLoadTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final long FIRST_SEEDED_ID = 10_000_000L; // clear of fees_seq
+    private static final int SEED_BATCH = 5_000;
+    private static final String[] STATUSES = {"Pending", "Partial", "Paid"};
+
+    private FeeExportLoadTest() {}
+
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        String[] appArgs = args.length > 1 ? Arrays.copyOfRange(args, 1, args.length) : new String[0];
+
+        ConfigurableApplicationContext context = BenchmarkApplication.start(appArgs);
+        String base = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        long seedStart = System.nanoTime();
+        seed(context.getBean(JdbcTemplate.class), rows);
+        System.out.printf("seeded %,d fees in %.1f s%n", rows, (System.nanoTime() - seedStart) / 1e9);
+
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        String token = register(client, base);
+
+        for (String path : List.of("/api/fees/export?format=csv", "/api/fees/export?format=xlsx",
+                "/api/fees/export?format=csv&paymentStatus=Paid")) {
+            download(client, base + path, token); // warm-up
+            System.gc();
+            long idleHeap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+            HeapSampler sampler = new HeapSampler();
+            Download result = download(client, base + path, token);
+            sampler.stop();
+            System.out.printf("%-48s status=%d first byte %7.1f ms  total %7.2f s  %,12d bytes  heap %,d MB idle -> %,d MB peak%n",
+                    path, result.status, result.firstByteNanos / 1e6, result.totalNanos / 1e9, result.bytes,
+                    idleHeap >> 20, sampler.peak >> 20);
+        }
+
+        context.close();
+        System.exit(0);
+    }
+
+    private static void seed(JdbcTemplate jdbc, int rows) {
+        String sql = "insert into fees (id, student_id, student_name, course, semester, total_fees, fee_paid, balance_due, "
+                + "last_payment_date, last_payment_amount, payment_status, due_date, version) "
+                + "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+        LocalDate due = LocalDate.of(2025, 6, 30);
+        for (int from = 0; from < rows; from += SEED_BATCH) {
+            List<Object[]> batch = new ArrayList<>(SEED_BATCH);
+            for (int i = from; i < Math.min(rows, from + SEED_BATCH); i++) {
+                long total = 50_000 + (i % 7) * 5_000;
+                long paid = i % 3 == 0 ? 0 : i % 3 == 1 ? total / 2 : total;
+                batch.add(new Object[] {
+                        FIRST_SEEDED_ID + i, "STU" + i, "Student, \"" + i + "\"", "Course " + (i % 20),
+                        "Semester " + (1 + i % 8), total, paid, total - paid,
+                        paid > 0 ? Date.valueOf(due.minusDays(i % 90)) : null, paid > 0 ? paid : 0,
+                        STATUSES[i % 3], Date.valueOf(due)
+                });
+            }
+            jdbc.batchUpdate(sql, batch);
+        }
+    }
+
+    private static Download download(HttpClient client, String url, String token) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<InputStream> response = client.send(HttpRequest.newBuilder(URI.create(url))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofMinutes(10))
+                .GET()
+                .build(), HttpResponse.BodyHandlers.ofInputStream());
+        long firstByte = 0;
+        long bytes = 0;
+        byte[] buffer = new byte[1 << 16];
+        try (InputStream body = response.body()) {
+            int n;
+            while ((n = body.read(buffer)) >= 0) {
+                if (bytes == 0 && n > 0) {
+                    firstByte = System.nanoTime() - start;
+                }
+                bytes += n;
+            }
+        }
+        return new Download(response.statusCode(), firstByte, System.nanoTime() - start, bytes);
+    }
+
+    private static String register(HttpClient client, String base) throws IOException, InterruptedException {
+        String body = "{\"name\":\"Export Test\",\"email\":\"export-" + System.nanoTime()
+                + "@hexaware.college\",\"password\":\"secret123\"}";
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(base + "/api/auth/register"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        JsonNode json = JSON.readTree(response.body());
+        if (!json.hasNonNull("token")) {
+            throw new IllegalStateException("Registration failed: " + response.statusCode() + " " + response.body());
+        }
+        return json.get("token").asText();
+    }
+
+    private record Download(int status, long firstByteNanos, long totalNanos, long bytes) {}
+
+    // Peak heap in use while the export runs (client and server share the JVM, so this is an upper bound)
+    private static final class HeapSampler {
+        private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+        volatile long peak;
+
+        HeapSampler() {
+            timer.scheduleAtFixedRate(() -> peak = Math.max(peak,
+                    ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed()), 0, 50, TimeUnit.MILLISECONDS);
+        }
+
+        void stop() {
+            timer.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.hexaware.cms.bench;
+
+import com.hexaware.cms.util.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    static final String SECRET = "ThisIsASecretKeyForJWTGeneration123456";
+
+    private JwtUtil uncached;
+    private JwtUtil cached;
+    private String token;
+
+    @Setup
+    public void setup() {
+        uncached = new JwtUtil(SECRET, 86_400_000L, 0, 0);
+        cached = new JwtUtil(SECRET, 86_400_000L, 10_000, 300_000L);
+        token = uncached.generateToken("student@hexaware.college");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return uncached.generateToken("student@hexaware.college");
+    }
+
+    @Benchmark
+    public String getSubject() {
+        return uncached.getSubject(token);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return uncached.validateToken(token, "student@hexaware.college");
+    }
+
+    @Benchmark
+    public String getSubjectCached() {
+        return cached.getSubject(token);
+    }
+}
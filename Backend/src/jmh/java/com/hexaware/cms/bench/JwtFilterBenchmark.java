@@ -0,0 +1,51 @@
+package com.hexaware.cms.bench;
+
+import com.hexaware.cms.filter.JwtAuthenticationFilter;
+import com.hexaware.cms.service.TokenRevocationService;
+import com.hexaware.cms.util.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    @Param({"true", "false"})
+    public boolean tokenCache;
+
+    private JwtAuthenticationFilter filter;
+    private String authorization;
+
+    @Setup
+    public void setup() {
+        JwtUtil jwtUtil = tokenCache
+                ? new JwtUtil(JwtBenchmark.SECRET, 86_400_000L, 10_000, 300_000L)
+                : new JwtUtil(JwtBenchmark.SECRET, 86_400_000L, 0, 0);
+        filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(filter, "tokenRevocationService",
+                new TokenRevocationService(3_600_000L, 100_000, 0.01, 30_000L));
+        authorization = "Bearer " + jwtUtil.generateToken("student@hexaware.college");
+    }
+
+    @Benchmark
+    public Object doFilterInternal() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/students");
+        request.addHeader("Authorization", authorization);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
@@ -0,0 +1,72 @@
+package com.hexaware.cms.bench;
+
+import com.hexaware.cms.ledger.PaymentJournal;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Durable appends per second; with group commit, more writers share each fsync.
+// Compare ops/s across the three thread counts and the avgBatchSize printed at teardown.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class LedgerBenchmark {
+
+    private static final int FEE_ACCOUNTS = 10_000;
+
+    // Small segments so rollover happens during the run
+    @Param({"4194304"})
+    public int segmentSize;
+
+    private Path directory;
+    private PaymentJournal journal;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("ledger-bench");
+        journal = PaymentJournal.open(directory, segmentSize, 512, 65_536);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown(BenchmarkParams params) throws IOException {
+        System.out.println();
+        System.out.println(params.getBenchmark() + " threads=" + params.getThreads() + " " + journal.stats());
+        journal.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public PaymentJournal.Entry append_1writer() {
+        return append();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public PaymentJournal.Entry append_8writers() {
+        return append();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public PaymentJournal.Entry append_64writers() {
+        return append();
+    }
+
+    private PaymentJournal.Entry append() {
+        long feeId = ThreadLocalRandom.current().nextInt(FEE_ACCOUNTS);
+        return journal.append(feeId, 100, Long.MAX_VALUE, 0).join();
+    }
+}
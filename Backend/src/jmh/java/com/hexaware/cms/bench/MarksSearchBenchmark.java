@@ -0,0 +1,109 @@
+package com.hexaware.cms.bench;
+
+import com.hexaware.cms.controller.StudentController;
+import com.hexaware.cms.repository.StudentRepository;
+import com.hexaware.cms.service.MarksSearchIndex;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// In-memory index vs. the LIKE-based repository query at 100k students x 8 subjects
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class MarksSearchBenchmark {
+
+    private static final String[] FIRST = {"Rajesh", "Priya", "Amit", "Sneha", "Vikas", "Anjali", "Rahul", "Divya",
+            "Karthik", "Meera", "Arjun", "Pooja", "Suresh", "Kavya", "Naveen", "Lakshmi"};
+    private static final String[] LAST = {"Kumar", "Sharma", "Reddy", "Iyer", "Nair", "Patel", "Singh", "Gupta"};
+    private static final String[] COURSES = {"Computer Science Engineering", "Information Technology",
+            "Electronics and Communication", "Mechanical Engineering", "Civil Engineering"};
+    private static final String[] SUBJECTS = {"Data Structures", "Database Management", "Web Development",
+            "Operating Systems", "Computer Networks", "Software Engineering", "Discrete Mathematics",
+            "Digital Electronics", "Thermodynamics", "Structural Analysis", "Signals and Systems", "Compiler Design"};
+
+    @Param({"100000"})
+    public int students;
+
+    @Param({"raj", "priya sha", "hms0420", "data str"})
+    public String query;
+
+    private ConfigurableApplicationContext context;
+    private MarksSearchIndex index;
+    private StudentRepository studentRepository;
+    private StudentController studentController;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkApplication.start();
+        seed(context.getBean(JdbcTemplate.class), students);
+        index = context.getBean(MarksSearchIndex.class);
+        index.rebuild();
+        studentRepository = context.getBean(StudentRepository.class);
+        studentController = context.getBean(StudentController.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object indexSearch() {
+        return index.search(query, 20);
+    }
+
+    @Benchmark
+    public Object repositorySearch() {
+        return studentRepository.searchByText(query, PageRequest.of(0, 20));
+    }
+
+    // Index lookup plus building the marks payload, as served by /api/marks/search
+    @Benchmark
+    public Object controllerSearch() {
+        return studentController.searchMarks(query, null, 20).getBody();
+    }
+
+    static void seed(JdbcTemplate jdbc, int count) {
+        Random random = new Random(42);
+        jdbc.update("delete from marks");
+        jdbc.update("delete from students");
+        List<Object[]> studentRows = new ArrayList<>();
+        List<Object[]> markRows = new ArrayList<>();
+        long markId = 1;
+        for (int i = 0; i < count; i++) {
+            String studentId = String.format("HMS%06d", i);
+            String course = COURSES[random.nextInt(COURSES.length)];
+            studentRows.add(new Object[]{(long) i + 1, studentId,
+                    FIRST[random.nextInt(FIRST.length)] + " " + LAST[random.nextInt(LAST.length)],
+                    studentId.toLowerCase() + "@hexaware.college", course, "Fall 2024", course});
+            int offset = random.nextInt(SUBJECTS.length);
+            for (int s = 0; s < 8; s++) {
+                markRows.add(new Object[]{markId++, studentId, SUBJECTS[(offset + s) % SUBJECTS.length],
+                        35 + random.nextInt(66), 100, "Fall 2024"});
+            }
+            if (studentRows.size() == 5_000) {
+                flush(jdbc, studentRows, markRows);
+            }
+        }
+        flush(jdbc, studentRows, markRows);
+    }
+
+    private static void flush(JdbcTemplate jdbc, List<Object[]> studentRows, List<Object[]> markRows) {
+        jdbc.batchUpdate("insert into students (id, student_id, student_name, email, course, semester, department) "
+                + "values (?, ?, ?, ?, ?, ?, ?)", studentRows);
+        jdbc.batchUpdate("insert into marks (id, student_id, subject_name, marks, max_marks, semester) "
+                + "values (?, ?, ?, ?, ?, ?)", markRows);
+        studentRows.clear();
+        markRows.clear();
+    }
+}
@@ -0,0 +1,153 @@
+package com.hexaware.cms.bench;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.hexaware.cms.controller.CourseController;
+import com.hexaware.cms.dto.CourseResponse;
+import com.hexaware.cms.dto.FeeResponse;
+import com.hexaware.cms.dto.StudentResponse;
+import com.hexaware.cms.model.Course;
+import com.hexaware.cms.model.Fee;
+import com.hexaware.cms.model.Student;
+import com.hexaware.cms.repository.CourseRepository;
+import com.hexaware.cms.service.EnrollmentService;
+import com.hexaware.cms.service.StudentService;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Before/after for the typed response records. The *Entity / *Map variants serialize the way the
+// controllers used to (entities and per-row HashMaps on a plain mapper); the *Dto variants map
+// to the dto records and write through the Blackbird-enabled mapper, as the controllers do now.
+// Run with the GC profiler for the allocation side:
+//   java -jar target/benchmarks.jar PayloadSerializationBenchmark -prof gc
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayloadSerializationBenchmark {
+
+    // Same date handling as the Boot-configured mapper (ISO strings, not timestamps)
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    // What JacksonConfig adds to the application's mapper
+    private final ObjectMapper dtoMapper = new ObjectMapper().findAndRegisterModules()
+            .registerModule(new BlackbirdModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final ObjectWriter studentListWriter = dtoMapper.writerFor(new TypeReference<List<StudentResponse>>() {});
+    private final ObjectWriter courseListWriter = dtoMapper.writerFor(new TypeReference<List<CourseResponse>>() {});
+    private final ObjectWriter feeListWriter = dtoMapper.writerFor(new TypeReference<List<FeeResponse>>() {});
+
+    private List<Student> studentPage;
+    private CourseController courseController;
+    private List<Course> courseRows;
+    private List<Fee> feePage;
+
+    @Setup
+    public void setup() {
+        courseController = new CourseController();
+        CourseRepository courseRepository = Mockito.mock(CourseRepository.class);
+        List<Course> courses = List.of(
+                new Course("CSE301", "Advanced Data Structures", "Computer Science", 4, "16 weeks",
+                        "Dr. Vikas Kumar", "Mon, Wed, Fri 9:00-10:30 AM", "Room A-101",
+                        "Advanced concepts in data structures and algorithms", "CSE201 - Basic Data Structures",
+                        28, 35, "Fall 2024"),
+                new Course("CSE401", "Database Management Systems", "Computer Science", 3, "16 weeks",
+                        "Prof. Hexaware Singh", "Tue, Thu 2:00-3:30 PM", "Room B-205",
+                        "Comprehensive study of database design and management", "CSE202 - Introduction to Databases",
+                        32, 40, "Fall 2024"));
+        for (int i = 0; i < courses.size(); i++) {
+            courses.get(i).setId((long) i + 1);
+        }
+        courseRows = courses;
+        Mockito.when(courseRepository.findAllByOrderByIdAsc()).thenReturn(courses);
+        ReflectionTestUtils.setField(courseController, "courseRepository", courseRepository);
+        ReflectionTestUtils.setField(courseController, "enrollmentService", Mockito.mock(EnrollmentService.class));
+        // One default-sized /api/students page
+        studentPage = new ArrayList<>();
+        for (int i = 0; i < StudentService.DEFAULT_PAGE_SIZE; i++) {
+            Student student = new Student(String.format("HMS%05d", i), "Student " + i, "student" + i + "@hexaware.college",
+                    "Computer Science Engineering", "Fall 2024", "Computer Science");
+            student.setId((long) i + 1);
+            studentPage.add(student);
+        }
+        feePage = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Fee fee = new Fee(String.format("HMS%05d", i), "Student " + i, "Computer Science Engineering",
+                    "Fall 2024", 75_000, LocalDate.of(2024, 3, 15));
+            fee.setId((long) i + 1);
+            fee.applyPaid(i % 3 == 0 ? 75_000 : 50_000);
+            fee.setLastPaymentAmount(25_000);
+            fee.setLastPaymentDate(LocalDate.of(2024, 1, 15));
+            feePage.add(fee);
+        }
+    }
+
+    @Benchmark
+    public byte[] studentsEntity() throws Exception {
+        return objectMapper.writeValueAsBytes(studentPage);
+    }
+
+    @Benchmark
+    public byte[] studentsDto() throws Exception {
+        return studentListWriter.writeValueAsBytes(studentPage.stream().map(StudentResponse::from).toList());
+    }
+
+    // Builds the payload like the controller used to per request, then serializes it
+    @Benchmark
+    public byte[] coursesMap() throws Exception {
+        List<Map<String, Object>> body = new ArrayList<>();
+        for (Course course : courseRows) {
+            body.add(courseMap(course));
+        }
+        return objectMapper.writeValueAsBytes(body);
+    }
+
+    @Benchmark
+    public byte[] coursesDto() throws Exception {
+        List<CourseResponse> body = courseController.getAllCourses().getBody();
+        return courseListWriter.writeValueAsBytes(body);
+    }
+
+    @Benchmark
+    public byte[] feesEntity() throws Exception {
+        return objectMapper.writeValueAsBytes(feePage);
+    }
+
+    @Benchmark
+    public byte[] feesDto() throws Exception {
+        return feeListWriter.writeValueAsBytes(feePage.stream().map(FeeResponse::from).toList());
+    }
+
+    private static Map<String, Object> courseMap(Course course) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("id", String.valueOf(course.getId()));
+        response.put("courseCode", course.getCourseCode());
+        response.put("courseName", course.getCourseName());
+        response.put("department", course.getDepartment());
+        response.put("credits", course.getCredits());
+        response.put("duration", course.getDuration());
+        response.put("instructor", course.getInstructor());
+        response.put("schedule", course.getSchedule());
+        response.put("classroom", course.getClassroom());
+        response.put("description", course.getDescription());
+        response.put("prerequisites", course.getPrerequisites());
+        response.put("enrolledStudents", course.getEnrolledStudents());
+        response.put("maxCapacity", course.getMaxCapacity());
+        response.put("semester", course.getSemester());
+        return response;
+    }
+}
@@ -0,0 +1,46 @@
+package com.hexaware.cms.bench;
+
+import com.hexaware.cms.util.TokenBucketLimiter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Cost of the login throttle itself, on 16 threads: one attacker key hammered by every thread
+// (CAS contention on a single bucket, almost all rejected), and a spread of 100k client keys
+// (map lookups, mostly allowed). Both should stay in the tens of nanoseconds, far below the
+// ~100 ms BCrypt comparison the limiter is protecting.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 3)
+@Threads(16)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    @Param({"100000"})
+    public int keys;
+
+    private TokenBucketLimiter limiter;
+    private String[] clients;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        limiter = new TokenBucketLimiter(20, TimeUnit.MINUTES.toNanos(1), 1_000_000);
+        clients = new String[keys];
+        for (int i = 0; i < keys; i++) {
+            clients[i] = "10." + (i >> 16 & 255) + "." + (i >> 8 & 255) + "." + (i & 255);
+        }
+    }
+
+    @Benchmark
+    public long hotKey() {
+        return limiter.tryAcquire("203.0.113.7");
+    }
+
+    @Benchmark
+    public long spreadKeys() {
+        return limiter.tryAcquire(clients[ThreadLocalRandom.current().nextInt(keys)]);
+    }
+}
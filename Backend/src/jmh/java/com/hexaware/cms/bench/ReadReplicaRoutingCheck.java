@@ -0,0 +1,169 @@
+package com.hexaware.cms.bench;
+
+import com.hexaware.cms.datasource.ReadWriteRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Two separate in-memory H2 databases stand in for the primary and the replica, each
+ * holding a different marker row, so every query shows which one it actually reached.
+ * Checks the routing rules of ReadWriteRoutingDataSource (read-only transactions to the
+ * replica, writes and non-transactional work to the primary, read-your-writes within a
+ * request, onPrimary), then runs a mixed read/write load and prints the per-pool
+ * utilization that /api/metrics reports. Exits 1 if any routing check fails.
+ *
+ * <pre>
+ * mvn -Pbenchmarks test-compile exec:exec -Dbench.main=com.hexaware.cms.bench.ReadReplicaRoutingCheck -Djmh.args="16 4 10"
+ * </pre>
+ *
+ * Arguments: reader threads, writer threads, load seconds.
+ */
+public final class ReadReplicaRoutingCheck {
+
+    private static int failures;
+
+    private ReadReplicaRoutingCheck() {}
+
+    public static void main(String[] args) throws Exception {
+        int readers = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        int writers = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        HikariDataSource primary = pool("primary", "jdbc:h2:mem:rw_primary;DB_CLOSE_DELAY=-1", 10, false);
+        HikariDataSource replica = pool("replica", "jdbc:h2:mem:rw_replica;DB_CLOSE_DELAY=-1", 10, true);
+        for (HikariDataSource db : List.of(primary, replica)) {
+            // Seeded directly: the replica pool itself is read-only
+            try (Connection connection = DriverManager.getConnection(db.getJdbcUrl(), "sa", "");
+                 Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE node (name VARCHAR(16))");
+                statement.execute("INSERT INTO node VALUES ('" + db.getPoolName() + "')");
+                statement.execute("CREATE TABLE payment (id BIGINT AUTO_INCREMENT PRIMARY KEY, amount BIGINT)");
+            }
+        }
+
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, replica);
+        routing.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        TransactionTemplate write = new TransactionTemplate(transactionManager);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        // Outside a request (schedulers, async work): the read-only flag alone decides
+        expect("read-only transaction", "replica", readOnly.execute(status -> node(jdbc)));
+        expect("read-write transaction", "primary", write.execute(status -> node(jdbc)));
+        expect("no transaction", "primary", node(jdbc));
+        expect("read-only inside onPrimary", "primary",
+                ReadWriteRoutingDataSource.onPrimary(() -> readOnly.execute(status -> node(jdbc))));
+
+        // Within one request: reads go to the replica until the request writes
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        try {
+            expect("request, read before write", "replica", readOnly.execute(status -> node(jdbc)));
+            write.executeWithoutResult(status -> jdbc.update("INSERT INTO payment (amount) VALUES (100)"));
+            expect("request, read after write", "primary", readOnly.execute(status -> node(jdbc)));
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        try {
+            expect("next request, read", "replica", readOnly.execute(status -> node(jdbc)));
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+
+        // Mixed load: heavy read-only queries against short writes
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder reads = new LongAdder();
+        LongAdder writes = new LongAdder();
+        ExecutorService threads = Executors.newFixedThreadPool(readers + writers);
+        for (int i = 0; i < readers; i++) {
+            threads.submit(() -> {
+                while (running.get()) {
+                    readOnly.execute(status -> jdbc.queryForObject("SELECT COUNT(*) FROM SYSTEM_RANGE(1, 200000)", Long.class));
+                    reads.increment();
+                }
+            });
+        }
+        for (int i = 0; i < writers; i++) {
+            threads.submit(() -> {
+                while (running.get()) {
+                    write.executeWithoutResult(status -> jdbc.update("INSERT INTO payment (amount) VALUES (?)", 250));
+                    writes.increment();
+                }
+            });
+        }
+        List<Double> primaryUtilization = new ArrayList<>();
+        List<Double> replicaUtilization = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        while (System.nanoTime() < deadline) {
+            Thread.sleep(500);
+            Map<String, Object> stats = routing.stats();
+            primaryUtilization.add((double) stats.get("primary.utilization"));
+            replicaUtilization.add((double) stats.get("replica.utilization"));
+        }
+        running.set(false);
+        threads.shutdown();
+        threads.awaitTermination(30, TimeUnit.SECONDS);
+
+        System.out.printf("%nload: %d readers, %d writers, %d s -> %,d reads/s, %,d writes/s%n",
+                readers, writers, seconds, reads.sum() / seconds, writes.sum() / seconds);
+        System.out.printf("mean utilization: primary %.0f%%, replica %.0f%%%n",
+                mean(primaryUtilization) * 100, mean(replicaUtilization) * 100);
+        routing.stats().forEach((key, value) -> System.out.printf("  %-22s %s%n", key, value));
+
+        primary.close();
+        replica.close();
+        if (failures > 0) {
+            System.err.printf("%n*** %d routing check(s) failed ***%n", failures);
+            System.exit(1);
+        }
+    }
+
+    private static HikariDataSource pool(String name, String url, int size, boolean readOnly) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(name);
+        pool.setJdbcUrl(url);
+        pool.setUsername("sa");
+        pool.setPassword("");
+        pool.setMaximumPoolSize(size);
+        pool.setReadOnly(readOnly);
+        return pool;
+    }
+
+    private static String node(JdbcTemplate jdbc) {
+        return jdbc.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static void expect(String check, String expected, String actual) {
+        boolean ok = expected.equals(actual);
+        if (!ok) {
+            failures++;
+        }
+        System.out.printf("%-28s -> %-8s %s%n", check, actual, ok ? "ok" : "FAILED (expected " + expected + ")");
+    }
+
+    private static double mean(List<Double> values) {
+        return values.stream().mapToDouble(Double::doubleValue).average().orElse(0);
+    }
+}
@@ -0,0 +1,95 @@
+package com.hexaware.cms.bench;
+
+import com.hexaware.cms.service.ResultEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+// Semester-end run over 50k students x 8 subjects: columnar load, full compute
+// (grades, GPA, ranks) at 1 thread vs all cores, and a single-mark correction
+// against the computed state. The compute runs include loading; subtract
+// loadColumns for the compute cost alone.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class ResultEngineBenchmark {
+
+    @Param({"50000"})
+    public int students;
+
+    @Param({"8"})
+    public int subjects;
+
+    // Students per course cohort within the semester
+    @Param({"500"})
+    public int cohortSize;
+
+    private int[] marks;
+    private ResultEngine computed;
+    private ForkJoinPool single;
+    private ForkJoinPool allCores;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SplittableRandom seed = new SplittableRandom(42);
+        marks = new int[students * subjects];
+        for (int i = 0; i < marks.length; i++) {
+            marks[i] = 35 + seed.nextInt(66);
+        }
+        single = new ForkJoinPool(1);
+        allCores = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        computed = load();
+        computed.computeAll(allCores);
+        random = new SplittableRandom(7);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        single.shutdown();
+        allCores.shutdown();
+    }
+
+    @Benchmark
+    public ResultEngine loadColumns() {
+        return load();
+    }
+
+    @Benchmark
+    public ResultEngine computeSingleThread() {
+        ResultEngine engine = load();
+        engine.computeAll(single);
+        return engine;
+    }
+
+    @Benchmark
+    public ResultEngine computeAllCores() {
+        ResultEngine engine = load();
+        engine.computeAll(allCores);
+        return engine;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int[] correctOneMark() {
+        return computed.correct(1 + random.nextInt(marks.length), 35 + random.nextInt(66));
+    }
+
+    private ResultEngine load() {
+        ResultEngine.Builder builder = ResultEngine.builder();
+        for (int s = 0; s < students; s++) {
+            String studentId = "STU" + s;
+            String course = "Course " + (s / cohortSize);
+            for (int j = 0; j < subjects; j++) {
+                int m = s * subjects + j;
+                builder.add(m + 1, studentId, "Fall 2024", course, marks[m], 100, null);
+            }
+        }
+        return builder.build();
+    }
+}
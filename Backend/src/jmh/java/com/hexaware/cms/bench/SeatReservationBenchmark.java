@@ -0,0 +1,118 @@
+package com.hexaware.cms.bench;
+
+import com.hexaware.cms.service.SeatReservationEngine;
+import com.hexaware.cms.service.SeatReservationEngine.Outcome;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Enrollment-rush stress test: 64 threads hammer a handful of courses with
+// reserve -> confirm / release / abandon while a sweeper expires abandoned holds.
+// SampleTime reports the p99 per operation; every iteration ends by checking that
+// no course was ever over-allocated and that all seats are accounted for.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Threads(64)
+@Fork(1)
+public class SeatReservationBenchmark {
+
+    private static final List<Long> HOT_COURSES = List.of(1L, 2L, 3L, 4L);
+
+    @Param({"2000"})
+    public int capacity;
+
+    // Short so abandoned holds actually expire within an iteration
+    @Param({"20"})
+    public long holdTtlMillis;
+
+    private SeatReservationEngine engine;
+    private final AtomicLong studentIds = new AtomicLong();
+    private final LongAdder reserved = new LongAdder();
+    private final LongAdder confirmed = new LongAdder();
+    private final LongAdder released = new LongAdder();
+    private final LongAdder expiredOnConfirm = new LongAdder();
+    private final LongAdder expiredBySweeper = new LongAdder();
+    private volatile boolean sweeping;
+    private Thread sweeper;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        engine = new SeatReservationEngine(holdTtlMillis, System::currentTimeMillis);
+        for (Long courseId : HOT_COURSES) {
+            engine.loadCourse(courseId, capacity, 0, List.of());
+        }
+        reserved.reset();
+        confirmed.reset();
+        released.reset();
+        expiredOnConfirm.reset();
+        expiredBySweeper.reset();
+        sweeping = true;
+        sweeper = new Thread(() -> {
+            while (sweeping) {
+                expiredBySweeper.add(engine.expireDue());
+                Thread.onSpinWait();
+            }
+        }, "hold-sweeper");
+        sweeper.start();
+    }
+
+    @TearDown(Level.Iteration)
+    public void verifyInvariant() throws InterruptedException {
+        sweeping = false;
+        sweeper.join();
+        long confirmedSeats = 0;
+        long heldSeats = 0;
+        for (Long courseId : HOT_COURSES) {
+            SeatReservationEngine.SeatCounts seats = engine.seats(courseId);
+            if (seats.confirmed() + seats.held() > capacity || seats.confirmed() > capacity) {
+                throw new IllegalStateException("Course " + courseId + " over-allocated: " + seats);
+            }
+            confirmedSeats += seats.confirmed();
+            heldSeats += seats.held();
+        }
+        long expected = reserved.sum() - released.sum() - expiredOnConfirm.sum() - expiredBySweeper.sum();
+        if (confirmedSeats != confirmed.sum() || confirmedSeats + heldSeats != expected) {
+            throw new IllegalStateException("Seat accounting mismatch: confirmed=" + confirmedSeats
+                    + " held=" + heldSeats + " expected taken=" + expected + " stats=" + engine.stats());
+        }
+        System.out.println();
+        System.out.println("invariant ok: " + engine.stats());
+    }
+
+    @Benchmark
+    public Outcome enrollmentRush() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long courseId = HOT_COURSES.get(random.nextInt(HOT_COURSES.size()));
+        String studentId = "S" + studentIds.incrementAndGet();
+        SeatReservationEngine.Result hold = engine.reserve(courseId, studentId);
+        if (hold.outcome() != Outcome.RESERVED) {
+            return hold.outcome();
+        }
+        reserved.increment();
+        int roll = random.nextInt(100);
+        if (roll < 85) {
+            Outcome outcome = engine.confirm(hold.hold().holdId()).outcome();
+            switch (outcome) {
+                case CONFIRMED -> confirmed.increment();
+                case HOLD_EXPIRED -> expiredOnConfirm.increment();
+                default -> { }
+            }
+            return outcome;
+        }
+        if (roll < 95) {
+            Outcome outcome = engine.release(hold.hold().holdId()).outcome();
+            if (outcome == Outcome.RELEASED) {
+                released.increment();
+            }
+            return outcome;
+        }
+        return Outcome.RESERVED; // abandoned: left for the sweeper
+    }
+}
@@ -0,0 +1,169 @@
+package com.hexaware.cms.bench;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Cold-start gate: time from launching the JVM to the first 200 from /api/health (which is
+ * 503 until the application is ready), for three launches of the packaged jar:
+ *
+ * <pre>
+ *   default    java -jar app.jar                                  (dev profile: ddl-auto=update, eager beans)
+ *   prod       java -Dspring.profiles.active=prod -jar app/x.jar  (extracted jar, Flyway, lazy beans)
+ *   prod+cds   the same, plus -XX:SharedArchiveFile=app.jsa       (archive from a training run)
+ * </pre>
+ *
+ * Each mode runs startup.runs times in a fresh JVM. Medians go to target/startup-result.json, and
+ * the process exits 1 when the prod+cds median exceeds startup.budget-ms, failing the build.
+ * Dependency-free so Maven can run it with the source launcher (mvn -Pstartup verify):
+ *
+ * <pre>
+ * java -Dstartup.runs=5 -Dstartup.budget-ms=8000 src/jmh/java/com/hexaware/cms/bench/StartupBenchmark.java target/app.jar
+ * </pre>
+ */
+public class StartupBenchmark {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(90);
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("usage: StartupBenchmark <path to executable jar>");
+            System.exit(2);
+        }
+        Path jar = Path.of(args[0]).toAbsolutePath();
+        int runs = Integer.getInteger("startup.runs", 5);
+        long budgetMs = Long.getLong("startup.budget-ms", 8000);
+        Path work = jar.getParent().resolve("startup");
+        deleteRecursively(work);
+        Files.createDirectories(work);
+
+        // Layout the Dockerfile ships: extracted application jar + lib/, and a CDS archive
+        Path extracted = work.resolve("app");
+        exec(work.resolve("extract.log"), java("-Djarmode=tools", "-jar", jar.toString(),
+                "extract", "--destination", extracted.toString()));
+        Path appJar;
+        try (Stream<Path> files = Files.list(extracted)) {
+            appJar = files.filter(p -> p.toString().endsWith(".jar")).findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No jar extracted into " + extracted));
+        }
+        Path archive = work.resolve("app.jsa");
+        exec(work.resolve("training.log"), java("-XX:ArchiveClassesAtExit=" + archive, "-Dspring.context.exit=onRefresh",
+                "-Dspring.profiles.active=prod", "-jar", appJar.toString()));
+
+        Map<String, List<String>> modes = new LinkedHashMap<>();
+        modes.put("default", java("-jar", jar.toString()));
+        modes.put("prod", java("-Dspring.profiles.active=prod", "-jar", appJar.toString()));
+        modes.put("prod+cds", java("-XX:SharedArchiveFile=" + archive, "-Dspring.profiles.active=prod",
+                "-jar", appJar.toString()));
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        Map<String, Long> medians = new LinkedHashMap<>();
+        StringBuilder json = new StringBuilder("{");
+        for (Map.Entry<String, List<String>> mode : modes.entrySet()) {
+            long[] millis = new long[runs];
+            for (int i = 0; i < runs; i++) {
+                millis[i] = timeToHealthy(client, mode.getValue(), work.resolve(mode.getKey().replace('+', '-') + "-" + i + ".log"));
+            }
+            long[] sorted = millis.clone();
+            Arrays.sort(sorted);
+            long median = sorted[runs / 2];
+            medians.put(mode.getKey(), median);
+            System.out.printf("%-9s median %5d ms  min %5d  max %5d  runs %s%n",
+                    mode.getKey(), median, sorted[0], sorted[runs - 1], Arrays.toString(millis));
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append("\"").append(mode.getKey()).append("\":{\"medianMs\":").append(median)
+                    .append(",\"runsMs\":").append(Arrays.toString(millis)).append('}');
+        }
+        json.append(",\"budgetMs\":").append(budgetMs).append('}');
+        Files.writeString(jar.getParent().resolve("startup-result.json"), json);
+
+        long gated = medians.get("prod+cds");
+        if (gated > budgetMs) {
+            System.err.printf("%n*** STARTUP REGRESSION: prod+cds median %d ms exceeds budget %d ms (logs in %s) ***%n%n",
+                    gated, budgetMs, work);
+            System.exit(1);
+        }
+        System.out.printf("prod+cds median %d ms within budget %d ms (default %d ms)%n", gated, budgetMs, medians.get("default"));
+    }
+
+    // Launch to first 200 from /api/health, in milliseconds
+    private static long timeToHealthy(HttpClient client, List<String> command, Path log) throws Exception {
+        int port = freePort();
+        List<String> withPort = new ArrayList<>(command);
+        withPort.add("--server.port=" + port);
+        HttpRequest health = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/health"))
+                .timeout(Duration.ofSeconds(2)).GET().build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(withPort).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        try {
+            while (System.nanoTime() - start < TIMEOUT.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with " + process.exitValue() + ", see " + log);
+                }
+                try {
+                    if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return (System.nanoTime() - start) / 1_000_000;
+                    }
+                } catch (IOException notListeningYet) {
+                    // keep polling
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("No healthy response within " + TIMEOUT + ", see " + log);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static void exec(Path log, List<String> command) throws Exception {
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        int exit = process.waitFor();
+        if (exit != 0) {
+            throw new IllegalStateException("Command failed (" + exit + "), see " + log + ": " + command);
+        }
+    }
+
+    private static List<String> java(String... args) {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(Arrays.asList(args));
+        return command;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted((a, b) -> b.compareTo(a)).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
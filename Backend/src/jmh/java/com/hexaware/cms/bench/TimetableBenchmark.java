@@ -0,0 +1,106 @@
+package com.hexaware.cms.bench;
+
+import com.hexaware.cms.service.TimetableIndex;
+import com.hexaware.cms.util.WeeklySchedule;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// University-sized catalog: 5k sections over 400 rooms and 1,500 instructors, 20k students
+// with 5 courses each. Single clash queries go through the interval trees; the whole-timetable
+// check is compared with the naive pairwise scan it replaces.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class TimetableBenchmark {
+
+    private static final String[] PATTERNS = {"Mon, Wed, Fri", "Tue, Thu", "Mon, Wed", "Fri"};
+
+    @Param({"5000"})
+    public int sections;
+
+    @Param({"400"})
+    public int rooms;
+
+    @Param({"1500"})
+    public int instructors;
+
+    @Param({"20000"})
+    public int students;
+
+    private TimetableIndex index;
+    private List<TimetableIndex.Section> catalog;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SplittableRandom seed = new SplittableRandom(11);
+        index = new TimetableIndex();
+        catalog = new ArrayList<>(sections);
+        for (int i = 0; i < sections; i++) {
+            int startHour = 8 + seed.nextInt(10);
+            int startMinute = seed.nextBoolean() ? 0 : 30;
+            String schedule = String.format("%s %d:%02d-%d:%02d", PATTERNS[seed.nextInt(PATTERNS.length)],
+                    startHour, startMinute, startHour + 1, startMinute + 15);
+            TimetableIndex.Section section = TimetableIndex.section(i + 1, "SEC" + i, "Fall 2024",
+                    "Room " + seed.nextInt(rooms), "Instructor " + seed.nextInt(instructors), schedule);
+            catalog.add(section);
+            index.putSection(section);
+        }
+        for (int s = 0; s < students; s++) {
+            for (int c = 0; c < 5; c++) {
+                index.enrollIfFree("STU" + s, 1 + seed.nextInt(sections));
+            }
+        }
+        random = new SplittableRandom(5);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public List<TimetableIndex.Clash> studentClashCheck() {
+        return index.studentClashes("STU" + random.nextInt(students), 1 + random.nextInt(sections));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public List<TimetableIndex.Clash> sectionClashCheck() {
+        return index.sectionClashes(1 + random.nextInt(sections));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<TimetableIndex.Clash> validateAllParallel() {
+        return index.validateAll();
+    }
+
+    // Baseline: every section against every other, O(n^2) slot comparisons
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int naivePairwiseRoomAndInstructor() {
+        int clashes = 0;
+        for (int i = 0; i < catalog.size(); i++) {
+            TimetableIndex.Section a = catalog.get(i);
+            for (int j = i + 1; j < catalog.size(); j++) {
+                TimetableIndex.Section b = catalog.get(j);
+                boolean sameRoom = a.room().equalsIgnoreCase(b.room());
+                boolean sameInstructor = a.instructor().equalsIgnoreCase(b.instructor());
+                if (!sameRoom && !sameInstructor) {
+                    continue;
+                }
+                for (WeeklySchedule.Slot x : a.slots()) {
+                    for (WeeklySchedule.Slot y : b.slots()) {
+                        if (x.overlaps(y)) {
+                            clashes += (sameRoom ? 1 : 0) + (sameInstructor ? 1 : 0);
+                        }
+                    }
+                }
+            }
+        }
+        return clashes;
+    }
+}
@@ -0,0 +1,62 @@
+package com.hexaware.cms.bench;
+
+import com.hexaware.cms.util.RevocationSet;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// The revocation check JwtAuthenticationFilter makes on every request, against 100k revoked
+// tokens spread over a day of hourly expiry buckets: a token that was never revoked (the
+// normal case, answered by the Bloom filter) and a revoked one (filter hit + bucket lookup).
+// Both should cost tens of nanoseconds, next to the microseconds of the HMAC check it follows.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 3)
+@Threads(8)
+@Fork(1)
+public class TokenRevocationBenchmark {
+
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+
+    @Param({"100000"})
+    public int revocations;
+
+    private RevocationSet revoked;
+    private String[] revokedIds;
+    private long[] revokedExpiry;
+    private String[] liveIds;
+    private long liveExpiry;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        long now = System.currentTimeMillis();
+        revoked = new RevocationSet(HOUR, revocations, 0.01);
+        revokedIds = new String[revocations];
+        revokedExpiry = new long[revocations];
+        for (int i = 0; i < revocations; i++) {
+            revokedIds[i] = UUID.randomUUID().toString();
+            revokedExpiry[i] = now + (i % 24 + 1) * HOUR;
+            revoked.revoke(revokedIds[i], revokedExpiry[i], now);
+        }
+        liveIds = new String[4096];
+        for (int i = 0; i < liveIds.length; i++) {
+            liveIds[i] = UUID.randomUUID().toString();
+        }
+        liveExpiry = now + 12 * HOUR;
+    }
+
+    @Benchmark
+    public boolean notRevoked() {
+        return revoked.isRevoked(liveIds[ThreadLocalRandom.current().nextInt(liveIds.length)], liveExpiry);
+    }
+
+    @Benchmark
+    public boolean revoked() {
+        int i = ThreadLocalRandom.current().nextInt(revocations);
+        return revoked.isRevoked(revokedIds[i], revokedExpiry[i]);
+    }
+}
@@ -0,0 +1,205 @@
+package com.hexaware.cms.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop HTTP load test comparing the default platform-thread Tomcat pool with the
+ * "virtual" profile. Keeps N requests in flight (one per connection) against authenticated
+ * endpoints that go through JwtAuthenticationFilter and a repository call, then reports
+ * throughput plus server memory and thread growth normalised per 1k connections.
+ *
+ * <pre>
+ * mvn -Pbenchmarks test-compile exec:exec -Dbench.main=com.hexaware.cms.bench.VirtualThreadLoadTest -Djmh.args="platform 1000 30"
+ * mvn -Pbenchmarks test-compile exec:exec -Dbench.main=com.hexaware.cms.bench.VirtualThreadLoadTest -Djmh.args="virtual 1000 30"
+ * </pre>
+ *
+ * Run each mode in its own JVM (the virtual mode needs Java 21). Extra arguments are passed
+ * to the application, e.g. {@code --spring.datasource.url=...} to test against a real
+ * database: in-memory H2 barely blocks, which understates what virtual threads buy.
+ */
+public final class VirtualThreadLoadTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final String[] PATHS = {"/api/students?limit=20", "/api/fees/summary", "/api/courses"};
+
+    private VirtualThreadLoadTest() {}
+
+    public static void main(String[] args) throws Exception {
+        String mode = args.length > 0 ? args[0] : "platform";
+        int connections = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        String[] appArgs = args.length > 3 ? Arrays.copyOfRange(args, 3, args.length) : new String[0];
+
+        boolean virtual = "virtual".equals(mode);
+        if (virtual && Runtime.version().feature() < 21) {
+            System.err.println("virtual mode needs Java 21+, running on " + Runtime.version());
+            System.exit(2);
+        }
+
+        List<String> startArgs = new ArrayList<>(List.of(
+                "--server.tomcat.max-connections=" + Math.max(10_000, connections * 2),
+                "--server.tomcat.accept-count=" + connections));
+        if (virtual) {
+            startArgs.add("--spring.profiles.active=virtual");
+        }
+        startArgs.addAll(List.of(appArgs));
+        ConfigurableApplicationContext context = BenchmarkApplication.start(startArgs.toArray(new String[0]));
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        String base = "http://localhost:" + port;
+
+        // Few client threads so the client adds little to the thread and memory numbers
+        ExecutorService clientPool = Executors.newFixedThreadPool(4);
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientPool)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        String token = register(client, base);
+
+        // Warm up JIT, pools and connections before measuring
+        run(client, base, token, connections, 10, null);
+
+        Snapshot idle = Snapshot.take();
+        Sampler sampler = new Sampler();
+        sampler.start(seconds);
+        Result result = run(client, base, token, connections, seconds, sampler);
+        sampler.stop();
+
+        double perThousand = 1000.0 / connections;
+        System.out.println();
+        System.out.printf("mode=%s java=%d connections=%d duration=%ds%n", mode, Runtime.version().feature(), connections, seconds);
+        System.out.printf("throughput      %,.0f req/s (%,d ok, %,d errors)%n",
+                result.completed / (double) seconds, result.completed, result.errors);
+        System.out.printf("mean latency    %.2f ms%n", result.completed == 0 ? 0.0 : result.latencyNanos / 1e6 / result.completed);
+        System.out.printf("platform threads %d idle -> %d peak (+%.0f per 1k connections)%n",
+                idle.threads, sampler.peakThreads, (sampler.peakThreads - idle.threads) * perThousand);
+        System.out.printf("live heap       %,d MB idle -> %,d MB under load (+%.1f MB per 1k connections)%n",
+                idle.heapBytes >> 20, sampler.liveHeap >> 20, (sampler.liveHeap - idle.heapBytes) / 1048576.0 * perThousand);
+        if (idle.rssBytes > 0) {
+            System.out.printf("process RSS     %,d MB idle -> %,d MB peak (+%.1f MB per 1k connections)%n",
+                    idle.rssBytes >> 20, sampler.peakRss >> 20, (sampler.peakRss - idle.rssBytes) / 1048576.0 * perThousand);
+        }
+
+        clientPool.shutdownNow();
+        context.close();
+        System.exit(0);
+    }
+
+    private static String register(HttpClient client, String base) throws IOException, InterruptedException {
+        String body = "{\"name\":\"Load Test\",\"email\":\"load-" + System.nanoTime()
+                + "@hexaware.college\",\"password\":\"secret123\"}";
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(base + "/api/auth/register"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        JsonNode json = JSON.readTree(response.body());
+        if (!json.hasNonNull("token")) {
+            throw new IllegalStateException("Registration failed: " + response.statusCode() + " " + response.body());
+        }
+        return json.get("token").asText();
+    }
+
+    // Closed loop: each completed request immediately frees its slot for the next one
+    private static Result run(HttpClient client, String base, String token, int connections, int seconds,
+                              Sampler sampler) throws InterruptedException {
+        Semaphore slots = new Semaphore(connections);
+        LongAdder completed = new LongAdder();
+        LongAdder errors = new LongAdder();
+        LongAdder latency = new LongAdder();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        long sent = 0;
+        while (System.nanoTime() < deadline) {
+            if (!slots.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+                continue;
+            }
+            HttpRequest request = HttpRequest.newBuilder(URI.create(base + PATHS[(int) (sent++ % PATHS.length)]))
+                    .header("Authorization", "Bearer " + token)
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+            long start = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                if (error == null && response.statusCode() == 200) {
+                    if (System.nanoTime() <= deadline) {
+                        completed.increment();
+                        latency.add(System.nanoTime() - start);
+                    }
+                } else {
+                    errors.increment();
+                }
+                slots.release();
+            });
+        }
+        // Drain in-flight requests so the next phase starts clean
+        slots.tryAcquire(connections, 60, TimeUnit.SECONDS);
+        return new Result(completed.sum(), errors.sum(), latency.sum());
+    }
+
+    private record Result(long completed, long errors, long latencyNanos) {}
+
+    private record Snapshot(int threads, long heapBytes, long rssBytes) {
+        static Snapshot take() {
+            System.gc();
+            MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+            return new Snapshot(ManagementFactory.getThreadMXBean().getThreadCount(),
+                    memory.getHeapMemoryUsage().getUsed(), rss());
+        }
+    }
+
+    // Samples peak platform threads and RSS while the load runs, plus one post-GC heap
+    // reading halfway through (virtual thread stacks live on the heap, so that is where they show)
+    private static final class Sampler {
+        private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+        volatile int peakThreads;
+        volatile long peakRss;
+        volatile long liveHeap;
+
+        void start(int seconds) {
+            timer.scheduleAtFixedRate(() -> {
+                peakThreads = Math.max(peakThreads, ManagementFactory.getThreadMXBean().getThreadCount());
+                peakRss = Math.max(peakRss, rss());
+            }, 0, 200, TimeUnit.MILLISECONDS);
+            timer.schedule(() -> {
+                System.gc();
+                liveHeap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+            }, seconds * 500L, TimeUnit.MILLISECONDS);
+        }
+
+        void stop() {
+            timer.shutdownNow();
+        }
+    }
+
+    // Resident set size from /proc (Linux); 0 elsewhere
+    private static long rss() {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc/self/status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", "")) * 1024;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // not available on this platform
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,8 @@
+package com.hexaware.cms.cache;
+
+// ✅ Read-mostly endpoint groups; a write to any entity in a group invalidates the whole group
+public enum CacheGroup {
+    COURSES,
+    STUDENTS,
+    FEES
+}
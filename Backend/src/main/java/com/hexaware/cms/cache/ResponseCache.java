@@ -0,0 +1,181 @@
+package com.hexaware.cms.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Serialized GET responses keyed by (group, group version, URI + query). A write bumps the
+ * group's version, so every key built afterwards misses and old entries can never be
+ * served again; they are dropped eagerly on invalidation and again on eviction. ETags are
+ * a hash of the body bytes.
+ *
+ * <p>Versions live in this JVM and are bumped only by writes made through it, so invalidation
+ * is exact on a single node only. With several nodes, a write on another node shows up here
+ * once the entry's TTL ({@code app.response-cache.ttl-ms}) has passed; keep the TTL as short
+ * as the staleness the endpoints can accept, or disable the cache.
+ */
+@Component
+public class ResponseCache {
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    public record Key(CacheGroup group, long version, String uri) {}
+
+    public record CachedResponse(byte[] body, String etag, String contentType, Map<String, String> headers, long expiresAt) {}
+
+    private final ConcurrentHashMap<Key, CachedResponse> entries = new ConcurrentHashMap<>();
+    private final EnumMap<CacheGroup, AtomicLong> versions = new EnumMap<>(CacheGroup.class);
+    private final int maxEntries;
+    private final int maxEntryBytes;
+    private final long maxTotalBytes;
+    private final long ttlMillis;
+    private final AtomicLong storedBytes = new AtomicLong();
+
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder notModified = new LongAdder();
+    private final LongAdder bytesServedFromCache = new LongAdder();
+    private final LongAdder bytesSaved = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ResponseCache(@Value("${app.response-cache.max-entries:512}") int maxEntries,
+                         @Value("${app.response-cache.max-entry-bytes:2097152}") int maxEntryBytes,
+                         @Value("${app.response-cache.max-total-bytes:67108864}") long maxTotalBytes,
+                         @Value("${app.response-cache.ttl-ms:5000}") long ttlMillis) {
+        this.maxEntries = maxEntries;
+        this.maxEntryBytes = maxEntryBytes;
+        this.maxTotalBytes = maxTotalBytes;
+        this.ttlMillis = ttlMillis;
+        for (CacheGroup group : CacheGroup.values()) {
+            versions.put(group, new AtomicLong());
+        }
+    }
+
+    public boolean isEnabled() {
+        return maxEntries > 0;
+    }
+
+    // ✅ Captures the group version now: a response built during a concurrent write lands under the old version
+    public Key key(CacheGroup group, String uri) {
+        return new Key(group, versions.get(group).get(), uri);
+    }
+
+    public CachedResponse get(Key key) {
+        lookups.increment();
+        CachedResponse cached = entries.get(key);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.expiresAt() <= System.currentTimeMillis()) {
+            // Possibly changed on another node since it was stored
+            if (entries.remove(key, cached)) {
+                storedBytes.addAndGet(-cached.body().length);
+                evictions.increment();
+            }
+            return null;
+        }
+        hits.increment();
+        return cached;
+    }
+
+    public CachedResponse put(Key key, byte[] body, String contentType, Map<String, String> headers) {
+        CachedResponse response = new CachedResponse(body, etagOf(body), contentType, headers,
+                System.currentTimeMillis() + ttlMillis);
+        if (body.length > maxEntryBytes || key.version() != versions.get(key.group()).get()) {
+            return response; // too big, or already stale
+        }
+        if (entries.size() >= maxEntries || storedBytes.get() + body.length > maxTotalBytes) {
+            evict();
+        }
+        CachedResponse previous = entries.put(key, response);
+        storedBytes.addAndGet(body.length - (previous != null ? previous.body().length : 0));
+        return response;
+    }
+
+    public void invalidate(CacheGroup group) {
+        long current = versions.get(group).incrementAndGet();
+        invalidations.increment();
+        entries.entrySet().removeIf(e -> {
+            if (e.getKey().group() == group && e.getKey().version() < current) {
+                storedBytes.addAndGet(-e.getValue().body().length);
+                return true;
+            }
+            return false;
+        });
+    }
+
+    public void recordServed(CachedResponse response) {
+        bytesServedFromCache.add(response.body().length);
+    }
+
+    public void recordNotModified(CachedResponse response) {
+        notModified.increment();
+        bytesSaved.add(response.body().length);
+    }
+
+    // Drop stale versions and expired entries first; if still over budget, shed ~10% in iteration order
+    private void evict() {
+        long now = System.currentTimeMillis();
+        Iterator<Map.Entry<Key, CachedResponse>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Key, CachedResponse> entry = it.next();
+            if (entry.getKey().version() != versions.get(entry.getKey().group()).get()
+                    || entry.getValue().expiresAt() <= now) {
+                it.remove();
+                storedBytes.addAndGet(-entry.getValue().body().length);
+                evictions.increment();
+            }
+        }
+        int toShed = Math.max(1, maxEntries / 10);
+        it = entries.entrySet().iterator();
+        while ((entries.size() >= maxEntries || storedBytes.get() > maxTotalBytes * 9 / 10 || toShed > 0) && it.hasNext()) {
+            Map.Entry<Key, CachedResponse> entry = it.next();
+            it.remove();
+            storedBytes.addAndGet(-entry.getValue().body().length);
+            evictions.increment();
+            toShed--;
+        }
+    }
+
+    public static String etagOf(byte[] body) {
+        MessageDigest digest = SHA256.get();
+        digest.reset();
+        byte[] hash = digest.digest(body);
+        return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(java.util.Arrays.copyOf(hash, 16)) + "\"";
+    }
+
+    public Map<String, Object> stats() {
+        long l = lookups.sum();
+        long h = hits.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("entries", entries.size());
+        stats.put("storedBytes", storedBytes.get());
+        stats.put("lookups", l);
+        stats.put("hits", h);
+        stats.put("notModified", notModified.sum());
+        stats.put("hitRatio", l == 0 ? 0.0 : (double) h / l);
+        stats.put("bytesServedFromCache", bytesServedFromCache.sum());
+        stats.put("bytesSaved", bytesSaved.sum());
+        stats.put("invalidations", invalidations.sum());
+        stats.put("evictions", evictions.sum());
+        return stats;
+    }
+}
@@ -0,0 +1,133 @@
+package com.hexaware.cms.cache;
+
+import com.hexaware.cms.metrics.RequestMetricsFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Conditional-GET cache in front of the read-mostly endpoints. A cached entry is answered
+ * straight from its bytes (304 when If-None-Match matches) without reaching the controller.
+ * Misses run the controller, and a 200 body is hashed into an ETag and stored. Runs after
+ * the Spring Security chain so CORS headers are still applied to cached responses. Entries
+ * are invalidated by this node's writes and otherwise expire after a short TTL.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 10)
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String NEXT_CURSOR = "X-Next-Cursor";
+    private static final String CACHE_CONTROL = "no-cache"; // always revalidate, cheap with a 304
+
+    private static final Map<String, CacheGroup> ROUTES = Map.of(
+            "/api/courses", CacheGroup.COURSES,
+            "/api/students", CacheGroup.STUDENTS,
+            "/api/fees", CacheGroup.FEES,
+            "/api/fees/summary", CacheGroup.FEES);
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod()) || !responseCache.isEnabled()) {
+            return true;
+        }
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        // NDJSON exports stream arbitrarily large bodies; never buffer them
+        return !ROUTES.containsKey(request.getRequestURI()) || (accept != null && accept.contains(NDJSON));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        String uri = request.getRequestURI();
+        String query = request.getQueryString();
+        ResponseCache.Key key = responseCache.key(ROUTES.get(uri), query != null ? uri + "?" + query : uri);
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+
+        ResponseCache.CachedResponse cached = responseCache.get(key);
+        if (cached != null) {
+            request.setAttribute(RequestMetricsFilter.ROUTE_ATTRIBUTE, uri);
+            if (matches(ifNoneMatch, cached.etag())) {
+                responseCache.recordNotModified(cached);
+                notModified(response, cached.etag());
+            } else {
+                responseCache.recordServed(cached);
+                write(response, cached);
+            }
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, wrapper);
+        if (wrapper.getStatus() != HttpServletResponse.SC_OK || request.isAsyncStarted()) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+
+        String nextCursor = wrapper.getHeader(NEXT_CURSOR);
+        ResponseCache.CachedResponse stored = responseCache.put(key, wrapper.getContentAsByteArray(),
+                wrapper.getContentType(), nextCursor != null ? Map.of(NEXT_CURSOR, nextCursor) : Map.of());
+        if (matches(ifNoneMatch, stored.etag())) {
+            responseCache.recordNotModified(stored);
+            wrapper.resetBuffer();
+            notModified(wrapper, stored.etag());
+        } else {
+            wrapper.setHeader(HttpHeaders.ETAG, stored.etag());
+            wrapper.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private static void write(HttpServletResponse response, ResponseCache.CachedResponse cached) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        if (cached.contentType() != null) {
+            response.setContentType(cached.contentType());
+        }
+        cached.headers().forEach(response::setHeader);
+        response.setHeader(HttpHeaders.ETAG, cached.etag());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        response.setContentLength(cached.body().length);
+        response.getOutputStream().write(cached.body());
+    }
+
+    private static void notModified(HttpServletResponse response, String etag) {
+        response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+    }
+
+    // If-None-Match may list several tags, use weak tags, or be "*"
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag) || tag.equals("*")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,82 @@
+package com.hexaware.cms.config;
+
+import com.hexaware.cms.model.Course;
+import com.hexaware.cms.model.Fee;
+import com.hexaware.cms.model.Mark;
+import com.hexaware.cms.model.Student;
+import com.hexaware.cms.repository.CourseRepository;
+import com.hexaware.cms.repository.FeeRepository;
+import com.hexaware.cms.repository.MarkRepository;
+import com.hexaware.cms.repository.StudentRepository;
+import com.hexaware.cms.service.FeeService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+// ✅ Seeds the demo records the controllers used to hard-code (only into an empty DB)
+@Component
+public class DataInitializer implements CommandLineRunner {
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private MarkRepository markRepository;
+
+    @Autowired
+    private FeeRepository feeRepository;
+
+    @Autowired
+    private FeeService feeService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Override
+    public void run(String... args) {
+        if (studentRepository.count() == 0) {
+            studentRepository.saveAll(List.of(
+                    new Student("HMS001", "Rajesh Kumar", "rajesh@hexaware.college",
+                            "Computer Science Engineering", "Fall 2024", "Computer Science"),
+                    new Student("HMS002", "Priya Sharma", "priya@hexaware.college",
+                            "Information Technology", "Fall 2024", "Information Technology")));
+        }
+        if (markRepository.count() == 0) {
+            markRepository.saveAll(List.of(
+                    new Mark("HMS001", "Data Structures", 98, 100, "Fall 2024"),
+                    new Mark("HMS001", "Database Management", 92, 100, "Fall 2024"),
+                    new Mark("HMS001", "Web Development", 89, 100, "Fall 2024"),
+                    new Mark("HMS002", "Computer Networks", 85, 100, "Fall 2024"),
+                    new Mark("HMS002", "Operating Systems", 78, 100, "Fall 2024"),
+                    new Mark("HMS002", "Software Engineering", 91, 100, "Fall 2024")));
+        }
+        if (courseRepository.count() == 0) {
+            courseRepository.saveAll(List.of(
+                    new Course("CSE301", "Advanced Data Structures", "Computer Science", 4, "16 weeks",
+                            "Dr. Vikas Kumar", "Mon, Wed, Fri 9:00-10:30 AM", "Room A-101",
+                            "Advanced concepts in data structures and algorithms", "CSE201 - Basic Data Structures",
+                            28, 35, "Fall 2024"),
+                    new Course("CSE401", "Database Management Systems", "Computer Science", 3, "16 weeks",
+                            "Prof. Hexaware Singh", "Tue, Thu 2:00-3:30 PM", "Room B-205",
+                            "Comprehensive study of database design and management", "CSE202 - Introduction to Databases",
+                            32, 40, "Fall 2024")));
+        }
+        if (feeRepository.count() == 0) {
+            Fee rajesh = new Fee("HMS001", "Rajesh Kumar", "Computer Science Engineering", "Fall 2024",
+                    75000, LocalDate.of(2024, 3, 15));
+            Fee priya = new Fee("HMS002", "Priya Sharma", "Information Technology", "Fall 2024",
+                    70000, LocalDate.of(2024, 1, 31));
+            feeRepository.saveAll(List.of(rajesh, priya));
+
+            // ✅ Payments live in the ledger; the fees table is its projection
+            CompletableFuture.allOf(
+                    feeService.recordPayment(rajesh.getId(), 25000).thenCompose(f -> feeService.recordPayment(rajesh.getId(), 25000)),
+                    feeService.recordPayment(priya.getId(), 35000).thenCompose(f -> feeService.recordPayment(priya.getId(), 35000))
+            ).join();
+        }
+    }
+}
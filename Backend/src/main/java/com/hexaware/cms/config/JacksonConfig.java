@@ -0,0 +1,22 @@
+package com.hexaware.cms.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Response serialization. Controllers return the records in com.hexaware.cms.dto, so each
+ * payload type gets one BeanSerializer, built on first use and cached by the mapper, whose
+ * property names are pre-encoded UTF-8 fragments copied straight into the output buffer.
+ * Blackbird replaces the reflective accessor calls in those serializers with generated
+ * lambdas. Boot registers every Module bean on the application's ObjectMapper.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
@@ -0,0 +1,37 @@
+package com.hexaware.cms.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+
+/**
+ * With spring.main.lazy-initialization (prod profile) a bean is only built when something
+ * asks for it. Beans with @Scheduled methods would then never be scheduled, and startup
+ * loaders (@EventListener on ApplicationReadyEvent) would move their work onto the first
+ * request, so both stay eager. Everything else, controllers included, waits for first use.
+ */
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerBackgroundBeans() {
+        return (beanName, definition, beanType) -> beanType != null
+                && (hasMethodAnnotated(beanType, Scheduled.class) || hasMethodAnnotated(beanType, EventListener.class));
+    }
+
+    private static boolean hasMethodAnnotated(Class<?> type, Class<? extends Annotation> annotation) {
+        for (Method method : ReflectionUtils.getUniqueDeclaredMethods(type, ReflectionUtils.USER_DECLARED_METHODS)) {
+            if (AnnotatedElementUtils.hasAnnotation(method, annotation)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,31 @@
+package com.hexaware.cms.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+// ✅ Makes it obvious when the "virtual" profile is active on a JDK that cannot honour it
+@Component
+public class ThreadingModeReporter {
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadingModeReporter.class);
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsRequested;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void report() {
+        int feature = Runtime.version().feature();
+        if (!virtualThreadsRequested) {
+            log.info("Request threads: platform (Tomcat pool)");
+        } else if (feature >= 21) {
+            log.info("Request threads: virtual (Java {})", feature);
+        } else {
+            log.warn("spring.threads.virtual.enabled is set but Java {} has no virtual threads; "
+                    + "running on the platform Tomcat pool. Use Java 21+ for the virtual profile.", feature);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.hexaware.cms.controller;
+
+import com.hexaware.cms.service.AttendanceService;
+import com.hexaware.cms.service.SectionAttendance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+@RestController
+@RequestMapping("/api/attendance")
+@CrossOrigin(origins = {"http://localhost:3000", "https://*.spring.new"})
+public class AttendanceController {
+
+    @Autowired
+    private AttendanceService attendanceService;
+
+    // ✅ One session: {"date": "2025-01-06", "period": 1, "present": [...]} or "absent": [...]
+    @PostMapping("/courses/{courseId}/sessions")
+    @SuppressWarnings("unchecked")
+    public ResponseEntity<Map<String, Object>> recordSession(@PathVariable Long courseId,
+                                                             @RequestBody Map<String, Object> request) {
+        Map<String, Object> response;
+        try {
+            Object date = request.get("date");
+            Object period = request.get("period");
+            response = attendanceService.record(courseId,
+                    date != null ? LocalDate.parse(String.valueOf(date)) : null,
+                    period instanceof Number number ? number.intValue() : period != null ? Integer.parseInt(String.valueOf(period)) : 1,
+                    (List<String>) request.get("present"), (List<String>) request.get("absent"));
+        } catch (IllegalArgumentException | ClassCastException | DateTimeParseException e) {
+            return message(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        if (response == null) {
+            return message(HttpStatus.NOT_FOUND, "Course not found");
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @GetMapping("/courses/{courseId}")
+    public ResponseEntity<Map<String, Object>> getSummary(@PathVariable Long courseId) {
+        SectionAttendance section = attendanceService.section(courseId);
+        if (section == null) {
+            return message(HttpStatus.NOT_FOUND, "Course not found");
+        }
+        return ResponseEntity.ok(section.summary());
+    }
+
+    // ✅ Shortage list, lowest attendance first
+    @GetMapping("/courses/{courseId}/below")
+    public ResponseEntity<List<SectionAttendance.StudentAttendance>> getBelow(@PathVariable Long courseId,
+                                                                              @RequestParam(defaultValue = "75") double threshold) {
+        SectionAttendance section = attendanceService.section(courseId);
+        if (section == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(section.below(threshold));
+    }
+
+    @GetMapping("/courses/{courseId}/students/{studentId}")
+    public ResponseEntity<Map<String, Object>> getStudent(@PathVariable Long courseId, @PathVariable String studentId) {
+        SectionAttendance section = attendanceService.section(courseId);
+        SectionAttendance.StudentAttendance attendance = section != null ? section.student(studentId) : null;
+        if (attendance == null) {
+            return message(HttpStatus.NOT_FOUND, "No attendance recorded for this student in this course");
+        }
+        Map<String, Object> response = new HashMap<>();
+        response.put("studentId", attendance.studentId());
+        response.put("attended", attendance.attended());
+        response.put("sessions", attendance.sessions());
+        response.put("percentage", attendance.percentage());
+        response.put("absences", section.absences(studentId).stream()
+                .map(key -> key.date() + " #" + key.period()).toList());
+        return ResponseEntity.ok(response);
+    }
+
+    // ✅ Students who missed every session between from and to (inclusive)
+    @GetMapping("/courses/{courseId}/absent")
+    public ResponseEntity<List<String>> getAbsentThroughout(@PathVariable Long courseId,
+                                                            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        SectionAttendance section = attendanceService.section(courseId);
+        if (section == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(section.absentThroughout(from, to));
+    }
+
+    private static ResponseEntity<Map<String, Object>> message(HttpStatus status, String message) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", message);
+        return ResponseEntity.status(status).body(response);
+    }
+}
@@ -1,49 +1,66 @@
 package com.hexaware.cms.controller;
 
+import com.hexaware.cms.exception.ServiceBusyException;
+import com.hexaware.cms.service.AuthService;
+import com.hexaware.cms.service.TokenRevocationService;
+import com.hexaware.cms.util.JwtUtil;
+import com.hexaware.cms.util.VerifiedToken;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/api/auth")
 @CrossOrigin(origins = {"http://localhost:3000", "http://localhost:5173"})
 public class AuthController {
-    
 
-     @PostMapping("/register")
-    public ResponseEntity<Map<String, Object>> register(@RequestBody Map<String, String> userData) {
-        Map<String, Object> response = new HashMap<>();
-        Map<String, Object> user = new HashMap<>();
-        
-        user.put("id", "1");
-        user.put("email", userData.get("email"));
-        user.put("name", userData.get("name"));
-        
-        response.put("user", user);
-        response.put("token", "test-jwt-token-" + System.currentTimeMillis());
-        
-        return ResponseEntity.ok(response);
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    // ✅ Async: the request thread is released while BCrypt runs on the hashing pool
+    @PostMapping("/register")
+    public CompletableFuture<ResponseEntity<?>> register(@RequestBody Map<String, String> userData) {
+        String email = userData.get("email");
+        String name = userData.get("name");
+        if (name == null || name.isBlank()) {
+            name = email != null && email.contains("@") ? email.substring(0, email.indexOf('@')) : email;
+        }
+
+        return authService.register(name, email, userData.get("password"))
+                .<ResponseEntity<?>>thenApply(ResponseEntity::ok)
+                .exceptionally(ex -> error(ex, HttpStatus.CONFLICT));
     }
+
     @PostMapping("/login")
-    public ResponseEntity<Map<String, Object>> login(@RequestBody Map<String, String> credentials) {
-        String email = credentials.get("email");
-        // Removed unused password variable - TODO: Implement proper authentication
-        
-        // Simple test authentication
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody Map<String, String> credentials) {
+        return authService.login(credentials.get("email"), credentials.get("password"))
+                .<ResponseEntity<?>>thenApply(ResponseEntity::ok)
+                .exceptionally(ex -> error(ex, HttpStatus.UNAUTHORIZED));
+    }
+    
+    @GetMapping("/check-email")
+    public ResponseEntity<Map<String, Object>> checkEmail(@RequestParam(required = false) String email) {
         Map<String, Object> response = new HashMap<>();
-        Map<String, Object> user = new HashMap<>();
-        
-        user.put("id", "1");
-        user.put("email", email);
-        user.put("name", "Vikas V");
-        
-        response.put("user", user);
-        response.put("token", "test-jwt-token-" + System.currentTimeMillis());
-        
+        if (email == null || email.isBlank()) {
+            response.put("message", "email is required");
+            return ResponseEntity.badRequest().body(response);
+        }
+        response.put("email", email);
+        response.put("available", authService.isEmailAvailable(email));
         return ResponseEntity.ok(response);
     }
-    
+
     @GetMapping("/me")
     public ResponseEntity<Map<String, Object>> getCurrentUser() {
         Map<String, Object> user = new HashMap<>();
@@ -54,11 +71,29 @@ public class AuthController {
         return ResponseEntity.ok(user);
     }
 
+    // ✅ Revokes the presented token on every node; a missing or invalid token is already unusable
     @PostMapping("/logout")
-    public ResponseEntity<Map<String, String>> logout() {
+    public ResponseEntity<Map<String, String>> logout(
+            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            VerifiedToken verified = jwtUtil.verify(authHeader.substring(7));
+            if (verified != null) {
+                tokenRevocationService.revoke(verified);
+            }
+        }
         Map<String, String> response = new HashMap<>();
         response.put("message", "Logged out successfully");
         return ResponseEntity.ok(response);
     }
-    
+
+    // ✅ Saturation goes to GlobalExceptionHandler (503); anything else is an auth failure
+    private ResponseEntity<Map<String, Object>> error(Throwable ex, HttpStatus status) {
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        if (cause instanceof ServiceBusyException busy) {
+            throw busy;
+        }
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", cause.getMessage());
+        return ResponseEntity.status(status).body(response);
+    }
 }
@@ -1,5 +1,13 @@
 package com.hexaware.cms.controller;
 
+import com.hexaware.cms.dto.CourseResponse;
+import com.hexaware.cms.model.Course;
+import com.hexaware.cms.repository.CourseRepository;
+import com.hexaware.cms.service.EnrollmentService;
+import com.hexaware.cms.service.SeatReservationEngine;
+import com.hexaware.cms.service.TimetableService;
+import com.hexaware.cms.util.WeeklySchedule;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.util.*;
@@ -8,45 +16,74 @@ import java.util.*;
 @RequestMapping("/api/courses")
 @CrossOrigin(origins = {"http://localhost:3000", "https://*.spring.new"})
 public class CourseController {
-    
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private TimetableService timetableService;
+
     @GetMapping
-    public ResponseEntity<List<Map<String, Object>>> getAllCourses() {
-        List<Map<String, Object>> courses = new ArrayList<>();
-        
-        Map<String, Object> course1 = new HashMap<>();
-        course1.put("id", "1");
-        course1.put("courseCode", "CSE301");
-        course1.put("courseName", "Advanced Data Structures");
-        course1.put("department", "Computer Science");
-        course1.put("credits", 4);
-        course1.put("duration", "16 weeks");
-        course1.put("instructor", "Dr. Vikas Kumar");
-        course1.put("schedule", "Mon, Wed, Fri 9:00-10:30 AM");
-        course1.put("classroom", "Room A-101");
-        course1.put("description", "Advanced concepts in data structures and algorithms");
-        course1.put("prerequisites", "CSE201 - Basic Data Structures");
-        course1.put("enrolledStudents", 28);
-        course1.put("maxCapacity", 35);
-        course1.put("semester", "Fall 2024");
-        courses.add(course1);
-        
-        Map<String, Object> course2 = new HashMap<>();
-        course2.put("id", "2");
-        course2.put("courseCode", "CSE401");
-        course2.put("courseName", "Database Management Systems");
-        course2.put("department", "Computer Science");
-        course2.put("credits", 3);
-        course2.put("duration", "16 weeks");
-        course2.put("instructor", "Prof. Hexaware Singh");
-        course2.put("schedule", "Tue, Thu 2:00-3:30 PM");
-        course2.put("classroom", "Room B-205");
-        course2.put("description", "Comprehensive study of database design and management");
-        course2.put("prerequisites", "CSE202 - Introduction to Databases");
-        course2.put("enrolledStudents", 32);
-        course2.put("maxCapacity", 40);
-        course2.put("semester", "Fall 2024");
-        courses.add(course2);
-        
+    public ResponseEntity<List<CourseResponse>> getAllCourses() {
+        List<Course> rows = courseRepository.findAllByOrderByIdAsc();
+        List<CourseResponse> courses = new ArrayList<>(rows.size());
+        for (Course course : rows) {
+            courses.add(toResponse(course));
+        }
         return ResponseEntity.ok(courses);
     }
+
+    // ✅ Live seat counts from the reservation engine
+    @GetMapping("/{id}/seats")
+    public ResponseEntity<Map<String, Object>> getSeats(@PathVariable Long id) {
+        SeatReservationEngine.SeatCounts seats = enrollmentService.seats(id);
+        if (seats == null) {
+            return ResponseEntity.notFound().build();
+        }
+        Map<String, Object> response = new HashMap<>();
+        response.put("courseId", String.valueOf(id));
+        response.put("maxCapacity", seats.capacity());
+        response.put("enrolledStudents", seats.confirmed());
+        response.put("seatsHeld", seats.held());
+        response.put("seatsAvailable", seats.available());
+        return ResponseEntity.ok(response);
+    }
+
+    // ✅ Room / instructor double-bookings of one section, from the timetable index
+    @GetMapping("/{id}/clashes")
+    public ResponseEntity<List<Map<String, Object>>> getClashes(@PathVariable Long id) {
+        if (!courseRepository.existsById(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(timetableService.sectionClashes(id).stream().map(timetableService::describe).toList());
+    }
+
+    // ✅ Bulk check of the whole timetable (rooms, instructors, enrolled students), in parallel
+    @GetMapping("/timetable/validate")
+    public ResponseEntity<Map<String, Object>> validateTimetable() {
+        return ResponseEntity.ok(timetableService.validate());
+    }
+
+    // ✅ Would this room / instructor / schedule clash with what is already booked?
+    @PostMapping("/timetable/check")
+    public ResponseEntity<Map<String, Object>> checkSchedule(@RequestBody Map<String, String> request) {
+        Map<String, Object> response = new HashMap<>();
+        List<WeeklySchedule.Slot> slots = timetableService.parse(request.get("schedule"));
+        if (slots.isEmpty()) {
+            response.put("message", "Schedule not recognised, expected e.g. \"Mon, Wed 9:00-10:30 AM\"");
+            return ResponseEntity.badRequest().body(response);
+        }
+        response.put("slots", slots.stream().map(WeeklySchedule.Slot::toString).toList());
+        response.put("clashes", timetableService.proposedClashes(request.get("semester"), request.get("classroom"),
+                request.get("instructor"), slots).stream().map(timetableService::describe).toList());
+        return ResponseEntity.ok(response);
+    }
+
+    private CourseResponse toResponse(Course course) {
+        SeatReservationEngine.SeatCounts seats = enrollmentService.seats(course.getId());
+        return CourseResponse.from(course, seats != null ? seats.confirmed() : course.getEnrolledStudents());
+    }
 }
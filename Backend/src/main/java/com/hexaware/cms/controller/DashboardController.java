@@ -0,0 +1,31 @@
+package com.hexaware.cms.controller;
+
+import com.hexaware.cms.service.DashboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@CrossOrigin(origins = {"http://localhost:3000", "https://*.spring.new"})
+public class DashboardController {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    // ✅ One request instead of /students + /courses + /fees + /fees/summary; ?fields=students,fees.totalOutstanding
+    @GetMapping
+    public CompletableFuture<ResponseEntity<?>> getDashboard(@RequestParam(required = false) List<String> fields) {
+        try {
+            return dashboardService.load(fields).<ResponseEntity<?>>thenApply(ResponseEntity::ok);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", e.getMessage());
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(response));
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.hexaware.cms.controller;
+
+import com.hexaware.cms.model.Enrollment;
+import com.hexaware.cms.service.EnrollmentService;
+import com.hexaware.cms.service.SeatReservationEngine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("/api/enrollments")
+@CrossOrigin(origins = {"http://localhost:3000", "https://*.spring.new"})
+public class EnrollmentController {
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @GetMapping
+    public ResponseEntity<List<Enrollment>> getEnrollments(@RequestParam String studentId) {
+        return ResponseEntity.ok(enrollmentService.findByStudent(studentId));
+    }
+
+    // ✅ Step 1: hold a seat; it must be confirmed before the hold expires
+    @PostMapping("/holds")
+    public ResponseEntity<Map<String, Object>> reserve(@RequestBody Map<String, Object> request) {
+        Object courseId = request.get("courseId");
+        long id;
+        try {
+            id = courseId instanceof Number number ? number.longValue() : Long.parseLong(String.valueOf(courseId).trim());
+        } catch (NumberFormatException e) {
+            return message(HttpStatus.BAD_REQUEST, "courseId is required");
+        }
+        SeatReservationEngine.Result result;
+        try {
+            result = enrollmentService.reserve(id, (String) request.get("studentId"));
+        } catch (IllegalArgumentException | ClassCastException e) {
+            return message(HttpStatus.BAD_REQUEST, "studentId is required");
+        }
+        return respond(result, HttpStatus.CREATED);
+    }
+
+    // ✅ Step 2: turn the hold into an enrollment; responds once the enrollment is stored
+    @PostMapping("/holds/{holdId}/confirm")
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> confirm(@PathVariable String holdId) {
+        return enrollmentService.confirm(holdId)
+                .thenApply(result -> respond(result, HttpStatus.OK))
+                .exceptionally(ex -> message(HttpStatus.SERVICE_UNAVAILABLE, "Enrollment could not be recorded, please retry"));
+    }
+
+    @DeleteMapping("/holds/{holdId}")
+    public ResponseEntity<Map<String, Object>> release(@PathVariable String holdId) {
+        return respond(enrollmentService.release(holdId), HttpStatus.OK);
+    }
+
+    private ResponseEntity<Map<String, Object>> respond(SeatReservationEngine.Result result, HttpStatus success) {
+        return switch (result.outcome()) {
+            case RESERVED, CONFIRMED, RELEASED -> {
+                SeatReservationEngine.Hold hold = result.hold();
+                Map<String, Object> response = new HashMap<>();
+                response.put("status", result.outcome().name());
+                response.put("holdId", hold.holdId());
+                response.put("courseId", String.valueOf(hold.courseId()));
+                response.put("studentId", hold.studentId());
+                response.put("seatsRemaining", result.seatsRemaining());
+                if (result.outcome() == SeatReservationEngine.Outcome.RESERVED) {
+                    response.put("expiresAt", Instant.ofEpochMilli(hold.expiresAt()).toString());
+                }
+                yield ResponseEntity.status(success).body(response);
+            }
+            case FULL -> message(HttpStatus.CONFLICT, "Course is full");
+            case ALREADY_ENROLLED -> message(HttpStatus.CONFLICT, "Student already holds or has a seat in this course");
+            case UNKNOWN_COURSE -> message(HttpStatus.NOT_FOUND, "Course not found");
+            case HOLD_NOT_FOUND -> message(HttpStatus.NOT_FOUND, "Seat hold not found or already used");
+            case HOLD_EXPIRED -> message(HttpStatus.GONE, "Seat hold expired");
+            case SCHEDULE_CLASH -> {
+                SeatReservationEngine.Hold hold = result.hold();
+                Map<String, Object> response = new HashMap<>();
+                response.put("message", "Course clashes with the student's timetable");
+                response.put("clashes", enrollmentService.scheduleClashes(hold.studentId(), hold.courseId()));
+                yield ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+            }
+        };
+    }
+
+    private static ResponseEntity<Map<String, Object>> message(HttpStatus status, String message) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", message);
+        return ResponseEntity.status(status).body(response);
+    }
+}
@@ -1,60 +1,150 @@
 package com.hexaware.cms.controller;
 
+import com.hexaware.cms.dto.FeeResponse;
+import com.hexaware.cms.exception.ServiceBusyException;
+import com.hexaware.cms.ledger.OverpaymentException;
+import com.hexaware.cms.model.Fee;
+import com.hexaware.cms.repository.FeeFilter;
+import com.hexaware.cms.service.FeeAggregator;
+import com.hexaware.cms.service.FeeExportService;
+import com.hexaware.cms.service.FeeReminderJob;
+import com.hexaware.cms.service.FeeService;
+import com.hexaware.cms.util.StreamingXlsxWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/api/fees")
 @CrossOrigin(origins = {"http://localhost:3000", "https://*.spring.new"})
 public class FeeController {
+
+    @Autowired
+    private FeeService feeService;
+
+    @Autowired
+    private FeeAggregator feeAggregator;
+
+    @Autowired
+    private FeeExportService feeExportService;
+
+    @Autowired
+    private FeeReminderJob feeReminderJob;
     
     @GetMapping
-    public ResponseEntity<List<Map<String, Object>>> getAllFees() {
-        List<Map<String, Object>> fees = new ArrayList<>();
-        
-        Map<String, Object> fee1 = new HashMap<>();
-        fee1.put("id", "1");
-        fee1.put("studentId", "HMS001");
-        fee1.put("studentName", "Rajesh Kumar");
-        fee1.put("course", "Computer Science Engineering");
-        fee1.put("semester", "Fall 2024");
-        fee1.put("totalFees", 75000);
-        fee1.put("feePaid", 50000);
-        fee1.put("balanceDue", 25000);
-        fee1.put("lastPaymentDate", "2024-01-15");
-        fee1.put("lastPaymentAmount", 25000);
-        fee1.put("paymentStatus", "Partial");
-        fee1.put("dueDate", "2024-03-15");
-        fees.add(fee1);
-        
-        Map<String, Object> fee2 = new HashMap<>();
-        fee2.put("id", "2");
-        fee2.put("studentId", "HMS002");
-        fee2.put("studentName", "Priya Sharma");
-        fee2.put("course", "Information Technology");
-        fee2.put("semester", "Fall 2024");
-        fee2.put("totalFees", 70000);
-        fee2.put("feePaid", 70000);
-        fee2.put("balanceDue", 0);
-        fee2.put("lastPaymentDate", "2024-01-10");
-        fee2.put("lastPaymentAmount", 35000);
-        fee2.put("paymentStatus", "Paid");
-        fee2.put("dueDate", "2024-01-31");
-        fees.add(fee2);
-        
-        return ResponseEntity.ok(fees);
+    public ResponseEntity<List<FeeResponse>> getAllFees() {
+        return ResponseEntity.ok(feeService.findAll().stream().map(FeeResponse::from).toList());
     }
     
+    // ✅ O(1): served from incrementally maintained totals, no table scan
     @GetMapping("/summary")
-    public ResponseEntity<Map<String, Object>> getFeesSummary() {
-        Map<String, Object> summary = new HashMap<>();
-        summary.put("totalFeesCollected", 245000);
-        summary.put("totalOutstanding", 45000);
-        summary.put("totalStudents", 8);
-        summary.put("studentsWithOutstanding", 3);
-        summary.put("collectionRate", 84.5);
-        
-        return ResponseEntity.ok(summary);
+    public ResponseEntity<Map<String, Object>> getFeesSummary(
+            @RequestParam(required = false) String semester,
+            @RequestParam(required = false) String course) {
+        return ResponseEntity.ok(feeAggregator.summary(semester, course));
+    }
+
+    // ✅ Streaming report export: ?format=csv|xlsx, rows go straight to the response
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportFees(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) String semester,
+            @RequestParam(required = false) String course,
+            @RequestParam(required = false) String paymentStatus) {
+        FeeFilter filter = new FeeFilter(semester, course, paymentStatus);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().header(HttpHeaders.CACHE_CONTROL, "no-store");
+        switch (format.toLowerCase(Locale.ROOT)) {
+            case "csv":
+                return response
+                        .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                        .header(HttpHeaders.CONTENT_DISPOSITION, attachment("fees.csv"))
+                        .body(out -> feeExportService.writeCsv(filter, out));
+            case "xlsx":
+                return response
+                        .contentType(MediaType.parseMediaType(StreamingXlsxWriter.CONTENT_TYPE))
+                        .header(HttpHeaders.CONTENT_DISPOSITION, attachment("fees.xlsx"))
+                        .body(out -> feeExportService.writeXlsx(filter, out));
+            default:
+                return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping
+    public ResponseEntity<?> assessFee(@RequestBody Map<String, Object> request) {
+        try {
+            Fee fee = feeService.assess(
+                    (String) request.get("studentId"),
+                    (String) request.get("studentName"),
+                    (String) request.get("course"),
+                    (String) request.get("semester"),
+                    toLong(request.get("totalFees")),
+                    request.get("dueDate") != null ? LocalDate.parse((String) request.get("dueDate")) : null);
+            return ResponseEntity.status(HttpStatus.CREATED).body(FeeResponse.from(fee));
+        } catch (IllegalArgumentException | ClassCastException | java.time.format.DateTimeParseException e) {
+            return badRequest(e.getMessage());
+        }
+    }
+
+    // ✅ Responds once the payment is durable in the ledger
+    @PostMapping("/{id}/payments")
+    public CompletableFuture<ResponseEntity<?>> recordPayment(@PathVariable Long id, @RequestBody Map<String, Object> request) {
+        CompletableFuture<Fee> payment;
+        try {
+            payment = feeService.recordPayment(id, toLong(request.get("amount")));
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(badRequest(e.getMessage()));
+        }
+        return payment.<ResponseEntity<?>>thenApply(fee -> ResponseEntity.ok(FeeResponse.from(fee)))
+                .exceptionally(ex -> {
+                    Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                    if (cause instanceof ServiceBusyException busy) {
+                        throw busy;
+                    }
+                    if (cause instanceof OverpaymentException overpayment) {
+                        return badRequest(overpayment.getMessage());
+                    }
+                    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                            .body(Map.of("message", "Payment could not be recorded: " + cause.getMessage()));
+                });
+    }
+
+    // ✅ Today's overdue-fee reminder run on demand (normally nightly); continues an interrupted run
+    @PostMapping("/reminders/run")
+    public ResponseEntity<Map<String, Object>> runReminders() {
+        Map<String, Object> run = feeReminderJob.run();
+        if ("ALREADY_RUNNING".equals(run.get("status"))) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(run);
+        }
+        return ResponseEntity.ok(run);
+    }
+
+    private static long toLong(Object value) {
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        if (value instanceof String text) {
+            return Long.parseLong(text.trim());
+        }
+        throw new IllegalArgumentException("Amount is required");
+    }
+
+    private static String attachment(String filename) {
+        return ContentDisposition.attachment().filename(filename).build().toString();
+    }
+
+    private static ResponseEntity<Map<String, Object>> badRequest(String message) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", message);
+        return ResponseEntity.badRequest().body(response);
     }
 }
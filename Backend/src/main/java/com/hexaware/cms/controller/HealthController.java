@@ -1,21 +1,75 @@
 package com.hexaware.cms.controller;
 
+import com.hexaware.cms.metrics.ComponentStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.web.bind.annotation.*;
+import java.lang.management.ManagementFactory;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @RestController
 @RequestMapping("/api")
 @CrossOrigin(origins = {"http://localhost:3000", "https://*.spring.new"})
 public class HealthController {
-    
+
+    @Autowired
+    private ComponentStats componentStats;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationAvailability applicationAvailability;
+
+    // ✅ Readiness: 503 while starting up or when the database / payment ledger is unavailable
     @GetMapping("/health")
-    public ResponseEntity<Map<String, String>> health() {
-        Map<String, String> response = new HashMap<>();
-        response.put("status", "UP");
+    public ResponseEntity<Map<String, Object>> health() {
+        Map<String, Map<String, Object>> components = componentStats.collect();
+        Map<String, Object> checks = new LinkedHashMap<>();
+        boolean ready = applicationAvailability.getReadinessState() == ReadinessState.ACCEPTING_TRAFFIC;
+        checks.put("readiness", check(ready, applicationAvailability.getReadinessState().name()));
+
+        boolean databaseUp;
+        long start = System.nanoTime();
+        try {
+            jdbcTemplate.queryForObject("select 1", Integer.class);
+            databaseUp = true;
+        } catch (RuntimeException e) {
+            databaseUp = false;
+        }
+        Map<String, Object> database = check(databaseUp, databaseUp ? "reachable" : "unreachable");
+        database.put("latencyMillis", (System.nanoTime() - start) / 1_000_000.0);
+        checks.put("database", database);
+
+        boolean ledgerUp = Boolean.TRUE.equals(components.get("paymentLedger").get("healthy"));
+        checks.put("paymentLedger", check(ledgerUp, ledgerUp ? "writable" : "failed"));
+
+        // Saturated hashing pool degrades logins but the service is still up
+        Object remaining = components.get("passwordHashing").get("queueRemainingCapacity");
+        boolean hashingOk = !(remaining instanceof Number n) || n.intValue() > 0;
+        checks.put("passwordHashing", check(hashingOk, hashingOk ? "accepting" : "saturated"));
+
+        boolean up = ready && databaseUp && ledgerUp;
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", !up ? "DOWN" : hashingOk ? "UP" : "DEGRADED");
         response.put("message", "Vikas's College Management Backend is running successfully! 🚀");
         response.put("timestamp", java.time.Instant.now().toString());
-        return ResponseEntity.ok(response);
+        response.put("uptimeSeconds", ManagementFactory.getRuntimeMXBean().getUptime() / 1000);
+        response.put("checks", checks);
+        response.putAll(components);
+        return ResponseEntity.status(up ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE).body(response);
+    }
+
+    private static Map<String, Object> check(boolean ok, String detail) {
+        Map<String, Object> check = new LinkedHashMap<>();
+        check.put("status", ok ? "UP" : "DOWN");
+        check.put("detail", detail);
+        return check;
     }
 }
@@ -0,0 +1,85 @@
+package com.hexaware.cms.controller;
+
+import com.hexaware.cms.metrics.ComponentStats;
+import com.hexaware.cms.metrics.HibernateStatementCounter;
+import com.hexaware.cms.metrics.MetricsRegistry;
+import com.hexaware.cms.metrics.MetricsRegistry.RouteKey;
+import com.hexaware.cms.metrics.MetricsRegistry.RouteMetrics;
+import com.hexaware.cms.metrics.PrometheusFormatter;
+import com.hexaware.cms.service.PasswordHashingExecutor;
+import com.hexaware.cms.util.JwtUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.hexaware.cms.metrics.PrometheusFormatter.labels;
+
+@RestController
+@RequestMapping("/api")
+@CrossOrigin(origins = {"http://localhost:3000", "https://*.spring.new"})
+public class MetricsController {
+
+    private static final double NANOS_TO_SECONDS = 1e-9;
+
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+
+    @Autowired
+    private ComponentStats componentStats;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    // ✅ Prometheus scrape endpoint
+    @GetMapping("/metrics")
+    public ResponseEntity<String> metrics() {
+        PrometheusFormatter out = new PrometheusFormatter();
+        Map<RouteKey, RouteMetrics> routes = new TreeMap<>(
+                (a, b) -> a.route().equals(b.route()) ? a.method().compareTo(b.method()) : a.route().compareTo(b.route()));
+        routes.putAll(metricsRegistry.routes());
+
+        out.header("http_server_requests_seconds", "summary", "Request latency by route");
+        routes.forEach((key, route) -> out.summary("http_server_requests_seconds",
+                labels("method", key.method(), "route", key.route()), route.latencyNanos().snapshot(), NANOS_TO_SECONDS));
+
+        out.header("http_server_requests_total", "counter", "Requests by route and status");
+        routes.forEach((key, route) -> {
+            for (Map.Entry<Integer, LongAdder> status : route.statuses().entrySet()) {
+                out.sample("http_server_requests_total",
+                        labels("method", key.method(), "route", key.route(), "status", String.valueOf(status.getKey())),
+                        status.getValue().sum());
+            }
+        });
+
+        out.header("http_server_request_statements", "summary", "Hibernate SQL statements per request");
+        routes.forEach((key, route) -> out.summary("http_server_request_statements",
+                labels("method", key.method(), "route", key.route()), route.statements().snapshot(), 1));
+
+        out.header("http_server_request_allocated_bytes", "summary", "Heap allocated per request (sampled)");
+        routes.forEach((key, route) -> out.summary("http_server_request_allocated_bytes",
+                labels("method", key.method(), "route", key.route()), route.allocatedBytes().snapshot(), 1));
+
+        out.header("jwt_verify_seconds", "summary", "Time in JwtUtil.verify, cache hits included");
+        out.summary("jwt_verify_seconds", null, jwtUtil.getVerifyLatency().snapshot(), NANOS_TO_SECONDS);
+
+        out.header("bcrypt_hash_seconds", "summary", "BCrypt encode/match time on the hashing pool");
+        out.summary("bcrypt_hash_seconds", null, passwordHashingExecutor.getHashLatency().snapshot(), NANOS_TO_SECONDS);
+
+        out.header("hibernate_statements_total", "counter", "SQL statements prepared by Hibernate");
+        out.sample("hibernate_statements_total", null, HibernateStatementCounter.total());
+
+        componentStats.collect().forEach(out::gauges);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, PrometheusFormatter.CONTENT_TYPE)
+                .body(out.toString());
+    }
+}
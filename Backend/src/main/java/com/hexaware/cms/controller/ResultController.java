@@ -0,0 +1,28 @@
+package com.hexaware.cms.controller;
+
+import com.hexaware.cms.model.StudentResult;
+import com.hexaware.cms.service.ResultProcessingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.*;
+
+@RestController
+@RequestMapping("/api/results")
+@CrossOrigin(origins = {"http://localhost:3000", "https://*.spring.new"})
+public class ResultController {
+
+    @Autowired
+    private ResultProcessingService resultProcessingService;
+
+    // ✅ Semester-end batch: grades, percentages, GPA and class ranks for every student
+    @PostMapping("/process")
+    public ResponseEntity<Map<String, Object>> process() {
+        return ResponseEntity.ok(resultProcessingService.processAll());
+    }
+
+    @GetMapping("/{studentId}")
+    public ResponseEntity<List<StudentResult>> getResults(@PathVariable String studentId) {
+        return ResponseEntity.ok(resultProcessingService.resultsFor(studentId));
+    }
+}
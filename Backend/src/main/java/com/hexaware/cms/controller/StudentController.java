@@ -1,84 +1,130 @@
 package com.hexaware.cms.controller;
 
+import com.hexaware.cms.dto.MarkResponse;
+import com.hexaware.cms.dto.MarkSearchResult;
+import com.hexaware.cms.dto.StudentResponse;
+import com.hexaware.cms.model.Mark;
+import com.hexaware.cms.repository.StudentFilter;
+import com.hexaware.cms.service.MarksSearchIndex;
+import com.hexaware.cms.service.ResultProcessingService;
+import com.hexaware.cms.service.StudentService;
+import com.hexaware.cms.util.GradeScale;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.util.*;
 
 @RestController
 @RequestMapping("/api")
-@CrossOrigin(origins = {"http://localhost:3000", "https://*.spring.new"})
+@CrossOrigin(origins = {"http://localhost:3000", "https://*.spring.new"}, exposedHeaders = "X-Next-Cursor")
 public class StudentController {
-    
-    @GetMapping("/students")
-    public ResponseEntity<List<Map<String, Object>>> getAllStudents() {
-        List<Map<String, Object>> students = new ArrayList<>();
-        
-        Map<String, Object> student1 = new HashMap<>();
-        student1.put("id", "1");
-        student1.put("studentId", "HMS001");
-        student1.put("studentName", "Rajesh Kumar");
-        student1.put("course", "Computer Science Engineering");
-        student1.put("semester", "Fall 2024");
-        student1.put("email", "rajesh@hexaware.college");
-        student1.put("department", "Computer Science");
-        students.add(student1);
-        
-        Map<String, Object> student2 = new HashMap<>();
-        student2.put("id", "2");
-        student2.put("studentId", "HMS002");
-        student2.put("studentName", "Priya Sharma");
-        student2.put("course", "Information Technology");
-        student2.put("semester", "Fall 2024");
-        student2.put("email", "priya@hexaware.college");
-        student2.put("department", "Information Technology");
-        students.add(student2);
-        
-        return ResponseEntity.ok(students);
+
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    @Autowired
+    private StudentService studentService;
+
+    // ✅ Keyset pagination on (department, studentId); next page token in X-Next-Cursor
+    @GetMapping(value = "/students", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<StudentResponse>> getAllStudents(
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) String semester,
+            @RequestParam(required = false) String course,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + StudentService.DEFAULT_PAGE_SIZE) int limit) {
+        StudentService.Page page;
+        try {
+            page = studentService.findPage(new StudentFilter(department, semester, course), cursor, limit);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.students().stream().map(StudentResponse::from).toList());
+    }
+
+    // ✅ Streaming export: Accept: application/x-ndjson
+    @GetMapping(value = "/students", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportStudents(
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) String semester,
+            @RequestParam(required = false) String course) {
+        StudentFilter filter = new StudentFilter(department, semester, course);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(out -> studentService.writeNdjson(filter, out));
     }
     
+    @Autowired
+    private MarksSearchIndex marksSearchIndex;
+
+    @Autowired
+    private ResultProcessingService resultProcessingService;
+
+    // ✅ Typeahead over name / studentId / course / subject names, served from the in-memory index
     @GetMapping("/marks/search")
-    public ResponseEntity<List<Map<String, Object>>> searchMarks(@RequestParam String q) {
-        List<Map<String, Object>> results = new ArrayList<>();
-        
-        if (!q.trim().isEmpty()) {
-            Map<String, Object> studentMark = new HashMap<>();
-            studentMark.put("id", "1");
-            studentMark.put("studentId", "HMS001");
-            studentMark.put("studentName", "Rajesh Kumar");
-            studentMark.put("course", "Computer Science Engineering");
-            studentMark.put("semester", "Fall 2024");
-            studentMark.put("totalMarks", 470);
-            studentMark.put("maxTotalMarks", 500);
-            studentMark.put("percentage", 94.0);
-            studentMark.put("gpa", 3.9);
-            
-            List<Map<String, Object>> subjects = new ArrayList<>();
-            
-            Map<String, Object> subject1 = new HashMap<>();
-            subject1.put("name", "Data Structures");
-            subject1.put("marks", 98);
-            subject1.put("totalMarks", 100);
-            subject1.put("grade", "A+");
-            subjects.add(subject1);
-            
-            Map<String, Object> subject2 = new HashMap<>();
-            subject2.put("name", "Database Management");
-            subject2.put("marks", 92);
-            subject2.put("totalMarks", 100);
-            subject2.put("grade", "A+");
-            subjects.add(subject2);
-            
-            Map<String, Object> subject3 = new HashMap<>();
-            subject3.put("name", "Web Development");
-            subject3.put("marks", 89);
-            subject3.put("totalMarks", 100);
-            subject3.put("grade", "A");
-            subjects.add(subject3);
-            
-            studentMark.put("subjects", subjects);
-            results.add(studentMark);
+    public ResponseEntity<List<MarkSearchResult>> searchMarks(
+            @RequestParam(name = "q", required = false) String q,
+            @RequestParam(name = "query", required = false) String query,
+            @RequestParam(defaultValue = "20") int limit) {
+        String text = q != null ? q : query;
+        if (text == null || text.trim().isEmpty()) {
+            return ResponseEntity.ok(List.of());
         }
-        
+
+        List<MarksSearchIndex.SearchHit> hits = marksSearchIndex.search(text, Math.min(Math.max(limit, 1), 100));
+        List<MarkSearchResult> results = new ArrayList<>(hits.size());
+        for (MarksSearchIndex.SearchHit hit : hits) {
+            MarksSearchIndex.SearchDoc doc = hit.doc();
+            int totalMarks = 0;
+            int maxTotalMarks = 0;
+            double gradePoints = 0;
+
+            List<MarkSearchResult.Subject> subjects = new ArrayList<>(doc.subjects().size());
+            for (MarksSearchIndex.SubjectMark subject : doc.subjects()) {
+                double percentage = GradeScale.percentage(subject.marks(), subject.maxMarks());
+                subjects.add(new MarkSearchResult.Subject(subject.name(), subject.marks(), subject.maxMarks(),
+                        GradeScale.grade(percentage)));
+
+                totalMarks += subject.marks();
+                maxTotalMarks += subject.maxMarks();
+                gradePoints += GradeScale.points(percentage);
+            }
+
+            ResultProcessingService.Standing standing = resultProcessingService.standingOf(doc.studentId(), doc.semester());
+            results.add(new MarkSearchResult(doc.studentId(), doc.studentId(), doc.studentName(), doc.course(),
+                    doc.semester(), totalMarks, maxTotalMarks,
+                    GradeScale.round2(GradeScale.percentage(totalMarks, maxTotalMarks)),
+                    subjects.isEmpty() ? 0.0 : GradeScale.round2(gradePoints / subjects.size()),
+                    subjects,
+                    standing != null ? standing.rank() : null,
+                    standing != null ? standing.classSize() : null,
+                    hit.score()));
+        }
+
         return ResponseEntity.ok(results);
     }
+
+    // ✅ Mark correction; grade, GPA and class ranks are recomputed incrementally after commit
+    @PutMapping("/marks/{id}")
+    public ResponseEntity<?> correctMark(@PathVariable Long id, @RequestBody Map<String, Object> request) {
+        Map<String, Object> response = new HashMap<>();
+        if (!(request.get("marks") instanceof Number marks)) {
+            response.put("message", "marks is required");
+            return ResponseEntity.badRequest().body(response);
+        }
+        try {
+            Mark mark = resultProcessingService.correctMark(id, marks.intValue());
+            return ResponseEntity.ok(MarkResponse.from(mark));
+        } catch (IllegalArgumentException e) {
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
 }
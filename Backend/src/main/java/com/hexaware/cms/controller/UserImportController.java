@@ -0,0 +1,30 @@
+package com.hexaware.cms.controller;
+
+import com.hexaware.cms.dto.UserImportReport;
+import com.hexaware.cms.service.UserImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/users")
+@CrossOrigin(origins = {"http://localhost:3000", "https://*.spring.new"})
+public class UserImportController {
+
+    @Autowired
+    private UserImportService userImportService;
+
+    // ✅ Body is streamed straight from the request, never buffered whole
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<UserImportReport> importUsers(HttpServletRequest request) throws IOException {
+        UserImportService.Format format = MediaType.APPLICATION_JSON.isCompatibleWith(
+                MediaType.parseMediaType(request.getContentType()))
+                ? UserImportService.Format.JSON
+                : UserImportService.Format.CSV;
+        return ResponseEntity.ok(userImportService.importUsers(request.getInputStream(), format));
+    }
+}
@@ -0,0 +1,116 @@
+package com.hexaware.cms.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Sends read-only transactions (@Transactional(readOnly = true), the readOnly
+ * TransactionTemplates and Spring Data's find* methods) to the replica pool and everything
+ * else to the primary. Once a request has used the primary, its later read-only work stays
+ * there too, so a request never reads older data than it has just written. Work outside a
+ * request (schedulers, async continuations) routes on the read-only flag alone.
+ *
+ * The key is looked up when the physical connection is fetched, so this must sit behind a
+ * LazyConnectionDataSourceProxy: transaction managers take a connection before the
+ * read-only flag is bound to the thread, the proxy defers it to the first statement.
+ *
+ * Reads that seed state later writes build on (seat counts, attendance sections, fee
+ * aggregates) must not see a lagging copy; they run inside {@link #onPrimary}.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route { PRIMARY, REPLICA }
+
+    private static final String USED_PRIMARY = ReadWriteRoutingDataSource.class.getName() + ".usedPrimary";
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private final HikariDataSource primary;
+    private final HikariDataSource replica;
+
+    private final LongAdder primaryRoutes = new LongAdder();
+    private final LongAdder replicaRoutes = new LongAdder();
+    private final LongAdder stickyRoutes = new LongAdder();
+
+    public ReadWriteRoutingDataSource(HikariDataSource primary, HikariDataSource replica) {
+        this.primary = primary;
+        this.replica = replica;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    // ✅ Connections first used inside work go to the primary; a no-op without a replica
+    public static <T> T onPrimary(Supplier<T> work) {
+        if (PINNED.get() != null) {
+            return work.get();
+        }
+        PINNED.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            PINNED.remove();
+        }
+    }
+
+    public static void onPrimary(Runnable work) {
+        onPrimary(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (PINNED.get() != null) {
+            primaryRoutes.increment();
+            return Route.PRIMARY;
+        }
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            primaryRoutes.increment();
+            if (request != null) {
+                request.setAttribute(USED_PRIMARY, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+            }
+            return Route.PRIMARY;
+        }
+        // ✅ Read-your-writes: the replica may not have this request's writes yet
+        if (request != null && request.getAttribute(USED_PRIMARY, RequestAttributes.SCOPE_REQUEST) != null) {
+            stickyRoutes.increment();
+            return Route.PRIMARY;
+        }
+        replicaRoutes.increment();
+        return Route.REPLICA;
+    }
+
+    // Flat keys ("replica.utilization") so every value is also a Prometheus gauge
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("routes.primary", primaryRoutes.sum());
+        stats.put("routes.replica", replicaRoutes.sum());
+        stats.put("routes.stickyPrimary", stickyRoutes.sum());
+        putPool(stats, "primary", primary);
+        putPool(stats, "replica", replica);
+        return stats;
+    }
+
+    private static void putPool(Map<String, Object> stats, String name, HikariDataSource pool) {
+        HikariPoolMXBean bean = pool.getHikariPoolMXBean();
+        int max = pool.getMaximumPoolSize();
+        int active = bean != null ? bean.getActiveConnections() : 0;
+        stats.put(name + ".active", active);
+        stats.put(name + ".idle", bean != null ? bean.getIdleConnections() : 0);
+        stats.put(name + ".total", bean != null ? bean.getTotalConnections() : 0);
+        stats.put(name + ".max", max);
+        stats.put(name + ".waiting", bean != null ? bean.getThreadsAwaitingConnection() : 0);
+        stats.put(name + ".utilization", max > 0 ? (double) active / max : 0.0);
+    }
+}
@@ -0,0 +1,9 @@
+package com.hexaware.cms.dto;
+
+import com.hexaware.cms.model.Role;
+
+// ✅ Never carries the password hash back to the client
+public record AuthResponse(User user, String token) {
+
+    public record User(Long id, String email, String name, Role role) {}
+}
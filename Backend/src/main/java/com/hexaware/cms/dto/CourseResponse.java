@@ -0,0 +1,17 @@
+package com.hexaware.cms.dto;
+
+import com.hexaware.cms.model.Course;
+
+// id is a string on the wire, as the frontend has always received it
+public record CourseResponse(String id, String courseCode, String courseName, String department, int credits,
+                             String duration, String instructor, String schedule, String classroom,
+                             String description, String prerequisites, int enrolledStudents, int maxCapacity,
+                             String semester) {
+
+    public static CourseResponse from(Course course, int enrolledStudents) {
+        return new CourseResponse(String.valueOf(course.getId()), course.getCourseCode(), course.getCourseName(),
+                course.getDepartment(), course.getCredits(), course.getDuration(), course.getInstructor(),
+                course.getSchedule(), course.getClassroom(), course.getDescription(), course.getPrerequisites(),
+                enrolledStudents, course.getMaxCapacity(), course.getSemester());
+    }
+}
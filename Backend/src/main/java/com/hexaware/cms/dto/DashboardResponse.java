@@ -0,0 +1,15 @@
+package com.hexaware.cms.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+// Sections that timed out, failed or were shed are missing from sections and named in unavailable
+public record DashboardResponse(Map<String, Map<String, Object>> sections,
+                                @JsonInclude(JsonInclude.Include.NON_EMPTY) Map<String, String> unavailable,
+                                long elapsedMillis) {
+
+    public boolean isPartial() {
+        return !unavailable.isEmpty();
+    }
+}
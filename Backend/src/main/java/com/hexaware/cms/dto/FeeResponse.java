@@ -0,0 +1,19 @@
+package com.hexaware.cms.dto;
+
+import com.hexaware.cms.model.Fee;
+
+import java.time.LocalDate;
+
+// id is a string on the wire, as the frontend has always received it; version is echoed so
+// clients can detect a concurrent payment
+public record FeeResponse(String id, String studentId, String studentName, String course, String semester,
+                          long totalFees, long feePaid, long balanceDue, LocalDate lastPaymentDate,
+                          long lastPaymentAmount, String paymentStatus, LocalDate dueDate, long version) {
+
+    public static FeeResponse from(Fee fee) {
+        return new FeeResponse(String.valueOf(fee.getId()), fee.getStudentId(), fee.getStudentName(), fee.getCourse(),
+                fee.getSemester(), fee.getTotalFees(), fee.getFeePaid(), fee.getBalanceDue(),
+                fee.getLastPaymentDate(), fee.getLastPaymentAmount(), fee.getPaymentStatus(), fee.getDueDate(),
+                fee.getVersion());
+    }
+}
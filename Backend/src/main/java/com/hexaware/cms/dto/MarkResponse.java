@@ -0,0 +1,11 @@
+package com.hexaware.cms.dto;
+
+import com.hexaware.cms.model.Mark;
+
+public record MarkResponse(Long id, String studentId, String subjectName, int marks, int maxMarks, String semester) {
+
+    public static MarkResponse from(Mark mark) {
+        return new MarkResponse(mark.getId(), mark.getStudentId(), mark.getSubjectName(), mark.getMarks(),
+                mark.getMaxMarks(), mark.getSemester());
+    }
+}
@@ -0,0 +1,16 @@
+package com.hexaware.cms.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+// classRank / classSize are omitted until the semester's results have been processed
+public record MarkSearchResult(String id, String studentId, String studentName, String course, String semester,
+                               int totalMarks, int maxTotalMarks, double percentage, double gpa,
+                               List<Subject> subjects,
+                               @JsonInclude(JsonInclude.Include.NON_NULL) Integer classRank,
+                               @JsonInclude(JsonInclude.Include.NON_NULL) Integer classSize,
+                               int score) {
+
+    public record Subject(String name, int marks, int totalMarks, String grade) {}
+}
@@ -0,0 +1,13 @@
+package com.hexaware.cms.dto;
+
+import com.hexaware.cms.model.Student;
+
+// id is a string on the wire, as the frontend has always received it
+public record StudentResponse(String id, String studentId, String studentName, String email,
+                              String course, String semester, String department) {
+
+    public static StudentResponse from(Student student) {
+        return new StudentResponse(String.valueOf(student.getId()), student.getStudentId(), student.getStudentName(),
+                student.getEmail(), student.getCourse(), student.getSemester(), student.getDepartment());
+    }
+}
@@ -0,0 +1,11 @@
+package com.hexaware.cms.dto;
+
+import java.util.List;
+
+public record UserImportReport(int totalRows, int created, int skipped, int failed,
+                               long elapsedMillis, List<RowResult> rows) {
+
+    public enum Status { CREATED, SKIPPED, FAILED }
+
+    public record RowResult(int row, String email, Status status, String message) {}
+}
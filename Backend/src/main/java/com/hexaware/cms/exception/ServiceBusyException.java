@@ -0,0 +1,16 @@
+package com.hexaware.cms.exception;
+
+// ✅ Thrown when a bounded executor is saturated; mapped to 503 + Retry-After
+public class ServiceBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -1,6 +1,8 @@
 package com.hexaware.cms.filter;
 
+import com.hexaware.cms.service.TokenRevocationService;
 import com.hexaware.cms.util.JwtUtil;
+import com.hexaware.cms.util.VerifiedToken;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -22,6 +24,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     @Override
     protected void doFilterInternal(
             @NonNull HttpServletRequest request,
@@ -29,23 +34,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain) throws ServletException, IOException {
 
         String authHeader = request.getHeader("Authorization");
-        String token = null;
-        String username = null;
-
-        // ✅ Extract token if exists
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            token = authHeader.substring(7);
-            username = jwtUtil.getSubject(token); // ✅ updated method
-        }
 
-        // ✅ If valid user and no auth already set
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        // ✅ Extract and verify token once (signature + expiry)
+        if (authHeader != null && authHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            VerifiedToken verified = jwtUtil.verify(authHeader.substring(7));
 
-            // ✅ Since no DB user validation for now, we create a simple user
-            User userDetails = new User(username, "", Collections.emptyList());
+            // ✅ Logged-out tokens are rejected from memory, no per-request DB lookup
+            if (verified != null && !tokenRevocationService.isRevoked(verified)) {
+                // ✅ Since no DB user validation for now, we create a simple user
+                User userDetails = new User(verified.subject(), "", Collections.emptyList());
 
-            // ✅ Validate token
-            if (jwtUtil.validateToken(token, username)) {
                 UsernamePasswordAuthenticationToken authToken =
                         new UsernamePasswordAuthenticationToken(
                                 userDetails, null, userDetails.getAuthorities());
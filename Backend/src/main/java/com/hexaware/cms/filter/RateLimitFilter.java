@@ -0,0 +1,277 @@
+package com.hexaware.cms.filter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hexaware.cms.metrics.RequestMetricsFilter;
+import com.hexaware.cms.model.User;
+import com.hexaware.cms.util.TokenBucketLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Token-bucket throttling for the unauthenticated, CPU-heavy routes (login, register). The
+ * check happens before the request reaches a controller, so a rejected attempt never costs
+ * a BCrypt comparison. Each configured route limits by client IP and/or by the email in the
+ * JSON body, and a request needs a token from every bucket it maps to. Runs after the Spring
+ * Security chain so 429 responses still carry CORS headers. Behind a proxy, set
+ * server.forward-headers-strategy so the client IP is the caller's and not the proxy's.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 5)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    // "<METHOD> <path> ip=20/min email=5/30s"
+    private static final Pattern LIMIT = Pattern.compile("(ip|email)=(\\d+)/(\\d*)(ms|s|min|h)");
+
+    private record Limit(String keyType, String spec, TokenBucketLimiter limiter) {}
+
+    private record Route(String name, List<Limit> limits, boolean needsEmail) {}
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final boolean enabled;
+    private final int maxBodyBytes;
+    private final Map<String, Route> routes = new HashMap<>();
+
+    public RateLimitFilter(Environment environment,
+                           @Value("${app.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${app.rate-limit.max-buckets:100000}") int maxBuckets,
+                           @Value("${app.rate-limit.max-body-bytes:8192}") int maxBodyBytes) {
+        this.enabled = enabled;
+        this.maxBodyBytes = maxBodyBytes;
+        Map<String, String> configured = Binder.get(environment)
+                .bind("app.rate-limit.routes", Bindable.mapOf(String.class, String.class))
+                .orElse(Map.of());
+        configured.forEach((name, spec) -> {
+            String[] parts = spec.trim().split("\\s+");
+            if (parts.length < 3) {
+                throw new IllegalArgumentException("app.rate-limit.routes." + name + ": expected \"METHOD /path key=n/period ...\"");
+            }
+            List<Limit> limits = new ArrayList<>();
+            for (int i = 2; i < parts.length; i++) {
+                Matcher m = LIMIT.matcher(parts[i]);
+                if (!m.matches()) {
+                    throw new IllegalArgumentException("app.rate-limit.routes." + name + ": bad limit " + parts[i]);
+                }
+                limits.add(new Limit(m.group(1), parts[i],
+                        new TokenBucketLimiter(Integer.parseInt(m.group(2)), periodNanos(m.group(3), m.group(4)), maxBuckets)));
+            }
+            limits.sort(Comparator.comparing(limit -> !limit.keyType().equals("ip")));
+            boolean needsEmail = limits.stream().anyMatch(limit -> limit.keyType().equals("email"));
+            routes.put(parts[0].toUpperCase(Locale.ROOT) + " " + parts[1], new Route(name, limits, needsEmail));
+        });
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled || !routes.containsKey(request.getMethod() + " " + request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        Route route = routes.get(request.getMethod() + " " + request.getRequestURI());
+        String email = null;
+        if (route.needsEmail()) {
+            ReplayingRequest replaying = new ReplayingRequest(request, maxBodyBytes);
+            email = emailOf(replaying.prefix());
+            request = replaying;
+        }
+
+        // ✅ Cheapest rejection first: the IP bucket is checked before the email bucket is touched
+        for (Limit limit : route.limits()) {
+            String key = limit.keyType().equals("ip") ? request.getRemoteAddr() : email;
+            if (key == null) {
+                continue;
+            }
+            long waitNanos = limit.limiter().tryAcquire(key);
+            if (waitNanos > 0) {
+                reject(request, response, waitNanos);
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    // ✅ Fully refilled buckets carry no state, dropping them changes nothing
+    @Scheduled(fixedDelayString = "${app.rate-limit.evict-interval-ms:60000}",
+            initialDelayString = "${app.rate-limit.evict-interval-ms:60000}")
+    public void evictIdle() {
+        int removed = 0;
+        for (Route route : routes.values()) {
+            for (Limit limit : route.limits()) {
+                removed += limit.limiter().evictIdle();
+            }
+        }
+        if (removed > 0) {
+            log.debug("Rate limiter evicted {} idle buckets", removed);
+        }
+    }
+
+    // Flat keys ("login.ip.rejected") so every counter is also a Prometheus gauge
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        for (Route route : routes.values()) {
+            for (Limit limit : route.limits()) {
+                TokenBucketLimiter limiter = limit.limiter();
+                String prefix = route.name() + "." + limit.keyType() + ".";
+                stats.put(prefix + "limit", limit.spec());
+                stats.put(prefix + "buckets", limiter.size());
+                stats.put(prefix + "allowed", limiter.allowedCount());
+                stats.put(prefix + "rejected", limiter.rejectedCount());
+                stats.put(prefix + "untracked", limiter.untrackedCount());
+                stats.put(prefix + "evicted", limiter.evictedCount());
+            }
+        }
+        return stats;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        request.setAttribute(RequestMetricsFilter.ROUTE_ATTRIBUTE, request.getRequestURI());
+        Map<String, Object> body = new HashMap<>();
+        body.put("message", "Too many attempts, please retry later");
+        body.put("retryAfterSeconds", retryAfter);
+        response.setStatus(429);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    // Normalized email from a JSON body, or null (the IP limit still applies)
+    private String emailOf(byte[] body) {
+        if (body.length == 0) {
+            return null;
+        }
+        try {
+            JsonNode email = objectMapper.readTree(body).path("email");
+            return email.isTextual() && !email.asText().isBlank() ? User.normalizeEmail(email.asText()) : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static long periodNanos(String amount, String unit) {
+        long n = amount.isEmpty() ? 1 : Long.parseLong(amount);
+        return switch (unit) {
+            case "ms" -> TimeUnit.MILLISECONDS.toNanos(n);
+            case "s" -> TimeUnit.SECONDS.toNanos(n);
+            case "min" -> TimeUnit.MINUTES.toNanos(n);
+            default -> TimeUnit.HOURS.toNanos(n);
+        };
+    }
+
+    /**
+     * Reads up to maxBytes of the body so the email can be parsed here, then hands the
+     * controller those bytes followed by whatever was left unread. A body larger than the
+     * limit is not parsed.
+     */
+    private static final class ReplayingRequest extends HttpServletRequestWrapper {
+
+        private final byte[] prefix;
+        private final boolean complete;
+        private ServletInputStream stream;
+
+        ReplayingRequest(HttpServletRequest request, int maxBytes) throws IOException {
+            super(request);
+            byte[] read = request.getInputStream().readNBytes(maxBytes + 1);
+            this.complete = read.length <= maxBytes;
+            this.prefix = read;
+        }
+
+        byte[] prefix() {
+            return complete ? prefix : new byte[0];
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (stream == null) {
+                InputStream body = complete ? new ByteArrayInputStream(prefix)
+                        : new SequenceInputStream(new ByteArrayInputStream(prefix), super.getInputStream());
+                stream = new ServletInputStream() {
+                    private boolean finished;
+
+                    @Override
+                    public int read() throws IOException {
+                        int b = body.read();
+                        finished = b < 0;
+                        return b;
+                    }
+
+                    @Override
+                    public int read(byte[] buffer, int offset, int length) throws IOException {
+                        int n = body.read(buffer, offset, length);
+                        finished = n < 0;
+                        return n;
+                    }
+
+                    @Override
+                    public boolean isFinished() {
+                        return finished;
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return true;
+                    }
+
+                    @Override
+                    public void setReadListener(ReadListener listener) {
+                        throw new UnsupportedOperationException("Blocking reads only");
+                    }
+                };
+            }
+            return stream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String encoding = getCharacterEncoding() != null ? getCharacterEncoding() : "UTF-8";
+            return new BufferedReader(new InputStreamReader(getInputStream(), encoding));
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.hexaware.cms.ledger;
+
+// ✅ A payment larger than what is still due; rejected by the journal's committer, nothing is written
+public class OverpaymentException extends IllegalArgumentException {
+
+    private final long feeId;
+    private final long balanceDue;
+
+    public OverpaymentException(long feeId, long balanceDue) {
+        super("Payment exceeds balance due of " + balanceDue);
+        this.feeId = feeId;
+        this.balanceDue = balanceDue;
+    }
+
+    public long getFeeId() {
+        return feeId;
+    }
+
+    public long getBalanceDue() {
+        return balanceDue;
+    }
+}
@@ -0,0 +1,109 @@
+package com.hexaware.cms.metrics;
+
+import com.hexaware.cms.cache.ResponseCache;
+import com.hexaware.cms.datasource.ReadWriteRoutingDataSource;
+import com.hexaware.cms.filter.RateLimitFilter;
+import com.hexaware.cms.service.AttendanceService;
+import com.hexaware.cms.service.DashboardService;
+import com.hexaware.cms.service.EnrollmentService;
+import com.hexaware.cms.service.FeeAggregator;
+import com.hexaware.cms.service.FeeReminderDispatcher;
+import com.hexaware.cms.service.FeeReminderJob;
+import com.hexaware.cms.service.MarksSearchIndex;
+import com.hexaware.cms.service.PasswordHashingExecutor;
+import com.hexaware.cms.service.PaymentLedger;
+import com.hexaware.cms.service.ResultProcessingService;
+import com.hexaware.cms.service.TimetableService;
+import com.hexaware.cms.service.TokenRevocationService;
+import com.hexaware.cms.service.UserEmailIndex;
+import com.hexaware.cms.service.UserPrincipalCache;
+import com.hexaware.cms.util.JwtUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// ✅ One place that knows which components publish stats(); shared by /api/health and /api/metrics
+@Component
+public class ComponentStats {
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+
+    @Autowired
+    private UserEmailIndex userEmailIndex;
+
+    @Autowired
+    private MarksSearchIndex marksSearchIndex;
+
+    @Autowired
+    private FeeAggregator feeAggregator;
+
+    @Autowired
+    private PaymentLedger paymentLedger;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    @Autowired
+    private ResultProcessingService resultProcessingService;
+
+    @Autowired
+    private TimetableService timetableService;
+
+    @Autowired
+    private AttendanceService attendanceService;
+
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
+    @Autowired
+    private FeeReminderJob feeReminderJob;
+
+    @Autowired
+    private FeeReminderDispatcher feeReminderDispatcher;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired(required = false)
+    private ReadWriteRoutingDataSource readWriteRoutingDataSource; // ✅ Only with a read replica configured
+
+    public Map<String, Map<String, Object>> collect() {
+        Map<String, Map<String, Object>> stats = new LinkedHashMap<>();
+        stats.put("jwtTokenCache", jwtUtil.getTokenCacheStats());
+        stats.put("tokenRevocation", tokenRevocationService.stats());
+        stats.put("passwordHashing", passwordHashingExecutor.stats());
+        stats.put("userPrincipalCache", userPrincipalCache.stats());
+        stats.put("userEmailIndex", userEmailIndex.stats());
+        stats.put("marksSearchIndex", marksSearchIndex.stats());
+        stats.put("feeAggregates", feeAggregator.stats());
+        stats.put("paymentLedger", paymentLedger.stats());
+        stats.put("enrollment", enrollmentService.stats());
+        stats.put("responseCache", responseCache.stats());
+        stats.put("results", resultProcessingService.stats());
+        stats.put("timetable", timetableService.stats());
+        stats.put("attendance", attendanceService.stats());
+        stats.put("rateLimiter", rateLimitFilter.stats());
+        stats.put("feeReminders", feeReminderJob.stats());
+        stats.put("feeReminderDispatch", feeReminderDispatcher.stats());
+        stats.put("dashboard", dashboardService.stats());
+        if (readWriteRoutingDataSource != null) {
+            stats.put("dataSource", readWriteRoutingDataSource.stats());
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,41 @@
+package com.hexaware.cms.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts SQL statements Hibernate prepares, globally and for the request running on the
+ * current thread (see RequestMetricsFilter). Registered through
+ * hibernate.session_factory.statement_inspector, so Hibernate instantiates it itself.
+ */
+public class HibernateStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> CURRENT = new ThreadLocal<>();
+    private static final LongAdder TOTAL = new LongAdder();
+
+    @Override
+    public String inspect(String sql) {
+        TOTAL.increment();
+        int[] current = CURRENT.get();
+        if (current != null) {
+            current[0]++;
+        }
+        return sql;
+    }
+
+    public static void begin() {
+        CURRENT.set(new int[1]);
+    }
+
+    // Statements since begin() on this thread
+    public static int end() {
+        int[] current = CURRENT.get();
+        CURRENT.remove();
+        return current != null ? current[0] : 0;
+    }
+
+    public static long total() {
+        return TOTAL.sum();
+    }
+}
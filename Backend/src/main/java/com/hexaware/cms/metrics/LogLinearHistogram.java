@@ -0,0 +1,116 @@
+package com.hexaware.cms.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * HDR-style histogram with log-linear buckets: each power of two is split into 16
+ * sub-buckets, so any recorded value is reported within ~6%. Recording is lock-free and
+ * allocation-free: writers pick a stripe by thread id and do plain atomic increments;
+ * readers merge the stripes into a {@link Snapshot}. Striped rather than thread-local so
+ * it stays bounded when requests run on virtual threads.
+ */
+public final class LogLinearHistogram {
+
+    private static final int SUB_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    // Values up to 2^41 (~36 minutes in nanos, 2 TB in bytes); larger ones land in the top bucket
+    private static final int MAX_EXPONENT = 40;
+    // Sub-buckets for exponents up to MAX_EXPONENT, plus one overflow bucket
+    static final int BUCKETS = (MAX_EXPONENT - SUB_BITS + 2) * SUB_BUCKETS + 1;
+
+    // ~40 KB per histogram at 8 stripes
+    private static final int STRIPES = Math.min(8, Integer.highestOneBit(
+            Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1)) << 1);
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    private static final class Stripe {
+        final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+        final AtomicLong sum = new AtomicLong();
+        final AtomicLong max = new AtomicLong();
+    }
+
+    public LogLinearHistogram() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    public void record(long value) {
+        long v = Math.max(0, value);
+        long id = Thread.currentThread().getId();
+        Stripe stripe = stripes[Long.hashCode(id * 0x9E3779B97F4A7C15L) & (STRIPES - 1)];
+        stripe.counts.incrementAndGet(bucketOf(v));
+        stripe.sum.addAndGet(v);
+        if (v > stripe.max.get()) {
+            stripe.max.accumulateAndGet(v, Math::max);
+        }
+    }
+
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        long count = 0;
+        long sum = 0;
+        long max = 0;
+        for (Stripe stripe : stripes) {
+            for (int i = 0; i < BUCKETS; i++) {
+                long c = stripe.counts.get(i);
+                counts[i] += c;
+                count += c;
+            }
+            sum += stripe.sum.get();
+            max = Math.max(max, stripe.max.get());
+        }
+        return new Snapshot(count, sum, max, counts);
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    // Highest value that maps to the bucket
+    static long upperBoundOf(int bucket) {
+        if (bucket == BUCKETS - 1) {
+            return Long.MAX_VALUE;
+        }
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BITS - 1;
+        long sub = bucket % SUB_BUCKETS;
+        long lower = (SUB_BUCKETS + sub) << (exponent - SUB_BITS);
+        return lower + (1L << (exponent - SUB_BITS)) - 1;
+    }
+
+    public record Snapshot(long count, long sum, long max, long[] counts) {
+
+        public double mean() {
+            return count == 0 ? 0.0 : sum / (double) count;
+        }
+
+        // Upper bound of the bucket holding the q-quantile, capped at the observed max
+        public long percentile(double quantile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(quantile * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(upperBoundOf(i), max);
+                }
+            }
+            return max;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.hexaware.cms.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// ✅ Per-route request metrics; one entry per (method, route pattern), so cardinality stays bounded
+@Component
+public class MetricsRegistry {
+
+    public record RouteKey(String method, String route) {}
+
+    public static final class RouteMetrics {
+        private final LogLinearHistogram latencyNanos = new LogLinearHistogram();
+        private final LogLinearHistogram statements = new LogLinearHistogram();
+        private final LogLinearHistogram allocatedBytes = new LogLinearHistogram();
+        private final ConcurrentHashMap<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+        void record(int status, long nanos, int statementCount, long allocated) {
+            latencyNanos.record(nanos);
+            statements.record(statementCount);
+            if (allocated >= 0) {
+                allocatedBytes.record(allocated);
+            }
+            statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+        }
+
+        public LogLinearHistogram latencyNanos() { return latencyNanos; }
+        public LogLinearHistogram statements() { return statements; }
+        public LogLinearHistogram allocatedBytes() { return allocatedBytes; }
+        public Map<Integer, LongAdder> statuses() { return statuses; }
+    }
+
+    private final ConcurrentHashMap<RouteKey, RouteMetrics> routes = new ConcurrentHashMap<>();
+
+    public RouteMetrics route(String method, String route) {
+        return routes.computeIfAbsent(new RouteKey(method, route), k -> new RouteMetrics());
+    }
+
+    public Map<RouteKey, RouteMetrics> routes() {
+        return routes;
+    }
+}
@@ -0,0 +1,98 @@
+package com.hexaware.cms.metrics;
+
+import java.util.Locale;
+import java.util.Map;
+
+// ✅ Minimal Prometheus text exposition (format 0.0.4) writer
+public final class PrometheusFormatter {
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final double[] QUANTILES = {0.5, 0.95, 0.99};
+
+    private final StringBuilder out = new StringBuilder(8192);
+
+    public PrometheusFormatter header(String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        return this;
+    }
+
+    public PrometheusFormatter sample(String name, String labels, double value) {
+        out.append(name);
+        if (labels != null && !labels.isEmpty()) {
+            out.append('{').append(labels).append('}');
+        }
+        out.append(' ').append(format(value)).append('\n');
+        return this;
+    }
+
+    // Histogram as a summary: p50/p95/p99 plus _sum and _count; scale converts units (e.g. ns -> s)
+    public PrometheusFormatter summary(String name, String labels, LogLinearHistogram.Snapshot snapshot, double scale) {
+        String prefix = labels == null || labels.isEmpty() ? "" : labels + ",";
+        for (double q : QUANTILES) {
+            sample(name, prefix + "quantile=\"" + q + "\"", snapshot.percentile(q) * scale);
+        }
+        sample(name + "_sum", labels, snapshot.sum() * scale);
+        sample(name + "_count", labels, snapshot.count());
+        return this;
+    }
+
+    public static String labels(String... keyValues) {
+        StringBuilder labels = new StringBuilder();
+        for (int i = 0; i + 1 < keyValues.length; i += 2) {
+            if (labels.length() > 0) {
+                labels.append(',');
+            }
+            labels.append(keyValues[i]).append("=\"").append(escape(keyValues[i + 1])).append('"');
+        }
+        return labels.toString();
+    }
+
+    // "paymentLedger", "avgBatchSize" -> "cms_payment_ledger_avg_batch_size"
+    public static String metricName(String component, String key) {
+        return ("cms_" + snake(component) + "_" + snake(key)).replaceAll("[^a-zA-Z0-9_]", "_");
+    }
+
+    // Numbers and booleans become gauges; anything else is skipped
+    public PrometheusFormatter gauges(String component, Map<String, Object> stats) {
+        for (Map.Entry<String, Object> entry : stats.entrySet()) {
+            Object value = entry.getValue();
+            double number;
+            if (value instanceof Number n) {
+                number = n.doubleValue();
+            } else if (value instanceof Boolean b) {
+                number = b ? 1 : 0;
+            } else {
+                continue;
+            }
+            String name = metricName(component, entry.getKey());
+            header(name, "gauge", component + " " + entry.getKey());
+            sample(name, null, number);
+        }
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return out.toString();
+    }
+
+    private static String snake(String camel) {
+        return camel.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toLowerCase(Locale.ROOT);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static String format(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        }
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+}
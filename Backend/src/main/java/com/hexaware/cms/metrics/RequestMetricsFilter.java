@@ -0,0 +1,138 @@
+package com.hexaware.cms.metrics;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records latency, status, Hibernate statement count and (sampled) allocated bytes for
+ * every request handled by a controller in com.hexaware.cms.controller, keyed by the
+ * matched route pattern. Runs ahead of Spring Security so the JWT filter is included.
+ * Async requests are recorded when the async cycle completes; their statement count
+ * and allocation only cover the initial request thread.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestMetricsFilter.class);
+
+    // Set by filters that answer a controller route themselves (e.g. the response cache)
+    public static final String ROUTE_ATTRIBUTE = RequestMetricsFilter.class.getName() + ".route";
+
+    private static final String CONTROLLER_PACKAGE = "com.hexaware.cms.controller";
+    private static final long WARN_INTERVAL_NANOS = 60_000_000_000L;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                    && bean.isThreadAllocatedMemorySupported() ? bean : null;
+
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+
+    @Value("${app.metrics.allocation-sample-rate:16}")
+    private int allocationSampleRate;
+
+    @Value("${app.metrics.statement-warn-threshold:20}")
+    private int statementWarnThreshold;
+
+    private final AtomicLong requestCounter = new AtomicLong();
+    private final ConcurrentHashMap<String, AtomicLong> lastWarnedAt = new ConcurrentHashMap<>();
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        long start = System.nanoTime();
+        long allocatedBefore = shouldSampleAllocation() ? THREADS.getCurrentThreadAllocatedBytes() : -1;
+        HibernateStatementCounter.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int statements = HibernateStatementCounter.end();
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        record(request, response, start, statements, -1);
+                    }
+                    @Override
+                    public void onTimeout(AsyncEvent event) {}
+                    @Override
+                    public void onError(AsyncEvent event) {}
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {}
+                });
+            } else {
+                long allocated = -1;
+                if (allocatedBefore >= 0) {
+                    long after = THREADS.getCurrentThreadAllocatedBytes();
+                    allocated = after >= 0 ? after - allocatedBefore : -1;
+                }
+                record(request, response, start, statements, allocated);
+            }
+        }
+    }
+
+    private boolean shouldSampleAllocation() {
+        return THREADS != null && allocationSampleRate > 0
+                && requestCounter.incrementAndGet() % allocationSampleRate == 0;
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, long start,
+                        int statements, long allocated) {
+        String route = routeOf(request);
+        metricsRegistry.route(request.getMethod(), route)
+                .record(response.getStatus(), System.nanoTime() - start, statements, allocated);
+        if (statementWarnThreshold > 0 && statements >= statementWarnThreshold) {
+            warnStatements(request.getMethod() + " " + route, statements);
+        }
+    }
+
+    // Anything not served by one of our controllers shares a single bucket
+    private static String routeOf(HttpServletRequest request) {
+        Object route = request.getAttribute(ROUTE_ATTRIBUTE);
+        if (route != null) {
+            return route.toString();
+        }
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (handler instanceof HandlerMethod method
+                && method.getBeanType().getPackageName().startsWith(CONTROLLER_PACKAGE)
+                && pattern != null) {
+            return pattern.toString();
+        }
+        return "other";
+    }
+
+    // Likely N+1: at most one warning per route per minute
+    private void warnStatements(String route, int statements) {
+        long now = System.nanoTime();
+        AtomicLong last = lastWarnedAt.computeIfAbsent(route, r -> new AtomicLong(now - WARN_INTERVAL_NANOS));
+        long previous = last.get();
+        if (now - previous >= WARN_INTERVAL_NANOS && last.compareAndSet(previous, now)) {
+            log.warn("{} issued {} SQL statements in one request (possible N+1)", route, statements);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.hexaware.cms.model;
+
+import jakarta.persistence.*;
+
+// ✅ A student's fixed bit position in one section's attendance bitmaps
+@Entity
+@Table(name = "attendance_roster", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_attendance_roster_course_student", columnNames = {"course_id", "student_id"}),
+        @UniqueConstraint(name = "uk_attendance_roster_course_position", columnNames = {"course_id", "bit_position"})
+})
+public class AttendanceRosterEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "attendance_roster_seq")
+    @SequenceGenerator(name = "attendance_roster_seq", sequenceName = "attendance_roster_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "course_id", nullable = false)
+    private Long courseId;
+
+    @Column(name = "student_id", nullable = false, length = 32)
+    private String studentId;
+
+    @Column(name = "bit_position", nullable = false)
+    private int position;
+
+    public AttendanceRosterEntry() {}
+
+    public AttendanceRosterEntry(Long courseId, String studentId, int position) {
+        this.courseId = courseId;
+        this.studentId = studentId;
+        this.position = position;
+    }
+
+    // Getters / Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getCourseId() { return courseId; }
+    public void setCourseId(Long courseId) { this.courseId = courseId; }
+
+    public String getStudentId() { return studentId; }
+    public void setStudentId(String studentId) { this.studentId = studentId; }
+
+    public int getPosition() { return position; }
+    public void setPosition(int position) { this.position = position; }
+}
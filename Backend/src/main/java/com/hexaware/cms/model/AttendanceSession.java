@@ -0,0 +1,74 @@
+package com.hexaware.cms.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+// ✅ One class meeting; who was present is a serialized RoaringBitmap over the section's roster positions
+@Entity
+@Table(name = "attendance_sessions", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_attendance_sessions_course_date_period",
+                columnNames = {"course_id", "session_date", "period_no"})
+})
+public class AttendanceSession {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "attendance_sessions_seq")
+    @SequenceGenerator(name = "attendance_sessions_seq", sequenceName = "attendance_sessions_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "course_id", nullable = false)
+    private Long courseId;
+
+    @Column(name = "session_date", nullable = false)
+    private LocalDate sessionDate;
+
+    @Column(name = "period_no", nullable = false)
+    private int period;
+
+    @Column(name = "present_count", nullable = false)
+    private int presentCount;
+
+    @Column(name = "roster_size", nullable = false)
+    private int rosterSize;
+
+    @Lob
+    @Column(name = "present_bitmap", nullable = false)
+    private byte[] presentBitmap;
+
+    @Column(name = "recorded_at", nullable = false)
+    private Instant recordedAt;
+
+    public AttendanceSession() {}
+
+    public AttendanceSession(Long courseId, LocalDate sessionDate, int period) {
+        this.courseId = courseId;
+        this.sessionDate = sessionDate;
+        this.period = period;
+    }
+
+    // Getters / Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getCourseId() { return courseId; }
+    public void setCourseId(Long courseId) { this.courseId = courseId; }
+
+    public LocalDate getSessionDate() { return sessionDate; }
+    public void setSessionDate(LocalDate sessionDate) { this.sessionDate = sessionDate; }
+
+    public int getPeriod() { return period; }
+    public void setPeriod(int period) { this.period = period; }
+
+    public int getPresentCount() { return presentCount; }
+    public void setPresentCount(int presentCount) { this.presentCount = presentCount; }
+
+    public int getRosterSize() { return rosterSize; }
+    public void setRosterSize(int rosterSize) { this.rosterSize = rosterSize; }
+
+    public byte[] getPresentBitmap() { return presentBitmap; }
+    public void setPresentBitmap(byte[] presentBitmap) { this.presentBitmap = presentBitmap; }
+
+    public Instant getRecordedAt() { return recordedAt; }
+    public void setRecordedAt(Instant recordedAt) { this.recordedAt = recordedAt; }
+}
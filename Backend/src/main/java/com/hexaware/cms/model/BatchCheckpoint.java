@@ -0,0 +1,99 @@
+package com.hexaware.cms.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+// ✅ Restart point of a chunked batch job: every row with id <= lastId has been processed for runDate
+@Entity
+@Table(name = "batch_checkpoints")
+public class BatchCheckpoint {
+
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+
+    @Id
+    @Column(name = "job_name", length = 64)
+    private String jobName;
+
+    @Column(name = "run_date", nullable = false)
+    private LocalDate runDate;
+
+    @Column(name = "last_id", nullable = false)
+    private long lastId;
+
+    @Column(nullable = false, length = 16)
+    private String status;
+
+    @Column(nullable = false)
+    private long chunks;
+
+    @Column(name = "rows_scanned", nullable = false)
+    private long rowsScanned;
+
+    @Column(name = "items_written", nullable = false)
+    private long itemsWritten;
+
+    @Column(name = "started_at", nullable = false)
+    private Instant startedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    // Run currently working on this job and until when its claim holds; null when nobody is
+    @Column(name = "owner_id", length = 64)
+    private String ownerId;
+
+    @Column(name = "lease_until")
+    private Instant leaseUntil;
+
+    public BatchCheckpoint() {}
+
+    public BatchCheckpoint(String jobName, LocalDate runDate, Instant startedAt) {
+        this.jobName = jobName;
+        this.runDate = runDate;
+        this.status = RUNNING;
+        this.startedAt = startedAt;
+        this.updatedAt = startedAt;
+    }
+
+    // Getters / Setters
+    public String getJobName() { return jobName; }
+    public void setJobName(String jobName) { this.jobName = jobName; }
+
+    public LocalDate getRunDate() { return runDate; }
+    public void setRunDate(LocalDate runDate) { this.runDate = runDate; }
+
+    public long getLastId() { return lastId; }
+    public void setLastId(long lastId) { this.lastId = lastId; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public long getChunks() { return chunks; }
+    public void setChunks(long chunks) { this.chunks = chunks; }
+
+    public long getRowsScanned() { return rowsScanned; }
+    public void setRowsScanned(long rowsScanned) { this.rowsScanned = rowsScanned; }
+
+    public long getItemsWritten() { return itemsWritten; }
+    public void setItemsWritten(long itemsWritten) { this.itemsWritten = itemsWritten; }
+
+    public Instant getStartedAt() { return startedAt; }
+    public void setStartedAt(Instant startedAt) { this.startedAt = startedAt; }
+
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+
+    public String getOwnerId() { return ownerId; }
+    public void setOwnerId(String ownerId) { this.ownerId = ownerId; }
+
+    public Instant getLeaseUntil() { return leaseUntil; }
+    public void setLeaseUntil(Instant leaseUntil) { this.leaseUntil = leaseUntil; }
+
+    // ✅ True when no live run owns the job (never claimed, released, or its owner stopped renewing)
+    public boolean isUnclaimed(Instant now) {
+        return ownerId == null || leaseUntil == null || leaseUntil.isBefore(now);
+    }
+}
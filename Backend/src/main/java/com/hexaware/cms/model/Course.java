@@ -0,0 +1,108 @@
+package com.hexaware.cms.model;
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "courses")
+@EntityListeners(ResponseCacheListener.class)
+public class Course {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "courses_seq")
+    @SequenceGenerator(name = "courses_seq", sequenceName = "courses_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "course_code", nullable = false, unique = true, length = 32)
+    private String courseCode;
+
+    @Column(name = "course_name", nullable = false)
+    private String courseName;
+
+    private String department;
+
+    private int credits;
+
+    private String duration;
+
+    private String instructor;
+
+    private String schedule;
+
+    private String classroom;
+
+    @Column(length = 1000)
+    private String description;
+
+    private String prerequisites;
+
+    // Confirmed seats as of the last persisted batch; SeatReservationEngine holds the live count
+    @Column(name = "enrolled_students", nullable = false)
+    private int enrolledStudents;
+
+    @Column(name = "max_capacity", nullable = false)
+    private int maxCapacity;
+
+    private String semester;
+
+    public Course() {}
+
+    public Course(String courseCode, String courseName, String department, int credits, String duration,
+                  String instructor, String schedule, String classroom, String description,
+                  String prerequisites, int enrolledStudents, int maxCapacity, String semester) {
+        this.courseCode = courseCode;
+        this.courseName = courseName;
+        this.department = department;
+        this.credits = credits;
+        this.duration = duration;
+        this.instructor = instructor;
+        this.schedule = schedule;
+        this.classroom = classroom;
+        this.description = description;
+        this.prerequisites = prerequisites;
+        this.enrolledStudents = enrolledStudents;
+        this.maxCapacity = maxCapacity;
+        this.semester = semester;
+    }
+
+    // Getters / Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getCourseCode() { return courseCode; }
+    public void setCourseCode(String courseCode) { this.courseCode = courseCode; }
+
+    public String getCourseName() { return courseName; }
+    public void setCourseName(String courseName) { this.courseName = courseName; }
+
+    public String getDepartment() { return department; }
+    public void setDepartment(String department) { this.department = department; }
+
+    public int getCredits() { return credits; }
+    public void setCredits(int credits) { this.credits = credits; }
+
+    public String getDuration() { return duration; }
+    public void setDuration(String duration) { this.duration = duration; }
+
+    public String getInstructor() { return instructor; }
+    public void setInstructor(String instructor) { this.instructor = instructor; }
+
+    public String getSchedule() { return schedule; }
+    public void setSchedule(String schedule) { this.schedule = schedule; }
+
+    public String getClassroom() { return classroom; }
+    public void setClassroom(String classroom) { this.classroom = classroom; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public String getPrerequisites() { return prerequisites; }
+    public void setPrerequisites(String prerequisites) { this.prerequisites = prerequisites; }
+
+    public int getEnrolledStudents() { return enrolledStudents; }
+    public void setEnrolledStudents(int enrolledStudents) { this.enrolledStudents = enrolledStudents; }
+
+    public int getMaxCapacity() { return maxCapacity; }
+    public void setMaxCapacity(int maxCapacity) { this.maxCapacity = maxCapacity; }
+
+    public String getSemester() { return semester; }
+    public void setSemester(String semester) { this.semester = semester; }
+}
@@ -0,0 +1,48 @@
+package com.hexaware.cms.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "enrollments",
+        uniqueConstraints = @UniqueConstraint(name = "uk_enrollments_course_student",
+                columnNames = {"course_id", "student_id"}),
+        indexes = @Index(name = "idx_enrollments_student", columnList = "student_id"))
+@EntityListeners(ResponseCacheListener.class)
+public class Enrollment {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "enrollments_seq")
+    @SequenceGenerator(name = "enrollments_seq", sequenceName = "enrollments_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "course_id", nullable = false)
+    private Long courseId;
+
+    @Column(name = "student_id", nullable = false, length = 32)
+    private String studentId;
+
+    @Column(name = "enrolled_at", nullable = false)
+    private Instant enrolledAt;
+
+    public Enrollment() {}
+
+    public Enrollment(Long courseId, String studentId, Instant enrolledAt) {
+        this.courseId = courseId;
+        this.studentId = studentId;
+        this.enrolledAt = enrolledAt;
+    }
+
+    // Getters / Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getCourseId() { return courseId; }
+    public void setCourseId(Long courseId) { this.courseId = courseId; }
+
+    public String getStudentId() { return studentId; }
+    public void setStudentId(String studentId) { this.studentId = studentId; }
+
+    public Instant getEnrolledAt() { return enrolledAt; }
+    public void setEnrolledAt(Instant enrolledAt) { this.enrolledAt = enrolledAt; }
+}
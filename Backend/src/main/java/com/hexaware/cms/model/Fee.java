@@ -0,0 +1,118 @@
+package com.hexaware.cms.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "fees", indexes = {
+        @Index(name = "idx_fees_student", columnList = "student_id"),
+        @Index(name = "idx_fees_semester_course", columnList = "semester, course")
+})
+@EntityListeners({FeeAggregateListener.class, ResponseCacheListener.class})
+public class Fee {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "fees_seq")
+    @SequenceGenerator(name = "fees_seq", sequenceName = "fees_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "student_id", nullable = false, length = 32)
+    private String studentId;
+
+    @Column(name = "student_name")
+    private String studentName;
+
+    private String course;
+
+    private String semester;
+
+    @Column(name = "total_fees", nullable = false)
+    private long totalFees;
+
+    @Column(name = "fee_paid", nullable = false)
+    private long feePaid;
+
+    @Column(name = "balance_due", nullable = false)
+    private long balanceDue;
+
+    @Column(name = "last_payment_date")
+    private LocalDate lastPaymentDate;
+
+    @Column(name = "last_payment_amount")
+    private long lastPaymentAmount;
+
+    @Column(name = "payment_status", length = 16)
+    private String paymentStatus;
+
+    @Column(name = "due_date")
+    private LocalDate dueDate;
+
+    @Version
+    private long version;
+
+    // Aggregate-relevant state as last read/written, so listeners can compute deltas
+    @Transient
+    private FeeAggregateListener.FeeState aggregateState;
+
+    public Fee() {}
+
+    public Fee(String studentId, String studentName, String course, String semester,
+               long totalFees, LocalDate dueDate) {
+        this.studentId = studentId;
+        this.studentName = studentName;
+        this.course = course;
+        this.semester = semester;
+        this.totalFees = totalFees;
+        this.dueDate = dueDate;
+        applyPaid(0);
+    }
+
+    // ✅ Keeps balance and status consistent with the amount paid
+    public void applyPaid(long paid) {
+        this.feePaid = paid;
+        this.balanceDue = Math.max(0, totalFees - paid);
+        this.paymentStatus = paid <= 0 ? "Pending" : balanceDue == 0 ? "Paid" : "Partial";
+    }
+
+    // Getters / Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getStudentId() { return studentId; }
+    public void setStudentId(String studentId) { this.studentId = studentId; }
+
+    public String getStudentName() { return studentName; }
+    public void setStudentName(String studentName) { this.studentName = studentName; }
+
+    public String getCourse() { return course; }
+    public void setCourse(String course) { this.course = course; }
+
+    public String getSemester() { return semester; }
+    public void setSemester(String semester) { this.semester = semester; }
+
+    public long getTotalFees() { return totalFees; }
+    public void setTotalFees(long totalFees) { this.totalFees = totalFees; }
+
+    public long getFeePaid() { return feePaid; }
+    public void setFeePaid(long feePaid) { this.feePaid = feePaid; }
+
+    public long getBalanceDue() { return balanceDue; }
+    public void setBalanceDue(long balanceDue) { this.balanceDue = balanceDue; }
+
+    public LocalDate getLastPaymentDate() { return lastPaymentDate; }
+    public void setLastPaymentDate(LocalDate lastPaymentDate) { this.lastPaymentDate = lastPaymentDate; }
+
+    public long getLastPaymentAmount() { return lastPaymentAmount; }
+    public void setLastPaymentAmount(long lastPaymentAmount) { this.lastPaymentAmount = lastPaymentAmount; }
+
+    public String getPaymentStatus() { return paymentStatus; }
+    public void setPaymentStatus(String paymentStatus) { this.paymentStatus = paymentStatus; }
+
+    public LocalDate getDueDate() { return dueDate; }
+    public void setDueDate(LocalDate dueDate) { this.dueDate = dueDate; }
+
+    public long getVersion() { return version; }
+
+    FeeAggregateListener.FeeState getAggregateState() { return aggregateState; }
+    void setAggregateState(FeeAggregateListener.FeeState aggregateState) { this.aggregateState = aggregateState; }
+}
@@ -0,0 +1,91 @@
+package com.hexaware.cms.model;
+
+import com.hexaware.cms.service.FeeAggregator;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// ✅ Turns every Fee write into a (before, after) delta and hands them to FeeAggregator after commit
+@Component
+public class FeeAggregateListener {
+
+    private static final Object RESOURCE_KEY = FeeAggregateListener.class.getName() + ".deltas";
+
+    public record FeeState(String semester, String course, long totalFees, long feePaid, long balanceDue) {
+        static FeeState of(Fee fee) {
+            return new FeeState(fee.getSemester(), fee.getCourse(), fee.getTotalFees(),
+                    fee.getFeePaid(), fee.getBalanceDue());
+        }
+    }
+
+    public record FeeDelta(FeeState before, FeeState after) {}
+
+    private final ObjectProvider<FeeAggregator> aggregator;
+
+    public FeeAggregateListener(ObjectProvider<FeeAggregator> aggregator) {
+        this.aggregator = aggregator;
+    }
+
+    @PostLoad
+    public void onLoad(Fee fee) {
+        fee.setAggregateState(FeeState.of(fee));
+    }
+
+    @PostPersist
+    public void onPersist(Fee fee) {
+        FeeState after = FeeState.of(fee);
+        fee.setAggregateState(after);
+        record(new FeeDelta(null, after));
+    }
+
+    @PostUpdate
+    public void onUpdate(Fee fee) {
+        FeeState after = FeeState.of(fee);
+        FeeState before = fee.getAggregateState();
+        fee.setAggregateState(after);
+        if (!after.equals(before)) {
+            record(new FeeDelta(before, after));
+        }
+    }
+
+    @PostRemove
+    public void onRemove(Fee fee) {
+        record(new FeeDelta(fee.getAggregateState(), null));
+    }
+
+    private void record(FeeDelta delta) {
+        FeeAggregator target = aggregator.getIfAvailable();
+        if (target == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            target.apply(List.of(delta));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<FeeDelta> deltas = (List<FeeDelta>) TransactionSynchronizationManager.getResource(RESOURCE_KEY);
+        if (deltas == null) {
+            List<FeeDelta> pending = new ArrayList<>();
+            deltas = pending;
+            TransactionSynchronizationManager.bindResource(RESOURCE_KEY, pending);
+            target.beginTransaction();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(RESOURCE_KEY);
+                    target.completeTransaction(status == STATUS_COMMITTED ? pending : List.of());
+                }
+            });
+        }
+        deltas.add(delta);
+    }
+}
@@ -0,0 +1,143 @@
+package com.hexaware.cms.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+// ✅ Outbox row: written by FeeReminderJob in the chunk's transaction, delivered by FeeReminderDispatcher
+@Entity
+@Table(name = "fee_reminders", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_fee_reminders_fee_run", columnNames = {"fee_id", "run_date"})
+}, indexes = {
+        @Index(name = "idx_fee_reminders_status", columnList = "status, id")
+})
+public class FeeReminder {
+
+    public static final String PENDING = "PENDING";
+    // Claimed by one dispatcher until claimedUntil; afterwards any dispatcher may retry it
+    public static final String SENDING = "SENDING";
+    public static final String SENT = "SENT";
+    public static final String FAILED = "FAILED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "fee_reminders_seq")
+    @SequenceGenerator(name = "fee_reminders_seq", sequenceName = "fee_reminders_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "fee_id", nullable = false)
+    private long feeId;
+
+    @Column(name = "student_id", nullable = false, length = 32)
+    private String studentId;
+
+    @Column(name = "student_name")
+    private String studentName;
+
+    private String course;
+
+    private String semester;
+
+    @Column(name = "balance_due", nullable = false)
+    private long balanceDue;
+
+    @Column(name = "due_date", nullable = false)
+    private LocalDate dueDate;
+
+    @Column(name = "days_overdue", nullable = false)
+    private int daysOverdue;
+
+    // One reminder per fee per daily run; a resumed run skips fees it already covered
+    @Column(name = "run_date", nullable = false)
+    private LocalDate runDate;
+
+    @Column(nullable = false, length = 16)
+    private String status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "dispatched_at")
+    private Instant dispatchedAt;
+
+    @Column(name = "claimed_by", length = 64)
+    private String claimedBy;
+
+    @Column(name = "claimed_until")
+    private Instant claimedUntil;
+
+    public FeeReminder() {}
+
+    public FeeReminder(long feeId, String studentId, String studentName, String course, String semester,
+                       long balanceDue, LocalDate dueDate, LocalDate runDate, Instant createdAt) {
+        this.feeId = feeId;
+        this.studentId = studentId;
+        this.studentName = studentName;
+        this.course = course;
+        this.semester = semester;
+        this.balanceDue = balanceDue;
+        this.dueDate = dueDate;
+        this.daysOverdue = (int) (runDate.toEpochDay() - dueDate.toEpochDay());
+        this.runDate = runDate;
+        this.status = PENDING;
+        this.createdAt = createdAt;
+    }
+
+    // Getters / Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public long getFeeId() { return feeId; }
+    public void setFeeId(long feeId) { this.feeId = feeId; }
+
+    public String getStudentId() { return studentId; }
+    public void setStudentId(String studentId) { this.studentId = studentId; }
+
+    public String getStudentName() { return studentName; }
+    public void setStudentName(String studentName) { this.studentName = studentName; }
+
+    public String getCourse() { return course; }
+    public void setCourse(String course) { this.course = course; }
+
+    public String getSemester() { return semester; }
+    public void setSemester(String semester) { this.semester = semester; }
+
+    public long getBalanceDue() { return balanceDue; }
+    public void setBalanceDue(long balanceDue) { this.balanceDue = balanceDue; }
+
+    public LocalDate getDueDate() { return dueDate; }
+    public void setDueDate(LocalDate dueDate) { this.dueDate = dueDate; }
+
+    public int getDaysOverdue() { return daysOverdue; }
+    public void setDaysOverdue(int daysOverdue) { this.daysOverdue = daysOverdue; }
+
+    public LocalDate getRunDate() { return runDate; }
+    public void setRunDate(LocalDate runDate) { this.runDate = runDate; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+
+    public Instant getDispatchedAt() { return dispatchedAt; }
+    public void setDispatchedAt(Instant dispatchedAt) { this.dispatchedAt = dispatchedAt; }
+
+    public String getClaimedBy() { return claimedBy; }
+    public void setClaimedBy(String claimedBy) { this.claimedBy = claimedBy; }
+
+    public Instant getClaimedUntil() { return claimedUntil; }
+    public void setClaimedUntil(Instant claimedUntil) { this.claimedUntil = claimedUntil; }
+}
@@ -0,0 +1,65 @@
+package com.hexaware.cms.model;
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "marks", indexes = {
+        @Index(name = "idx_marks_student", columnList = "student_id")
+})
+@EntityListeners(SearchIndexListener.class)
+public class Mark {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "marks_seq")
+    @SequenceGenerator(name = "marks_seq", sequenceName = "marks_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "student_id", nullable = false, length = 32)
+    private String studentId;
+
+    @Column(name = "subject_name", nullable = false)
+    private String subjectName;
+
+    @Column(nullable = false)
+    private int marks;
+
+    @Column(name = "max_marks", nullable = false)
+    private int maxMarks = 100;
+
+    private String semester;
+
+    // Letter grade, filled in by semester result processing
+    @Column(length = 2)
+    private String grade;
+
+    public Mark() {}
+
+    public Mark(String studentId, String subjectName, int marks, int maxMarks, String semester) {
+        this.studentId = studentId;
+        this.subjectName = subjectName;
+        this.marks = marks;
+        this.maxMarks = maxMarks;
+        this.semester = semester;
+    }
+
+    // Getters / Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getStudentId() { return studentId; }
+    public void setStudentId(String studentId) { this.studentId = studentId; }
+
+    public String getSubjectName() { return subjectName; }
+    public void setSubjectName(String subjectName) { this.subjectName = subjectName; }
+
+    public int getMarks() { return marks; }
+    public void setMarks(int marks) { this.marks = marks; }
+
+    public int getMaxMarks() { return maxMarks; }
+    public void setMaxMarks(int maxMarks) { this.maxMarks = maxMarks; }
+
+    public String getSemester() { return semester; }
+    public void setSemester(String semester) { this.semester = semester; }
+
+    public String getGrade() { return grade; }
+    public void setGrade(String grade) { this.grade = grade; }
+}
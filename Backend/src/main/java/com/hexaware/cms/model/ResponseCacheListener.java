@@ -0,0 +1,69 @@
+package com.hexaware.cms.model;
+
+import com.hexaware.cms.cache.CacheGroup;
+import com.hexaware.cms.cache.ResponseCache;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+// ✅ Bumps the cached-response groups an entity belongs to, once per transaction, after commit.
+// Only this node's cache: other nodes see the write when their entries expire (ResponseCache TTL)
+@Component
+public class ResponseCacheListener {
+
+    private static final Object RESOURCE_KEY = ResponseCacheListener.class.getName() + ".groups";
+
+    private final ObjectProvider<ResponseCache> responseCache;
+
+    public ResponseCacheListener(ObjectProvider<ResponseCache> responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChanged(Object entity) {
+        CacheGroup group;
+        if (entity instanceof Student) {
+            group = CacheGroup.STUDENTS;
+        } else if (entity instanceof Course || entity instanceof Enrollment) {
+            group = CacheGroup.COURSES;
+        } else if (entity instanceof Fee) {
+            group = CacheGroup.FEES;
+        } else {
+            return;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            responseCache.ifAvailable(cache -> cache.invalidate(group));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Set<CacheGroup> changed = (Set<CacheGroup>) TransactionSynchronizationManager.getResource(RESOURCE_KEY);
+        if (changed == null) {
+            Set<CacheGroup> pending = EnumSet.noneOf(CacheGroup.class);
+            changed = pending;
+            TransactionSynchronizationManager.bindResource(RESOURCE_KEY, pending);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    responseCache.ifAvailable(cache -> pending.forEach(cache::invalidate));
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(RESOURCE_KEY);
+                }
+            });
+        }
+        changed.add(group);
+    }
+}
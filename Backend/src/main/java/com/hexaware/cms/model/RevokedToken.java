@@ -0,0 +1,58 @@
+package com.hexaware.cms.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+// ✅ Revocation log: every node loads the unexpired rows at startup and polls for new ones by revoked_at
+@Entity
+@Table(name = "revoked_tokens", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_revoked_tokens_jti", columnNames = "jti")
+}, indexes = {
+        @Index(name = "idx_revoked_tokens_revoked_at", columnList = "revoked_at"),
+        @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at")
+})
+public class RevokedToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "revoked_tokens_seq")
+    @SequenceGenerator(name = "revoked_tokens_seq", sequenceName = "revoked_tokens_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String jti;
+
+    private String subject;
+
+    // Rows are useless (and deleted) once the token itself has expired
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "revoked_at", nullable = false)
+    private Instant revokedAt;
+
+    public RevokedToken() {}
+
+    public RevokedToken(String jti, String subject, Instant expiresAt, Instant revokedAt) {
+        this.jti = jti;
+        this.subject = subject;
+        this.expiresAt = expiresAt;
+        this.revokedAt = revokedAt;
+    }
+
+    // Getters / Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getJti() { return jti; }
+    public void setJti(String jti) { this.jti = jti; }
+
+    public String getSubject() { return subject; }
+    public void setSubject(String subject) { this.subject = subject; }
+
+    public Instant getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(Instant expiresAt) { this.expiresAt = expiresAt; }
+
+    public Instant getRevokedAt() { return revokedAt; }
+    public void setRevokedAt(Instant revokedAt) { this.revokedAt = revokedAt; }
+}
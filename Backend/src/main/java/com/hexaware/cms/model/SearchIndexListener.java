@@ -0,0 +1,65 @@
+package com.hexaware.cms.model;
+
+import com.hexaware.cms.service.MarksSearchIndex;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+// ✅ Collects the students touched in a transaction and reindexes them once after commit
+@Component
+public class SearchIndexListener {
+
+    private static final Object RESOURCE_KEY = SearchIndexListener.class.getName() + ".changed";
+
+    private final ObjectProvider<MarksSearchIndex> searchIndex;
+
+    public SearchIndexListener(ObjectProvider<MarksSearchIndex> searchIndex) {
+        this.searchIndex = searchIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChanged(Object entity) {
+        String studentId;
+        if (entity instanceof Student student) {
+            studentId = student.getStudentId();
+        } else if (entity instanceof Mark mark) {
+            studentId = mark.getStudentId();
+        } else {
+            return;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            searchIndex.ifAvailable(index -> index.reindex(Set.of(studentId)));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Set<String> changed = (Set<String>) TransactionSynchronizationManager.getResource(RESOURCE_KEY);
+        if (changed == null) {
+            Set<String> pending = new LinkedHashSet<>();
+            changed = pending;
+            TransactionSynchronizationManager.bindResource(RESOURCE_KEY, pending);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    searchIndex.ifAvailable(index -> index.reindex(pending));
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(RESOURCE_KEY);
+                }
+            });
+        }
+        changed.add(studentId);
+    }
+}
@@ -0,0 +1,67 @@
+package com.hexaware.cms.model;
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "students", indexes = {
+        // ✅ Keyset order for /api/students plus one index per filter that keeps the same order
+        @Index(name = "idx_students_dept_sid", columnList = "department, student_id"),
+        @Index(name = "idx_students_semester_dept_sid", columnList = "semester, department, student_id"),
+        @Index(name = "idx_students_course_dept_sid", columnList = "course, department, student_id")
+})
+@EntityListeners({SearchIndexListener.class, ResponseCacheListener.class})
+public class Student {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "students_seq")
+    @SequenceGenerator(name = "students_seq", sequenceName = "students_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "student_id", unique = true, nullable = false, length = 32)
+    private String studentId;
+
+    @Column(name = "student_name", nullable = false)
+    private String studentName;
+
+    private String email;
+
+    private String course;
+
+    private String semester;
+
+    @Column(nullable = false)
+    private String department;
+
+    public Student() {}
+
+    public Student(String studentId, String studentName, String email,
+                   String course, String semester, String department) {
+        this.studentId = studentId;
+        this.studentName = studentName;
+        this.email = email;
+        this.course = course;
+        this.semester = semester;
+        this.department = department;
+    }
+
+    // Getters / Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getStudentId() { return studentId; }
+    public void setStudentId(String studentId) { this.studentId = studentId; }
+
+    public String getStudentName() { return studentName; }
+    public void setStudentName(String studentName) { this.studentName = studentName; }
+
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+
+    public String getCourse() { return course; }
+    public void setCourse(String course) { this.course = course; }
+
+    public String getSemester() { return semester; }
+    public void setSemester(String semester) { this.semester = semester; }
+
+    public String getDepartment() { return department; }
+    public void setDepartment(String department) { this.department = department; }
+}
@@ -0,0 +1,96 @@
+package com.hexaware.cms.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// ✅ Semester result per student, written in batches by ResultProcessingService
+@Entity
+@Table(name = "student_results", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_results_student_semester", columnNames = {"student_id", "semester"})
+})
+public class StudentResult {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "student_results_seq")
+    @SequenceGenerator(name = "student_results_seq", sequenceName = "student_results_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "student_id", nullable = false, length = 32)
+    private String studentId;
+
+    private String semester;
+
+    @Column(nullable = false)
+    private int subjects;
+
+    @Column(name = "total_marks", nullable = false)
+    private int totalMarks;
+
+    @Column(name = "max_total_marks", nullable = false)
+    private int maxTotalMarks;
+
+    @Column(nullable = false)
+    private double percentage;
+
+    @Column(nullable = false)
+    private double gpa;
+
+    @Column(name = "class_rank", nullable = false)
+    private int classRank;
+
+    @Column(name = "class_size", nullable = false)
+    private int classSize;
+
+    @Column(name = "computed_at", nullable = false)
+    private LocalDateTime computedAt;
+
+    public StudentResult() {}
+
+    public StudentResult(String studentId, String semester, int subjects, int totalMarks, int maxTotalMarks,
+                         double percentage, double gpa, int classRank, int classSize, LocalDateTime computedAt) {
+        this.studentId = studentId;
+        this.semester = semester;
+        this.subjects = subjects;
+        this.totalMarks = totalMarks;
+        this.maxTotalMarks = maxTotalMarks;
+        this.percentage = percentage;
+        this.gpa = gpa;
+        this.classRank = classRank;
+        this.classSize = classSize;
+        this.computedAt = computedAt;
+    }
+
+    // Getters / Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getStudentId() { return studentId; }
+    public void setStudentId(String studentId) { this.studentId = studentId; }
+
+    public String getSemester() { return semester; }
+    public void setSemester(String semester) { this.semester = semester; }
+
+    public int getSubjects() { return subjects; }
+    public void setSubjects(int subjects) { this.subjects = subjects; }
+
+    public int getTotalMarks() { return totalMarks; }
+    public void setTotalMarks(int totalMarks) { this.totalMarks = totalMarks; }
+
+    public int getMaxTotalMarks() { return maxTotalMarks; }
+    public void setMaxTotalMarks(int maxTotalMarks) { this.maxTotalMarks = maxTotalMarks; }
+
+    public double getPercentage() { return percentage; }
+    public void setPercentage(double percentage) { this.percentage = percentage; }
+
+    public double getGpa() { return gpa; }
+    public void setGpa(double gpa) { this.gpa = gpa; }
+
+    public int getClassRank() { return classRank; }
+    public void setClassRank(int classRank) { this.classRank = classRank; }
+
+    public int getClassSize() { return classSize; }
+    public void setClassSize(int classSize) { this.classSize = classSize; }
+
+    public LocalDateTime getComputedAt() { return computedAt; }
+    public void setComputedAt(LocalDateTime computedAt) { this.computedAt = computedAt; }
+}
@@ -1,13 +1,17 @@
 package com.hexaware.cms.model;
 
 import java.time.LocalDateTime;
+import java.util.Locale;
 import jakarta.persistence.*;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(UserCacheInvalidationListener.class)
 public class User {
+    // ✅ Pooled sequence (hi/lo style) so Hibernate can batch inserts; IDENTITY disables batching
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique=true, nullable = false)
@@ -25,21 +29,35 @@ public class User {
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
 
+    // Email as loaded from the DB, so caches keyed by email can evict the old key on change
+    @Transient
+    private String originalEmail;
+
     public User() {}
 
     public User(String email, String password, String name, Role role) {
-        this.email = email;
+        this.email = normalizeEmail(email);
         this.password = password;
         this.name = name;
         this.role = role;
     }
 
+    // ✅ The one email normalization: stored addresses and every lookup (register, login, import) go through it
+    public static String normalizeEmail(String email) {
+        return email != null ? email.trim().toLowerCase(Locale.ROOT) : null;
+    }
+
+    @PostLoad
+    void rememberOriginalEmail() {
+        this.originalEmail = email;
+    }
+
     // Getters / Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
 
     public String getEmail() { return email; }
-    public void setEmail(String email) { this.email = email; }
+    public void setEmail(String email) { this.email = normalizeEmail(email); }
 
     public String getPassword() { return password; }
     public void setPassword(String password) { this.password = password; }
@@ -50,6 +68,8 @@ public class User {
     public Role getRole() { return role; }
     public void setRole(Role role) { this.role = role; }
 
+    public String getOriginalEmail() { return originalEmail; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 }
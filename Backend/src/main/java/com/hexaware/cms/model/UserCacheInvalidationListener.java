@@ -0,0 +1,93 @@
+package com.hexaware.cms.model;
+
+import com.hexaware.cms.service.UserEmailIndex;
+import com.hexaware.cms.service.UserPrincipalCache;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// ✅ Evicts cached principals and updates the email index whenever a User row is written
+@Component
+public class UserCacheInvalidationListener {
+
+    // Resolved lazily: this listener is created while the EntityManagerFactory is still being built
+    private final ObjectProvider<UserPrincipalCache> principalCache;
+    private final ObjectProvider<UserEmailIndex> emailIndex;
+
+    public UserCacheInvalidationListener(ObjectProvider<UserPrincipalCache> principalCache,
+                                         ObjectProvider<UserEmailIndex> emailIndex) {
+        this.principalCache = principalCache;
+        this.emailIndex = emailIndex;
+    }
+
+    // JPA allows one method per callback type, so each event evicts and then updates the index
+    @PostPersist
+    public void onUserCreated(User user) {
+        onUserChanged(user);
+        String email = user.getEmail();
+        afterCommit(() -> emailIndex.ifAvailable(index -> index.added(email)));
+    }
+
+    @PostUpdate
+    public void onUserUpdated(User user) {
+        onUserChanged(user);
+        String email = user.getEmail();
+        String originalEmail = user.getOriginalEmail();
+        if (originalEmail != null && !originalEmail.equals(email)) {
+            afterCommit(() -> emailIndex.ifAvailable(index -> {
+                index.removed(originalEmail);
+                index.added(email);
+            }));
+        }
+    }
+
+    @PostRemove
+    public void onUserRemoved(User user) {
+        onUserChanged(user);
+        String email = user.getEmail();
+        afterCommit(() -> emailIndex.ifAvailable(index -> index.removed(email)));
+    }
+
+    private void onUserChanged(User user) {
+        String email = user.getEmail();
+        String originalEmail = user.getOriginalEmail();
+        evict(email, originalEmail);
+
+        // Evict again after commit so a reader racing the transaction can't re-cache stale data
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(email, originalEmail);
+                }
+            });
+        }
+    }
+
+    private void evict(String email, String originalEmail) {
+        principalCache.ifAvailable(cache -> {
+            cache.invalidate(email);
+            if (originalEmail != null && !originalEmail.equals(email)) {
+                cache.invalidate(originalEmail);
+            }
+        });
+    }
+
+    // A rolled-back insert must not mark its address as taken
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,5 @@
+package com.hexaware.cms.model;
+
+// ✅ Compact, immutable view of a User for authentication (no entity hydration)
+public record UserPrincipal(Long id, String email, String name, String passwordHash, Role role) {
+}
@@ -0,0 +1,16 @@
+package com.hexaware.cms.repository;
+
+import com.hexaware.cms.model.AttendanceRosterEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AttendanceRosterRepository extends JpaRepository<AttendanceRosterEntry, Long> {
+
+    List<AttendanceRosterEntry> findByCourseIdOrderByPositionAsc(Long courseId);
+
+    // Compared with a loaded section's roster before assigning new positions
+    long countByCourseId(Long courseId);
+}
@@ -0,0 +1,17 @@
+package com.hexaware.cms.repository;
+
+import com.hexaware.cms.model.AttendanceSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AttendanceSessionRepository extends JpaRepository<AttendanceSession, Long> {
+
+    List<AttendanceSession> findByCourseId(Long courseId);
+
+    Optional<AttendanceSession> findByCourseIdAndSessionDateAndPeriod(Long courseId, LocalDate sessionDate, int period);
+}
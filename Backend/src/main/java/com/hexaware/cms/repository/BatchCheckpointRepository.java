@@ -0,0 +1,9 @@
+package com.hexaware.cms.repository;
+
+import com.hexaware.cms.model.BatchCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BatchCheckpointRepository extends JpaRepository<BatchCheckpoint, String> {
+}
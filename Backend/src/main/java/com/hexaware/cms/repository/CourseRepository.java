@@ -0,0 +1,16 @@
+package com.hexaware.cms.repository;
+
+import com.hexaware.cms.model.Course;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CourseRepository extends JpaRepository<Course, Long> {
+
+    Optional<Course> findByCourseCode(String courseCode);
+
+    List<Course> findAllByOrderByIdAsc();
+}
@@ -0,0 +1,25 @@
+package com.hexaware.cms.repository;
+
+import com.hexaware.cms.model.Enrollment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
+
+    List<Enrollment> findByStudentId(String studentId);
+
+    @Query("select e.studentId from Enrollment e where e.courseId = :courseId")
+    List<String> findStudentIdsByCourseId(@Param("courseId") Long courseId);
+
+    boolean existsByCourseIdAndStudentId(Long courseId, String studentId);
+
+    // Loads the seat engine on startup; caller closes the stream in a transaction
+    @Query("select e from Enrollment e")
+    Stream<Enrollment> streamAll();
+}
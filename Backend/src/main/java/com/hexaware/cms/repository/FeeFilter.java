@@ -0,0 +1,5 @@
+package com.hexaware.cms.repository;
+
+// Optional equality filters for fee reports; null means "any"
+public record FeeFilter(String semester, String course, String paymentStatus) {
+}
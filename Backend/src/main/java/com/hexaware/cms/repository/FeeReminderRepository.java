@@ -0,0 +1,28 @@
+package com.hexaware.cms.repository;
+
+import com.hexaware.cms.model.FeeReminder;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface FeeReminderRepository extends JpaRepository<FeeReminder, Long> {
+
+    // Keyset page of the outbox (idx_fee_reminders_status) a dispatcher may claim: pending, or claimed
+    // by a dispatcher that stopped before finishing
+    @Query("select r from FeeReminder r where r.id > :afterId and (r.status = 'PENDING'"
+            + " or (r.status = 'SENDING' and r.claimedUntil < :now)) order by r.id")
+    List<FeeReminder> findClaimable(@Param("afterId") long afterId, @Param("now") Instant now, Pageable page);
+
+    long countByStatus(String status);
+
+    // Fees of one chunk that already have a reminder from this run (resumed runs skip them)
+    @Query("select r.feeId from FeeReminder r where r.runDate = :runDate and r.feeId between :fromId and :toId")
+    List<Long> findFeeIdsForRun(@Param("runDate") LocalDate runDate, @Param("fromId") long fromId, @Param("toId") long toId);
+}
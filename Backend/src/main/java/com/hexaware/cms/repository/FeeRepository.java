@@ -0,0 +1,28 @@
+package com.hexaware.cms.repository;
+
+import com.hexaware.cms.model.Fee;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface FeeRepository extends JpaRepository<Fee, Long>, FeeRepositoryCustom {
+
+    List<Fee> findAllByOrderByIdAsc();
+
+    // Full recompute used to seed and cross-check FeeAggregator
+    @Query("select new com.hexaware.cms.repository.FeeTotalsRow(f.semester, f.course, count(f), "
+            + "sum(f.totalFees), sum(f.feePaid), sum(f.balanceDue), "
+            + "sum(case when f.balanceDue > 0 then 1L else 0L end)) "
+            + "from Fee f group by f.semester, f.course")
+    List<FeeTotalsRow> aggregateBySemesterAndCourse();
+
+    // Keyset page of overdue fee ids for FeeReminderJob; balances may lag the ledger, the job re-checks them
+    @Query("select f.id from Fee f where f.id > :afterId and f.dueDate < :today and f.balanceDue > 0 order by f.id")
+    List<Long> findOverdueIdsAfter(@Param("afterId") long afterId, @Param("today") LocalDate today, Pageable page);
+}
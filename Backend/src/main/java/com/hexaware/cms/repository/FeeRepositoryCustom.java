@@ -0,0 +1,12 @@
+package com.hexaware.cms.repository;
+
+import com.hexaware.cms.model.Fee;
+
+import java.util.stream.Stream;
+
+public interface FeeRepositoryCustom {
+
+    // Forward-only stream ordered by id, filtered on semester/course; caller must close it inside a transaction.
+    // paymentStatus is not applied here: rows can lag the payment ledger, so callers filter after overlaying it.
+    Stream<Fee> streamForExport(FeeFilter filter);
+}
@@ -0,0 +1,46 @@
+package com.hexaware.cms.repository;
+
+import com.hexaware.cms.model.Fee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Criteria query so only the filters actually given end up in the WHERE clause (idx_fees_semester_course)
+public class FeeRepositoryImpl implements FeeRepositoryCustom {
+
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<Fee> streamForExport(FeeFilter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Fee> query = cb.createQuery(Fee.class);
+        Root<Fee> fee = query.from(Fee.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.semester() != null) {
+            predicates.add(cb.equal(fee.get("semester"), filter.semester()));
+        }
+        if (filter.course() != null) {
+            predicates.add(cb.equal(fee.get("course"), filter.course()));
+        }
+
+        query.select(fee)
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.asc(fee.get("id")));
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+}
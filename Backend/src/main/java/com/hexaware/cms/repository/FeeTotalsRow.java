@@ -0,0 +1,6 @@
+package com.hexaware.cms.repository;
+
+// One GROUP BY (semester, course) row of fee totals
+public record FeeTotalsRow(String semester, String course, Long records, Long totalFees,
+                           Long collected, Long outstanding, Long withOutstanding) {
+}
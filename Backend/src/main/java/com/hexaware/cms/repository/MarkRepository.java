@@ -0,0 +1,20 @@
+package com.hexaware.cms.repository;
+
+import com.hexaware.cms.model.Mark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface MarkRepository extends JpaRepository<Mark, Long> {
+
+    List<Mark> findByStudentIdIn(Collection<String> studentIds);
+
+    // Full scan used to (re)build the search index; caller closes the stream in a transaction
+    @Query("select m from Mark m order by m.studentId, m.subjectName")
+    Stream<Mark> streamAllOrderByStudentId();
+}
@@ -0,0 +1,18 @@
+package com.hexaware.cms.repository;
+
+import com.hexaware.cms.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+
+    // Startup load (idx_revoked_tokens_expires_at)
+    List<RevokedToken> findByExpiresAtAfter(Instant now);
+
+    // Poll for revocations made on other nodes (idx_revoked_tokens_revoked_at)
+    List<RevokedToken> findByRevokedAtGreaterThanEqualAndExpiresAtAfter(Instant since, Instant now);
+}
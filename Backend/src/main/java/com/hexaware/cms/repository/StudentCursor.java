@@ -0,0 +1,38 @@
+package com.hexaware.cms.repository;
+
+import com.hexaware.cms.model.Student;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// ✅ Keyset position (department, studentId), passed to clients as an opaque token
+public record StudentCursor(String department, String studentId) {
+
+    private static final char SEPARATOR = '\u0000';
+
+    public static StudentCursor after(Student student) {
+        return new StudentCursor(student.getDepartment(), student.getStudentId());
+    }
+
+    public String encode() {
+        String raw = department + SEPARATOR + studentId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static StudentCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        int split = raw.indexOf(SEPARATOR);
+        if (split < 0) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return new StudentCursor(raw.substring(0, split), raw.substring(split + 1));
+    }
+}
@@ -0,0 +1,5 @@
+package com.hexaware.cms.repository;
+
+// Optional equality filters for student listings; null means "any"
+public record StudentFilter(String department, String semester, String course) {
+}
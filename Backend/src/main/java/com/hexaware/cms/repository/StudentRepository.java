@@ -0,0 +1,33 @@
+package com.hexaware.cms.repository;
+
+import com.hexaware.cms.model.Student;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Repository
+public interface StudentRepository extends JpaRepository<Student, Long>, StudentRepositoryCustom {
+
+    Optional<Student> findByStudentId(String studentId);
+
+    List<Student> findByStudentIdIn(Collection<String> studentIds);
+
+    @Query("select s from Student s")
+    Stream<Student> streamAll();
+
+    // Plain SQL search path (LIKE scans); kept as the baseline the in-memory index is measured against
+    @Query("select s from Student s where lower(s.studentName) like lower(concat('%', :q, '%')) "
+            + "or lower(s.studentId) like lower(concat('%', :q, '%')) "
+            + "or lower(s.course) like lower(concat('%', :q, '%')) "
+            + "or exists (select m.id from Mark m where m.studentId = s.studentId "
+            + "and lower(m.subjectName) like lower(concat('%', :q, '%'))) "
+            + "order by s.studentId")
+    List<Student> searchByText(@Param("q") String q, Pageable pageable);
+}
@@ -0,0 +1,15 @@
+package com.hexaware.cms.repository;
+
+import com.hexaware.cms.model.Student;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface StudentRepositoryCustom {
+
+    // One keyset page ordered by (department, studentId), starting after the cursor
+    List<Student> findPage(StudentFilter filter, StudentCursor after, int limit);
+
+    // Forward-only stream in the same order; caller must close it inside a transaction
+    Stream<Student> streamAll(StudentFilter filter);
+}
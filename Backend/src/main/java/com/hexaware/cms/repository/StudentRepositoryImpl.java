@@ -0,0 +1,70 @@
+package com.hexaware.cms.repository;
+
+import com.hexaware.cms.model.Student;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Criteria queries so only the filters actually given end up in the WHERE clause (index-friendly)
+public class StudentRepositoryImpl implements StudentRepositoryCustom {
+
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Student> findPage(StudentFilter filter, StudentCursor after, int limit) {
+        return entityManager.createQuery(buildQuery(filter, after))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<Student> streamAll(StudentFilter filter) {
+        return entityManager.createQuery(buildQuery(filter, null))
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private CriteriaQuery<Student> buildQuery(StudentFilter filter, StudentCursor after) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Student> query = cb.createQuery(Student.class);
+        Root<Student> student = query.from(Student.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.department() != null) {
+            predicates.add(cb.equal(student.get("department"), filter.department()));
+        }
+        if (filter.semester() != null) {
+            predicates.add(cb.equal(student.get("semester"), filter.semester()));
+        }
+        if (filter.course() != null) {
+            predicates.add(cb.equal(student.get("course"), filter.course()));
+        }
+        if (after != null) {
+            if (filter.department() != null) {
+                // Department is fixed, so the keyset collapses to studentId alone
+                predicates.add(cb.greaterThan(student.get("studentId"), after.studentId()));
+            } else {
+                predicates.add(cb.or(
+                        cb.greaterThan(student.get("department"), after.department()),
+                        cb.and(cb.equal(student.get("department"), after.department()),
+                                cb.greaterThan(student.get("studentId"), after.studentId()))));
+            }
+        }
+
+        return query.select(student)
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.asc(student.get("department")), cb.asc(student.get("studentId")));
+    }
+}
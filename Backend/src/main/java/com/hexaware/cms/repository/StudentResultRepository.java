@@ -0,0 +1,13 @@
+package com.hexaware.cms.repository;
+
+import com.hexaware.cms.model.StudentResult;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface StudentResultRepository extends JpaRepository<StudentResult, Long> {
+
+    List<StudentResult> findByStudentIdOrderBySemesterAsc(String studentId);
+}
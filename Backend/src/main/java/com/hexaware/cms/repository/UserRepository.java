@@ -1,8 +1,13 @@
 package com.hexaware.cms.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import com.hexaware.cms.model.User;
+import com.hexaware.cms.model.UserPrincipal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -13,4 +18,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     // Check if user exists by email
     boolean existsByEmail(String email);
+
+    // Projection for authentication: skips hydrating the full entity
+    @Query("select new com.hexaware.cms.model.UserPrincipal(u.id, u.email, u.name, u.password, u.role) "
+            + "from User u where u.email = :email")
+    Optional<UserPrincipal> findPrincipalByEmail(@Param("email") String email);
+
+    // Set-based existence check used by bulk import (one query per chunk)
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
 }
@@ -0,0 +1,249 @@
+package com.hexaware.cms.service;
+
+import com.hexaware.cms.datasource.ReadWriteRoutingDataSource;
+import com.hexaware.cms.model.AttendanceRosterEntry;
+import com.hexaware.cms.model.AttendanceSession;
+import com.hexaware.cms.repository.AttendanceRosterRepository;
+import com.hexaware.cms.repository.AttendanceSessionRepository;
+import com.hexaware.cms.repository.CourseRepository;
+import com.hexaware.cms.repository.EnrollmentRepository;
+import com.hexaware.cms.util.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Course attendance kept as one SectionAttendance per course, loaded on first use. Each
+ * session is stored as a single row holding the run-optimized bitmap (a few hundred bytes
+ * for a large section) instead of one row per student per session. Recording a session is
+ * serialised per course: roster positions are assigned, the row is written, and only then
+ * is the in-memory section updated.
+ * <p>
+ * The loaded sections are local to this node and only see its own writes, so with several
+ * nodes a section is reloaded once it is older than {@code app.attendance.section-ttl-ms}.
+ * Writes never trust the cached roster: it is checked against the stored roster size before
+ * positions are assigned, and a position taken concurrently by another node (unique key on
+ * course and position) reloads the section and assigns again.
+ */
+@Service
+public class AttendanceService {
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private AttendanceSessionRepository sessionRepository;
+
+    @Autowired
+    private AttendanceRosterRepository rosterRepository;
+
+    private final Map<Long, Loaded> sections = new ConcurrentHashMap<>();
+    private final Map<Long, ReentrantLock> writeLocks = new ConcurrentHashMap<>();
+    private final TransactionTemplate transaction;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long sectionTtlMillis;
+
+    private final LongAdder sectionsLoaded = new LongAdder();
+    private final LongAdder sessionsRecorded = new LongAdder();
+    private final LongAdder staleRosterReloads = new LongAdder();
+
+    public AttendanceService(PlatformTransactionManager transactionManager,
+                             @Value("${app.attendance.section-ttl-ms:30000}") long sectionTtlMillis) {
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.sectionTtlMillis = sectionTtlMillis;
+    }
+
+    private record Loaded(SectionAttendance section, long expiresAt) {}
+
+    // The course's attendance, or null when the course does not exist
+    public SectionAttendance section(long courseId) {
+        Loaded loaded = sections.get(courseId);
+        if (loaded != null && loaded.expiresAt > System.currentTimeMillis()) {
+            return loaded.section;
+        }
+        if (!courseRepository.existsById(courseId)) {
+            sections.remove(courseId);
+            return null;
+        }
+        return sections.compute(courseId, (id, current) ->
+                current != null && current.expiresAt > System.currentTimeMillis() ? current : load(id)).section;
+    }
+
+    /**
+     * Records (or re-records) one session. Pass either the students present, or the students
+     * absent with everyone else enrolled counted present. Every id must be enrolled in the
+     * course; otherwise nothing is written and IllegalArgumentException lists the strangers.
+     * Returns null when the course does not exist.
+     */
+    public Map<String, Object> record(long courseId, LocalDate date, int period,
+                                      Collection<String> present, Collection<String> absent) {
+        if (date == null) {
+            throw new IllegalArgumentException("date is required");
+        }
+        if ((present == null) == (absent == null)) {
+            throw new IllegalArgumentException("Exactly one of present or absent is required");
+        }
+        SectionAttendance cached = section(courseId);
+        if (cached == null) {
+            return null;
+        }
+        ReentrantLock lock = writeLocks.computeIfAbsent(courseId, id -> new ReentrantLock());
+        lock.lock();
+        try {
+            // ✅ Another node may have added students since this copy was loaded
+            SectionAttendance section = rosterRepository.countByCourseId(courseId) == cached.rosterSize()
+                    ? cached : reload(courseId);
+            try {
+                return write(section, courseId, date, period, present, absent);
+            } catch (DataIntegrityViolationException e) {
+                // Roster position taken concurrently by another node: reload and assign again
+                return write(reload(courseId), courseId, date, period, present, absent);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Caller holds the course's write lock
+    private Map<String, Object> write(SectionAttendance section, long courseId, LocalDate date, int period,
+                                      Collection<String> present, Collection<String> absent) {
+        Set<String> enrolled = new LinkedHashSet<>(enrollmentRepository.findStudentIdsByCourseId(courseId));
+        Set<String> unknown = new LinkedHashSet<>(present != null ? present : absent);
+        unknown.removeAll(enrolled);
+        if (!unknown.isEmpty()) {
+            throw new IllegalArgumentException("Not enrolled in this course: " + String.join(", ", unknown));
+        }
+
+        // ✅ Newly enrolled students get the next free positions
+        List<AttendanceRosterEntry> joined = new ArrayList<>();
+        Map<String, Integer> positions = new HashMap<>();
+        int rosterSize = section.rosterSize();
+        RoaringBitmap active = new RoaringBitmap();
+        for (String studentId : enrolled) {
+            int position = section.positionOf(studentId);
+            if (position < 0) {
+                position = rosterSize++;
+                joined.add(new AttendanceRosterEntry(courseId, studentId, position));
+            }
+            positions.put(studentId, position);
+            active.add(position);
+        }
+
+        RoaringBitmap bitmap = present != null ? new RoaringBitmap() : active.copy();
+        if (present != null) {
+            for (String studentId : present) {
+                bitmap.add(positions.get(studentId));
+            }
+        } else {
+            for (String studentId : absent) {
+                bitmap.remove(positions.get(studentId));
+            }
+        }
+        bitmap.runOptimize();
+        byte[] blob = bitmap.serialize();
+        int sessionRoster = rosterSize;
+
+        transaction.executeWithoutResult(status -> {
+            rosterRepository.saveAll(joined);
+            AttendanceSession session = sessionRepository.findByCourseIdAndSessionDateAndPeriod(courseId, date, period)
+                    .orElseGet(() -> new AttendanceSession(courseId, date, period));
+            session.setPresentBitmap(blob);
+            session.setPresentCount(bitmap.cardinality());
+            session.setRosterSize(sessionRoster);
+            session.setRecordedAt(Instant.now());
+            sessionRepository.save(session);
+        });
+
+        joined.forEach(entry -> section.addToRoster(entry.getStudentId(), entry.getPosition()));
+        section.setActive(active);
+        section.putSession(new SectionAttendance.SessionKey(date, period), bitmap, sessionRoster);
+        sessionsRecorded.increment();
+        Loaded current = sections.get(courseId);
+        if (current != null && current.section != section) {
+            // Replaced by a reload that may predate this write; the next read loads again
+            sections.remove(courseId, current);
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("courseId", String.valueOf(courseId));
+        response.put("date", date.toString());
+        response.put("period", period);
+        response.put("present", bitmap.cardinality());
+        response.put("enrolled", enrolled.size());
+        response.put("storedBytes", blob.length);
+        return response;
+    }
+
+    private SectionAttendance reload(long courseId) {
+        Loaded loaded = load(courseId);
+        sections.put(courseId, loaded);
+        staleRosterReloads.increment();
+        return loaded.section;
+    }
+
+    public Map<String, Object> stats() {
+        long sessions = 0;
+        long heapBytes = 0;
+        long storedBytes = 0;
+        for (Loaded loaded : sections.values()) {
+            Map<String, Object> summary = loaded.section.summary();
+            sessions += (int) summary.get("sessions");
+            heapBytes += (long) summary.get("bitmapHeapBytes");
+            storedBytes += (long) summary.get("bitmapStoredBytes");
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("sectionsLoaded", sections.size());
+        stats.put("sessions", sessions);
+        stats.put("bitmapHeapBytes", heapBytes);
+        stats.put("bitmapStoredBytes", storedBytes);
+        stats.put("loads", sectionsLoaded.sum());
+        stats.put("sessionsRecorded", sessionsRecorded.sum());
+        stats.put("staleRosterReloads", staleRosterReloads.sum());
+        return stats;
+    }
+
+    private Loaded load(long courseId) {
+        SectionAttendance section = new SectionAttendance(courseId);
+        // ✅ Later sessions are recorded as deltas against this state, so read it from the primary
+        ReadWriteRoutingDataSource.onPrimary(() -> readOnlyTransaction.executeWithoutResult(status -> {
+            rosterRepository.findByCourseIdOrderByPositionAsc(courseId)
+                    .forEach(entry -> section.addToRoster(entry.getStudentId(), entry.getPosition()));
+            RoaringBitmap active = new RoaringBitmap();
+            for (String studentId : enrollmentRepository.findStudentIdsByCourseId(courseId)) {
+                int position = section.positionOf(studentId);
+                if (position >= 0) {
+                    active.add(position);
+                }
+            }
+            section.setActive(active);
+            for (AttendanceSession session : sessionRepository.findByCourseId(courseId)) {
+                section.putSession(new SectionAttendance.SessionKey(session.getSessionDate(), session.getPeriod()),
+                        RoaringBitmap.deserialize(session.getPresentBitmap()), session.getRosterSize());
+            }
+        }));
+        sectionsLoaded.increment();
+        return new Loaded(section, System.currentTimeMillis() + sectionTtlMillis);
+    }
+}
@@ -1,15 +1,18 @@
 package com.hexaware.cms.service;
 
+import com.hexaware.cms.dto.AuthResponse;
 import com.hexaware.cms.model.User;
+import com.hexaware.cms.model.UserPrincipal;
 import com.hexaware.cms.repository.UserRepository;
 import com.hexaware.cms.util.JwtUtil;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 @Service
 public class AuthService {
@@ -18,46 +21,69 @@ public class AuthService {
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private UserPrincipalCache userPrincipalCache; // ✅ Projection + near cache for lookups by email
+
+    @Autowired
+    private UserEmailIndex userEmailIndex; // ✅ In-memory set of registered emails, no DB query for free addresses
+
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor; // ✅ BCrypt runs off the request threads
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private Executor ioExecutor; // ✅ DB work after hashing, keeps the hashing pool CPU-only
 
     @Autowired
     private JwtUtil jwtUtil; // ✅ Inject JwtUtil
 
-    public Map<String, Object> register(String name, String email, String password) {
-        if (userRepository.findByEmail(email).isPresent()) {
-            throw new RuntimeException("User already exists");
+    public CompletableFuture<AuthResponse> register(String name, String rawEmail, String password) {
+        String email = User.normalizeEmail(rawEmail);
+        // ✅ Only an index hit (normalized match) is confirmed against the database
+        if (userEmailIndex.mightExist(email) && userPrincipalCache.get(email).isPresent()) {
+            return CompletableFuture.failedFuture(new RuntimeException("User already exists"));
         }
 
-        User user = new User();
-        user.setName(name);
-        user.setEmail(email);
-        user.setPassword(passwordEncoder.encode(password));
-        userRepository.save(user);
+        return passwordHashingExecutor.encode(password).thenApplyAsync(hash -> {
+            User user = new User();
+            user.setName(name);
+            user.setEmail(email);
+            user.setPassword(hash);
+            try {
+                userRepository.save(user);
+            } catch (DataIntegrityViolationException e) {
+                // Unique constraint: registered concurrently, or on another node since the last index refresh
+                throw new RuntimeException("User already exists");
+            }
 
-        String token = jwtUtil.generateToken(email); // ✅ Fixed
+            String token = jwtUtil.generateToken(email); // ✅ Fixed
 
-        Map<String, Object> response = new HashMap<>();
-        response.put("user", user);
-        response.put("token", token);
-        return response;
+            return new AuthResponse(new AuthResponse.User(user.getId(), user.getEmail(), user.getName(), user.getRole()), token);
+        }, ioExecutor);
     }
 
-    public Map<String, Object> login(String email, String password) {
-        Optional<User> optionalUser = userRepository.findByEmail(email);
-        if (optionalUser.isEmpty()) {
-            throw new RuntimeException("Invalid credentials");
+    // ✅ Availability while typing; answered from memory once the index has loaded
+    public boolean isEmailAvailable(String email) {
+        if (userEmailIndex.isLoaded()) {
+            return !userEmailIndex.mightExist(email);
         }
+        return !userRepository.existsByEmail(User.normalizeEmail(email));
+    }
 
-        User user = optionalUser.get();
-        if (!passwordEncoder.matches(password, user.getPassword())) {
-            throw new RuntimeException("Invalid credentials");
+    public CompletableFuture<AuthResponse> login(String email, String password) {
+        Optional<UserPrincipal> optionalUser = userPrincipalCache.get(email);
+        if (optionalUser.isEmpty()) {
+            return CompletableFuture.failedFuture(new RuntimeException("Invalid credentials"));
         }
 
-        String token = jwtUtil.generateToken(user.getEmail()); // ✅ Fixed
+        UserPrincipal user = optionalUser.get();
+        return passwordHashingExecutor.matches(password, user.passwordHash()).thenApply(matches -> {
+            if (!matches) {
+                throw new RuntimeException("Invalid credentials");
+            }
+
+            String token = jwtUtil.generateToken(user.email()); // ✅ Fixed
 
-        Map<String, Object> response = new HashMap<>();
-        response.put("user", user);
-        response.put("token", token);
-        return response;
+            return new AuthResponse(new AuthResponse.User(user.id(), user.email(), user.name(), user.role()), token);
+        });
     }
 }
@@ -0,0 +1,90 @@
+package com.hexaware.cms.service;
+
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Progress of a chunked batch run whose chunks finish out of order. Chunks are identified
+ * by their last id and tracked in submission order; the checkpoint moves to the last id of
+ * the longest run of finished chunks at the head, so everything at or below it is known to
+ * be committed and a resumed run can start after it. Holds no lock across I/O: callers get
+ * a {@link Checkpoint} value back and persist it themselves.
+ */
+final class ChunkProgress {
+
+    record Checkpoint(long lastId, long chunks, long scanned, long written) {}
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<Long> inFlight = new ArrayDeque<>();
+    private final Set<Long> finished = new HashSet<>();
+    private long watermark;
+    private long chunks;
+    private long scanned;
+    private long written;
+    private boolean failed;
+
+    // ✅ Starts from a stored checkpoint (all zero for a fresh run)
+    ChunkProgress(long lastId, long chunks, long scanned, long written) {
+        this.watermark = lastId;
+        this.chunks = chunks;
+        this.scanned = scanned;
+        this.written = written;
+    }
+
+    void submitted(long chunkLastId) {
+        lock.lock();
+        try {
+            inFlight.addLast(chunkLastId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Returns the new checkpoint when the watermark advanced, otherwise null
+    Checkpoint completed(long chunkLastId, int chunkScanned, int chunkWritten) {
+        lock.lock();
+        try {
+            chunks++;
+            scanned += chunkScanned;
+            written += chunkWritten;
+            finished.add(chunkLastId);
+            boolean advanced = false;
+            while (!inFlight.isEmpty() && finished.remove(inFlight.peekFirst())) {
+                watermark = inFlight.pollFirst();
+                advanced = true;
+            }
+            return advanced ? current() : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void fail() {
+        lock.lock();
+        try {
+            failed = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean failed() {
+        lock.lock();
+        try {
+            return failed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    Checkpoint current() {
+        lock.lock();
+        try {
+            return new Checkpoint(watermark, chunks, scanned, written);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
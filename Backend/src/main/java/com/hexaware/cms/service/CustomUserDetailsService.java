@@ -1,7 +1,6 @@
 package com.hexaware.cms.service;
 
-import com.hexaware.cms.model.User;
-import com.hexaware.cms.repository.UserRepository;
+import com.hexaware.cms.model.UserPrincipal;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -12,17 +11,17 @@ import org.springframework.stereotype.Service;
 public class CustomUserDetailsService implements UserDetailsService {
 
     @Autowired
-    private UserRepository userRepository;
+    private UserPrincipalCache userPrincipalCache; // ✅ Near cache in front of UserRepository
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepository.findByEmail(email)
+        UserPrincipal user = userPrincipalCache.get(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + email));
 
         return org.springframework.security.core.userdetails.User
-                .withUsername(user.getEmail())
-                .password(user.getPassword())
-                .roles("USER") // You can change this later
+                .withUsername(user.email())
+                .password(user.passwordHash())
+                .roles(user.role() != null ? user.role().name() : "USER")
                 .build();
     }
 }
@@ -0,0 +1,238 @@
+package com.hexaware.cms.service;
+
+import com.hexaware.cms.dto.DashboardResponse;
+import com.hexaware.cms.metrics.LogLinearHistogram;
+import com.hexaware.cms.repository.CourseRepository;
+import com.hexaware.cms.repository.StudentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Everything the dashboard shows in one round trip. The requested sections are loaded in
+ * parallel on a small dedicated pool, each with its own timeout; a section that times out,
+ * fails or finds the pool full is left out and named in "unavailable" rather than failing
+ * the response. Sections carry counts and totals only, never the underlying lists, and a
+ * field list ("students,fees.totalOutstanding") limits the work to what the client shows.
+ * A timed-out section keeps its pool thread until the query returns; the result is dropped.
+ */
+@Service
+public class DashboardService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardService.class);
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private FeeAggregator feeAggregator;
+
+    private final Map<String, Supplier<Map<String, Object>>> sections = new LinkedHashMap<>();
+    private final Map<String, Long> timeoutMillis = new LinkedHashMap<>();
+    private final ThreadPoolExecutor executor;
+
+    private final LogLinearHistogram requestNanos = new LogLinearHistogram();
+    private final LongAdder partialResponses = new LongAdder();
+    private final Map<String, SectionStats> sectionStats = new LinkedHashMap<>();
+
+    public DashboardService(Environment environment,
+                            @Value("${app.dashboard.threads:4}") int threads,
+                            @Value("${app.dashboard.queue-capacity:64}") int queueCapacity,
+                            @Value("${app.dashboard.default-timeout-ms:500}") long defaultTimeoutMillis) {
+        sections.put("students", () -> Map.of("total", studentRepository.count()));
+        sections.put("courses", () -> Map.of("total", courseRepository.count()));
+        sections.put("fees", () -> feeAggregator.summary(null, null)); // in memory, see FeeAggregator
+
+        Map<String, Long> configured = Binder.get(environment)
+                .bind("app.dashboard.timeout-ms", Bindable.mapOf(String.class, Long.class))
+                .orElse(Map.of());
+        for (String section : sections.keySet()) {
+            timeoutMillis.put(section, configured.getOrDefault(section, defaultTimeoutMillis));
+            sectionStats.put(section, new SectionStats());
+        }
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new DashboardThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        log.info("Dashboard pool: {} threads, section timeouts {}", threads, timeoutMillis);
+    }
+
+    // ✅ Never completes exceptionally: every section either answers in time or is listed as unavailable
+    public CompletableFuture<DashboardResponse> load(Collection<String> fields) {
+        Map<String, Set<String>> selection = select(fields);
+        long start = System.nanoTime();
+
+        Map<String, CompletableFuture<Outcome>> pending = new LinkedHashMap<>();
+        selection.forEach((section, keys) -> pending.put(section, loadSection(section, keys)));
+
+        return CompletableFuture.allOf(pending.values().toArray(new CompletableFuture[0])).thenApply(done -> {
+            Map<String, Map<String, Object>> loaded = new LinkedHashMap<>();
+            Map<String, String> unavailable = new LinkedHashMap<>();
+            pending.forEach((section, outcome) -> {
+                Outcome result = outcome.join();
+                if (result.value() != null) {
+                    loaded.put(section, result.value());
+                } else {
+                    unavailable.put(section, result.reason());
+                }
+            });
+            long elapsed = System.nanoTime() - start;
+            requestNanos.record(elapsed);
+            if (!unavailable.isEmpty()) {
+                partialResponses.increment();
+            }
+            return new DashboardResponse(loaded, unavailable, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        });
+    }
+
+    public Map<String, Object> stats() {
+        LogLinearHistogram.Snapshot requests = requestNanos.snapshot();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("requests", requests.count());
+        stats.put("partialResponses", partialResponses.sum());
+        stats.put("p99Millis", requests.percentile(0.99) / 1_000_000.0);
+        stats.put("queueDepth", executor.getQueue().size());
+        sectionStats.forEach((section, counters) -> {
+            LogLinearHistogram.Snapshot loads = counters.loadNanos.snapshot();
+            stats.put(section + ".loads", loads.count());
+            stats.put(section + ".p99Millis", loads.percentile(0.99) / 1_000_000.0);
+            stats.put(section + ".timeouts", counters.timeouts.sum());
+            stats.put(section + ".failures", counters.failures.sum());
+            stats.put(section + ".rejected", counters.rejected.sum());
+        });
+        return stats;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private CompletableFuture<Outcome> loadSection(String section, Set<String> keys) {
+        SectionStats counters = sectionStats.get(section);
+        Supplier<Map<String, Object>> loader = sections.get(section);
+        CompletableFuture<Map<String, Object>> result = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                long start = System.nanoTime();
+                try {
+                    result.complete(project(loader.get(), keys));
+                } catch (Throwable t) {
+                    result.completeExceptionally(t);
+                } finally {
+                    counters.loadNanos.record(System.nanoTime() - start);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            counters.rejected.increment();
+            return CompletableFuture.completedFuture(new Outcome(null, "busy"));
+        }
+        return result.orTimeout(timeoutMillis.get(section), TimeUnit.MILLISECONDS).handle((value, error) -> {
+            if (error == null) {
+                return new Outcome(value, null);
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause instanceof TimeoutException) {
+                counters.timeouts.increment();
+                return new Outcome(null, "timeout");
+            }
+            counters.failures.increment();
+            log.warn("Dashboard section {} failed: {}", section, cause.toString());
+            return new Outcome(null, "error");
+        });
+    }
+
+    // "students,fees.totalOutstanding" -> {students: all keys, fees: [totalOutstanding]}; no fields selects everything
+    private Map<String, Set<String>> select(Collection<String> fields) {
+        Set<String> whole = new LinkedHashSet<>();
+        Map<String, Set<String>> keys = new LinkedHashMap<>();
+        if (fields == null || fields.stream().allMatch(String::isBlank)) {
+            whole.addAll(sections.keySet());
+        } else {
+            for (String field : fields) {
+                String trimmed = field.trim();
+                if (trimmed.isEmpty()) {
+                    continue;
+                }
+                int dot = trimmed.indexOf('.');
+                String section = dot < 0 ? trimmed : trimmed.substring(0, dot);
+                if (!sections.containsKey(section)) {
+                    throw new IllegalArgumentException("Unknown dashboard section: " + section
+                            + " (expected one of " + sections.keySet() + ")");
+                }
+                if (dot < 0) {
+                    whole.add(section);
+                } else {
+                    keys.computeIfAbsent(section, s -> new LinkedHashSet<>()).add(trimmed.substring(dot + 1));
+                }
+            }
+        }
+        Map<String, Set<String>> selection = new LinkedHashMap<>();
+        for (String section : sections.keySet()) {
+            if (whole.contains(section)) {
+                selection.put(section, Set.of());
+            } else if (keys.containsKey(section)) {
+                selection.put(section, keys.get(section));
+            }
+        }
+        return selection;
+    }
+
+    private static Map<String, Object> project(Map<String, Object> values, Set<String> keys) {
+        if (keys.isEmpty()) {
+            return values;
+        }
+        Map<String, Object> projected = new LinkedHashMap<>();
+        for (String key : keys) {
+            if (values.containsKey(key)) {
+                projected.put(key, values.get(key));
+            }
+        }
+        return projected;
+    }
+
+    private record Outcome(Map<String, Object> value, String reason) {}
+
+    private static final class SectionStats {
+        final LogLinearHistogram loadNanos = new LogLinearHistogram();
+        final LongAdder timeouts = new LongAdder();
+        final LongAdder failures = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+    }
+
+    private static final class DashboardThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "dashboard-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package com.hexaware.cms.service;
+
+import com.hexaware.cms.cache.CacheGroup;
+import com.hexaware.cms.cache.ResponseCache;
+import com.hexaware.cms.datasource.ReadWriteRoutingDataSource;
+import com.hexaware.cms.model.Course;
+import com.hexaware.cms.model.Enrollment;
+import com.hexaware.cms.repository.CourseRepository;
+import com.hexaware.cms.repository.EnrollmentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Enrollment front end: seats are decided in memory by {@link SeatReservationEngine} and
+ * confirmed enrollments are queued and written to the database in batches. A confirmation
+ * is acknowledged only once its batch has committed. The engine only knows this node's
+ * seats, so the course counter update is guarded by max_capacity in SQL; a confirmation
+ * that would over-allocate the course (e.g. seats taken on another node) is rolled back and
+ * its seat returned. Counts are loaded from the courses/enrollments tables on startup.
+ */
+@Service
+public class EnrollmentService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(EnrollmentService.class);
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    @Autowired
+    private TimetableService timetableService;
+
+    private final SeatReservationEngine engine;
+    private final TransactionTemplate transaction;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int batchSize;
+    private static final String INCREMENT_ENROLLED_SQL =
+            "update courses set enrolled_students = enrolled_students + ? where id = ? and enrolled_students + ? <= max_capacity";
+
+    // A confirmed seat waiting for its row; the future completes once the row is committed (or the seat is given back)
+    private record PendingWrite(Enrollment enrollment, SeatReservationEngine.Result confirmed,
+                                CompletableFuture<SeatReservationEngine.Result> future) {}
+
+    // Courses whose guarded counter update matched no row; rolls the whole batch back
+    private static final class CapacityExceededException extends RuntimeException {
+        final Set<Long> courseIds;
+
+        CapacityExceededException(Set<Long> courseIds) {
+            super("Course capacity reached: " + courseIds);
+            this.courseIds = courseIds;
+        }
+    }
+
+    private final LinkedBlockingQueue<PendingWrite> pendingWrites = new LinkedBlockingQueue<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final AtomicLong persisted = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong rejectedAtCapacity = new AtomicLong();
+
+    public EnrollmentService(PlatformTransactionManager transactionManager,
+                             @Value("${app.enrollment.hold-ttl-ms:300000}") long holdTtlMillis,
+                             @Value("${app.enrollment.batch-size:500}") int batchSize) {
+        this.engine = new SeatReservationEngine(holdTtlMillis, System::currentTimeMillis);
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadSeats() {
+        // ✅ Seat counts must come from the primary, confirmations are checked against them
+        ReadWriteRoutingDataSource.onPrimary(() -> readOnlyTransaction.executeWithoutResult(status -> {
+            Map<Long, List<String>> enrolled;
+            try (Stream<Enrollment> rows = enrollmentRepository.streamAll()) {
+                enrolled = rows.collect(Collectors.groupingBy(Enrollment::getCourseId,
+                        Collectors.mapping(Enrollment::getStudentId, Collectors.toList())));
+            }
+            List<Course> courses = courseRepository.findAll();
+            for (Course course : courses) {
+                engine.loadCourse(course.getId(), course.getMaxCapacity(), course.getEnrolledStudents(),
+                        enrolled.getOrDefault(course.getId(), List.of()));
+            }
+            log.info("Seat reservation engine loaded: {} courses", courses.size());
+            responseCache.invalidate(CacheGroup.COURSES);
+        }));
+    }
+
+    public SeatReservationEngine.Result reserve(long courseId, String studentId) {
+        if (studentId == null || studentId.isBlank()) {
+            throw new IllegalArgumentException("studentId is required");
+        }
+        String student = studentId.trim();
+        // Early answer only; confirm() re-checks and records atomically
+        if (!timetableService.studentClashes(student, courseId).isEmpty()) {
+            return clash(new SeatReservationEngine.Hold(null, courseId, student, 0));
+        }
+        return engine.reserve(courseId, student);
+    }
+
+    // ✅ Completes once the enrollment row is committed by the next flush; a seat the database
+    // refuses (course full across nodes, duplicate) is given back and reported instead
+    public CompletableFuture<SeatReservationEngine.Result> confirm(String holdId) {
+        SeatReservationEngine.Hold pending = engine.hold(holdId);
+        if (pending != null && !timetableService.enrollIfFree(pending.studentId(), pending.courseId()).isEmpty()) {
+            // Another course was confirmed in the same slot since the hold was taken
+            engine.release(holdId);
+            return CompletableFuture.completedFuture(clash(pending));
+        }
+        SeatReservationEngine.Result result = engine.confirm(holdId);
+        if (pending != null && result.outcome() != SeatReservationEngine.Outcome.CONFIRMED) {
+            timetableService.unenroll(pending.studentId(), pending.courseId());
+        }
+        if (result.outcome() != SeatReservationEngine.Outcome.CONFIRMED) {
+            return CompletableFuture.completedFuture(result);
+        }
+        SeatReservationEngine.Hold hold = result.hold();
+        CompletableFuture<SeatReservationEngine.Result> future = new CompletableFuture<>();
+        pendingWrites.add(new PendingWrite(new Enrollment(hold.courseId(), hold.studentId(), Instant.now()), result, future));
+        responseCache.invalidate(CacheGroup.COURSES); // enrolledStudents is the live confirmed count
+        return future;
+    }
+
+    public SeatReservationEngine.Result release(String holdId) {
+        return engine.release(holdId);
+    }
+
+    public SeatReservationEngine.SeatCounts seats(long courseId) {
+        return engine.seats(courseId);
+    }
+
+    public List<Map<String, Object>> scheduleClashes(String studentId, long courseId) {
+        return timetableService.studentClashes(studentId, courseId).stream().map(timetableService::describe).toList();
+    }
+
+    private SeatReservationEngine.Result clash(SeatReservationEngine.Hold hold) {
+        SeatReservationEngine.SeatCounts seats = engine.seats(hold.courseId());
+        return new SeatReservationEngine.Result(SeatReservationEngine.Outcome.SCHEDULE_CLASH, hold,
+                seats != null ? seats.available() : 0);
+    }
+
+    public List<Enrollment> findByStudent(String studentId) {
+        return enrollmentRepository.findByStudentId(studentId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.enrollment.hold-sweep-ms:1000}")
+    public void expireHolds() {
+        engine.expireDue();
+    }
+
+    @Scheduled(fixedDelayString = "${app.enrollment.flush-interval-ms:50}")
+    public void flush() {
+        // Not synchronized: a monitor held across JDBC pins virtual threads
+        flushLock.lock();
+        try {
+            // Bounded by what is queued now, so confirmations arriving meanwhile wait for the next run
+            int remaining = pendingWrites.size();
+            List<PendingWrite> batch = new ArrayList<>(batchSize);
+            while (remaining > 0 && pendingWrites.drainTo(batch, Math.min(batchSize, remaining)) > 0) {
+                remaining -= batch.size();
+                persist(batch);
+                batch.clear();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void persist(List<PendingWrite> batch) {
+        try {
+            transaction.executeWithoutResult(status -> writeRows(batch));
+            batches.incrementAndGet();
+            persisted.addAndGet(batch.size());
+            batch.forEach(write -> write.future.complete(write.confirmed));
+        } catch (RuntimeException batchFailure) {
+            // One bad row must not sink the rest: retry individually
+            for (PendingWrite write : batch) {
+                Enrollment enrollment = write.enrollment;
+                try {
+                    enrollment.setId(null); // assigned by the rolled-back batch
+                    transaction.executeWithoutResult(status -> writeRows(List.of(write)));
+                    persisted.incrementAndGet();
+                    write.future.complete(write.confirmed);
+                } catch (CapacityExceededException e) {
+                    rejectedAtCapacity.incrementAndGet();
+                    giveBack(write, SeatReservationEngine.Outcome.FULL);
+                    log.warn("Course {} is full in the database, enrollment of {} rolled back",
+                            enrollment.getCourseId(), enrollment.getStudentId());
+                } catch (DataIntegrityViolationException e) {
+                    failed.incrementAndGet();
+                    giveBack(write, SeatReservationEngine.Outcome.ALREADY_ENROLLED);
+                    log.error("Dropping enrollment of {} in course {}: {}",
+                            enrollment.getStudentId(), enrollment.getCourseId(), e.getMostSpecificCause().getMessage());
+                } catch (RuntimeException e) {
+                    // Database unavailable: nothing was acknowledged, so give the seat back and let the client retry
+                    failed.incrementAndGet();
+                    revoke(enrollment);
+                    write.future.completeExceptionally(e);
+                    log.warn("Enrollment write failed: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void giveBack(PendingWrite write, SeatReservationEngine.Outcome outcome) {
+        revoke(write.enrollment);
+        SeatReservationEngine.SeatCounts seats = engine.seats(write.enrollment.getCourseId());
+        write.future.complete(new SeatReservationEngine.Result(outcome, write.confirmed.hold(),
+                seats != null ? seats.available() : 0));
+    }
+
+    private void revoke(Enrollment enrollment) {
+        engine.revokeConfirmed(enrollment.getCourseId(), enrollment.getStudentId());
+        timetableService.unenroll(enrollment.getStudentId(), enrollment.getCourseId());
+        responseCache.invalidate(CacheGroup.COURSES);
+    }
+
+    private void writeRows(List<PendingWrite> writes) {
+        enrollmentRepository.saveAll(writes.stream().map(PendingWrite::enrollment).toList());
+        Map<Long, Integer> perCourse = new LinkedHashMap<>();
+        writes.forEach(write -> perCourse.merge(write.enrollment.getCourseId(), 1, Integer::sum));
+        List<Long> courseIds = new ArrayList<>(perCourse.keySet());
+        List<Object[]> updates = new ArrayList<>(perCourse.size());
+        perCourse.forEach((courseId, count) -> updates.add(new Object[]{count, courseId, count}));
+        enrollmentRepository.flush();
+        // ✅ The database has the last word on capacity: another node may have taken the seat
+        int[] counts = jdbcTemplate.batchUpdate(INCREMENT_ENROLLED_SQL, updates);
+        Set<Long> full = new HashSet<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                full.add(courseIds.get(i));
+            }
+        }
+        if (!full.isEmpty()) {
+            throw new CapacityExceededException(full);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = engine.stats();
+        stats.put("pendingWrites", pendingWrites.size());
+        stats.put("persisted", persisted.get());
+        stats.put("batches", batches.get());
+        stats.put("failedWrites", failed.get());
+        stats.put("rejectedAtCapacity", rejectedAtCapacity.get());
+        return stats;
+    }
+
+    @Override
+    public void destroy() {
+        flush();
+    }
+}
@@ -0,0 +1,246 @@
+package com.hexaware.cms.service;
+
+import com.hexaware.cms.cache.CacheGroup;
+import com.hexaware.cms.cache.ResponseCache;
+import com.hexaware.cms.datasource.ReadWriteRoutingDataSource;
+import com.hexaware.cms.model.FeeAggregateListener.FeeDelta;
+import com.hexaware.cms.model.FeeAggregateListener.FeeState;
+import com.hexaware.cms.repository.FeeRepository;
+import com.hexaware.cms.repository.FeeTotalsRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running fee totals (global, per semester, per course, per semester+course) so
+ * /api/fees/summary is O(1). Every committed Fee write arrives as a delta from
+ * FeeAggregateListener and is added to LongAdder cells. Totals are loaded from the DB
+ * on startup and periodically compared with a full GROUP BY recompute.
+ */
+@Service
+public class FeeAggregator {
+
+    private static final Logger log = LoggerFactory.getLogger(FeeAggregator.class);
+
+    @Autowired
+    private FeeRepository feeRepository;
+
+    // Payments reach the fees table through the ledger projection; flush it before reading totals
+    @Autowired
+    private FeeLedgerProjector feeLedgerProjector;
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    private volatile Aggregates aggregates = new Aggregates();
+
+    // Lets verify() skip a round when writes raced the recompute query
+    private final AtomicInteger inFlightTransactions = new AtomicInteger();
+    private final AtomicLong appliedTransactions = new AtomicLong();
+    private final LongAdder driftCorrections = new LongAdder();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        aggregates = loadFromDatabase();
+        responseCache.invalidate(CacheGroup.FEES);
+        log.info("Fee aggregates loaded: {} fee records", aggregates.global.records.sum());
+    }
+
+    public void beginTransaction() {
+        inFlightTransactions.incrementAndGet();
+    }
+
+    public void completeTransaction(List<FeeDelta> committed) {
+        try {
+            apply(committed);
+        } finally {
+            appliedTransactions.incrementAndGet();
+            inFlightTransactions.decrementAndGet();
+        }
+    }
+
+    public void apply(List<FeeDelta> deltas) {
+        Aggregates current = aggregates;
+        for (FeeDelta delta : deltas) {
+            if (delta.before() != null) {
+                current.add(delta.before(), -1);
+            }
+            if (delta.after() != null) {
+                current.add(delta.after(), 1);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.fees.aggregate-verify-ms:300000}",
+            initialDelayString = "${app.fees.aggregate-verify-ms:300000}")
+    public void verify() {
+        if (inFlightTransactions.get() != 0) {
+            return;
+        }
+        long appliedBefore = appliedTransactions.get();
+        Aggregates recomputed = loadFromDatabase();
+        if (inFlightTransactions.get() != 0 || appliedTransactions.get() != appliedBefore) {
+            log.debug("Fee aggregate check skipped: writes during recompute");
+            return;
+        }
+        Aggregates current = aggregates;
+        if (!recomputed.sameAs(current)) {
+            driftCorrections.increment();
+            log.warn("Fee aggregates drifted from the database (in-memory {} vs recomputed {}); replacing",
+                    current.global.snapshot(), recomputed.global.snapshot());
+            aggregates = recomputed;
+            responseCache.invalidate(CacheGroup.FEES);
+        }
+    }
+
+    public Map<String, Object> summary(String semester, String course) {
+        Aggregates current = aggregates;
+        Totals totals;
+        if (semester != null && course != null) {
+            totals = current.bySemesterCourse.get(Aggregates.key(semester, course));
+        } else if (semester != null) {
+            totals = current.bySemester.get(semester);
+        } else if (course != null) {
+            totals = current.byCourse.get(course);
+        } else {
+            totals = current.global;
+        }
+        return (totals != null ? totals : new Totals()).snapshot();
+    }
+
+    public Map<String, Object> stats() {
+        Aggregates current = aggregates;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("semesters", current.bySemester.size());
+        stats.put("courses", current.byCourse.size());
+        stats.put("appliedTransactions", appliedTransactions.get());
+        stats.put("driftCorrections", driftCorrections.sum());
+        return stats;
+    }
+
+    private Aggregates loadFromDatabase() {
+        feeLedgerProjector.flush();
+        Aggregates fresh = new Aggregates();
+        // ✅ A lagging replica would look like drift and overwrite correct totals
+        for (FeeTotalsRow row : ReadWriteRoutingDataSource.onPrimary(feeRepository::aggregateBySemesterAndCourse)) {
+            fresh.addRow(row);
+        }
+        return fresh;
+    }
+
+    static final class Totals {
+        final LongAdder records = new LongAdder();
+        final LongAdder totalFees = new LongAdder();
+        final LongAdder collected = new LongAdder();
+        final LongAdder outstanding = new LongAdder();
+        final LongAdder withOutstanding = new LongAdder();
+
+        void add(FeeState state, int sign) {
+            records.add(sign);
+            totalFees.add(sign * state.totalFees());
+            collected.add(sign * state.feePaid());
+            outstanding.add(sign * state.balanceDue());
+            if (state.balanceDue() > 0) {
+                withOutstanding.add(sign);
+            }
+        }
+
+        void add(FeeTotalsRow row) {
+            records.add(nz(row.records()));
+            totalFees.add(nz(row.totalFees()));
+            collected.add(nz(row.collected()));
+            outstanding.add(nz(row.outstanding()));
+            withOutstanding.add(nz(row.withOutstanding()));
+        }
+
+        boolean sameAs(Totals other) {
+            return other != null
+                    && records.sum() == other.records.sum()
+                    && totalFees.sum() == other.totalFees.sum()
+                    && collected.sum() == other.collected.sum()
+                    && outstanding.sum() == other.outstanding.sum()
+                    && withOutstanding.sum() == other.withOutstanding.sum();
+        }
+
+        Map<String, Object> snapshot() {
+            long total = totalFees.sum();
+            long paid = collected.sum();
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("totalFeesCollected", paid);
+            summary.put("totalOutstanding", outstanding.sum());
+            summary.put("totalFeesAssessed", total);
+            // Counts fee records, not distinct students: a student has one per semester
+            summary.put("feeRecords", records.sum());
+            summary.put("feeRecordsWithOutstanding", withOutstanding.sum());
+            summary.put("collectionRate", total == 0 ? 0.0 : Math.round(paid * 1000.0 / total) / 10.0);
+            return summary;
+        }
+
+        private static long nz(Long value) {
+            return value != null ? value : 0L;
+        }
+    }
+
+    private static final class Aggregates {
+        final Totals global = new Totals();
+        final ConcurrentHashMap<String, Totals> bySemester = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<String, Totals> byCourse = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<String, Totals> bySemesterCourse = new ConcurrentHashMap<>();
+
+        static String key(String semester, String course) {
+            return semester + '\u0000' + course;
+        }
+
+        static String nullSafe(String value) {
+            return value != null ? value : "";
+        }
+
+        void add(FeeState state, int sign) {
+            String semester = nullSafe(state.semester());
+            String course = nullSafe(state.course());
+            global.add(state, sign);
+            bySemester.computeIfAbsent(semester, k -> new Totals()).add(state, sign);
+            byCourse.computeIfAbsent(course, k -> new Totals()).add(state, sign);
+            bySemesterCourse.computeIfAbsent(key(semester, course), k -> new Totals()).add(state, sign);
+        }
+
+        void addRow(FeeTotalsRow row) {
+            String semester = nullSafe(row.semester());
+            String course = nullSafe(row.course());
+            global.add(row);
+            bySemester.computeIfAbsent(semester, k -> new Totals()).add(row);
+            byCourse.computeIfAbsent(course, k -> new Totals()).add(row);
+            bySemesterCourse.computeIfAbsent(key(semester, course), k -> new Totals()).add(row);
+        }
+
+        // Keys present on one side with all-zero totals on the other still count as equal
+        boolean sameAs(Aggregates other) {
+            return global.sameAs(other.global)
+                    && sameKeys(bySemesterCourse, other.bySemesterCourse)
+                    && sameKeys(other.bySemesterCourse, bySemesterCourse);
+        }
+
+        private static boolean sameKeys(Map<String, Totals> left, Map<String, Totals> right) {
+            Totals empty = new Totals();
+            for (Map.Entry<String, Totals> entry : left.entrySet()) {
+                Totals match = right.getOrDefault(entry.getKey(), empty);
+                if (!entry.getValue().sameAs(match)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
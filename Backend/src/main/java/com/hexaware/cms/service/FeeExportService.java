@@ -0,0 +1,195 @@
+package com.hexaware.cms.service;
+
+import com.hexaware.cms.ledger.PaymentJournal;
+import com.hexaware.cms.model.Fee;
+import com.hexaware.cms.repository.FeeFilter;
+import com.hexaware.cms.repository.FeeRepository;
+import com.hexaware.cms.util.StreamingXlsxWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Fee report export. Rows come off a forward-only cursor and are written straight to the
+ * response, so memory stays flat and the first bytes leave before the query is exhausted.
+ */
+@Service
+public class FeeExportService {
+
+    private static final int FLUSH_EVERY_ROWS = 500;
+    private static final String[] COLUMNS = {
+            "Fee ID", "Student ID", "Student Name", "Course", "Semester", "Total Fees", "Fee Paid",
+            "Balance Due", "Payment Status", "Last Payment Amount", "Last Payment Date", "Due Date"
+    };
+
+    @Autowired
+    private FeeRepository feeRepository;
+
+    @Autowired
+    private PaymentLedger paymentLedger;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    public FeeExportService(PlatformTransactionManager transactionManager) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    // ✅ RFC 4180 CSV with a UTF-8 BOM so Excel picks the right encoding
+    public void writeCsv(FeeFilter filter, OutputStream out) throws IOException {
+        Writer csv = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16);
+        csv.write('\uFEFF');
+        writeCsvLine(csv, COLUMNS);
+        forEachRow(filter, fee -> writeCsvLine(csv, new String[] {
+                String.valueOf(fee.getId()), fee.getStudentId(), fee.getStudentName(), fee.getCourse(),
+                fee.getSemester(), String.valueOf(fee.getTotalFees()), String.valueOf(fee.getFeePaid()),
+                String.valueOf(fee.getBalanceDue()), fee.getPaymentStatus(), String.valueOf(fee.getLastPaymentAmount()),
+                toText(fee.getLastPaymentDate()), toText(fee.getDueDate())
+        }), csv::flush);
+        csv.flush();
+    }
+
+    // ✅ XLSX via a forward-only writer: no workbook model held in memory
+    public void writeXlsx(FeeFilter filter, OutputStream out) throws IOException {
+        StreamingXlsxWriter xlsx = new StreamingXlsxWriter(out, "Fees");
+        xlsx.header(COLUMNS);
+        forEachRow(filter, fee -> {
+            xlsx.startRow()
+                    .cell(fee.getId())
+                    .cell(fee.getStudentId())
+                    .cell(fee.getStudentName())
+                    .cell(fee.getCourse())
+                    .cell(fee.getSemester())
+                    .cell(fee.getTotalFees())
+                    .cell(fee.getFeePaid())
+                    .cell(fee.getBalanceDue())
+                    .cell(fee.getPaymentStatus())
+                    .cell(fee.getLastPaymentAmount())
+                    .cell(fee.getLastPaymentDate())
+                    .cell(fee.getDueDate())
+                    .endRow();
+        }, xlsx::flush);
+        xlsx.close();
+    }
+
+    // One entity in memory at a time: detached before the ledger overlay so nothing is dirty-checked
+    private void forEachRow(FeeFilter filter, RowWriter writer, Flusher flusher) throws IOException {
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<Fee> rows = feeRepository.streamForExport(filter)) {
+                    int[] written = {0};
+                    rows.forEach(unchecked(fee -> {
+                        entityManager.detach(fee);
+                        overlayLedger(fee);
+                        if (filter.paymentStatus() != null
+                                && !filter.paymentStatus().equalsIgnoreCase(fee.getPaymentStatus())) {
+                            return;
+                        }
+                        writer.write(fee);
+                        if (++written[0] % FLUSH_EVERY_ROWS == 0) {
+                            flusher.flush();
+                        }
+                    }));
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    // Rows may lag the ledger by one projection interval (same overlay as FeeService.findAll)
+    private void overlayLedger(Fee fee) {
+        PaymentJournal.Balance balance = paymentLedger.balance(fee.getId());
+        if (balance != null) {
+            fee.applyPaid(balance.paid());
+        }
+        if (balance != null && balance.hasPayments()) {
+            fee.setLastPaymentAmount(balance.lastAmount());
+            fee.setLastPaymentDate(Instant.ofEpochMilli(balance.lastTimestamp()).atZone(ZoneId.systemDefault()).toLocalDate());
+        }
+    }
+
+    private static void writeCsvLine(Writer csv, String[] fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                csv.write(',');
+            }
+            writeCsvField(csv, fields[i]);
+        }
+        csv.write("\r\n");
+    }
+
+    // Quotes when needed; text starting with =, +, -, @ is prefixed with ' so spreadsheets don't evaluate it
+    private static void writeCsvField(Writer csv, String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        char first = value.charAt(0);
+        boolean formula = (first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r')
+                && !isNumber(value);
+        boolean quote = formula || value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            csv.write(value);
+            return;
+        }
+        csv.write('"');
+        if (formula) {
+            csv.write('\'');
+        }
+        csv.write(value.replace("\"", "\"\""));
+        csv.write('"');
+    }
+
+    private static boolean isNumber(String value) {
+        for (int i = value.charAt(0) == '-' ? 1 : 0; i < value.length(); i++) {
+            if (!Character.isDigit(value.charAt(i))) {
+                return false;
+            }
+        }
+        return value.length() > 1 || Character.isDigit(value.charAt(0));
+    }
+
+    private static String toText(LocalDate date) {
+        return date != null ? date.toString() : null;
+    }
+
+    private static Consumer<Fee> unchecked(RowWriter writer) {
+        return fee -> {
+            try {
+                writer.write(fee);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(Fee fee) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface Flusher {
+        void flush() throws IOException;
+    }
+}
@@ -0,0 +1,96 @@
+package com.hexaware.cms.service;
+
+import com.hexaware.cms.ledger.PaymentJournal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Copies ledger balances into the fees table in JDBC batches. Plain SQL on purpose:
+ * FeeAggregator already applied these payments when the ledger committed them, so the
+ * JPA listeners must not see the projection as another change. The version column is
+ * bumped so stale JPA writes of the same row fail their optimistic lock.
+ */
+@Component
+public class FeeLedgerProjector {
+
+    private static final Logger log = LoggerFactory.getLogger(FeeLedgerProjector.class);
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String UPDATE_SQL = "update fees set fee_paid = ?,"
+            + " balance_due = case when total_fees > ? then total_fees - ? else 0 end,"
+            + " payment_status = case when ? <= 0 then 'Pending' when total_fees > ? then 'Partial' else 'Paid' end,"
+            + " last_payment_amount = ?, last_payment_date = ?, version = version + 1"
+            + " where id = ?";
+
+    @Autowired
+    private PaymentLedger paymentLedger;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final AtomicLong projectedRows = new AtomicLong();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    // ✅ Locked so a scheduled run and an explicit flush never interleave batches
+    // (a lock rather than synchronized: JDBC under a monitor pins virtual threads)
+    @Scheduled(fixedDelayString = "${app.ledger.projection-interval-ms:1000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushChanged();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushChanged() {
+        List<Long> changed = paymentLedger.drainChangedFees();
+        for (int from = 0; from < changed.size(); from += BATCH_SIZE) {
+            List<Long> chunk = changed.subList(from, Math.min(changed.size(), from + BATCH_SIZE));
+            try {
+                project(chunk);
+            } catch (RuntimeException e) {
+                // Retried on the next run; the ledger still holds the balances
+                paymentLedger.markChanged(changed.subList(from, changed.size()));
+                log.warn("Fee projection failed for {} fee records, will retry", changed.size() - from, e);
+                return;
+            }
+        }
+    }
+
+    private void project(List<Long> feeIds) {
+        List<Object[]> rows = new ArrayList<>(feeIds.size());
+        for (Long feeId : feeIds) {
+            PaymentJournal.Balance balance = paymentLedger.balance(feeId);
+            // A carried-over balance came from this table, so there is nothing to write back
+            if (balance == null || !balance.hasPayments()) {
+                continue;
+            }
+            long paid = balance.paid();
+            Date lastPaymentDate = Date.valueOf(Instant.ofEpochMilli(balance.lastTimestamp())
+                    .atZone(ZoneId.systemDefault()).toLocalDate());
+            rows.add(new Object[]{paid, paid, paid, paid, paid, balance.lastAmount(), lastPaymentDate, feeId});
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, rows);
+            projectedRows.addAndGet(rows.size());
+        }
+    }
+
+    public long getProjectedRows() {
+        return projectedRows.get();
+    }
+}
@@ -0,0 +1,163 @@
+package com.hexaware.cms.service;
+
+import com.hexaware.cms.model.FeeReminder;
+import com.hexaware.cms.repository.FeeReminderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Drains the fee_reminders outbox in keyset batches. Every node runs this, so each batch is
+ * first claimed row by row with a conditional update (PENDING -> SENDING with this pass's id
+ * and a lease); only rows whose claim succeeded are sent, so two nodes never send the same
+ * reminder. Reminders are sent outside any transaction and their status is written back with
+ * one batched update per batch, so a slow delivery channel never holds locks. Delivery is
+ * at-least-once: after a crash between sending and the status update, the claim lapses and
+ * that batch is sent again.
+ */
+@Component
+public class FeeReminderDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(FeeReminderDispatcher.class);
+
+    private static final String CLAIM_SQL = "update fee_reminders set status = ?, claimed_by = ?, claimed_until = ?"
+            + " where id = ? and (status = ? or (status = ? and claimed_until < ?))";
+
+    private static final String MARK_SQL = "update fee_reminders set status = ?, attempts = ?, last_error = ?,"
+            + " dispatched_at = ?, claimed_by = null, claimed_until = null where id = ? and claimed_by = ?";
+
+    @Autowired
+    private FeeReminderRepository feeReminderRepository;
+
+    @Autowired
+    private ReminderSender reminderSender;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Read-write on purpose: the outbox is read from the primary so a sent batch is never seen as pending
+    private final TransactionTemplate transaction;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long leaseMillis;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder claimedElsewhere = new LongAdder();
+
+    public FeeReminderDispatcher(PlatformTransactionManager transactionManager,
+                                 @Value("${app.fees.reminders.dispatch-batch-size:200}") int batchSize,
+                                 @Value("${app.fees.reminders.max-attempts:5}") int maxAttempts,
+                                 @Value("${app.fees.reminders.dispatch-lease-ms:300000}") long leaseMillis) {
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.leaseMillis = leaseMillis;
+    }
+
+    // ✅ One pass over what is pending now; failures wait for the next pass
+    @Scheduled(fixedDelayString = "${app.fees.reminders.dispatch-interval-ms:10000}")
+    public void dispatch() {
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            String passId = UUID.randomUUID().toString();
+            long afterId = 0;
+            while (true) {
+                long after = afterId;
+                List<FeeReminder> batch = transaction.execute(status -> feeReminderRepository
+                        .findClaimable(after, Instant.now(), PageRequest.of(0, batchSize)));
+                if (batch == null || batch.isEmpty()) {
+                    return;
+                }
+                List<FeeReminder> claimed = claim(batch, passId);
+                if (!claimed.isEmpty()) {
+                    deliver(claimed, passId);
+                }
+                afterId = batch.get(batch.size() - 1).getId();
+                if (batch.size() < batchSize) {
+                    return;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ✅ One batched conditional update; a row another node claimed first matches nothing and is skipped
+    private List<FeeReminder> claim(List<FeeReminder> batch, String passId) {
+        Instant now = Instant.now();
+        Timestamp nowTs = Timestamp.from(now);
+        Timestamp lease = Timestamp.from(now.plusMillis(leaseMillis));
+        List<Object[]> claims = new ArrayList<>(batch.size());
+        for (FeeReminder reminder : batch) {
+            claims.add(new Object[]{FeeReminder.SENDING, passId, lease, reminder.getId(),
+                    FeeReminder.PENDING, FeeReminder.SENDING, nowTs});
+        }
+        int[] counts = jdbcTemplate.batchUpdate(CLAIM_SQL, claims);
+        List<FeeReminder> claimed = new ArrayList<>(batch.size());
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                claimed.add(batch.get(i));
+            } else {
+                claimedElsewhere.increment();
+            }
+        }
+        return claimed;
+    }
+
+    private void deliver(List<FeeReminder> batch, String passId) {
+        List<Object[]> updates = new ArrayList<>(batch.size());
+        for (FeeReminder reminder : batch) {
+            int attempts = reminder.getAttempts() + 1;
+            try {
+                reminderSender.send(reminder);
+                updates.add(new Object[]{FeeReminder.SENT, attempts, null, Timestamp.from(Instant.now()), reminder.getId(), passId});
+                sent.increment();
+            } catch (Exception e) {
+                boolean giveUp = attempts >= maxAttempts;
+                String error = String.valueOf(e.getMessage());
+                updates.add(new Object[]{giveUp ? FeeReminder.FAILED : FeeReminder.PENDING, attempts,
+                        error.length() > 255 ? error.substring(0, 255) : error, null, reminder.getId(), passId});
+                (giveUp ? failed : retried).increment();
+                if (giveUp) {
+                    log.warn("Fee reminder {} for {} failed after {} attempts: {}", reminder.getId(),
+                            reminder.getStudentId(), attempts, error);
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate(MARK_SQL, updates);
+        batches.increment();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("batches", batches.sum());
+        stats.put("sent", sent.sum());
+        stats.put("retried", retried.sum());
+        stats.put("failed", failed.sum());
+        stats.put("claimedElsewhere", claimedElsewhere.sum());
+        return stats;
+    }
+}
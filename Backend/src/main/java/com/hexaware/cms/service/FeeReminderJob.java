@@ -0,0 +1,392 @@
+package com.hexaware.cms.service;
+
+import com.hexaware.cms.datasource.ReadWriteRoutingDataSource;
+import com.hexaware.cms.ledger.PaymentJournal;
+import com.hexaware.cms.model.BatchCheckpoint;
+import com.hexaware.cms.model.FeeReminder;
+import com.hexaware.cms.repository.BatchCheckpointRepository;
+import com.hexaware.cms.repository.FeeReminderRepository;
+import com.hexaware.cms.repository.FeeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Daily overdue-fee scan. Overdue fee ids are read in keyset pages (id > last id, one short
+ * query per page, so no long-running statement or transaction holds the fees table), and each
+ * page becomes a chunk processed on a bounded pool: in one transaction per chunk, balances are
+ * re-checked against the payment ledger and a reminder is written to the fee_reminders outbox
+ * for every fee still owing. FeeReminderDispatcher delivers them separately.
+ *
+ * Chunks finish out of order, so the checkpoint only advances over the contiguous prefix of
+ * finished chunks ({@link ChunkProgress}). After a crash the run resumes from that id; chunks
+ * past it that had already committed are skipped fee by fee (one reminder per fee per run date).
+ *
+ * The cron fires on every node, so a run is claimed in batch_checkpoints first: the row carries
+ * the owning run id and a lease that each checkpoint write extends. Another node only takes the
+ * run over once the lease has lapsed (its owner crashed), and an owner that lost its lease stops.
+ */
+@Service
+public class FeeReminderJob implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(FeeReminderJob.class);
+
+    public static final String JOB_NAME = "overdue-fee-reminders";
+
+    private static final String CHUNK_SQL = "select id, student_id, student_name, course, semester, total_fees, fee_paid,"
+            + " due_date from fees where id between ? and ? and due_date < ? and balance_due > 0";
+
+    private static final String CLAIM_NEW_SQL = "insert into batch_checkpoints (job_name, run_date, last_id, status, chunks,"
+            + " rows_scanned, items_written, started_at, updated_at, owner_id, lease_until) values (?, ?, 0, ?, 0, 0, 0, ?, ?, ?, ?)";
+
+    // Supersedes an earlier day's run unless that run is still alive
+    private static final String CLAIM_NEXT_SQL = "update batch_checkpoints set run_date = ?, last_id = 0, status = ?, chunks = 0,"
+            + " rows_scanned = 0, items_written = 0, started_at = ?, updated_at = ?, owner_id = ?, lease_until = ?"
+            + " where job_name = ? and run_date = ? and (status <> ? or owner_id is null or lease_until < ?)";
+
+    // Takes over today's unfinished run once its owner stopped renewing the lease
+    private static final String CLAIM_RESUME_SQL = "update batch_checkpoints set updated_at = ?, owner_id = ?, lease_until = ?"
+            + " where job_name = ? and run_date = ? and status = ? and (owner_id is null or lease_until < ?)";
+
+    private static final String CHECKPOINT_SQL = "update batch_checkpoints set last_id = ?, chunks = ?, rows_scanned = ?,"
+            + " items_written = ?, updated_at = ?, lease_until = ? where job_name = ? and owner_id = ?";
+
+    private static final String FINISH_SQL = "update batch_checkpoints set last_id = ?, chunks = ?, rows_scanned = ?,"
+            + " items_written = ?, status = ?, updated_at = ?, owner_id = null, lease_until = null"
+            + " where job_name = ? and owner_id = ?";
+
+    private static final String RELEASE_SQL = "update batch_checkpoints set owner_id = null, lease_until = null"
+            + " where job_name = ? and owner_id = ?";
+
+    private record Chunk(long firstId, long lastId) {}
+
+    private record Claim(String runId, BatchCheckpoint checkpoint, boolean resumed) {}
+
+    private record ChunkResult(int scanned, int written) {}
+
+    @Autowired
+    private FeeRepository feeRepository;
+
+    @Autowired
+    private FeeReminderRepository feeReminderRepository;
+
+    @Autowired
+    private BatchCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private PaymentLedger paymentLedger;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transaction;
+    private final ThreadPoolExecutor executor;
+    private final int chunkSize;
+    private final boolean resumeOnStartup;
+    private final long leaseMillis;
+    // One run at a time on this node; other nodes are kept out by the claim in batch_checkpoints.
+    // Locks rather than synchronized so JDBC does not pin virtual threads
+    private final ReentrantLock runLock = new ReentrantLock();
+    // Orders checkpoint writes so an older watermark never overwrites a newer one
+    private final ReentrantLock checkpointWriteLock = new ReentrantLock();
+
+    private volatile Map<String, Object> lastRun = Map.of();
+    private final LongAdder runs = new LongAdder();
+    private final LongAdder chunksProcessed = new LongAdder();
+    private final LongAdder chunkFailures = new LongAdder();
+    private final LongAdder rowsScanned = new LongAdder();
+    private final LongAdder remindersWritten = new LongAdder();
+
+    public FeeReminderJob(PlatformTransactionManager transactionManager,
+                          @Value("${app.fees.reminders.chunk-size:500}") int chunkSize,
+                          @Value("${app.fees.reminders.threads:4}") int threads,
+                          @Value("${app.fees.reminders.resume-on-startup:true}") boolean resumeOnStartup,
+                          @Value("${app.fees.reminders.lease-ms:300000}") long leaseMillis) {
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.resumeOnStartup = resumeOnStartup;
+        this.leaseMillis = leaseMillis;
+        // ✅ Bounded queue + caller-runs: the page reader never gets more than a few chunks ahead
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads * 2), new ReminderThreadFactory(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @Scheduled(cron = "${app.fees.reminders.cron:0 0 2 * * *}")
+    public void scheduledRun() {
+        run();
+    }
+
+    // ✅ A run interrupted by a crash or redeploy (on any node) continues from its checkpoint once its
+    // lease has lapsed: checked at startup and then periodically, off the startup path
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterrupted() {
+        if (!resumeOnStartup) {
+            return;
+        }
+        BatchCheckpoint checkpoint = loadCheckpoint();
+        if (checkpoint != null && BatchCheckpoint.RUNNING.equals(checkpoint.getStatus())
+                && LocalDate.now().equals(checkpoint.getRunDate()) && checkpoint.isUnclaimed(Instant.now())
+                && !runLock.isLocked()) {
+            log.info("Resuming fee reminder run for {} after fee id {}", checkpoint.getRunDate(), checkpoint.getLastId());
+            // Not on the chunk pool: the run waits for its chunks and would hold one of the workers
+            Thread resume = new Thread(this::run, "fee-reminders-resume");
+            resume.setDaemon(true);
+            resume.start();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.fees.reminders.resume-check-ms:60000}",
+            initialDelayString = "${app.fees.reminders.resume-check-ms:60000}")
+    public void resumeAbandoned() {
+        resumeInterrupted();
+    }
+
+    public Map<String, Object> run() {
+        if (!runLock.tryLock()) {
+            return Map.of("status", "ALREADY_RUNNING");
+        }
+        try {
+            return runLocked(LocalDate.now());
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    private Map<String, Object> runLocked(LocalDate today) {
+        long start = System.nanoTime();
+        BatchCheckpoint checkpoint = loadCheckpoint();
+        if (checkpoint != null && today.equals(checkpoint.getRunDate())
+                && BatchCheckpoint.COMPLETED.equals(checkpoint.getStatus())) {
+            Map<String, Object> done = new LinkedHashMap<>(lastRun);
+            done.put("status", "ALREADY_COMPLETED");
+            done.put("runDate", today.toString());
+            return done;
+        }
+        Claim claim = claim(checkpoint, today);
+        if (claim == null) {
+            return Map.of("status", "ALREADY_RUNNING");
+        }
+        runs.increment();
+
+        BatchCheckpoint claimed = claim.checkpoint();
+        ChunkProgress progress = new ChunkProgress(claimed.getLastId(), claimed.getChunks(),
+                claimed.getRowsScanned(), claimed.getItemsWritten());
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
+        long afterId = claimed.getLastId();
+        int submitted = 0;
+        while (!progress.failed()) {
+            List<Long> ids = feeRepository.findOverdueIdsAfter(afterId, today, PageRequest.of(0, chunkSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            Chunk chunk = new Chunk(ids.get(0), ids.get(ids.size() - 1));
+            progress.submitted(chunk.lastId());
+            pending.add(CompletableFuture.supplyAsync(() -> process(chunk, today), executor)
+                    .handle((result, ex) -> {
+                        chunkCompleted(claim.runId(), progress, chunk, result, ex);
+                        return null;
+                    }));
+            submitted++;
+            afterId = chunk.lastId();
+            if (ids.size() < chunkSize) {
+                break;
+            }
+        }
+        CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).join();
+
+        boolean completed = !progress.failed() && finish(claim.runId(), progress.current());
+        if (!completed) {
+            // Let the next run (here or on another node) resume at once instead of waiting out the lease
+            jdbcTemplate.update(RELEASE_SQL, JOB_NAME, claim.runId());
+        }
+        ChunkProgress.Checkpoint reached = progress.current();
+        long elapsedNanos = System.nanoTime() - start;
+        double seconds = Math.max(elapsedNanos, 1) / 1e9;
+        Map<String, Object> run = new LinkedHashMap<>();
+        run.put("status", completed ? BatchCheckpoint.COMPLETED : "FAILED");
+        run.put("runDate", today.toString());
+        run.put("resumed", claim.resumed());
+        run.put("checkpointId", reached.lastId());
+        run.put("chunks", submitted);
+        run.put("rowsScanned", reached.scanned());
+        run.put("remindersWritten", reached.written());
+        run.put("elapsedMs", TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        run.put("chunksPerSecond", Math.round(submitted / seconds * 10) / 10.0);
+        run.put("rowsPerSecond", Math.round(reached.scanned() / seconds));
+        lastRun = run;
+        if (completed) {
+            log.info("Fee reminders for {}: {} chunks, {} overdue fees, {} reminders in {} ms",
+                    today, submitted, reached.scanned(), reached.written(), run.get("elapsedMs"));
+        } else {
+            log.warn("Fee reminder run for {} stopped at fee id {}; the next run resumes there", today, reached.lastId());
+        }
+        return run;
+    }
+
+    // ✅ Null when another node owns a live run; the unique key / conditional updates decide races
+    private Claim claim(BatchCheckpoint checkpoint, LocalDate today) {
+        String runId = UUID.randomUUID().toString();
+        Instant now = Instant.now();
+        Timestamp nowTs = Timestamp.from(now);
+        Timestamp lease = Timestamp.from(now.plusMillis(leaseMillis));
+        boolean resumed = checkpoint != null && today.equals(checkpoint.getRunDate());
+        int claimed;
+        if (checkpoint == null) {
+            try {
+                claimed = jdbcTemplate.update(CLAIM_NEW_SQL, JOB_NAME, today, BatchCheckpoint.RUNNING, nowTs, nowTs, runId, lease);
+            } catch (DuplicateKeyException e) {
+                claimed = 0;
+            }
+        } else if (resumed) {
+            claimed = jdbcTemplate.update(CLAIM_RESUME_SQL, nowTs, runId, lease, JOB_NAME, today, BatchCheckpoint.RUNNING, nowTs);
+        } else {
+            // A run left unfinished on an earlier day is superseded by today's
+            claimed = jdbcTemplate.update(CLAIM_NEXT_SQL, today, BatchCheckpoint.RUNNING, nowTs, nowTs, runId, lease,
+                    JOB_NAME, checkpoint.getRunDate(), BatchCheckpoint.RUNNING, nowTs);
+        }
+        if (claimed == 0) {
+            log.info("Fee reminder run for {} is owned by another node", today);
+            return null;
+        }
+        BatchCheckpoint current = loadCheckpoint();
+        return new Claim(runId, current, resumed);
+    }
+
+    private void chunkCompleted(String runId, ChunkProgress progress, Chunk chunk, ChunkResult result, Throwable failure) {
+        if (failure != null) {
+            progress.fail();
+            chunkFailures.increment();
+            log.error("Fee reminder chunk {}..{} failed", chunk.firstId(), chunk.lastId(), failure);
+            return;
+        }
+        chunksProcessed.increment();
+        rowsScanned.add(result.scanned());
+        remindersWritten.add(result.written());
+        if (progress.completed(chunk.lastId(), result.scanned(), result.written()) != null) {
+            saveCheckpoint(runId, progress);
+        }
+    }
+
+    // Writes the latest checkpoint, not the one that triggered the call, so writes never go backwards
+    private void saveCheckpoint(String runId, ChunkProgress progress) {
+        checkpointWriteLock.lock();
+        try {
+            ChunkProgress.Checkpoint checkpoint = progress.current();
+            Instant now = Instant.now();
+            int updated = jdbcTemplate.update(CHECKPOINT_SQL, checkpoint.lastId(), checkpoint.chunks(), checkpoint.scanned(),
+                    checkpoint.written(), Timestamp.from(now), Timestamp.from(now.plusMillis(leaseMillis)), JOB_NAME, runId);
+            if (updated == 0) {
+                progress.fail();
+                log.warn("Fee reminder run {} lost its claim; stopping", runId);
+            }
+        } finally {
+            checkpointWriteLock.unlock();
+        }
+    }
+
+    private boolean finish(String runId, ChunkProgress.Checkpoint checkpoint) {
+        checkpointWriteLock.lock();
+        try {
+            return jdbcTemplate.update(FINISH_SQL, checkpoint.lastId(), checkpoint.chunks(), checkpoint.scanned(),
+                    checkpoint.written(), BatchCheckpoint.COMPLETED, Timestamp.from(Instant.now()), JOB_NAME, runId) == 1;
+        } finally {
+            checkpointWriteLock.unlock();
+        }
+    }
+
+    // One transaction: re-check balances against the ledger and write the outbox rows
+    private ChunkResult process(Chunk chunk, LocalDate today) {
+        return transaction.execute(status -> {
+            Set<Long> covered = new HashSet<>(feeReminderRepository.findFeeIdsForRun(today, chunk.firstId(), chunk.lastId()));
+            Instant now = Instant.now();
+            List<FeeReminder> reminders = new ArrayList<>();
+            int[] scanned = {0};
+            jdbcTemplate.query(CHUNK_SQL, (RowCallbackHandler) rs -> {
+                scanned[0]++;
+                long feeId = rs.getLong(1);
+                if (covered.contains(feeId)) {
+                    return;
+                }
+                long totalFees = rs.getLong(6);
+                PaymentJournal.Balance balance = paymentLedger.balance(feeId);
+                long balanceDue = totalFees - (balance != null ? balance.paid() : rs.getLong(7));
+                if (balanceDue > 0) {
+                    reminders.add(new FeeReminder(feeId, rs.getString(2), rs.getString(3), rs.getString(4),
+                            rs.getString(5), balanceDue, rs.getObject(8, LocalDate.class), today, now));
+                }
+            }, chunk.firstId(), chunk.lastId(), today);
+            feeReminderRepository.saveAll(reminders);
+            return new ChunkResult(scanned[0], reminders.size());
+        });
+    }
+
+    // ✅ Never from a replica: a stale checkpoint would redo or skip chunks
+    private BatchCheckpoint loadCheckpoint() {
+        return ReadWriteRoutingDataSource.onPrimary(() -> checkpointRepository.findById(JOB_NAME).orElse(null));
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("runs", runs.sum());
+        stats.put("chunksProcessed", chunksProcessed.sum());
+        stats.put("chunkFailures", chunkFailures.sum());
+        stats.put("rowsScanned", rowsScanned.sum());
+        stats.put("remindersWritten", remindersWritten.sum());
+        stats.put("activeWorkers", executor.getActiveCount());
+        Map<String, Object> run = lastRun;
+        for (String key : List.of("chunks", "elapsedMs", "chunksPerSecond", "rowsPerSecond")) {
+            if (run.get(key) != null) {
+                stats.put("lastRun." + key, run.get(key));
+            }
+        }
+        return stats;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private static final class ReminderThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "fee-reminders-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
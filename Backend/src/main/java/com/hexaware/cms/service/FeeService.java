@@ -0,0 +1,112 @@
+package com.hexaware.cms.service;
+
+import com.hexaware.cms.cache.CacheGroup;
+import com.hexaware.cms.cache.ResponseCache;
+import com.hexaware.cms.datasource.ReadWriteRoutingDataSource;
+import com.hexaware.cms.exception.ServiceBusyException;
+import com.hexaware.cms.ledger.PaymentJournal;
+import com.hexaware.cms.model.Fee;
+import com.hexaware.cms.model.FeeAggregateListener.FeeDelta;
+import com.hexaware.cms.model.FeeAggregateListener.FeeState;
+import com.hexaware.cms.repository.FeeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
+@Service
+public class FeeService {
+
+    @Autowired
+    private FeeRepository feeRepository;
+
+    @Autowired
+    private PaymentLedger paymentLedger;
+
+    @Autowired
+    private FeeAggregator feeAggregator;
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    // ✅ Rows may lag the ledger by one projection interval, so overlay the ledger balances
+    @Transactional(readOnly = true)
+    public List<Fee> findAll() {
+        List<Fee> fees = feeRepository.findAllByOrderByIdAsc();
+        fees.forEach(this::overlayLedger);
+        return fees;
+    }
+
+    // ✅ New fee assessment; FeeAggregator picks it up via FeeAggregateListener after commit
+    @Transactional
+    public Fee assess(String studentId, String studentName, String course, String semester,
+                      long totalFees, LocalDate dueDate) {
+        if (studentId == null || studentId.isBlank() || totalFees <= 0) {
+            throw new IllegalArgumentException("studentId and a positive totalFees are required");
+        }
+        return feeRepository.save(new Fee(studentId, studentName, course, semester, totalFees, dueDate));
+    }
+
+    // ✅ Appends to the payment ledger; completes once the payment is durable (group commit)
+    @Transactional(readOnly = true)
+    public CompletableFuture<Fee> recordPayment(Long feeId, long amount) {
+        if (amount <= 0) {
+            throw new IllegalArgumentException("Payment amount must be positive");
+        }
+        // ✅ A fee assessed moments ago may not have reached the replica yet
+        Fee fee = ReadWriteRoutingDataSource.onPrimary(() -> feeRepository.findById(feeId))
+                .orElseThrow(() -> new IllegalArgumentException("Fee record not found: " + feeId));
+        PaymentJournal.Balance current = paymentLedger.balance(feeId);
+        long paid = current != null ? current.paid() : fee.getFeePaid();
+        // Cheap early rejection only; the journal re-checks against the committed balance
+        if (paid + amount > fee.getTotalFees()) {
+            throw new IllegalArgumentException("Payment exceeds balance due of " + Math.max(0, fee.getTotalFees() - paid));
+        }
+
+        feeAggregator.beginTransaction();
+        return paymentLedger.append(feeId, amount, fee.getTotalFees(), fee.getFeePaid())
+                .handle((entry, error) -> {
+                    if (error != null) {
+                        feeAggregator.completeTransaction(List.of());
+                        if (error instanceof RejectedExecutionException) {
+                            throw new ServiceBusyException("Payment ledger is busy, please retry", 1);
+                        }
+                        throw error instanceof CompletionException ce ? ce : new CompletionException(error);
+                    }
+                    FeeState before = stateOf(fee, entry.paidAfter() - entry.amount());
+                    fee.applyPaid(entry.paidAfter());
+                    fee.setLastPaymentAmount(entry.amount());
+                    fee.setLastPaymentDate(toDate(entry.timestamp()));
+                    feeAggregator.completeTransaction(List.of(new FeeDelta(before, stateOf(fee, entry.paidAfter()))));
+                    responseCache.invalidate(CacheGroup.FEES); // ledger writes bypass the JPA listener
+                    return fee;
+                });
+    }
+
+    private void overlayLedger(Fee fee) {
+        PaymentJournal.Balance balance = paymentLedger.balance(fee.getId());
+        if (balance != null) {
+            fee.applyPaid(balance.paid());
+        }
+        if (balance != null && balance.hasPayments()) {
+            fee.setLastPaymentAmount(balance.lastAmount());
+            fee.setLastPaymentDate(toDate(balance.lastTimestamp()));
+        }
+    }
+
+    private static FeeState stateOf(Fee fee, long paid) {
+        return new FeeState(fee.getSemester(), fee.getCourse(), fee.getTotalFees(),
+                paid, Math.max(0, fee.getTotalFees() - paid));
+    }
+
+    private static LocalDate toDate(long epochMillis) {
+        return Instant.ofEpochMilli(epochMillis).atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+}
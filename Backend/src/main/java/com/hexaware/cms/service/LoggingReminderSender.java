@@ -0,0 +1,20 @@
+package com.hexaware.cms.service;
+
+import com.hexaware.cms.model.FeeReminder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+// Default channel until a mail gateway is wired in: replace this bean with a real ReminderSender
+@Component
+public class LoggingReminderSender implements ReminderSender {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingReminderSender.class);
+
+    @Override
+    public void send(FeeReminder reminder) {
+        log.info("Fee reminder: {} ({}) owes {} for {} {}, {} days overdue", reminder.getStudentName(),
+                reminder.getStudentId(), reminder.getBalanceDue(), reminder.getCourse(), reminder.getSemester(),
+                reminder.getDaysOverdue());
+    }
+}
@@ -0,0 +1,289 @@
+package com.hexaware.cms.service;
+
+import com.hexaware.cms.model.Mark;
+import com.hexaware.cms.model.Student;
+import com.hexaware.cms.repository.MarkRepository;
+import com.hexaware.cms.repository.StudentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index over student name, studentId, course and subject names for
+ * typeahead search on /api/marks/search. Tokens live in a sorted map so a prefix query is a
+ * range scan; each query term must match (AND) and hits are ranked by field weight, with exact
+ * token matches counting double. Built at startup and kept current by SearchIndexListener.
+ * <p>
+ * A rebuild reads a snapshot while reindex() keeps updating the live index, so students
+ * reindexed during the rebuild are recorded and reloaded into the new index after it is
+ * published; otherwise the swap would roll them back to the snapshot.
+ */
+@Service
+public class MarksSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(MarksSearchIndex.class);
+
+    static final int WEIGHT_STUDENT_ID = 8;
+    static final int WEIGHT_NAME = 4;
+    static final int WEIGHT_COURSE = 2;
+    static final int WEIGHT_SUBJECT = 1;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private MarkRepository markRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    // Swapped wholesale on rebuild; updated in place by reindex()
+    private volatile Index index = new Index();
+
+    // Non-null while a rebuild runs: ids reindexed meanwhile, replayed into the new index
+    private volatile Set<String> reindexedDuringRebuild;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    private final LongAdder queries = new LongAdder();
+    private final LongAdder queryNanos = new LongAdder();
+    private final LongAdder replayedAfterRebuild = new LongAdder();
+
+    public MarksSearchIndex(PlatformTransactionManager transactionManager) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public record SubjectMark(String name, int marks, int maxMarks) {}
+
+    public record SearchDoc(String studentId, String studentName, String course, String semester,
+                            List<SubjectMark> subjects, Map<String, Integer> tokens) {}
+
+    public record SearchHit(SearchDoc doc, int score) {}
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            long start = System.currentTimeMillis();
+            Set<String> replay = ConcurrentHashMap.newKeySet();
+            reindexedDuringRebuild = replay;
+            Index fresh;
+            try {
+                fresh = load();
+                index = fresh;
+            } finally {
+                reindexedDuringRebuild = null;
+            }
+            // ✅ Redo reindexes that landed on the old index while the snapshot was read
+            reindex(List.copyOf(replay));
+            replayedAfterRebuild.add(replay.size());
+            log.info("Marks search index built: {} students, {} tokens in {} ms",
+                    fresh.docs.size(), fresh.postings.size(), System.currentTimeMillis() - start);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private Index load() {
+        Index fresh = new Index();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            Map<String, List<SubjectMark>> subjectsByStudent = new HashMap<>();
+            try (Stream<Mark> marks = markRepository.streamAllOrderByStudentId()) {
+                marks.forEach(mark -> {
+                    subjectsByStudent.computeIfAbsent(mark.getStudentId(), k -> new ArrayList<>(8))
+                            .add(new SubjectMark(mark.getSubjectName(), mark.getMarks(), mark.getMaxMarks()));
+                    entityManager.detach(mark);
+                });
+            }
+            try (Stream<Student> students = studentRepository.streamAll()) {
+                students.forEach(student -> {
+                    fresh.put(toDoc(student, subjectsByStudent.getOrDefault(student.getStudentId(), List.of())));
+                    entityManager.detach(student);
+                });
+            }
+        });
+        return fresh;
+    }
+
+    // ✅ Reloads the given students from the DB; ids that no longer exist are dropped
+    public void reindex(Collection<String> studentIds) {
+        if (studentIds.isEmpty()) {
+            return;
+        }
+        // Recorded before loading so a rebuild that swaps in its index after this point replays these ids
+        Set<String> rebuilding = reindexedDuringRebuild;
+        if (rebuilding != null) {
+            rebuilding.addAll(studentIds);
+        }
+        Map<String, List<SubjectMark>> subjectsByStudent = new HashMap<>();
+        for (Mark mark : markRepository.findByStudentIdIn(studentIds)) {
+            subjectsByStudent.computeIfAbsent(mark.getStudentId(), k -> new ArrayList<>(8))
+                    .add(new SubjectMark(mark.getSubjectName(), mark.getMarks(), mark.getMaxMarks()));
+        }
+        Set<String> missing = new HashSet<>(studentIds);
+        Index current = index;
+        for (Student student : studentRepository.findByStudentIdIn(studentIds)) {
+            List<SubjectMark> subjects = subjectsByStudent.getOrDefault(student.getStudentId(), new ArrayList<>());
+            subjects.sort(Comparator.comparing(SubjectMark::name));
+            current.put(toDoc(student, subjects));
+            missing.remove(student.getStudentId());
+        }
+        missing.forEach(current::remove);
+    }
+
+    public List<SearchHit> search(String query, int limit) {
+        long start = System.nanoTime();
+        try {
+            return index.search(query, limit);
+        } finally {
+            queries.increment();
+            queryNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        long count = queries.sum();
+        Index current = index;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("documents", current.docs.size());
+        stats.put("tokens", current.postings.size());
+        stats.put("queries", count);
+        stats.put("avgQueryMicros", count == 0 ? 0.0 : queryNanos.sum() / (double) count / 1_000);
+        stats.put("replayedAfterRebuild", replayedAfterRebuild.sum());
+        return stats;
+    }
+
+    private static SearchDoc toDoc(Student student, List<SubjectMark> subjects) {
+        Map<String, Integer> tokens = new HashMap<>();
+        addTokens(tokens, student.getStudentId(), WEIGHT_STUDENT_ID);
+        addTokens(tokens, student.getStudentName(), WEIGHT_NAME);
+        addTokens(tokens, student.getCourse(), WEIGHT_COURSE);
+        for (SubjectMark subject : subjects) {
+            addTokens(tokens, subject.name(), WEIGHT_SUBJECT);
+        }
+        return new SearchDoc(student.getStudentId(), student.getStudentName(), student.getCourse(),
+                student.getSemester(), List.copyOf(subjects), tokens);
+    }
+
+    private static void addTokens(Map<String, Integer> tokens, String text, int weight) {
+        for (String token : tokenize(text)) {
+            tokens.merge(token, weight, Math::max);
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>(4);
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static final class Index {
+        final ConcurrentHashMap<String, SearchDoc> docs = new ConcurrentHashMap<>();
+        // token -> (studentId -> best field weight for that token)
+        final ConcurrentSkipListMap<String, ConcurrentHashMap<String, Integer>> postings = new ConcurrentSkipListMap<>();
+
+        void put(SearchDoc doc) {
+            docs.compute(doc.studentId(), (id, previous) -> {
+                if (previous != null) {
+                    unpost(previous);
+                }
+                doc.tokens().forEach((token, weight) ->
+                        postings.computeIfAbsent(token, t -> new ConcurrentHashMap<>()).put(id, weight));
+                return doc;
+            });
+        }
+
+        void remove(String studentId) {
+            docs.computeIfPresent(studentId, (id, previous) -> {
+                unpost(previous);
+                return null;
+            });
+        }
+
+        private void unpost(SearchDoc doc) {
+            for (String token : doc.tokens().keySet()) {
+                postings.computeIfPresent(token, (t, ids) -> {
+                    ids.remove(doc.studentId());
+                    return ids.isEmpty() ? null : ids;
+                });
+            }
+        }
+
+        List<SearchHit> search(String query, int limit) {
+            List<String> terms = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+            if (terms.isEmpty() || limit <= 0) {
+                return List.of();
+            }
+            // Longest term first: usually the most selective, so later terms only probe survivors
+            terms.sort(Comparator.comparingInt(String::length).reversed());
+
+            Map<String, Integer> scores = null;
+            for (String term : terms) {
+                Map<String, Integer> termScores = new HashMap<>();
+                for (Map.Entry<String, ConcurrentHashMap<String, Integer>> entry
+                        : postings.subMap(term, true, term + Character.MAX_VALUE, false).entrySet()) {
+                    int multiplier = entry.getKey().length() == term.length() ? 2 : 1;
+                    for (Map.Entry<String, Integer> posting : entry.getValue().entrySet()) {
+                        if (scores == null || scores.containsKey(posting.getKey())) {
+                            termScores.merge(posting.getKey(), posting.getValue() * multiplier, Math::max);
+                        }
+                    }
+                }
+                if (scores != null) {
+                    Map<String, Integer> previous = scores;
+                    termScores.replaceAll((id, score) -> score + previous.get(id));
+                }
+                scores = termScores;
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            // Top-k: min-heap on (score, then reverse studentId)
+            Comparator<SearchHit> ranking = Comparator.comparingInt(SearchHit::score)
+                    .thenComparing(hit -> hit.doc().studentId(), Comparator.reverseOrder());
+            PriorityQueue<SearchHit> top = new PriorityQueue<>(limit + 1, ranking);
+            for (Map.Entry<String, Integer> entry : scores.entrySet()) {
+                SearchDoc doc = docs.get(entry.getKey());
+                if (doc == null) {
+                    continue;
+                }
+                top.offer(new SearchHit(doc, entry.getValue()));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            List<SearchHit> hits = new ArrayList<>(top);
+            hits.sort(ranking.reversed());
+            return hits;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.hexaware.cms.service;
+
+import com.hexaware.cms.exception.ServiceBusyException;
+import com.hexaware.cms.metrics.LogLinearHistogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt work on a dedicated, CPU-sized pool with a bounded queue so a login rush
+ * cannot take over the Tomcat worker threads. When the queue is full callers get a
+ * {@link ServiceBusyException} immediately instead of waiting. Bulk import hashes on a
+ * separate, smaller pool so a large upload cannot fill the login queue.
+ */
+@Component
+public class PasswordHashingExecutor implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHashingExecutor.class);
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final ThreadPoolExecutor bulkExecutor;
+    private final long retryAfterSeconds;
+
+    private final LongAdder rejected = new LongAdder();
+    private final LogLinearHistogram hashNanos = new LogLinearHistogram();
+
+    public PasswordHashingExecutor(PasswordEncoder passwordEncoder,
+                                   @Value("${app.auth.hashing.threads:0}") int threads,
+                                   @Value("${app.auth.hashing.queue-capacity:64}") int queueCapacity,
+                                   @Value("${app.auth.hashing.retry-after-seconds:2}") long retryAfterSeconds,
+                                   @Value("${app.import.hashing.threads:0}") int bulkThreads,
+                                   @Value("${app.import.hashing.queue-capacity:256}") int bulkQueueCapacity) {
+        this.passwordEncoder = passwordEncoder;
+        this.retryAfterSeconds = retryAfterSeconds;
+        int cores = Runtime.getRuntime().availableProcessors();
+        int poolSize = threads > 0 ? threads : cores;
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new HashingThreadFactory("password-hash-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        int bulkPoolSize = bulkThreads > 0 ? bulkThreads : Math.max(1, cores / 2);
+        this.bulkExecutor = new ThreadPoolExecutor(bulkPoolSize, bulkPoolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(bulkQueueCapacity), new HashingThreadFactory("password-hash-bulk-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        log.info("Password hashing pool: {} threads, queue capacity {}; bulk pool: {} threads, queue capacity {}",
+                poolSize, queueCapacity, bulkPoolSize, bulkQueueCapacity);
+    }
+
+    public CompletableFuture<String> encode(CharSequence rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    public CompletableFuture<Boolean> matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    // ✅ Batch variant for bulk import, on the bulk pool: when its queue is full the caller hashes inline (caller-runs)
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        List<CompletableFuture<String>> futures = new ArrayList<>(rawPasswords.size());
+        for (CharSequence raw : rawPasswords) {
+            Supplier<String> hashTask = () -> passwordEncoder.encode(raw);
+            CompletableFuture<String> future = trySubmit(bulkExecutor, hashTask);
+            futures.add(future != null ? future : CompletableFuture.completedFuture(timed(hashTask)));
+        }
+        List<String> hashes = new ArrayList<>(futures.size());
+        for (CompletableFuture<String> future : futures) {
+            hashes.add(future.join());
+        }
+        return hashes;
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> hashTask) {
+        CompletableFuture<T> result = trySubmit(executor, hashTask);
+        if (result == null) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(new ServiceBusyException(
+                    "Authentication service is busy, please retry shortly", retryAfterSeconds));
+        }
+        return result;
+    }
+
+    // Returns null when the pool and its queue are full
+    private <T> CompletableFuture<T> trySubmit(ThreadPoolExecutor pool, Supplier<T> hashTask) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            pool.execute(() -> {
+                try {
+                    result.complete(timed(hashTask));
+                } catch (Throwable t) {
+                    result.completeExceptionally(t);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            return null;
+        }
+        return result;
+    }
+
+    private <T> T timed(Supplier<T> hashTask) {
+        long start = System.nanoTime();
+        try {
+            return hashTask.get();
+        } finally {
+            recordLatency(System.nanoTime() - start);
+        }
+    }
+
+    private void recordLatency(long nanos) {
+        hashNanos.record(nanos);
+    }
+
+    // BCrypt time per hash/match, excluding queue wait
+    public LogLinearHistogram getHashLatency() {
+        return hashNanos;
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public Map<String, Object> stats() {
+        LogLinearHistogram.Snapshot hashes = hashNanos.snapshot();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("poolSize", executor.getMaximumPoolSize());
+        stats.put("activeThreads", executor.getActiveCount());
+        stats.put("queueDepth", getQueueDepth());
+        stats.put("queueRemainingCapacity", executor.getQueue().remainingCapacity());
+        stats.put("completed", hashes.count());
+        stats.put("rejected", getRejectedCount());
+        stats.put("bulkPoolSize", bulkExecutor.getMaximumPoolSize());
+        stats.put("bulkActiveThreads", bulkExecutor.getActiveCount());
+        stats.put("bulkQueueDepth", bulkExecutor.getQueue().size());
+        stats.put("avgHashMillis", hashes.mean() / 1_000_000);
+        stats.put("p99HashMillis", hashes.percentile(0.99) / 1_000_000.0);
+        stats.put("maxHashMillis", hashes.max() / 1_000_000.0);
+        return stats;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+        bulkExecutor.shutdown();
+    }
+
+    private static final class HashingThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger counter = new AtomicInteger();
+
+        HashingThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.hexaware.cms.service;
+
+import com.hexaware.cms.ledger.PaymentJournal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Source of truth for fee payments. Payments are appended to a {@link PaymentJournal}
+ * (group-committed, one fsync per batch) and balances are served from memory; the
+ * fees table is a projection kept up to date by {@link FeeLedgerProjector}.
+ */
+@Component
+public class PaymentLedger implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentLedger.class);
+
+    private final PaymentJournal journal;
+
+    public PaymentLedger(@Value("${app.ledger.dir:}") String directory,
+                         @Value("${spring.datasource.url:}") String datasourceUrl,
+                         @Value("${app.ledger.segment-size-bytes:67108864}") int segmentSize,
+                         @Value("${app.ledger.max-batch:512}") int maxBatch,
+                         @Value("${app.ledger.queue-capacity:65536}") int queueCapacity) throws IOException {
+        Path path = directoryFor(directory, datasourceUrl);
+        this.journal = PaymentJournal.open(path, segmentSize, maxBatch, queueCapacity);
+        log.info("Payment ledger opened at {}", path);
+    }
+
+    // ✅ A throwaway directory is only safe next to an in-memory database: against a persistent
+    // one the next start would lose every balance the projection had not written yet
+    static Path directoryFor(String directory, String datasourceUrl) {
+        if (directory != null && !directory.isBlank()) {
+            return Path.of(directory);
+        }
+        if (datasourceUrl != null && datasourceUrl.startsWith("jdbc:h2:mem:")) {
+            return Path.of(System.getProperty("java.io.tmpdir"), "cms-ledger", UUID.randomUUID().toString());
+        }
+        throw new IllegalStateException("app.ledger.dir (LEDGER_DIR) must be set to a persistent directory"
+                + " when the database is not in-memory");
+    }
+
+    // ✅ Fails with OverpaymentException when the fee's total paid would exceed maxPaid;
+    // openingPaid is the fee's fee_paid, the starting balance if the ledger has not seen the fee
+    public CompletableFuture<PaymentJournal.Entry> append(long feeId, long amount, long maxPaid, long openingPaid) {
+        return journal.append(feeId, amount, maxPaid, openingPaid);
+    }
+
+    // ✅ Null when the ledger has not seen the fee; otherwise check hasPayments() before
+    // using lastAmount/lastTimestamp
+    public PaymentJournal.Balance balance(long feeId) {
+        return journal.balance(feeId);
+    }
+
+    public List<Long> drainChangedFees() {
+        return journal.drainDirty();
+    }
+
+    public void markChanged(List<Long> feeIds) {
+        journal.markDirty(feeIds);
+    }
+
+    @Scheduled(fixedDelayString = "${app.ledger.compaction-interval-ms:600000}",
+            initialDelayString = "${app.ledger.compaction-interval-ms:600000}")
+    public void compact() {
+        try {
+            journal.compact().join();
+        } catch (RuntimeException e) {
+            log.warn("Payment ledger compaction failed", e);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        return journal.stats();
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        journal.close();
+    }
+}
@@ -0,0 +1,9 @@
+package com.hexaware.cms.service;
+
+import com.hexaware.cms.model.FeeReminder;
+
+// ✅ Delivery channel for fee reminders (email, SMS, ...); throwing leaves the reminder for a retry
+public interface ReminderSender {
+
+    void send(FeeReminder reminder) throws Exception;
+}
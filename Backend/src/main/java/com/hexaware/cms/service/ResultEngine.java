@@ -0,0 +1,408 @@
+package com.hexaware.cms.service;
+
+import com.hexaware.cms.util.GradeScale;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Semester-end result computation over columnar, primitive-array buffers. Marks are held
+ * as parallel int/long columns grouped by (semester, student) with a CSR offset array, so a
+ * run over 400k marks allocates a handful of arrays rather than 400k objects. Per-student
+ * totals, grades and GPA are computed in fork-join ranges; class ranks are then computed
+ * per cohort (semester + course) in parallel. Percentage and GPA are kept in hundredths as
+ * ints, which makes ranking exact and matches what GradeScale.round2 shows to users.
+ *
+ * <p>Not thread-safe: the owner serialises {@link #computeAll} and {@link #correct}, and
+ * applies corrections to a {@link #copy()} so an engine that readers can see is never mutated.
+ */
+public final class ResultEngine {
+
+    public static final int NO_GRADE = -1;
+
+    private static final int PARALLEL_STUDENTS = 2048;
+    private static final int PARALLEL_COHORTS = 4;
+    // Grade points in tenths (4.0 -> 40, 3.7 -> 37, ...) so GPA sums stay integral
+    private static final int[] POINT_TENTHS = new int[7];
+
+    static {
+        for (int i = 0; i < POINT_TENTHS.length; i++) {
+            POINT_TENTHS[i] = (int) Math.round(GradeScale.pointsOf(i) * 10);
+        }
+    }
+
+    // Mark columns, grouped by student via markStart
+    private final long[] markIds;
+    private final int[] marks;
+    private final int[] maxMarks;
+    private final byte[] grades;
+    private final byte[] storedGrades;
+
+    // Student columns
+    private final int[] markStart;
+    private final String[] studentIds;
+    private final String[] semesters;
+    private final int[] cohortOf;
+    private final int[] total;
+    private final int[] maxTotal;
+    private final int[] percentCenti;
+    private final int[] gpaCenti;
+    private final int[] rank;
+
+    // Cohorts (semester + course) as CSR lists of student indexes
+    private final String[] cohortNames;
+    private final int[] cohortStart;
+    private final int[] cohortMembers;
+
+    // markId -> mark position, by binary search over sorted ids
+    private final long[] sortedMarkIds;
+    private final int[] sortedMarkPos;
+
+    private final Map<String, Integer> studentIndex;
+
+    private ResultEngine(Builder b) {
+        int marksCount = b.markCount;
+        int students = b.studentCount;
+        this.markIds = Arrays.copyOf(b.markIds, marksCount);
+        this.marks = Arrays.copyOf(b.marks, marksCount);
+        this.maxMarks = Arrays.copyOf(b.maxMarks, marksCount);
+        this.storedGrades = Arrays.copyOf(b.storedGrades, marksCount);
+        this.grades = new byte[marksCount];
+        this.markStart = Arrays.copyOf(b.markStart, students + 1);
+        this.markStart[students] = marksCount;
+        this.studentIds = Arrays.copyOf(b.studentIds, students);
+        this.semesters = Arrays.copyOf(b.semesters, students);
+        this.cohortOf = Arrays.copyOf(b.cohortOf, students);
+        this.total = new int[students];
+        this.maxTotal = new int[students];
+        this.percentCenti = new int[students];
+        this.gpaCenti = new int[students];
+        this.rank = new int[students];
+
+        int cohorts = b.cohortIds.size();
+        this.cohortNames = new String[cohorts];
+        b.cohortIds.forEach((name, id) -> cohortNames[id] = name);
+        this.cohortStart = new int[cohorts + 1];
+        for (int s = 0; s < students; s++) {
+            cohortStart[cohortOf[s] + 1]++;
+        }
+        for (int c = 0; c < cohorts; c++) {
+            cohortStart[c + 1] += cohortStart[c];
+        }
+        this.cohortMembers = new int[students];
+        int[] fill = Arrays.copyOf(cohortStart, cohorts);
+        for (int s = 0; s < students; s++) {
+            cohortMembers[fill[cohortOf[s]]++] = s;
+        }
+
+        // Ids are unique, so a sorted copy plus one binary search per mark maps ids back to positions
+        this.sortedMarkIds = markIds.clone();
+        Arrays.sort(sortedMarkIds);
+        this.sortedMarkPos = new int[marksCount];
+        for (int m = 0; m < marksCount; m++) {
+            sortedMarkPos[Arrays.binarySearch(sortedMarkIds, markIds[m])] = m;
+        }
+
+        this.studentIndex = new HashMap<>(students * 4 / 3 + 1);
+        for (int s = 0; s < students; s++) {
+            studentIndex.put(key(studentIds[s], semesters[s]), s);
+        }
+    }
+
+    // Copy for copy-on-write: shares the columns a correction never touches, clones the rest
+    private ResultEngine(ResultEngine source) {
+        this.markIds = source.markIds;
+        this.marks = source.marks.clone();
+        this.maxMarks = source.maxMarks;
+        this.grades = source.grades.clone();
+        this.storedGrades = source.storedGrades.clone();
+        this.markStart = source.markStart;
+        this.studentIds = source.studentIds;
+        this.semesters = source.semesters;
+        this.cohortOf = source.cohortOf;
+        this.total = source.total.clone();
+        this.maxTotal = source.maxTotal.clone();
+        this.percentCenti = source.percentCenti.clone();
+        this.gpaCenti = source.gpaCenti.clone();
+        this.rank = source.rank.clone();
+        this.cohortNames = source.cohortNames;
+        this.cohortStart = source.cohortStart;
+        this.cohortMembers = source.cohortMembers;
+        this.sortedMarkIds = source.sortedMarkIds;
+        this.sortedMarkPos = source.sortedMarkPos;
+        this.studentIndex = source.studentIndex;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    // ✅ A private copy to correct and then publish in place of this one
+    public ResultEngine copy() {
+        return new ResultEngine(this);
+    }
+
+    // ✅ Full run: per-student totals and grades, then ranks per cohort, both across the pool
+    public void computeAll(ForkJoinPool pool) {
+        pool.invoke(new Range(0, studentCount(), PARALLEL_STUDENTS, this::computeStudent));
+        pool.invoke(new Range(0, cohortNames.length, PARALLEL_COHORTS, this::rankCohort));
+    }
+
+    /**
+     * Applies a corrected mark and returns the students whose result row changed: the
+     * student itself plus everyone in the cohort whose rank moved. Ranks are adjusted in one
+     * linear pass over the cohort instead of a re-sort. Returns null for an unknown mark.
+     */
+    public int[] correct(long markId, int newMarks) {
+        int at = Arrays.binarySearch(sortedMarkIds, markId);
+        if (at < 0) {
+            return null;
+        }
+        int pos = sortedMarkPos[at];
+        int student = studentOfMark(pos);
+        long oldScore = score(student);
+        marks[pos] = newMarks;
+        computeStudent(student);
+        long newScore = score(student);
+        if (oldScore == newScore) {
+            return new int[] {student};
+        }
+
+        int cohort = cohortOf[student];
+        int[] changed = new int[cohortStart[cohort + 1] - cohortStart[cohort]];
+        int count = 0;
+        changed[count++] = student;
+        int above = 0;
+        for (int i = cohortStart[cohort]; i < cohortStart[cohort + 1]; i++) {
+            int other = cohortMembers[i];
+            if (other == student) {
+                continue;
+            }
+            long v = score(other);
+            if (v > newScore) {
+                above++;
+            }
+            // Other's rank is 1 + number of strictly better scores; only the moved student can change that count
+            if (oldScore > v && newScore <= v) {
+                rank[other]--;
+                changed[count++] = other;
+            } else if (oldScore <= v && newScore > v) {
+                rank[other]++;
+                changed[count++] = other;
+            }
+        }
+        rank[student] = above + 1;
+        return Arrays.copyOf(changed, count);
+    }
+
+    private void computeStudent(int s) {
+        int sumMarks = 0;
+        int sumMax = 0;
+        int pointTenths = 0;
+        for (int m = markStart[s]; m < markStart[s + 1]; m++) {
+            int grade = GradeScale.gradeIndex(GradeScale.percentage(marks[m], maxMarks[m]));
+            grades[m] = (byte) grade;
+            sumMarks += marks[m];
+            sumMax += maxMarks[m];
+            pointTenths += POINT_TENTHS[grade];
+        }
+        int subjects = markStart[s + 1] - markStart[s];
+        total[s] = sumMarks;
+        maxTotal[s] = sumMax;
+        percentCenti[s] = sumMax <= 0 ? 0 : (int) Math.round(sumMarks * 10_000.0 / sumMax);
+        gpaCenti[s] = subjects == 0 ? 0 : (int) Math.round(pointTenths * 10.0 / subjects);
+    }
+
+    // Competition ranking ("1224") on percentage, GPA as tie-breaker
+    private void rankCohort(int c) {
+        int from = cohortStart[c];
+        int size = cohortStart[c + 1] - from;
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            int s = cohortMembers[from + i];
+            keys[i] = (Long.MAX_VALUE >>> 32) - score(s) << 32 | s;
+        }
+        Arrays.sort(keys);
+        long previous = -1;
+        int currentRank = 0;
+        for (int i = 0; i < size; i++) {
+            long scoreKey = keys[i] >>> 32;
+            if (scoreKey != previous) {
+                currentRank = i + 1;
+                previous = scoreKey;
+            }
+            rank[(int) keys[i]] = currentRank;
+        }
+    }
+
+    private long score(int s) {
+        return percentCenti[s] * 1_000L + gpaCenti[s];
+    }
+
+    private int studentOfMark(int pos) {
+        int lo = 0;
+        int hi = studentCount() - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (markStart[mid] <= pos) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return lo;
+    }
+
+    // ✅ Marks whose computed grade differs from what is stored, for a minimal write-back
+    public void forEachChangedGrade(IntConsumer markPosition) {
+        for (int m = 0; m < grades.length; m++) {
+            if (grades[m] != storedGrades[m]) {
+                markPosition.accept(m);
+            }
+        }
+    }
+
+    public void markGradesStored() {
+        System.arraycopy(grades, 0, storedGrades, 0, grades.length);
+    }
+
+    public int indexOf(String studentId, String semester) {
+        Integer index = studentIndex.get(key(studentId, semester));
+        return index != null ? index : -1;
+    }
+
+    public int studentCount() { return studentIds.length; }
+    public int markCount() { return markIds.length; }
+    public int cohortCount() { return cohortNames.length; }
+
+    public String studentId(int s) { return studentIds[s]; }
+    public String semester(int s) { return semesters[s]; }
+    public int subjects(int s) { return markStart[s + 1] - markStart[s]; }
+    public int totalMarks(int s) { return total[s]; }
+    public int maxTotalMarks(int s) { return maxTotal[s]; }
+    public double percentage(int s) { return percentCenti[s] / 100.0; }
+    public double gpa(int s) { return gpaCenti[s] / 100.0; }
+    public int rank(int s) { return rank[s]; }
+    public int cohortSize(int s) { return cohortStart[cohortOf[s] + 1] - cohortStart[cohortOf[s]]; }
+
+    public long markId(int m) { return markIds[m]; }
+    public String grade(int m) { return GradeScale.gradeOf(grades[m]); }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("students", studentCount());
+        stats.put("marks", markCount());
+        stats.put("cohorts", cohortCount());
+        return stats;
+    }
+
+    private static String key(String studentId, String semester) {
+        return studentId + '\u0000' + (semester != null ? semester : "");
+    }
+
+    // Splits [from, to) until a range is at most grain wide, then runs body on each index
+    private static final class Range extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final int grain;
+        private final IntConsumer body;
+
+        Range(int from, int to, int grain, IntConsumer body) {
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                for (int i = from; i < to; i++) {
+                    body.accept(i);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new Range(from, mid, grain, body), new Range(mid, to, grain, body));
+        }
+    }
+
+    /**
+     * Appends marks in (semester, studentId) order; consecutive rows for the same pair form
+     * one student. Columns grow by doubling, so loading streams straight into primitives.
+     */
+    public static final class Builder {
+        private long[] markIds = new long[1024];
+        private int[] marks = new int[1024];
+        private int[] maxMarks = new int[1024];
+        private byte[] storedGrades = new byte[1024];
+        private int markCount;
+
+        private int[] markStart = new int[256];
+        private String[] studentIds = new String[256];
+        private String[] semesters = new String[256];
+        private int[] cohortOf = new int[256];
+        private int studentCount;
+
+        private final Map<String, Integer> cohortIds = new LinkedHashMap<>();
+
+        private Builder() {}
+
+        public Builder add(long markId, String studentId, String semester, String course,
+                           int mark, int maxMark, String storedGrade) {
+            if (studentCount == 0 || !studentId.equals(studentIds[studentCount - 1])
+                    || !Objects.equals(semester, semesters[studentCount - 1])) {
+                startStudent(studentId, semester, course);
+            }
+            if (markCount == markIds.length) {
+                int size = markCount * 2;
+                markIds = Arrays.copyOf(markIds, size);
+                marks = Arrays.copyOf(marks, size);
+                maxMarks = Arrays.copyOf(maxMarks, size);
+                storedGrades = Arrays.copyOf(storedGrades, size);
+            }
+            markIds[markCount] = markId;
+            marks[markCount] = mark;
+            maxMarks[markCount] = maxMark;
+            storedGrades[markCount] = (byte) gradeIndexOf(storedGrade);
+            markCount++;
+            return this;
+        }
+
+        public ResultEngine build() {
+            return new ResultEngine(this);
+        }
+
+        private void startStudent(String studentId, String semester, String course) {
+            if (studentCount + 1 >= markStart.length) {
+                int size = markStart.length * 2;
+                markStart = Arrays.copyOf(markStart, size);
+                studentIds = Arrays.copyOf(studentIds, size);
+                semesters = Arrays.copyOf(semesters, size);
+                cohortOf = Arrays.copyOf(cohortOf, size);
+            }
+            markStart[studentCount] = markCount;
+            studentIds[studentCount] = studentId;
+            semesters[studentCount] = semester;
+            cohortOf[studentCount] = cohortIds.computeIfAbsent(semester + " / " + course, k -> cohortIds.size());
+            studentCount++;
+        }
+
+        private static int gradeIndexOf(String grade) {
+            if (grade != null) {
+                for (int i = 0; i < POINT_TENTHS.length; i++) {
+                    if (GradeScale.gradeOf(i).equals(grade)) {
+                        return i;
+                    }
+                }
+            }
+            return NO_GRADE;
+        }
+    }
+}
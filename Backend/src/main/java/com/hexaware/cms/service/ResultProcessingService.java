@@ -0,0 +1,286 @@
+package com.hexaware.cms.service;
+
+import com.hexaware.cms.model.Mark;
+import com.hexaware.cms.model.StudentResult;
+import com.hexaware.cms.repository.MarkRepository;
+import com.hexaware.cms.repository.StudentResultRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Semester-end results: streams every mark into a ResultEngine (primitive columns, no
+ * entity per mark), computes grades / GPA / class ranks on a dedicated fork-join pool and
+ * writes student_results and marks.grade back in JDBC batches. A corrected mark is applied
+ * to the last run incrementally, so only the rows whose result or rank moved are rewritten.
+ */
+@Service
+public class ResultProcessingService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ResultProcessingService.class);
+
+    private static final String LOAD_SQL = "select m.id, m.student_id, m.semester, s.course, m.marks, m.max_marks, m.grade"
+            + " from marks m left join students s on s.student_id = m.student_id"
+            + " order by m.semester, m.student_id";
+
+    private static final String UPDATE_RESULT_SQL = "update student_results set subjects = ?, total_marks = ?,"
+            + " max_total_marks = ?, percentage = ?, gpa = ?, class_rank = ?, class_size = ?, computed_at = ?"
+            + " where student_id = ? and semester is not distinct from ?"; // marks may have no semester
+
+    private static final String UPDATE_GRADE_SQL = "update marks set grade = ? where id = ?";
+
+    public record Standing(int rank, int classSize) {}
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MarkRepository markRepository;
+
+    @Autowired
+    private StudentResultRepository studentResultRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private Executor ioExecutor; // ✅ Full reruns triggered by a correction, off the committing request thread
+
+    private final ForkJoinPool pool;
+    private final TransactionTemplate writeTransaction;
+    private final int batchSize;
+    private final int fetchSize;
+    private final boolean runOnStartup;
+    // Full runs and corrections are serialised; a lock rather than synchronized so JDBC does not pin virtual threads
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Published only fully computed and written; never mutated afterwards (corrections work on a copy)
+    private volatile ResultEngine engine;
+    private volatile Map<String, Object> lastRun = Map.of();
+    private final LongAdder corrections = new LongAdder();
+    private final LongAdder rowsRewritten = new LongAdder();
+
+    public ResultProcessingService(PlatformTransactionManager transactionManager,
+                                   @Value("${app.results.parallelism:0}") int parallelism,
+                                   @Value("${app.results.batch-size:1000}") int batchSize,
+                                   @Value("${app.results.fetch-size:2000}") int fetchSize,
+                                   @Value("${app.results.process-on-startup:true}") boolean processOnStartup) {
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        // REQUIRES_NEW: corrections are written from afterCommit of the transaction that changed the mark
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchSize = batchSize;
+        this.fetchSize = fetchSize;
+        this.runOnStartup = processOnStartup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void processOnStartup() {
+        if (runOnStartup) {
+            processAll();
+        }
+    }
+
+    // ✅ Full run over every semester; rows not produced by this run are removed afterwards
+    public Map<String, Object> processAll() {
+        lock.lock();
+        try {
+            long start = System.nanoTime();
+            ResultEngine.Builder builder = ResultEngine.builder();
+            jdbcTemplate.query(connection -> {
+                PreparedStatement ps = connection.prepareStatement(LOAD_SQL);
+                ps.setFetchSize(fetchSize);
+                return ps;
+            }, (RowCallbackHandler) rs -> builder.add(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4),
+                    rs.getInt(5), rs.getInt(6), rs.getString(7)));
+            ResultEngine fresh = builder.build();
+            long loaded = System.nanoTime();
+
+            fresh.computeAll(pool);
+            long computed = System.nanoTime();
+
+            LocalDateTime runAt = LocalDateTime.now();
+            int[] counts = writeBack(fresh, null, runAt);
+            long written = System.nanoTime();
+            engine = fresh;
+
+            Map<String, Object> run = new LinkedHashMap<>(fresh.stats());
+            run.put("gradesUpdated", counts[0]);
+            run.put("resultsInserted", counts[1]);
+            run.put("loadMillis", (loaded - start) / 1_000_000);
+            run.put("computeMillis", (computed - loaded) / 1_000_000);
+            run.put("writeMillis", (written - computed) / 1_000_000);
+            run.put("totalMillis", (written - start) / 1_000_000);
+            run.put("completedAt", runAt.toString());
+            lastRun = run;
+            log.info("Results processed: {} students, {} marks, {} cohorts in {} ms (load {}, compute {}, write {})",
+                    fresh.studentCount(), fresh.markCount(), fresh.cohortCount(), run.get("totalMillis"),
+                    run.get("loadMillis"), run.get("computeMillis"), run.get("writeMillis"));
+            return run;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ✅ Mark correction; the result rows are recomputed incrementally once the change commits
+    @Transactional
+    public Mark correctMark(Long markId, int marks) {
+        Mark mark = markRepository.findById(markId)
+                .orElseThrow(() -> new IllegalArgumentException("Mark not found: " + markId));
+        if (marks < 0 || marks > mark.getMaxMarks()) {
+            throw new IllegalArgumentException("Marks must be between 0 and " + mark.getMaxMarks());
+        }
+        mark.setMarks(marks);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyCorrection(markId, marks);
+                }
+            });
+        } else {
+            applyCorrection(markId, marks);
+        }
+        return mark;
+    }
+
+    public Standing standingOf(String studentId, String semester) {
+        ResultEngine current = engine;
+        if (current == null) {
+            return null;
+        }
+        int index = current.indexOf(studentId, semester);
+        return index < 0 ? null : new Standing(current.rank(index), current.cohortSize(index));
+    }
+
+    public List<StudentResult> resultsFor(String studentId) {
+        return studentResultRepository.findByStudentIdOrderBySemesterAsc(studentId);
+    }
+
+    public Map<String, Object> stats() {
+        ResultEngine current = engine;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("parallelism", pool.getParallelism());
+        stats.put("students", current != null ? current.studentCount() : 0);
+        stats.put("corrections", corrections.sum());
+        stats.put("rowsRewrittenByCorrections", rowsRewritten.sum());
+        stats.put("lastRunMillis", lastRun.getOrDefault("totalMillis", 0L));
+        stats.put("lastRun", lastRun);
+        return stats;
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+
+    private void applyCorrection(Long markId, int marks) {
+        lock.lock();
+        try {
+            ResultEngine current = engine;
+            ResultEngine next = current != null ? current.copy() : null;
+            int[] changed = next != null ? next.correct(markId, marks) : null;
+            if (changed == null) {
+                // Mark added since the last run: the columns do not know it, so rebuild in the background
+                log.debug("Mark {} not in the last result run, reprocessing all results", markId);
+                ioExecutor.execute(this::processAll);
+                return;
+            }
+            writeBack(next, changed, LocalDateTime.now());
+            engine = next;
+            corrections.increment();
+            rowsRewritten.add(changed.length);
+        } catch (RuntimeException e) {
+            log.warn("Incremental result update for mark {} failed; results are stale until the next run", markId, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes result rows for the given students (all when null) and any grades that changed.
+     * Existing rows are updated in batches; rows that do not exist yet are inserted through JPA
+     * so ids come from the sequence. Returns {grades updated, results inserted}.
+     */
+    private int[] writeBack(ResultEngine results, int[] students, LocalDateTime runAt) {
+        int[] counts = writeTransaction.execute(status -> {
+            Timestamp stamp = Timestamp.valueOf(runAt);
+            int count = students != null ? students.length : results.studentCount();
+            List<Object[]> updates = new ArrayList<>(Math.min(count, batchSize));
+            List<Integer> missing = new ArrayList<>();
+            int[] batchStudents = new int[batchSize];
+            for (int i = 0; i < count; i++) {
+                int s = students != null ? students[i] : i;
+                batchStudents[updates.size()] = s;
+                updates.add(new Object[] {results.subjects(s), results.totalMarks(s), results.maxTotalMarks(s),
+                        results.percentage(s), results.gpa(s), results.rank(s), results.cohortSize(s), stamp,
+                        results.studentId(s), results.semester(s)});
+                if (updates.size() == batchSize || i == count - 1) {
+                    int[] updated = jdbcTemplate.batchUpdate(UPDATE_RESULT_SQL, updates);
+                    for (int j = 0; j < updated.length; j++) {
+                        if (updated[j] == 0) {
+                            missing.add(batchStudents[j]);
+                        }
+                    }
+                    updates.clear();
+                }
+            }
+
+            List<StudentResult> inserts = new ArrayList<>(Math.min(missing.size(), batchSize));
+            for (int i = 0; i < missing.size(); i++) {
+                int s = missing.get(i);
+                inserts.add(new StudentResult(results.studentId(s), results.semester(s), results.subjects(s),
+                        results.totalMarks(s), results.maxTotalMarks(s), results.percentage(s), results.gpa(s),
+                        results.rank(s), results.cohortSize(s), runAt));
+                if (inserts.size() == batchSize || i == missing.size() - 1) {
+                    studentResultRepository.saveAll(inserts);
+                    entityManager.flush();
+                    entityManager.clear();
+                    inserts.clear();
+                }
+            }
+
+            List<Object[]> grades = new ArrayList<>();
+            results.forEachChangedGrade(m -> grades.add(new Object[] {results.grade(m), results.markId(m)}));
+            for (int from = 0; from < grades.size(); from += batchSize) {
+                jdbcTemplate.batchUpdate(UPDATE_GRADE_SQL, grades.subList(from, Math.min(grades.size(), from + batchSize)));
+            }
+
+            if (students == null) {
+                jdbcTemplate.update("delete from student_results where computed_at < ?", stamp);
+            }
+            return new int[] {grades.size(), missing.size()};
+        });
+        results.markGradesStored();
+        return counts;
+    }
+}
@@ -0,0 +1,191 @@
+package com.hexaware.cms.service;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory seat accounting for enrollment. Each course has one AtomicInteger of taken
+ * seats (held + confirmed) that is only ever incremented by a CAS against the capacity,
+ * so no interleaving can push it past maxCapacity and no lock or DB read sits on the hot
+ * path. A reservation creates a hold that must be confirmed before it expires; whichever
+ * of confirm / release / expiry removes the hold from the map first decides its fate.
+ */
+public class SeatReservationEngine {
+
+    public enum Outcome { RESERVED, CONFIRMED, RELEASED, FULL, ALREADY_ENROLLED, UNKNOWN_COURSE, HOLD_NOT_FOUND, HOLD_EXPIRED,
+        // Decided outside the engine, by the timetable check
+        SCHEDULE_CLASH }
+
+    public record Hold(String holdId, long courseId, String studentId, long expiresAt) {}
+
+    public record Result(Outcome outcome, Hold hold, int seatsRemaining) {}
+
+    public record SeatCounts(int capacity, int confirmed, int held, int available) {}
+
+    private static final class CourseSeats {
+        final int capacity;
+        final AtomicInteger taken;
+        final AtomicInteger confirmed;
+        // Students holding or owning a seat; stops one student taking two seats in a course
+        final Set<String> students = ConcurrentHashMap.newKeySet();
+
+        CourseSeats(int capacity, int confirmed) {
+            this.capacity = capacity;
+            this.taken = new AtomicInteger(confirmed);
+            this.confirmed = new AtomicInteger(confirmed);
+        }
+
+        boolean tryTake() {
+            for (;;) {
+                int current = taken.get();
+                if (current >= capacity) {
+                    return false;
+                }
+                if (taken.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        int remaining() {
+            return Math.max(0, capacity - taken.get());
+        }
+    }
+
+    private final ConcurrentHashMap<Long, CourseSeats> courses = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Hold> holds = new ConcurrentHashMap<>();
+    // Holds in creation order; with a fixed TTL that is also expiry order
+    private final ConcurrentLinkedQueue<Hold> expiryQueue = new ConcurrentLinkedQueue<>();
+    private final long holdTtlMillis;
+    private final LongSupplier clock;
+
+    private final LongAdder reserved = new LongAdder();
+    private final LongAdder rejectedFull = new LongAdder();
+    private final LongAdder confirmedCount = new LongAdder();
+    private final LongAdder released = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+
+    public SeatReservationEngine(long holdTtlMillis, LongSupplier clock) {
+        this.holdTtlMillis = holdTtlMillis;
+        this.clock = clock;
+    }
+
+    // ✅ Registers (or replaces) a course with its persisted confirmed seats
+    public void loadCourse(long courseId, int capacity, int confirmedSeats, Collection<String> enrolledStudents) {
+        CourseSeats seats = new CourseSeats(capacity, confirmedSeats);
+        seats.students.addAll(enrolledStudents);
+        courses.put(courseId, seats);
+    }
+
+    public Result reserve(long courseId, String studentId) {
+        CourseSeats seats = courses.get(courseId);
+        if (seats == null) {
+            return new Result(Outcome.UNKNOWN_COURSE, null, 0);
+        }
+        if (!seats.students.add(studentId)) {
+            return new Result(Outcome.ALREADY_ENROLLED, null, seats.remaining());
+        }
+        if (!seats.tryTake()) {
+            seats.students.remove(studentId);
+            rejectedFull.increment();
+            return new Result(Outcome.FULL, null, 0);
+        }
+        Hold hold = new Hold(UUID.randomUUID().toString(), courseId, studentId, clock.getAsLong() + holdTtlMillis);
+        holds.put(hold.holdId(), hold);
+        expiryQueue.add(hold);
+        reserved.increment();
+        return new Result(Outcome.RESERVED, hold, seats.remaining());
+    }
+
+    public Result confirm(String holdId) {
+        Hold hold = holds.remove(holdId);
+        if (hold == null) {
+            return new Result(Outcome.HOLD_NOT_FOUND, null, 0);
+        }
+        CourseSeats seats = courses.get(hold.courseId());
+        if (hold.expiresAt() <= clock.getAsLong()) {
+            freeSeat(seats, hold);
+            expired.increment();
+            return new Result(Outcome.HOLD_EXPIRED, hold, seats.remaining());
+        }
+        seats.confirmed.incrementAndGet();
+        confirmedCount.increment();
+        return new Result(Outcome.CONFIRMED, hold, seats.remaining());
+    }
+
+    public Result release(String holdId) {
+        Hold hold = holds.remove(holdId);
+        if (hold == null) {
+            return new Result(Outcome.HOLD_NOT_FOUND, null, 0);
+        }
+        CourseSeats seats = courses.get(hold.courseId());
+        freeSeat(seats, hold);
+        released.increment();
+        return new Result(Outcome.RELEASED, hold, seats.remaining());
+    }
+
+    // ✅ Returns seats of unconfirmed holds past their deadline; safe to run concurrently with confirm.
+    // Confirmed/released holds stay queued until due and are skipped here, so the queue is bounded by TTL.
+    public synchronized int expireDue() {
+        long now = clock.getAsLong();
+        int count = 0;
+        Hold head;
+        while ((head = expiryQueue.peek()) != null && head.expiresAt() <= now) {
+            expiryQueue.poll();
+            if (holds.remove(head.holdId(), head)) {
+                freeSeat(courses.get(head.courseId()), head);
+                expired.increment();
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // Used when persisting a confirmed seat fails for good
+    public void revokeConfirmed(long courseId, String studentId) {
+        CourseSeats seats = courses.get(courseId);
+        if (seats != null && seats.students.remove(studentId)) {
+            seats.confirmed.decrementAndGet();
+            seats.taken.decrementAndGet();
+        }
+    }
+
+    private void freeSeat(CourseSeats seats, Hold hold) {
+        seats.students.remove(hold.studentId());
+        seats.taken.decrementAndGet();
+    }
+
+    public SeatCounts seats(long courseId) {
+        CourseSeats seats = courses.get(courseId);
+        if (seats == null) {
+            return null;
+        }
+        int taken = seats.taken.get();
+        int confirmed = seats.confirmed.get();
+        return new SeatCounts(seats.capacity, confirmed, taken - confirmed, Math.max(0, seats.capacity - taken));
+    }
+
+    public Hold hold(String holdId) {
+        return holds.get(holdId);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("courses", courses.size());
+        stats.put("activeHolds", holds.size());
+        stats.put("reserved", reserved.sum());
+        stats.put("confirmed", confirmedCount.sum());
+        stats.put("released", released.sum());
+        stats.put("expired", expired.sum());
+        stats.put("rejectedFull", rejectedFull.sum());
+        return stats;
+    }
+}
@@ -0,0 +1,271 @@
+package com.hexaware.cms.service;
+
+import com.hexaware.cms.util.RoaringBitmap;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Attendance of one course section: one compressed bitmap per session, bit i set when the
+ * student at roster position i was present. Students get a roster position the first time
+ * they appear and keep it, so bitmaps stay valid as the roster grows; each session also
+ * records the roster size at the time, so a student is only counted for sessions held after
+ * they joined. Per-student attended/held counts are maintained from the AND-NOT of a
+ * session's old and new bitmap, which makes percentages and "below threshold" lists a single
+ * pass over two int arrays. Only students in the active set (currently enrolled) are listed.
+ */
+public class SectionAttendance {
+
+    public record SessionKey(LocalDate date, int period) implements Comparable<SessionKey> {
+        @Override
+        public int compareTo(SessionKey other) {
+            int byDate = date.compareTo(other.date);
+            return byDate != 0 ? byDate : Integer.compare(period, other.period);
+        }
+    }
+
+    public record StudentAttendance(String studentId, int attended, int sessions, double percentage) {}
+
+    private record Session(RoaringBitmap present, int rosterSize) {}
+
+    private final long courseId;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<String> roster = new ArrayList<>();
+    private final Map<String, Integer> rosterIndex = new HashMap<>();
+    private final NavigableMap<SessionKey, Session> sessions = new TreeMap<>();
+    private RoaringBitmap active = new RoaringBitmap();
+    private int[] attended = new int[64];
+    private int[] held = new int[64];
+
+    public SectionAttendance(long courseId) {
+        this.courseId = courseId;
+    }
+
+    public long courseId() {
+        return courseId;
+    }
+
+    // Roster position, or -1 when the student has never been on this section's roster
+    public int positionOf(String studentId) {
+        lock.readLock().lock();
+        try {
+            Integer position = rosterIndex.get(studentId);
+            return position != null ? position : -1;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int rosterSize() {
+        lock.readLock().lock();
+        try {
+            return roster.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ✅ Roster positions are append-only; position must equal the current roster size
+    public void addToRoster(String studentId, int position) {
+        lock.writeLock().lock();
+        try {
+            if (rosterIndex.containsKey(studentId)) {
+                return;
+            }
+            if (position != roster.size()) {
+                throw new IllegalStateException("Roster position " + position + " out of order, expected " + roster.size());
+            }
+            roster.add(studentId);
+            rosterIndex.put(studentId, position);
+            if (position >= attended.length) {
+                int capacity = Math.max(attended.length * 2, position + 1);
+                attended = Arrays.copyOf(attended, capacity);
+                held = Arrays.copyOf(held, capacity);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Roster positions of the students currently enrolled
+    public void setActive(RoaringBitmap positions) {
+        lock.writeLock().lock();
+        try {
+            active = positions;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Records or replaces a session taken when the roster had rosterSize students. Counts
+     * move only for the students whose bit changed, plus the held count of anyone who joined
+     * between the old and the new roster size.
+     */
+    public void putSession(SessionKey key, RoaringBitmap present, int rosterSize) {
+        lock.writeLock().lock();
+        try {
+            if (rosterSize > roster.size()) {
+                throw new IllegalStateException("Session roster " + rosterSize + " exceeds roster " + roster.size());
+            }
+            Session previous = sessions.put(key, new Session(present, rosterSize));
+            if (previous == null) {
+                present.forEach(i -> attended[i]++);
+                for (int i = 0; i < rosterSize; i++) {
+                    held[i]++;
+                }
+            } else {
+                RoaringBitmap.andNot(present, previous.present()).forEach(i -> attended[i]++);
+                RoaringBitmap.andNot(previous.present(), present).forEach(i -> attended[i]--);
+                for (int i = previous.rosterSize(); i < rosterSize; i++) {
+                    held[i]++;
+                }
+                for (int i = rosterSize; i < previous.rosterSize(); i++) {
+                    held[i]--;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public RoaringBitmap session(SessionKey key) {
+        lock.readLock().lock();
+        try {
+            Session session = sessions.get(key);
+            return session != null ? session.present() : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int sessionCount() {
+        lock.readLock().lock();
+        try {
+            return sessions.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public StudentAttendance student(String studentId) {
+        lock.readLock().lock();
+        try {
+            Integer position = rosterIndex.get(studentId);
+            return position == null ? null : attendanceOf(position);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Sessions the student missed, oldest first
+    public List<SessionKey> absences(String studentId) {
+        lock.readLock().lock();
+        try {
+            Integer position = rosterIndex.get(studentId);
+            List<SessionKey> missed = new ArrayList<>();
+            if (position != null) {
+                sessions.forEach((key, session) -> {
+                    if (position < session.rosterSize() && !session.present().contains(position)) {
+                        missed.add(key);
+                    }
+                });
+            }
+            return missed;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ✅ Active students whose attendance is strictly below the threshold (percent), lowest first
+    public List<StudentAttendance> below(double thresholdPercent) {
+        lock.readLock().lock();
+        try {
+            List<StudentAttendance> result = new ArrayList<>();
+            // attended / held < threshold / 100, without a division per student
+            double ratio = thresholdPercent / 100.0;
+            active.forEach(i -> {
+                if (held[i] > 0 && attended[i] < ratio * held[i]) {
+                    result.add(attendanceOf(i));
+                }
+            });
+            result.sort((a, b) -> a.percentage() != b.percentage()
+                    ? Double.compare(a.percentage(), b.percentage()) : a.studentId().compareTo(b.studentId()));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Active students who were on the roster for every session in [from, to] and attended
+     * none of them: (active AND roster-at-the-time) AND-NOT (OR of the sessions' bitmaps).
+     */
+    public List<String> absentThroughout(LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            NavigableMap<SessionKey, Session> range = sessions.subMap(
+                    new SessionKey(from, Integer.MIN_VALUE), true, new SessionKey(to, Integer.MAX_VALUE), true);
+            List<String> absent = new ArrayList<>();
+            if (range.isEmpty()) {
+                return absent;
+            }
+            RoaringBitmap anyPresent = new RoaringBitmap();
+            int rosterSize = Integer.MAX_VALUE;
+            for (Session session : range.values()) {
+                anyPresent = RoaringBitmap.or(anyPresent, session.present());
+                rosterSize = Math.min(rosterSize, session.rosterSize());
+            }
+            RoaringBitmap expected = RoaringBitmap.and(active, RoaringBitmap.range(0, rosterSize));
+            RoaringBitmap.andNot(expected, anyPresent).forEach(i -> absent.add(roster.get(i)));
+            return absent;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Map<String, Object> summary() {
+        lock.readLock().lock();
+        try {
+            long presentMarks = 0;
+            long possible = 0;
+            long heapBytes = 0;
+            long storedBytes = 0;
+            for (Session session : sessions.values()) {
+                presentMarks += session.present().cardinality();
+                possible += session.rosterSize();
+                heapBytes += session.present().sizeInBytes();
+                storedBytes += session.present().serializedSizeInBytes();
+            }
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("courseId", String.valueOf(courseId));
+            summary.put("sessions", sessions.size());
+            summary.put("rosterSize", roster.size());
+            summary.put("activeStudents", active.cardinality());
+            summary.put("attendancePercentage", possible == 0 ? 0.0 : round2(presentMarks * 100.0 / possible));
+            summary.put("bitmapHeapBytes", heapBytes);
+            summary.put("bitmapStoredBytes", storedBytes);
+            return summary;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private StudentAttendance attendanceOf(int position) {
+        int sessionsHeld = held[position];
+        return new StudentAttendance(roster.get(position), attended[position], sessionsHeld,
+                sessionsHeld == 0 ? 0.0 : round2(attended[position] * 100.0 / sessionsHeld));
+    }
+
+    private static double round2(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
@@ -0,0 +1,91 @@
+package com.hexaware.cms.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.hexaware.cms.dto.StudentResponse;
+import com.hexaware.cms.model.Student;
+import com.hexaware.cms.repository.StudentCursor;
+import com.hexaware.cms.repository.StudentFilter;
+import com.hexaware.cms.repository.StudentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Service
+public class StudentService {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+    private static final int FLUSH_EVERY_ROWS = 500;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    public StudentService(PlatformTransactionManager transactionManager) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public record Page(List<Student> students, String nextCursor) {}
+
+    @Transactional(readOnly = true)
+    public Page findPage(StudentFilter filter, String cursor, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<Student> students = studentRepository.findPage(filter, StudentCursor.decode(cursor), size);
+        String next = students.size() == size
+                ? StudentCursor.after(students.get(students.size() - 1)).encode()
+                : null;
+        return new Page(students, next);
+    }
+
+    // ✅ NDJSON export: one row in memory at a time, each detached once written
+    public void writeNdjson(StudentFilter filter, OutputStream out) throws IOException {
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<Student> rows = studentRepository.streamAll(filter);
+                     SequenceWriter writer = objectMapper.writerFor(StudentResponse.class)
+                             .withRootValueSeparator("\n")
+                             .writeValues(out)) {
+                    int[] written = {0};
+                    rows.forEach(student -> {
+                        try {
+                            writer.write(StudentResponse.from(student));
+                            entityManager.detach(student);
+                            if (++written[0] % FLUSH_EVERY_ROWS == 0) {
+                                writer.flush();
+                            }
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                    if (written[0] > 0) {
+                        writer.flush();
+                        out.write('\n');
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
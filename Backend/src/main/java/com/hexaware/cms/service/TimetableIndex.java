@@ -0,0 +1,328 @@
+package com.hexaware.cms.service;
+
+import com.hexaware.cms.util.IntervalTree;
+import com.hexaware.cms.util.WeeklySchedule;
+import com.hexaware.cms.util.WeeklySchedule.Slot;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Timetable clash index. Every section's parsed weekly slots are stored in per-weekday
+ * interval trees for its room, its instructor and each enrolled student, all scoped to the
+ * semester, so "does this overlap anything booked?" is O(log n) per slot instead of a scan
+ * of the catalog. A read/write lock guards the whole index: clash checks run concurrently,
+ * changes (sections, enrollments) are serialised. The enroll-if-free path checks and records
+ * under the write lock so two concurrent enrollments of one student cannot both pass.
+ */
+public class TimetableIndex {
+
+    public enum ClashKind { ROOM, INSTRUCTOR, STUDENT }
+
+    public record Section(long courseId, String courseCode, String semester, String room, String instructor,
+                          List<Slot> slots) {}
+
+    // The overlap window is where the two sections are both booked
+    public record Clash(ClashKind kind, String resource, long courseId, long otherCourseId,
+                        DayOfWeek day, int startMinute, int endMinute) {}
+
+    // Seven per-day trees for one resource (a room, an instructor or a student) in one semester
+    private static final class Week {
+        final IntervalTree[] days = new IntervalTree[7];
+
+        void add(long courseId, List<Slot> slots) {
+            for (Slot slot : slots) {
+                int d = slot.day().ordinal();
+                if (days[d] == null) {
+                    days[d] = new IntervalTree();
+                }
+                days[d].insert(slot.startMinute(), slot.endMinute(), courseId);
+            }
+        }
+
+        void remove(long courseId, List<Slot> slots) {
+            for (Slot slot : slots) {
+                IntervalTree tree = days[slot.day().ordinal()];
+                if (tree != null) {
+                    tree.remove(slot.startMinute(), slot.endMinute(), courseId);
+                }
+            }
+        }
+
+        boolean isEmpty() {
+            for (IntervalTree tree : days) {
+                if (tree != null && !tree.isEmpty()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Section> sections = new HashMap<>();
+    private final Map<String, Week> rooms = new HashMap<>();
+    private final Map<String, Week> instructors = new HashMap<>();
+    private final Map<String, Week> students = new HashMap<>();
+    private final Map<Long, Set<String>> studentsByCourse = new HashMap<>();
+
+    private final LongAdder queries = new LongAdder();
+    private final LongAdder queryNanos = new LongAdder();
+
+    public static Section section(long courseId, String courseCode, String semester, String room,
+                                  String instructor, String schedule) {
+        return new Section(courseId, courseCode, semester, room, instructor, WeeklySchedule.parse(schedule));
+    }
+
+    // ✅ Adds or replaces a section; enrolled students' trees follow a schedule change
+    public void putSection(Section section) {
+        lock.writeLock().lock();
+        try {
+            Section previous = sections.put(section.courseId(), section);
+            Set<String> enrolled = studentsByCourse.getOrDefault(section.courseId(), Set.of());
+            if (previous != null) {
+                unbook(rooms, key(previous.semester(), previous.room()), previous);
+                unbook(instructors, key(previous.semester(), previous.instructor()), previous);
+                for (String student : enrolled) {
+                    unbook(students, key(previous.semester(), student), previous);
+                }
+            }
+            book(rooms, key(section.semester(), section.room()), section);
+            book(instructors, key(section.semester(), section.instructor()), section);
+            for (String student : enrolled) {
+                book(students, key(section.semester(), student), section);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeSection(long courseId) {
+        lock.writeLock().lock();
+        try {
+            Section previous = sections.remove(courseId);
+            Set<String> enrolled = studentsByCourse.remove(courseId);
+            if (previous == null) {
+                return;
+            }
+            unbook(rooms, key(previous.semester(), previous.room()), previous);
+            unbook(instructors, key(previous.semester(), previous.instructor()), previous);
+            if (enrolled != null) {
+                for (String student : enrolled) {
+                    unbook(students, key(previous.semester(), student), previous);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Records the enrollment unless the course overlaps one the student already has, in
+     * which case nothing changes and the clashes are returned. Unknown courses and courses
+     * without a parseable schedule never clash.
+     */
+    public List<Clash> enrollIfFree(String studentId, long courseId) {
+        lock.writeLock().lock();
+        try {
+            List<Clash> clashes = studentClashesLocked(studentId, courseId);
+            if (clashes.isEmpty()) {
+                enrollLocked(studentId, courseId);
+            }
+            return clashes;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Bulk load path: no clash check, validateAll reports any existing conflicts
+    public void enroll(String studentId, long courseId) {
+        lock.writeLock().lock();
+        try {
+            enrollLocked(studentId, courseId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void unenroll(String studentId, long courseId) {
+        lock.writeLock().lock();
+        try {
+            Set<String> enrolled = studentsByCourse.get(courseId);
+            if (enrolled == null || !enrolled.remove(studentId)) {
+                return;
+            }
+            if (enrolled.isEmpty()) {
+                studentsByCourse.remove(courseId);
+            }
+            Section section = sections.get(courseId);
+            if (section != null) {
+                unbook(students, key(section.semester(), studentId), section);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Clash> studentClashes(String studentId, long courseId) {
+        lock.readLock().lock();
+        try {
+            return studentClashesLocked(studentId, courseId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ✅ Room and instructor double-bookings of one section
+    public List<Clash> sectionClashes(long courseId) {
+        lock.readLock().lock();
+        try {
+            Section section = sections.get(courseId);
+            return section == null ? List.of() : resourceClashes(section);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Clashes a proposed section would have, without adding it (courseId may be a placeholder)
+    public List<Clash> proposedClashes(Section proposed) {
+        lock.readLock().lock();
+        try {
+            return resourceClashes(proposed);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Checks the whole timetable in parallel: every section against its room and instructor,
+     * and every enrolled student's courses against each other. Each clashing pair is reported
+     * once, from the section with the lower id.
+     */
+    public List<Clash> validateAll() {
+        lock.readLock().lock();
+        try {
+            Stream<Clash> resources = sections.values().parallelStream()
+                    .flatMap(section -> resourceClashes(section).stream())
+                    .filter(clash -> clash.courseId() < clash.otherCourseId());
+            Stream<Clash> enrolled = studentsByCourse.entrySet().parallelStream()
+                    .flatMap(entry -> entry.getValue().stream()
+                            .flatMap(student -> studentClashesLocked(student, entry.getKey()).stream()))
+                    .filter(clash -> clash.courseId() < clash.otherCourseId());
+            return Stream.concat(resources, enrolled)
+                    .sorted(Comparator.comparing(Clash::kind).thenComparing(Clash::courseId)
+                            .thenComparing(Clash::otherCourseId).thenComparing(Clash::day)
+                            .thenComparing(Clash::startMinute))
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        lock.readLock().lock();
+        try {
+            long count = queries.sum();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("sections", sections.size());
+            stats.put("unscheduledSections", sections.values().stream().filter(s -> s.slots().isEmpty()).count());
+            stats.put("rooms", rooms.size());
+            stats.put("instructors", instructors.size());
+            stats.put("students", students.size());
+            stats.put("clashQueries", count);
+            stats.put("avgClashQueryMicros", count == 0 ? 0.0 : queryNanos.sum() / (double) count / 1_000);
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void enrollLocked(String studentId, long courseId) {
+        if (!studentsByCourse.computeIfAbsent(courseId, id -> new HashSet<>()).add(studentId)) {
+            return;
+        }
+        Section section = sections.get(courseId);
+        if (section != null) {
+            book(students, key(section.semester(), studentId), section);
+        }
+    }
+
+    private List<Clash> studentClashesLocked(String studentId, long courseId) {
+        Section section = sections.get(courseId);
+        if (section == null) {
+            return List.of();
+        }
+        long start = System.nanoTime();
+        List<Clash> clashes = new ArrayList<>(0);
+        collect(students.get(key(section.semester(), studentId)), ClashKind.STUDENT, studentId, section, clashes);
+        queries.increment();
+        queryNanos.add(System.nanoTime() - start);
+        return clashes;
+    }
+
+    private List<Clash> resourceClashes(Section section) {
+        long start = System.nanoTime();
+        List<Clash> clashes = new ArrayList<>(0);
+        collect(rooms.get(key(section.semester(), section.room())), ClashKind.ROOM, section.room(), section, clashes);
+        collect(instructors.get(key(section.semester(), section.instructor())), ClashKind.INSTRUCTOR,
+                section.instructor(), section, clashes);
+        queries.increment();
+        queryNanos.add(System.nanoTime() - start);
+        return clashes;
+    }
+
+    private static void collect(Week week, ClashKind kind, String resource, Section section, List<Clash> out) {
+        if (week == null) {
+            return;
+        }
+        for (Slot slot : section.slots()) {
+            IntervalTree tree = week.days[slot.day().ordinal()];
+            if (tree == null) {
+                continue;
+            }
+            tree.forEachOverlap(slot.startMinute(), slot.endMinute(), (start, end, otherId) -> {
+                if (otherId != section.courseId()) {
+                    out.add(new Clash(kind, resource, section.courseId(), otherId, slot.day(),
+                            Math.max(start, slot.startMinute()), Math.min(end, slot.endMinute())));
+                }
+            });
+        }
+    }
+
+    private static void book(Map<String, Week> index, String key, Section section) {
+        if (key != null && !section.slots().isEmpty()) {
+            index.computeIfAbsent(key, k -> new Week()).add(section.courseId(), section.slots());
+        }
+    }
+
+    private static void unbook(Map<String, Week> index, String key, Section section) {
+        Week week = key != null ? index.get(key) : null;
+        if (week != null) {
+            week.remove(section.courseId(), section.slots());
+            if (week.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    // Semester-scoped, case- and spacing-insensitive resource key; null when the resource is not set
+    private static String key(String semester, String resource) {
+        if (resource == null || resource.isBlank()) {
+            return null;
+        }
+        String normalized = resource.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        return (semester != null ? semester.trim() : "") + '\u0000' + normalized;
+    }
+}
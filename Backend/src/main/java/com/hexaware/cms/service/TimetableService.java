@@ -0,0 +1,133 @@
+package com.hexaware.cms.service;
+
+import com.hexaware.cms.model.Course;
+import com.hexaware.cms.model.Enrollment;
+import com.hexaware.cms.repository.CourseRepository;
+import com.hexaware.cms.repository.EnrollmentRepository;
+import com.hexaware.cms.util.WeeklySchedule;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+// ✅ Keeps the TimetableIndex in step with courses and enrollments; clash checks for enrollment and scheduling
+@Service
+public class TimetableService {
+
+    private static final Logger log = LoggerFactory.getLogger(TimetableService.class);
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TimetableIndex index = new TimetableIndex();
+    private final TransactionTemplate readOnlyTransaction;
+    // For readable clash reports
+    private final Map<Long, String> courseCodes = new ConcurrentHashMap<>();
+
+    public TimetableService(PlatformTransactionManager transactionManager) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.currentTimeMillis();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            courseRepository.findAll().forEach(this::putCourse);
+            try (Stream<Enrollment> rows = enrollmentRepository.streamAll()) {
+                rows.forEach(row -> {
+                    index.enroll(row.getStudentId(), row.getCourseId());
+                    entityManager.detach(row);
+                });
+            }
+        });
+        log.info("Timetable index loaded: {} in {} ms", index.stats(), System.currentTimeMillis() - start);
+    }
+
+    public void putCourse(Course course) {
+        courseCodes.put(course.getId(), course.getCourseCode());
+        index.putSection(TimetableIndex.section(course.getId(), course.getCourseCode(), course.getSemester(),
+                course.getClassroom(), course.getInstructor(), course.getSchedule()));
+    }
+
+    public void removeCourse(long courseId) {
+        index.removeSection(courseId);
+        courseCodes.remove(courseId);
+    }
+
+    public List<TimetableIndex.Clash> studentClashes(String studentId, long courseId) {
+        return index.studentClashes(studentId, courseId);
+    }
+
+    public List<TimetableIndex.Clash> enrollIfFree(String studentId, long courseId) {
+        return index.enrollIfFree(studentId, courseId);
+    }
+
+    public void unenroll(String studentId, long courseId) {
+        index.unenroll(studentId, courseId);
+    }
+
+    public List<TimetableIndex.Clash> sectionClashes(long courseId) {
+        return index.sectionClashes(courseId);
+    }
+
+    public List<WeeklySchedule.Slot> parse(String schedule) {
+        return WeeklySchedule.parse(schedule);
+    }
+
+    public List<TimetableIndex.Clash> proposedClashes(String semester, String room, String instructor,
+                                                      List<WeeklySchedule.Slot> slots) {
+        return index.proposedClashes(new TimetableIndex.Section(-1, null, semester, room, instructor, slots));
+    }
+
+    // ✅ Whole-timetable check, run in parallel across sections and students
+    public Map<String, Object> validate() {
+        long start = System.nanoTime();
+        List<TimetableIndex.Clash> clashes = index.validateAll();
+        List<Map<String, Object>> described = new ArrayList<>(clashes.size());
+        clashes.forEach(clash -> described.add(describe(clash)));
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("sections", index.stats().get("sections"));
+        report.put("clashCount", clashes.size());
+        report.put("millis", (System.nanoTime() - start) / 1_000_000.0);
+        report.put("clashes", described);
+        return report;
+    }
+
+    public Map<String, Object> describe(TimetableIndex.Clash clash) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("kind", clash.kind().name());
+        response.put("resource", clash.resource());
+        if (clash.courseId() >= 0) {
+            response.put("courseId", String.valueOf(clash.courseId()));
+            response.put("courseCode", courseCodes.get(clash.courseId()));
+        }
+        response.put("otherCourseId", String.valueOf(clash.otherCourseId()));
+        response.put("otherCourseCode", courseCodes.get(clash.otherCourseId()));
+        response.put("slot", new WeeklySchedule.Slot(clash.day(), clash.startMinute(), clash.endMinute()).toString());
+        return response;
+    }
+
+    public Map<String, Object> stats() {
+        return index.stats();
+    }
+}
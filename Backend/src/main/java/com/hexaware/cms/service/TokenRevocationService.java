@@ -0,0 +1,162 @@
+package com.hexaware.cms.service;
+
+import com.hexaware.cms.datasource.ReadWriteRoutingDataSource;
+import com.hexaware.cms.model.RevokedToken;
+import com.hexaware.cms.repository.RevokedTokenRepository;
+import com.hexaware.cms.util.RevocationSet;
+import com.hexaware.cms.util.VerifiedToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Logout for stateless JWTs. Revoked token ids (jti) are held in a RevocationSet, so the check
+ * JwtAuthenticationFilter makes on every request is in memory and, for the usual token that
+ * was never revoked, ends at the Bloom filter. Each revocation is also written to
+ * revoked_tokens: a restarted node reloads the unexpired rows, and every node polls the table
+ * for rows revoked since its last poll, so a logout on one node applies on all of them within
+ * a poll interval. The poll window starts pollOverlapMillis early to cover clock skew between
+ * nodes and transactions that committed after the previous poll read; re-adding an id is a no-op.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final RevocationSet revoked;
+    private final long pollOverlapMillis;
+    private final ReentrantLock pollLock = new ReentrantLock();
+    private volatile Instant lastPoll; // null until the startup load has run
+
+    private final LongAdder revokedHere = new LongAdder();
+    private final LongAdder pickedUp = new LongAdder();
+    private final LongAdder polls = new LongAdder();
+    private final LongAdder pollFailures = new LongAdder();
+    private final LongAdder rowsDeleted = new LongAdder();
+
+    public TokenRevocationService(@Value("${app.jwt.revocation.bucket-ms:3600000}") long bucketMillis,
+                                  @Value("${app.jwt.revocation.expected-revocations:100000}") int expectedRevocations,
+                                  @Value("${app.jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate,
+                                  @Value("${app.jwt.revocation.poll-overlap-ms:30000}") long pollOverlapMillis) {
+        this.revoked = new RevocationSet(bucketMillis, expectedRevocations, falsePositiveRate);
+        this.pollOverlapMillis = pollOverlapMillis;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        pollLock.lock();
+        try {
+            Instant started = Instant.now();
+            List<RevokedToken> rows = ReadWriteRoutingDataSource.onPrimary(
+                    () -> revokedTokenRepository.findByExpiresAtAfter(started));
+            rows.forEach(row -> addLocal(row, started.toEpochMilli()));
+            lastPoll = started;
+            log.info("Token revocations loaded: {} unexpired", revoked.size());
+        } finally {
+            pollLock.unlock();
+        }
+    }
+
+    // ✅ Returns false for tokens without a jti (issued before revocation existed) or already revoked
+    public boolean revoke(VerifiedToken token) {
+        String jti = token.id();
+        if (jti == null || token.expiration() == null) {
+            return false;
+        }
+        long expiresAt = token.expiration().getTime();
+        long now = System.currentTimeMillis();
+        if (expiresAt <= now || revoked.isRevoked(jti, expiresAt)) {
+            return false;
+        }
+        try {
+            revokedTokenRepository.saveAndFlush(
+                    new RevokedToken(jti, token.subject(), Instant.ofEpochMilli(expiresAt), Instant.ofEpochMilli(now)));
+        } catch (DataIntegrityViolationException e) {
+            // Revoked on another node and not polled yet; the row is already there
+        }
+        revoked.revoke(jti, expiresAt, now);
+        revokedHere.increment();
+        return true;
+    }
+
+    // ✅ Per-request check: memory only, no database access
+    public boolean isRevoked(VerifiedToken token) {
+        String jti = token.id();
+        return jti != null && token.expiration() != null && revoked.isRevoked(jti, token.expiration().getTime());
+    }
+
+    // ✅ Revocations from other nodes; a failed poll leaves lastPoll alone so the next one covers the gap
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.poll-interval-ms:5000}",
+            initialDelayString = "${app.jwt.revocation.poll-interval-ms:5000}")
+    public void poll() {
+        Instant since = lastPoll;
+        if (since == null || !pollLock.tryLock()) {
+            return;
+        }
+        try {
+            Instant started = Instant.now();
+            List<RevokedToken> rows = ReadWriteRoutingDataSource.onPrimary(() -> revokedTokenRepository
+                    .findByRevokedAtGreaterThanEqualAndExpiresAtAfter(since.minusMillis(pollOverlapMillis), started));
+            long added = rows.stream().filter(row -> addLocal(row, started.toEpochMilli())).count();
+            pickedUp.add(added);
+            polls.increment();
+            lastPoll = started;
+        } catch (DataAccessException e) {
+            pollFailures.increment();
+            log.warn("Token revocation poll failed: {}", e.getMessage());
+        } finally {
+            pollLock.unlock();
+        }
+    }
+
+    // ✅ Expired tokens are rejected by their signature check anyway; drop them from memory and the table
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.expire-interval-ms:60000}",
+            initialDelayString = "${app.jwt.revocation.expire-interval-ms:60000}")
+    public void expire() {
+        long now = System.currentTimeMillis();
+        int dropped = revoked.expire(now);
+        int deleted = jdbcTemplate.update("delete from revoked_tokens where expires_at < ?",
+                Timestamp.from(Instant.ofEpochMilli(now)));
+        rowsDeleted.add(deleted);
+        if (dropped > 0 || deleted > 0) {
+            log.debug("Token revocations expired: {} in memory, {} rows", dropped, deleted);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = revoked.stats();
+        stats.put("revokedHere", revokedHere.sum());
+        stats.put("pickedUpFromLog", pickedUp.sum());
+        stats.put("polls", polls.sum());
+        stats.put("pollFailures", pollFailures.sum());
+        stats.put("rowsDeleted", rowsDeleted.sum());
+        Instant last = lastPoll;
+        stats.put("lastPollAgeMs", last != null ? System.currentTimeMillis() - last.toEpochMilli() : -1);
+        return stats;
+    }
+
+    private boolean addLocal(RevokedToken row, long nowMillis) {
+        return revoked.revoke(row.getJti(), row.getExpiresAt().toEpochMilli(), nowMillis);
+    }
+}
@@ -0,0 +1,169 @@
+package com.hexaware.cms.service;
+
+import com.hexaware.cms.util.EmailHashSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Every registered email, in memory, so check-email and the duplicate check in registration
+ * never query the database for a free address. Loaded at startup from a single-column scan,
+ * kept current by UserCacheInvalidationListener after each commit, and rebuilt periodically to
+ * pick up users written by other nodes (changes made during a rebuild are replayed onto the
+ * new set before it is swapped in). Until the first load completes every address is reported
+ * as possibly taken, which sends callers to the database. The unique constraint on
+ * users.email still decides concurrent registrations.
+ */
+@Service
+public class UserEmailIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(UserEmailIndex.class);
+
+    private static final String LOAD_SQL = "select email from users";
+
+    private record Change(String email, boolean added) {}
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final int expectedUsers;
+    private final int fetchSize;
+    private final Object writeLock = new Object();
+    private volatile EmailHashSet emails;
+    private List<Change> duringRebuild; // guarded by writeLock; non-null while a rebuild is loading
+
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder taken = new LongAdder();
+    private final LongAdder rebuilds = new LongAdder();
+    private volatile long lastLoadMillis;
+
+    public UserEmailIndex(@Value("${app.auth.email-index.expected-users:100000}") int expectedUsers,
+                          @Value("${app.auth.email-index.fetch-size:5000}") int fetchSize) {
+        this.expectedUsers = expectedUsers;
+        this.fetchSize = fetchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+        EmailHashSet loaded = emails;
+        if (loaded == null) {
+            return;
+        }
+        log.info("Email index loaded: {} users, {} KB in {} ms",
+                loaded.size(), loaded.sizeInBytes() / 1024, lastLoadMillis);
+    }
+
+    // ✅ Other nodes' registrations and deletions; local changes are already applied
+    @Scheduled(fixedDelayString = "${app.auth.email-index.refresh-interval-ms:600000}",
+            initialDelayString = "${app.auth.email-index.refresh-interval-ms:600000}")
+    public void rebuild() {
+        synchronized (writeLock) {
+            if (duringRebuild != null) {
+                return;
+            }
+            duringRebuild = new ArrayList<>();
+        }
+        try {
+            long start = System.nanoTime();
+            EmailHashSet fresh = new EmailHashSet(Math.max(expectedUsers, emails != null ? emails.size() : 0));
+            jdbcTemplate.query(connection -> {
+                PreparedStatement ps = connection.prepareStatement(LOAD_SQL);
+                ps.setFetchSize(fetchSize);
+                return ps;
+            }, (RowCallbackHandler) rs -> fresh.add(rs.getString(1)));
+            synchronized (writeLock) {
+                for (Change change : duringRebuild) {
+                    apply(fresh, change);
+                }
+                emails = fresh;
+            }
+            lastLoadMillis = (System.nanoTime() - start) / 1_000_000;
+            rebuilds.increment();
+        } finally {
+            synchronized (writeLock) {
+                duringRebuild = null;
+            }
+        }
+    }
+
+    // ✅ False means no user has this address (modulo normalization); true may need confirming
+    public boolean mightExist(String email) {
+        if (email == null) {
+            return false;
+        }
+        EmailHashSet current = emails;
+        lookups.increment();
+        if (current == null || current.contains(email)) {
+            taken.increment();
+            return true;
+        }
+        return false;
+    }
+
+    public boolean isLoaded() {
+        return emails != null;
+    }
+
+    // Called after commit by UserCacheInvalidationListener
+    public void added(String email) {
+        record(new Change(email, true));
+    }
+
+    public void removed(String email) {
+        record(new Change(email, false));
+    }
+
+    public Map<String, Object> stats() {
+        EmailHashSet current = emails;
+        int size = current != null ? current.size() : 0;
+        long bytes = current != null ? current.sizeInBytes() : 0;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("loaded", current != null);
+        stats.put("users", size);
+        stats.put("tableBytes", bytes);
+        stats.put("bytesPerUser", size == 0 ? 0.0 : Math.round(bytes * 10.0 / size) / 10.0);
+        stats.put("lookups", lookups.sum());
+        stats.put("taken", taken.sum());
+        stats.put("rebuilds", rebuilds.sum());
+        stats.put("lastLoadMillis", lastLoadMillis);
+        return stats;
+    }
+
+    private void record(Change change) {
+        if (change.email() == null) {
+            return;
+        }
+        synchronized (writeLock) {
+            EmailHashSet current = emails;
+            if (current != null) {
+                apply(current, change);
+            }
+            if (duringRebuild != null) {
+                duringRebuild.add(change);
+            }
+        }
+    }
+
+    private static void apply(EmailHashSet target, Change change) {
+        if (change.added()) {
+            target.add(change.email());
+        } else {
+            target.remove(change.email());
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package com.hexaware.cms.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hexaware.cms.dto.UserImportReport;
+import com.hexaware.cms.dto.UserImportReport.RowResult;
+import com.hexaware.cms.dto.UserImportReport.Status;
+import com.hexaware.cms.model.Role;
+import com.hexaware.cms.model.User;
+import com.hexaware.cms.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Streams a CSV or JSON array of users and inserts them chunk by chunk: one set-based
+ * email lookup per chunk, parallel password hashing, and JDBC-batched inserts.
+ */
+@Service
+public class UserImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserImportService.class);
+
+    public enum Format { CSV, JSON }
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public UserImportService(PlatformTransactionManager transactionManager,
+                             @Value("${app.import.chunk-size:1000}") int chunkSize) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    public UserImportReport importUsers(InputStream input, Format format) throws IOException {
+        long start = System.currentTimeMillis();
+        List<RowResult> results = new ArrayList<>();
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        int total = 0;
+
+        RowSource source = format == Format.JSON ? new JsonRowSource(input) : new CsvRowSource(input);
+        try (source) {
+            ImportRow row;
+            while ((row = source.next()) != null) {
+                total++;
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    processChunk(chunk, results);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                processChunk(chunk, results);
+            }
+        }
+
+        int created = 0, skipped = 0, failed = 0;
+        for (RowResult result : results) {
+            switch (result.status()) {
+                case CREATED -> created++;
+                case SKIPPED -> skipped++;
+                case FAILED -> failed++;
+            }
+        }
+        long elapsed = System.currentTimeMillis() - start;
+        log.info("User import: {} rows, {} created, {} skipped, {} failed in {} ms",
+                total, created, skipped, failed, elapsed);
+        return new UserImportReport(total, created, skipped, failed, elapsed, results);
+    }
+
+    private void processChunk(List<ImportRow> chunk, List<RowResult> results) {
+        // 1. Validate and drop duplicates inside the chunk
+        List<ImportRow> candidates = new ArrayList<>(chunk.size());
+        Set<String> chunkEmails = new HashSet<>();
+        for (ImportRow row : chunk) {
+            String problem = row.validate();
+            if (problem != null) {
+                results.add(new RowResult(row.number, row.email, Status.FAILED, problem));
+            } else if (!chunkEmails.add(row.email)) {
+                results.add(new RowResult(row.number, row.email, Status.SKIPPED, "Duplicate email in file"));
+            } else {
+                candidates.add(row);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        // 2. One round trip for all emails in the chunk
+        Set<String> existing = new HashSet<>(userRepository.findExistingEmails(chunkEmails));
+        List<ImportRow> toInsert = new ArrayList<>(candidates.size());
+        for (ImportRow row : candidates) {
+            if (existing.contains(row.email)) {
+                results.add(new RowResult(row.number, row.email, Status.SKIPPED, "User already exists"));
+            } else {
+                toInsert.add(row);
+            }
+        }
+        if (toInsert.isEmpty()) {
+            return;
+        }
+
+        // 3. Hash in parallel; rows that already carry a BCrypt hash are taken as-is. Intended even
+        // though the endpoint is open: it lets accounts migrated from another system keep their
+        // passwords without the plaintext ever being exported. A hash grants no more than the
+        // plaintext password the uploader could send instead, and every imported user is a STUDENT
+        List<ImportRow> needHash = new ArrayList<>();
+        List<String> rawPasswords = new ArrayList<>();
+        for (ImportRow row : toInsert) {
+            if (isBcryptHash(row.password)) {
+                row.passwordHash = row.password;
+            } else {
+                needHash.add(row);
+                rawPasswords.add(row.password);
+            }
+        }
+        List<String> hashes = passwordHashingExecutor.encodeAll(rawPasswords);
+        for (int i = 0; i < needHash.size(); i++) {
+            needHash.get(i).passwordHash = hashes.get(i);
+        }
+
+        // 4. Batched insert; fall back to row-by-row if a concurrent insert hits the unique key
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (ImportRow row : toInsert) {
+                    entityManager.persist(row.toUser());
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+            for (ImportRow row : toInsert) {
+                results.add(new RowResult(row.number, row.email, Status.CREATED, null));
+            }
+        } catch (DataIntegrityViolationException | PersistenceException e) {
+            for (ImportRow row : toInsert) {
+                results.add(insertSingle(row));
+            }
+        }
+    }
+
+    // Only a unique-key violation means the user exists; anything else fails the row with its own reason
+    private RowResult insertSingle(ImportRow row) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> entityManager.persist(row.toUser()));
+            return new RowResult(row.number, row.email, Status.CREATED, null);
+        } catch (DataIntegrityViolationException e) {
+            return new RowResult(row.number, row.email, Status.SKIPPED, "User already exists");
+        } catch (RuntimeException e) {
+            log.warn("User import row {} failed", row.number, e);
+            return new RowResult(row.number, row.email, Status.FAILED, "Insert failed: " + reasonOf(e));
+        }
+    }
+
+    private static String reasonOf(Throwable error) {
+        Throwable root = error;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage() != null ? root.getMessage() : root.getClass().getSimpleName();
+    }
+
+    private static boolean isBcryptHash(String password) {
+        return password.length() == 60
+                && (password.startsWith("$2a$") || password.startsWith("$2b$") || password.startsWith("$2y$"));
+    }
+
+    private static final class ImportRow {
+        final int number;
+        final String name;
+        final String email;
+        final String password;
+        final String role;
+        String passwordHash;
+
+        ImportRow(int number, String name, String email, String password, String role) {
+            this.number = number;
+            this.email = User.normalizeEmail(email);
+            this.name = name != null && !name.isBlank() ? name.trim()
+                    : this.email != null && this.email.contains("@") ? this.email.substring(0, this.email.indexOf('@')) : null;
+            this.password = password;
+            this.role = role;
+        }
+
+        String validate() {
+            if (email == null || email.isEmpty() || !email.contains("@")) {
+                return "Invalid email";
+            }
+            if (password == null || password.isEmpty()) {
+                return "Password is required";
+            }
+            // The endpoint is open, so an upload must not be able to create staff or admin accounts
+            if (role != null && !role.isBlank() && !Role.STUDENT.name().equalsIgnoreCase(role.trim())) {
+                return "Role cannot be set by import: " + role.trim();
+            }
+            return null;
+        }
+
+        User toUser() {
+            return new User(email, passwordHash, name, Role.STUDENT);
+        }
+    }
+
+    private interface RowSource extends AutoCloseable {
+        ImportRow next() throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    // name,email,password[,role] with an optional header line; no quoted commas. Role may only be STUDENT
+    private static final class CsvRowSource implements RowSource {
+        private final BufferedReader reader;
+        private int lineNumber;
+        private int nameCol = 0, emailCol = 1, passwordCol = 2, roleCol = 3;
+
+        CsvRowSource(InputStream input) {
+            this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public ImportRow next() throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                String[] cols = line.split(",", -1);
+                if (lineNumber == 1 && line.toLowerCase(Locale.ROOT).contains("email")) {
+                    readHeader(cols);
+                    continue;
+                }
+                return new ImportRow(lineNumber, col(cols, nameCol), col(cols, emailCol),
+                        col(cols, passwordCol), col(cols, roleCol));
+            }
+            return null;
+        }
+
+        private void readHeader(String[] cols) {
+            nameCol = emailCol = passwordCol = roleCol = -1;
+            for (int i = 0; i < cols.length; i++) {
+                switch (cols[i].trim().toLowerCase(Locale.ROOT)) {
+                    case "name" -> nameCol = i;
+                    case "email" -> emailCol = i;
+                    case "password" -> passwordCol = i;
+                    case "role" -> roleCol = i;
+                    default -> { }
+                }
+            }
+        }
+
+        private static String col(String[] cols, int index) {
+            return index >= 0 && index < cols.length ? cols[index].trim() : null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    // [{"name": ..., "email": ..., "password": ..., "role": ...}, ...] read one element at a time
+    private final class JsonRowSource implements RowSource {
+        private final JsonParser parser;
+        private int index;
+
+        JsonRowSource(InputStream input) throws IOException {
+            this.parser = objectMapper.getFactory().createParser(input);
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Expected a JSON array of users");
+            }
+        }
+
+        @Override
+        public ImportRow next() throws IOException {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            JsonNode node = parser.readValueAsTree();
+            index++;
+            return new ImportRow(index, text(node, "name"), text(node, "email"),
+                    text(node, "password"), text(node, "role"));
+        }
+
+        private static String text(JsonNode node, String field) {
+            JsonNode value = node.get(field);
+            return value != null && !value.isNull() ? value.asText() : null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            parser.close();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.hexaware.cms.service;
+
+import com.hexaware.cms.model.User;
+import com.hexaware.cms.model.UserPrincipal;
+import com.hexaware.cms.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Read-through near cache of {@link UserPrincipal} by email in front of {@link UserRepository}.
+ * Misses load through a projection query; unknown emails are not cached so a fresh
+ * registration is visible immediately. Writes to User evict via UserCacheInvalidationListener.
+ * <p>
+ * A load can race an invalidation: the reader fetches the old row, the writer commits and
+ * evicts, then the reader caches what it fetched. Every invalidation therefore bumps a
+ * generation for the key's stripe first, and a load is only cached if its stripe's generation
+ * is unchanged when the entry is installed.
+ */
+@Component
+public class UserPrincipalCache {
+
+    private static final int GENERATION_STRIPES = 64; // power of two
+
+    private final UserRepository userRepository;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final int maxSize;
+    private final long ttlMillis;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder staleLoadsDiscarded = new LongAdder();
+    private final LongAdder totalLoadNanos = new LongAdder();
+    private final AtomicLong maxLoadNanos = new AtomicLong();
+
+    public UserPrincipalCache(UserRepository userRepository,
+                              @Value("${app.auth.principal-cache.max-size:10000}") int maxSize,
+                              @Value("${app.auth.principal-cache.ttl-ms:600000}") long ttlMillis) {
+        this.userRepository = userRepository;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+    }
+
+    public Optional<UserPrincipal> get(String rawEmail) {
+        if (rawEmail == null) {
+            return Optional.empty();
+        }
+        String email = User.normalizeEmail(rawEmail);
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(email);
+        if (entry != null) {
+            if (entry.expiresAt > now) {
+                hits.increment();
+                return Optional.of(entry.principal);
+            }
+            entries.remove(email, entry);
+            evictions.increment();
+        }
+        misses.increment();
+
+        // ✅ Read the generation before the query so an invalidation during the load is detected
+        int stripe = stripeOf(email);
+        long generation = generations.get(stripe);
+        long start = System.nanoTime();
+        Optional<UserPrincipal> loaded = userRepository.findPrincipalByEmail(email);
+        long elapsed = System.nanoTime() - start;
+        totalLoadNanos.add(elapsed);
+        maxLoadNanos.accumulateAndGet(elapsed, Math::max);
+
+        loaded.ifPresent(principal -> {
+            if (entries.size() >= maxSize) {
+                evict(now);
+            }
+            // Checked under the bin lock: an invalidation bumps first and removes after, so it
+            // either makes this check fail or removes the entry installed here
+            entries.compute(email, (key, current) -> {
+                if (generations.get(stripe) != generation) {
+                    staleLoadsDiscarded.increment();
+                    return current;
+                }
+                return new Entry(principal, now + ttlMillis);
+            });
+        });
+        return loaded;
+    }
+
+    public void invalidate(String rawEmail) {
+        if (rawEmail == null) {
+            return;
+        }
+        String email = User.normalizeEmail(rawEmail);
+        generations.incrementAndGet(stripeOf(email));
+        if (entries.remove(email) != null) {
+            evictions.increment();
+        }
+    }
+
+    public void invalidateAll() {
+        for (int i = 0; i < GENERATION_STRIPES; i++) {
+            generations.incrementAndGet(i);
+        }
+        entries.clear();
+    }
+
+    private static int stripeOf(String email) {
+        int h = email.hashCode();
+        return (h ^ (h >>> 16)) & (GENERATION_STRIPES - 1);
+    }
+
+    // Drop expired entries first; if still full, shed ~10% in iteration order
+    private void evict(long now) {
+        entries.values().removeIf(entry -> entry.expiresAt <= now);
+        int toShed = entries.size() - maxSize + Math.max(1, maxSize / 10);
+        Iterator<Entry> it = entries.values().iterator();
+        while (toShed-- > 0 && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions.increment();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        long h = hits.sum();
+        long m = misses.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", entries.size());
+        stats.put("maxSize", maxSize);
+        stats.put("hits", h);
+        stats.put("misses", m);
+        stats.put("evictions", evictions.sum());
+        stats.put("staleLoadsDiscarded", staleLoadsDiscarded.sum());
+        stats.put("hitRate", h + m == 0 ? 0.0 : (double) h / (h + m));
+        stats.put("avgLoadMillis", m == 0 ? 0.0 : totalLoadNanos.sum() / (double) m / 1_000_000);
+        stats.put("maxLoadMillis", maxLoadNanos.get() / 1_000_000.0);
+        return stats;
+    }
+
+    private record Entry(UserPrincipal principal, long expiresAt) {}
+}
@@ -0,0 +1,86 @@
+package com.hexaware.cms.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over strings, safe for concurrent add and mightContain without
+ * locks: bits are only ever set, with a CAS per word. The k probe positions come from two
+ * 64-bit hashes of the string (h1 + i * h2), so a lookup is one pass over the characters
+ * plus k word reads. No false negatives; the false-positive rate stays near the one it was
+ * sized for as long as no more than expectedInsertions strings are added.
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int hashes;
+
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Invalid Bloom filter: " + expectedInsertions + " @ " + falsePositiveRate);
+        }
+        double ln2 = Math.log(2);
+        long m = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (m + 63) >>> 6));
+        this.words = new AtomicLongArray(words);
+        this.bits = (long) words << 6;
+        this.hashes = Math.max(1, (int) Math.round((double) bits / expectedInsertions * ln2));
+    }
+
+    public void add(CharSequence value) {
+        long h1 = hash(value);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bits);
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long word = words.get(index);
+            while ((word & mask) == 0 && !words.compareAndSet(index, word, word | mask)) {
+                word = words.get(index);
+            }
+        }
+    }
+
+    public boolean mightContain(CharSequence value) {
+        long h1 = hash(value);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bits);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long bitCount() {
+        return bits;
+    }
+
+    public int hashCount() {
+        return hashes;
+    }
+
+    public long sizeInBytes() {
+        return bits >>> 3;
+    }
+
+    // FNV-1a over the UTF-16 chars, then a 64-bit finalizer so every output bit depends on every input bit
+    private static long hash(CharSequence value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,174 @@
+package com.hexaware.cms.util;
+
+import com.hexaware.cms.model.User;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Set of email addresses kept as 64-bit hashes of the normalized address
+ * ({@link User#normalizeEmail}) in a linear-probing long[] table: one 8-byte slot per address
+ * at most 75% full, instead of a String, its byte[] and a map node per entry in a HashSet<String>.
+ * Two addresses share a hash with probability ~n/2^64, so contains() may (in practice never)
+ * report a free address as taken, and never the reverse; callers that must be exact confirm
+ * a hit elsewhere. Removal shifts the following run back instead of leaving tombstones, so
+ * lookups do not slow down as users come and go. Reads are optimistic and only take the
+ * read lock when a write raced them.
+ */
+public class EmailHashSet {
+
+    private static final long EMPTY = 0L;
+    private static final double MAX_LOAD = 0.75;
+
+    private final StampedLock lock = new StampedLock();
+    private long[] table;
+    private int size;
+
+    public EmailHashSet(int expectedSize) {
+        this.table = new long[capacityFor(expectedSize)];
+    }
+
+    public boolean contains(String email) {
+        long key = keyOf(email);
+        long stamp = lock.tryOptimisticRead();
+        boolean found = indexOf(table, key) >= 0;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                found = indexOf(table, key) >= 0;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return found;
+    }
+
+    public boolean add(String email) {
+        long key = keyOf(email);
+        long stamp = lock.writeLock();
+        try {
+            if (indexOf(table, key) >= 0) {
+                return false;
+            }
+            if (size + 1 > table.length * MAX_LOAD) {
+                resize(table.length * 2);
+            }
+            insert(table, key);
+            size++;
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public boolean remove(String email) {
+        long key = keyOf(email);
+        long stamp = lock.writeLock();
+        try {
+            long[] t = table;
+            int hole = indexOf(t, key);
+            if (hole < 0) {
+                return false;
+            }
+            // Backward-shift: move later entries of the run into the hole unless that would put them before their home slot
+            int mask = t.length - 1;
+            int next = hole;
+            while (true) {
+                next = (next + 1) & mask;
+                long moved = t[next];
+                if (moved == EMPTY) {
+                    break;
+                }
+                int home = slotOf(moved, mask);
+                boolean stays = hole <= next ? (hole < home && home <= next) : (hole < home || home <= next);
+                if (!stays) {
+                    t[hole] = moved;
+                    hole = next;
+                }
+            }
+            t[hole] = EMPTY;
+            size--;
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public long sizeInBytes() {
+        long stamp = lock.readLock();
+        try {
+            return 16L + (long) table.length * Long.BYTES; // array header + slots
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private void resize(int capacity) {
+        long[] grown = new long[capacity];
+        for (long key : table) {
+            if (key != EMPTY) {
+                insert(grown, key);
+            }
+        }
+        table = grown;
+    }
+
+    // Bounded so a torn optimistic read can never spin; validate() discards its answer anyway
+    private static int indexOf(long[] t, long key) {
+        int mask = t.length - 1;
+        int slot = slotOf(key, mask);
+        for (int probes = 0; probes < t.length; probes++) {
+            long current = t[slot];
+            if (current == key) {
+                return slot;
+            }
+            if (current == EMPTY) {
+                return -1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private static void insert(long[] t, long key) {
+        int mask = t.length - 1;
+        int slot = slotOf(key, mask);
+        while (t[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        t[slot] = key;
+    }
+
+    private static int slotOf(long key, int mask) {
+        return (int) key & mask;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int needed = (int) Math.ceil(Math.max(expectedSize, 16) / MAX_LOAD);
+        return Integer.highestOneBit(needed - 1) << 1;
+    }
+
+    // FNV-1a over the normalized address, then a 64-bit finalizer; 0 marks an empty slot
+    private static long keyOf(String email) {
+        String normalized = User.normalizeEmail(email);
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < normalized.length(); i++) {
+            h ^= normalized.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h != EMPTY ? h : 1L;
+    }
+}
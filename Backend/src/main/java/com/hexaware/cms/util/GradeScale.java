@@ -0,0 +1,44 @@
+package com.hexaware.cms.util;
+
+// ✅ Percentage -> letter grade -> 4.0-scale grade points
+public final class GradeScale {
+
+    private static final double[] MIN_PERCENT = {90, 80, 70, 60, 50, 40, 0};
+    private static final String[] GRADES = {"A+", "A", "B+", "B", "C", "D", "F"};
+    private static final double[] POINTS = {4.0, 3.7, 3.3, 3.0, 2.0, 1.0, 0.0};
+
+    private GradeScale() {}
+
+    public static int gradeIndex(double percentage) {
+        for (int i = 0; i < MIN_PERCENT.length - 1; i++) {
+            if (percentage >= MIN_PERCENT[i]) {
+                return i;
+            }
+        }
+        return MIN_PERCENT.length - 1;
+    }
+
+    public static String grade(double percentage) {
+        return GRADES[gradeIndex(percentage)];
+    }
+
+    public static String gradeOf(int index) {
+        return GRADES[index];
+    }
+
+    public static double points(double percentage) {
+        return POINTS[gradeIndex(percentage)];
+    }
+
+    public static double pointsOf(int index) {
+        return POINTS[index];
+    }
+
+    public static double percentage(int marks, int maxMarks) {
+        return maxMarks <= 0 ? 0.0 : marks * 100.0 / maxMarks;
+    }
+
+    public static double round2(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
@@ -0,0 +1,210 @@
+package com.hexaware.cms.util;
+
+/**
+ * Half-open integer intervals [start, end) tagged with a long id, kept in an AVL tree
+ * ordered by (start, end, id) where every node also carries the largest end in its subtree.
+ * Insert and remove are O(log n); an overlap query is O(log n + k) because subtrees whose
+ * max end is at or before the query start, or whose starts are at or past its end, are skipped.
+ * Not thread-safe.
+ */
+public class IntervalTree {
+
+    @FunctionalInterface
+    public interface Visitor {
+        void visit(int start, int end, long id);
+    }
+
+    private static final class Node {
+        final int start;
+        final int end;
+        final long id;
+        int maxEnd;
+        int height = 1;
+        Node left;
+        Node right;
+
+        Node(int start, int end, long id) {
+            this.start = start;
+            this.end = end;
+            this.id = id;
+            this.maxEnd = end;
+        }
+    }
+
+    private Node root;
+    private int size;
+
+    public void insert(int start, int end, long id) {
+        if (end <= start) {
+            throw new IllegalArgumentException("Empty interval [" + start + ", " + end + ")");
+        }
+        root = insert(root, start, end, id);
+    }
+
+    public boolean remove(int start, int end, long id) {
+        int before = size;
+        root = remove(root, start, end, id);
+        return size < before;
+    }
+
+    public boolean overlapsAny(int start, int end, long excludeId) {
+        return firstOverlap(root, start, end, excludeId) != null;
+    }
+
+    // ✅ Visits every stored interval overlapping [start, end), in start order
+    public void forEachOverlap(int start, int end, Visitor visitor) {
+        collect(root, start, end, visitor);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private static Node firstOverlap(Node node, int start, int end, long excludeId) {
+        while (node != null) {
+            if (node.maxEnd <= start) {
+                return null;
+            }
+            if (node.left != null && node.left.maxEnd > start) {
+                Node found = firstOverlap(node.left, start, end, excludeId);
+                if (found != null) {
+                    return found;
+                }
+            }
+            if (node.start >= end) {
+                return null;
+            }
+            if (node.end > start && node.id != excludeId) {
+                return node;
+            }
+            node = node.right;
+        }
+        return null;
+    }
+
+    private static void collect(Node node, int start, int end, Visitor visitor) {
+        if (node == null || node.maxEnd <= start) {
+            return;
+        }
+        collect(node.left, start, end, visitor);
+        if (node.start >= end) {
+            return;
+        }
+        if (node.end > start) {
+            visitor.visit(node.start, node.end, node.id);
+        }
+        collect(node.right, start, end, visitor);
+    }
+
+    private Node insert(Node node, int start, int end, long id) {
+        if (node == null) {
+            size++;
+            return new Node(start, end, id);
+        }
+        int cmp = compare(start, end, id, node);
+        if (cmp < 0) {
+            node.left = insert(node.left, start, end, id);
+        } else if (cmp > 0) {
+            node.right = insert(node.right, start, end, id);
+        } else {
+            return node; // already present
+        }
+        return balance(node);
+    }
+
+    private Node remove(Node node, int start, int end, long id) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(start, end, id, node);
+        if (cmp < 0) {
+            node.left = remove(node.left, start, end, id);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, start, end, id);
+        } else {
+            size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            Node replacement = new Node(successor.start, successor.end, successor.id);
+            size++; // the successor's own removal below counts once
+            replacement.right = remove(node.right, successor.start, successor.end, successor.id);
+            replacement.left = node.left;
+            return balance(replacement);
+        }
+        return balance(node);
+    }
+
+    private static int compare(int start, int end, long id, Node node) {
+        if (start != node.start) {
+            return Integer.compare(start, node.start);
+        }
+        if (end != node.end) {
+            return Integer.compare(end, node.end);
+        }
+        return Long.compare(id, node.id);
+    }
+
+    private static Node balance(Node node) {
+        update(node);
+        int skew = height(node.left) - height(node.right);
+        if (skew > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (skew < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        int maxEnd = node.end;
+        if (node.left != null) {
+            maxEnd = Math.max(maxEnd, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            maxEnd = Math.max(maxEnd, node.right.maxEnd);
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+}
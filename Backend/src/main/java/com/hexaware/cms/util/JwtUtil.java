@@ -1,5 +1,6 @@
 package com.hexaware.cms.util;
 
+import com.hexaware.cms.metrics.LogLinearHistogram;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -7,23 +8,33 @@ import org.springframework.stereotype.Component;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
 
 @Component
 public class JwtUtil {
 
     private final Key key;
     private final long expirationMillis;
+    private final JwtParser parser; // ✅ Built once, thread-safe
+    private final VerifiedTokenCache tokenCache;
+    private final LogLinearHistogram verifyNanos = new LogLinearHistogram();
 
     public JwtUtil(@Value("${app.jwt.secret}") String secret,
-                   @Value("${app.jwt.expiration-ms:604800000}") long expMs) {
+                   @Value("${app.jwt.expiration-ms:604800000}") long expMs,
+                   @Value("${app.jwt.cache.max-size:10000}") int cacheMaxSize,
+                   @Value("${app.jwt.cache.ttl-ms:300000}") long cacheTtlMs) {
         this.key = Keys.hmacShaKeyFor(secret.getBytes());
         this.expirationMillis = expMs;
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.tokenCache = new VerifiedTokenCache(cacheMaxSize, cacheTtlMs);
     }
 
-    // ✅ Generate token
+    // ✅ Generate token (the jti is what logout revokes)
     public String generateToken(String subject) {
         long now = System.currentTimeMillis();
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(subject)
                 .setIssuedAt(new Date(now))
                 .setExpiration(new Date(now + expirationMillis))
@@ -31,38 +42,64 @@ public class JwtUtil {
                 .compact();
     }
 
-    // ✅ Extract username from token
-    public String getSubject(String token) {
+    // ✅ Parse and verify once; returns null for invalid or expired tokens
+    public VerifiedToken verify(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        long start = System.nanoTime();
+        try {
+            return verifyUncounted(token);
+        } finally {
+            verifyNanos.record(System.nanoTime() - start);
+        }
+    }
+
+    private VerifiedToken verifyUncounted(String token) {
+        long now = System.currentTimeMillis();
+        VerifiedTokenCache.TokenKey cacheKey = null;
+        if (tokenCache.isEnabled()) {
+            cacheKey = VerifiedTokenCache.keyOf(token);
+            VerifiedToken cached = tokenCache.get(cacheKey, now);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        VerifiedToken verified;
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody()
-                    .getSubject();
-        } catch (JwtException e) {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            verified = new VerifiedToken(claims.getSubject(), claims.getExpiration(), claims);
+        } catch (JwtException | IllegalArgumentException e) {
             return null;
         }
+        if (verified.subject() == null || verified.isExpired(now)) {
+            return null;
+        }
+        if (cacheKey != null) {
+            tokenCache.put(cacheKey, verified, now);
+        }
+        return verified;
+    }
+
+    // ✅ Extract username from token
+    public String getSubject(String token) {
+        VerifiedToken verified = verify(token);
+        return verified != null ? verified.subject() : null;
     }
 
     // ✅ Validate token (simple check)
     public boolean validateToken(String token, String username) {
-        String tokenUser = getSubject(token);
-        return tokenUser != null && tokenUser.equals(username) && !isTokenExpired(token);
+        VerifiedToken verified = verify(token);
+        return verified != null && verified.subject().equals(username);
     }
 
-    // ✅ Check if expired
-    private boolean isTokenExpired(String token) {
-        try {
-            Date expiration = Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody()
-                    .getExpiration();
-            return expiration.before(new Date());
-        } catch (JwtException e) {
-            return true;
-        }
+    // Time spent in verify(), cache hits included
+    public LogLinearHistogram getVerifyLatency() {
+        return verifyNanos;
+    }
+
+    public Map<String, Object> getTokenCacheStats() {
+        return tokenCache.stats();
     }
 }
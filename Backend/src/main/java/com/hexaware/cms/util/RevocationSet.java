@@ -0,0 +1,137 @@
+package com.hexaware.cms.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Revoked token ids grouped into buckets by the token's expiry (bucketMillis wide). Once a
+ * bucket's end has passed, every token in it has expired anyway, so the whole bucket is
+ * dropped at once and nothing is kept longer than it can matter. A Bloom filter over all
+ * live ids sits in front: a token that was never revoked (almost every request) is answered
+ * after k bit reads, and only a filter hit looks in the one bucket the token's expiry maps to.
+ *
+ * Lookups take no lock. Adds share a read lock so the filter can be rebuilt (after buckets
+ * expire, or when it grows past the size it was built for) without losing a concurrent add.
+ */
+public class RevocationSet {
+
+    private final long bucketMillis;
+    private final int expectedRevocations;
+    private final double falsePositiveRate;
+    private final ConcurrentSkipListMap<Long, Set<String>> buckets = new ConcurrentSkipListMap<>();
+    private final ReentrantReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+    private final AtomicInteger size = new AtomicInteger();
+    private volatile BloomFilter filter;
+    private volatile int filterCapacity;
+
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder filterRejects = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+    private final LongAdder revokedHits = new LongAdder();
+    private final LongAdder rebuilds = new LongAdder();
+
+    public RevocationSet(long bucketMillis, int expectedRevocations, double falsePositiveRate) {
+        this.bucketMillis = bucketMillis;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedRevocations, falsePositiveRate);
+        this.filterCapacity = expectedRevocations;
+    }
+
+    // ✅ Returns false when the id was already revoked or the token has already expired
+    public boolean revoke(String tokenId, long expiresAtMillis, long nowMillis) {
+        if (tokenId == null || expiresAtMillis <= nowMillis) {
+            return false;
+        }
+        boolean added;
+        rebuildLock.readLock().lock();
+        try {
+            // Set before filter: a filter hit must always find the id in its bucket
+            added = buckets.computeIfAbsent(bucketOf(expiresAtMillis), k -> ConcurrentHashMap.newKeySet()).add(tokenId);
+            filter.add(tokenId);
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+        if (added && size.incrementAndGet() > filterCapacity) {
+            rebuild();
+        }
+        return added;
+    }
+
+    public boolean isRevoked(String tokenId, long expiresAtMillis) {
+        lookups.increment();
+        if (tokenId == null || !filter.mightContain(tokenId)) {
+            filterRejects.increment();
+            return false;
+        }
+        Set<String> bucket = buckets.get(bucketOf(expiresAtMillis));
+        if (bucket != null && bucket.contains(tokenId)) {
+            revokedHits.increment();
+            return true;
+        }
+        falsePositives.increment();
+        return false;
+    }
+
+    // Drops every bucket whose tokens have all expired; returns how many ids were removed
+    public int expire(long nowMillis) {
+        int removed = 0;
+        Iterator<Map.Entry<Long, Set<String>>> it = buckets.headMap(nowMillis, true).entrySet().iterator();
+        while (it.hasNext()) {
+            removed += it.next().getValue().size();
+            it.remove();
+        }
+        if (removed > 0) {
+            size.addAndGet(-removed);
+            rebuild();
+        }
+        return removed;
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public Map<String, Object> stats() {
+        BloomFilter current = filter;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("revoked", size.get());
+        stats.put("buckets", buckets.size());
+        stats.put("filterBytes", current.sizeInBytes());
+        stats.put("filterHashes", current.hashCount());
+        stats.put("lookups", lookups.sum());
+        stats.put("filterRejects", filterRejects.sum());
+        stats.put("falsePositives", falsePositives.sum());
+        stats.put("revokedHits", revokedHits.sum());
+        stats.put("rebuilds", rebuilds.sum());
+        return stats;
+    }
+
+    // Bucket key = end of the bucket the expiry falls in; the bucket is dead once that time has passed
+    private long bucketOf(long expiresAtMillis) {
+        return (Math.floorDiv(expiresAtMillis, bucketMillis) + 1) * bucketMillis;
+    }
+
+    private void rebuild() {
+        rebuildLock.writeLock().lock();
+        try {
+            int capacity = Math.max(expectedRevocations, size.get() * 2);
+            BloomFilter fresh = new BloomFilter(capacity, falsePositiveRate);
+            for (Set<String> bucket : buckets.values()) {
+                bucket.forEach(fresh::add);
+            }
+            filter = fresh;
+            filterCapacity = capacity;
+            rebuilds.increment();
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+}
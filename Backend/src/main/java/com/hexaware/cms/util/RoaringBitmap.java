@@ -0,0 +1,862 @@
+package com.hexaware.cms.util;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Compressed set of non-negative ints in the Roaring layout: values are split on their high
+ * 16 bits into chunks of 65,536, and each chunk is stored in whichever container is smallest
+ * for its contents -- a sorted char array (up to 4,096 values), a 1,024-word bitset, or a
+ * list of runs. Cardinalities are kept per container, so counting is O(containers), and
+ * AND / OR / AND-NOT work a chunk at a time on arrays or whole 64-bit words.
+ *
+ * <p>Serialised form (big-endian): container count, then per container its key, a type byte
+ * and the payload (array values, 1,024 words, or run start/length pairs). Not thread-safe.
+ */
+public final class RoaringBitmap {
+
+    private static final int ARRAY_MAX = 4096;
+    private static final int WORDS = 1024;
+    private static final byte TYPE_ARRAY = 0;
+    private static final byte TYPE_BITMAP = 1;
+    private static final byte TYPE_RUN = 2;
+
+    private char[] keys = new char[4];
+    private Container[] containers = new Container[4];
+    private int size;
+
+    public static RoaringBitmap of(int... values) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        for (int value : values) {
+            bitmap.add(value);
+        }
+        return bitmap;
+    }
+
+    // [from, to)
+    public static RoaringBitmap range(int from, int to) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        bitmap.addRange(from, to);
+        return bitmap;
+    }
+
+    public void add(int value) {
+        checkValue(value);
+        char key = (char) (value >>> 16);
+        int i = find(key);
+        if (i >= 0) {
+            containers[i] = containers[i].add((char) value);
+        } else {
+            insertAt(-i - 1, key, new ArrayContainer().add((char) value));
+        }
+    }
+
+    public void addRange(int from, int to) {
+        checkValue(from);
+        for (int start = from; start < to; ) {
+            int chunkEnd = Math.min(to, ((start >>> 16) + 1) << 16);
+            char key = (char) (start >>> 16);
+            long[] words = new long[WORDS];
+            setRange(words, start & 0xFFFF, chunkEnd - start + (start & 0xFFFF));
+            Container added = Container.fromWords(words);
+            int i = find(key);
+            if (i >= 0) {
+                containers[i] = Container.or(containers[i], added);
+            } else {
+                insertAt(-i - 1, key, added);
+            }
+            start = chunkEnd;
+        }
+    }
+
+    public void remove(int value) {
+        if (value < 0) {
+            return;
+        }
+        int i = find((char) (value >>> 16));
+        if (i < 0) {
+            return;
+        }
+        Container updated = containers[i].remove((char) value);
+        if (updated == null) {
+            removeAt(i);
+        } else {
+            containers[i] = updated;
+        }
+    }
+
+    public boolean contains(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int i = find((char) (value >>> 16));
+        return i >= 0 && containers[i].contains((char) value);
+    }
+
+    public int cardinality() {
+        int total = 0;
+        for (int i = 0; i < size; i++) {
+            total += containers[i].cardinality();
+        }
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // ✅ Ascending order
+    public void forEach(IntConsumer consumer) {
+        for (int i = 0; i < size; i++) {
+            containers[i].forEach(keys[i] << 16, consumer);
+        }
+    }
+
+    public int[] toArray() {
+        int[] values = new int[cardinality()];
+        int[] at = {0};
+        forEach(v -> values[at[0]++] = v);
+        return values;
+    }
+
+    public static RoaringBitmap and(RoaringBitmap a, RoaringBitmap b) {
+        RoaringBitmap result = new RoaringBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < a.size && j < b.size) {
+            if (a.keys[i] < b.keys[j]) {
+                i++;
+            } else if (a.keys[i] > b.keys[j]) {
+                j++;
+            } else {
+                result.append(a.keys[i], Container.and(a.containers[i], b.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    // |a AND b| without building the intersection
+    public static int andCardinality(RoaringBitmap a, RoaringBitmap b) {
+        int total = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.size && j < b.size) {
+            if (a.keys[i] < b.keys[j]) {
+                i++;
+            } else if (a.keys[i] > b.keys[j]) {
+                j++;
+            } else {
+                total += Container.andCardinality(a.containers[i], b.containers[j]);
+                i++;
+                j++;
+            }
+        }
+        return total;
+    }
+
+    public static RoaringBitmap or(RoaringBitmap a, RoaringBitmap b) {
+        RoaringBitmap result = new RoaringBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < a.size || j < b.size) {
+            if (j >= b.size || (i < a.size && a.keys[i] < b.keys[j])) {
+                result.append(a.keys[i], a.containers[i].copy());
+                i++;
+            } else if (i >= a.size || b.keys[j] < a.keys[i]) {
+                result.append(b.keys[j], b.containers[j].copy());
+                j++;
+            } else {
+                result.append(a.keys[i], Container.or(a.containers[i], b.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    // a minus b
+    public static RoaringBitmap andNot(RoaringBitmap a, RoaringBitmap b) {
+        RoaringBitmap result = new RoaringBitmap();
+        int j = 0;
+        for (int i = 0; i < a.size; i++) {
+            while (j < b.size && b.keys[j] < a.keys[i]) {
+                j++;
+            }
+            if (j < b.size && b.keys[j] == a.keys[i]) {
+                result.append(a.keys[i], Container.andNot(a.containers[i], b.containers[j]));
+            } else {
+                result.append(a.keys[i], a.containers[i].copy());
+            }
+        }
+        return result;
+    }
+
+    // ✅ Re-picks the smallest container per chunk (runs for streaks); call before persisting
+    public RoaringBitmap runOptimize() {
+        for (int i = 0; i < size; i++) {
+            containers[i] = containers[i].optimize();
+        }
+        return this;
+    }
+
+    public int serializedSizeInBytes() {
+        int bytes = 4;
+        for (int i = 0; i < size; i++) {
+            bytes += 3 + containers[i].serializedSize();
+        }
+        return bytes;
+    }
+
+    public byte[] serialize() {
+        ByteBuffer out = ByteBuffer.allocate(serializedSizeInBytes());
+        out.putInt(size);
+        for (int i = 0; i < size; i++) {
+            out.putChar(keys[i]);
+            containers[i].write(out);
+        }
+        return out.array();
+    }
+
+    public static RoaringBitmap deserialize(byte[] bytes) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        if (bytes == null || bytes.length == 0) {
+            return bitmap;
+        }
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        int count = in.getInt();
+        if (count < 0 || count > 65_536) {
+            throw new IllegalArgumentException("Corrupt bitmap: " + count + " containers");
+        }
+        for (int i = 0; i < count; i++) {
+            char key = in.getChar();
+            byte type = in.get();
+            Container container = switch (type) {
+                case TYPE_ARRAY -> ArrayContainer.read(in);
+                case TYPE_BITMAP -> BitmapContainer.read(in);
+                case TYPE_RUN -> RunContainer.read(in);
+                default -> throw new IllegalArgumentException("Corrupt bitmap: container type " + type);
+            };
+            if (bitmap.size > 0 && key <= bitmap.keys[bitmap.size - 1]) {
+                throw new IllegalArgumentException("Corrupt bitmap: keys out of order");
+            }
+            bitmap.append(key, container);
+        }
+        return bitmap;
+    }
+
+    // Approximate heap footprint, for comparisons
+    public long sizeInBytes() {
+        long bytes = 16 + 16 + keys.length * 2L + 16 + containers.length * 4L;
+        for (int i = 0; i < size; i++) {
+            bytes += containers[i].heapBytes();
+        }
+        return bytes;
+    }
+
+    public RoaringBitmap copy() {
+        RoaringBitmap copy = new RoaringBitmap();
+        for (int i = 0; i < size; i++) {
+            copy.append(keys[i], containers[i].copy());
+        }
+        return copy;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof RoaringBitmap other) || other.size != size) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (keys[i] != other.keys[i] || !Arrays.equals(containers[i].words(), other.containers[i].words())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = size;
+        for (int i = 0; i < size; i++) {
+            hash = 31 * hash + keys[i];
+            hash = 31 * hash + containers[i].cardinality();
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "RoaringBitmap{cardinality=" + cardinality() + ", containers=" + size + "}";
+    }
+
+    private int find(char key) {
+        return Arrays.binarySearch(keys, 0, size, key);
+    }
+
+    private void append(char key, Container container) {
+        if (container != null) {
+            insertAt(size, key, container);
+        }
+    }
+
+    private void insertAt(int i, char key, Container container) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+        System.arraycopy(keys, i, keys, i + 1, size - i);
+        System.arraycopy(containers, i, containers, i + 1, size - i);
+        keys[i] = key;
+        containers[i] = container;
+        size++;
+    }
+
+    private void removeAt(int i) {
+        System.arraycopy(keys, i + 1, keys, i, size - i - 1);
+        System.arraycopy(containers, i + 1, containers, i, size - i - 1);
+        containers[--size] = null;
+    }
+
+    private static void checkValue(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative value " + value);
+        }
+    }
+
+    // Sets bits [from, to) within one chunk
+    private static void setRange(long[] words, int from, int to) {
+        for (int bit = from; bit < to; ) {
+            int word = bit >>> 6;
+            int end = Math.min(to, (word + 1) << 6);
+            long mask = (end - bit == 64) ? -1L : ((1L << (end - bit)) - 1) << (bit & 63);
+            words[word] |= mask;
+            bit = end;
+        }
+    }
+
+    private abstract static class Container {
+
+        abstract Container add(char value);
+
+        // null once empty
+        abstract Container remove(char value);
+
+        abstract boolean contains(char value);
+
+        abstract int cardinality();
+
+        abstract void forEach(int high, IntConsumer consumer);
+
+        // A fresh bitset copy of the contents
+        abstract long[] words();
+
+        abstract int serializedSize();
+
+        abstract void write(ByteBuffer out);
+
+        abstract long heapBytes();
+
+        abstract Container copy();
+
+        Container optimize() {
+            long[] words = words();
+            int card = cardinality();
+            int runs = countRuns(words);
+            int arrayBytes = 2 + 2 * card;
+            int bitmapBytes = WORDS * 8;
+            int runBytes = 2 + 4 * runs;
+            if (runBytes < arrayBytes && runBytes < bitmapBytes) {
+                return this instanceof RunContainer ? this : RunContainer.fromWords(words, runs);
+            }
+            if (card <= ARRAY_MAX) {
+                return this instanceof ArrayContainer ? this : ArrayContainer.fromWords(words, card);
+            }
+            return this instanceof BitmapContainer ? this : new BitmapContainer(words, card);
+        }
+
+        static Container fromWords(long[] words) {
+            int card = 0;
+            for (long word : words) {
+                card += Long.bitCount(word);
+            }
+            if (card == 0) {
+                return null;
+            }
+            return card <= ARRAY_MAX ? ArrayContainer.fromWords(words, card) : new BitmapContainer(words, card);
+        }
+
+        static Container and(Container a, Container b) {
+            if (a instanceof ArrayContainer array) {
+                return array.filter(b, true);
+            }
+            if (b instanceof ArrayContainer array) {
+                return array.filter(a, true);
+            }
+            long[] words = a.words();
+            long[] other = b instanceof BitmapContainer bitmap ? bitmap.words : b.words();
+            for (int i = 0; i < WORDS; i++) {
+                words[i] &= other[i];
+            }
+            return fromWords(words);
+        }
+
+        static int andCardinality(Container a, Container b) {
+            if (a instanceof ArrayContainer array) {
+                return array.countIn(b);
+            }
+            if (b instanceof ArrayContainer array) {
+                return array.countIn(a);
+            }
+            long[] x = a instanceof BitmapContainer bitmap ? bitmap.words : a.words();
+            long[] y = b instanceof BitmapContainer bitmap ? bitmap.words : b.words();
+            int card = 0;
+            for (int i = 0; i < WORDS; i++) {
+                card += Long.bitCount(x[i] & y[i]);
+            }
+            return card;
+        }
+
+        static Container or(Container a, Container b) {
+            if (a instanceof ArrayContainer x && b instanceof ArrayContainer y
+                    && x.cardinality + y.cardinality <= ARRAY_MAX) {
+                return x.merge(y);
+            }
+            long[] words = a.words();
+            if (b instanceof ArrayContainer array) {
+                for (int i = 0; i < array.cardinality; i++) {
+                    words[array.values[i] >>> 6] |= 1L << array.values[i];
+                }
+            } else {
+                long[] other = b instanceof BitmapContainer bitmap ? bitmap.words : b.words();
+                for (int i = 0; i < WORDS; i++) {
+                    words[i] |= other[i];
+                }
+            }
+            return fromWords(words);
+        }
+
+        static Container andNot(Container a, Container b) {
+            if (a instanceof ArrayContainer array) {
+                return array.filter(b, false);
+            }
+            long[] words = a.words();
+            if (b instanceof ArrayContainer array) {
+                for (int i = 0; i < array.cardinality; i++) {
+                    words[array.values[i] >>> 6] &= ~(1L << array.values[i]);
+                }
+            } else {
+                long[] other = b instanceof BitmapContainer bitmap ? bitmap.words : b.words();
+                for (int i = 0; i < WORDS; i++) {
+                    words[i] &= ~other[i];
+                }
+            }
+            return fromWords(words);
+        }
+
+        // A run starts at every set bit whose lower neighbour is clear
+        static int countRuns(long[] words) {
+            int runs = 0;
+            long carry = 0;
+            for (long word : words) {
+                runs += Long.bitCount(word & ~((word << 1) | carry));
+                carry = word >>> 63;
+            }
+            return runs;
+        }
+    }
+
+    private static final class ArrayContainer extends Container {
+        char[] values;
+        int cardinality;
+
+        ArrayContainer() {
+            this(new char[4], 0);
+        }
+
+        ArrayContainer(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        static ArrayContainer fromWords(long[] words, int card) {
+            char[] values = new char[card];
+            int n = 0;
+            for (int i = 0; i < WORDS; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    values[n++] = (char) ((i << 6) + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return new ArrayContainer(values, n);
+        }
+
+        static ArrayContainer read(ByteBuffer in) {
+            int card = in.getChar() + 1;
+            char[] values = new char[card];
+            for (int i = 0; i < card; i++) {
+                values[i] = in.getChar();
+            }
+            return new ArrayContainer(values, card);
+        }
+
+        @Override
+        Container add(char value) {
+            int i = Arrays.binarySearch(values, 0, cardinality, value);
+            if (i >= 0) {
+                return this;
+            }
+            if (cardinality == ARRAY_MAX) {
+                long[] words = words();
+                words[value >>> 6] |= 1L << value;
+                return new BitmapContainer(words, cardinality + 1);
+            }
+            int at = -i - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX, Math.max(8, cardinality * 2)));
+            }
+            System.arraycopy(values, at, values, at + 1, cardinality - at);
+            values[at] = value;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            int i = Arrays.binarySearch(values, 0, cardinality, value);
+            if (i < 0) {
+                return this;
+            }
+            System.arraycopy(values, i + 1, values, i, cardinality - i - 1);
+            cardinality--;
+            return cardinality == 0 ? null : this;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        void forEach(int high, IntConsumer consumer) {
+            for (int i = 0; i < cardinality; i++) {
+                consumer.accept(high | values[i]);
+            }
+        }
+
+        @Override
+        long[] words() {
+            long[] words = new long[WORDS];
+            for (int i = 0; i < cardinality; i++) {
+                words[values[i] >>> 6] |= 1L << values[i];
+            }
+            return words;
+        }
+
+        // keep = true: values also in other (AND); false: values not in other (AND-NOT)
+        Container filter(Container other, boolean keep) {
+            char[] kept = new char[cardinality];
+            int n = 0;
+            for (int i = 0; i < cardinality; i++) {
+                if (other.contains(values[i]) == keep) {
+                    kept[n++] = values[i];
+                }
+            }
+            return n == 0 ? null : new ArrayContainer(kept, n);
+        }
+
+        int countIn(Container other) {
+            int n = 0;
+            for (int i = 0; i < cardinality; i++) {
+                if (other.contains(values[i])) {
+                    n++;
+                }
+            }
+            return n;
+        }
+
+        ArrayContainer merge(ArrayContainer other) {
+            char[] merged = new char[cardinality + other.cardinality];
+            int i = 0;
+            int j = 0;
+            int n = 0;
+            while (i < cardinality || j < other.cardinality) {
+                if (j >= other.cardinality || (i < cardinality && values[i] < other.values[j])) {
+                    merged[n++] = values[i++];
+                } else if (i >= cardinality || other.values[j] < values[i]) {
+                    merged[n++] = other.values[j++];
+                } else {
+                    merged[n++] = values[i++];
+                    j++;
+                }
+            }
+            return new ArrayContainer(merged, n);
+        }
+
+        @Override
+        int serializedSize() {
+            return 2 + 2 * cardinality;
+        }
+
+        @Override
+        void write(ByteBuffer out) {
+            out.put(TYPE_ARRAY);
+            out.putChar((char) (cardinality - 1));
+            for (int i = 0; i < cardinality; i++) {
+                out.putChar(values[i]);
+            }
+        }
+
+        @Override
+        long heapBytes() {
+            return 24 + 16 + values.length * 2L;
+        }
+
+        @Override
+        Container copy() {
+            return new ArrayContainer(Arrays.copyOf(values, cardinality), cardinality);
+        }
+    }
+
+    private static final class BitmapContainer extends Container {
+        final long[] words;
+        int cardinality;
+
+        BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        static BitmapContainer read(ByteBuffer in) {
+            long[] words = new long[WORDS];
+            int card = 0;
+            for (int i = 0; i < WORDS; i++) {
+                words[i] = in.getLong();
+                card += Long.bitCount(words[i]);
+            }
+            return new BitmapContainer(words, card);
+        }
+
+        @Override
+        Container add(char value) {
+            long bit = 1L << value;
+            if ((words[value >>> 6] & bit) == 0) {
+                words[value >>> 6] |= bit;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            long bit = 1L << value;
+            if ((words[value >>> 6] & bit) != 0) {
+                words[value >>> 6] &= ~bit;
+                cardinality--;
+                if (cardinality <= ARRAY_MAX) {
+                    return cardinality == 0 ? null : ArrayContainer.fromWords(words, cardinality);
+                }
+            }
+            return this;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        void forEach(int high, IntConsumer consumer) {
+            for (int i = 0; i < WORDS; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    consumer.accept(high | (i << 6) + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        @Override
+        long[] words() {
+            return words.clone();
+        }
+
+        @Override
+        int serializedSize() {
+            return WORDS * 8;
+        }
+
+        @Override
+        void write(ByteBuffer out) {
+            out.put(TYPE_BITMAP);
+            for (long word : words) {
+                out.putLong(word);
+            }
+        }
+
+        @Override
+        long heapBytes() {
+            return 24 + 16 + WORDS * 8L;
+        }
+
+        @Override
+        Container copy() {
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+    }
+
+    // Pairs of (start, length - 1); treated as read-mostly: a write converts it back
+    private static final class RunContainer extends Container {
+        final char[] runs;
+        final int cardinality;
+
+        RunContainer(char[] runs, int cardinality) {
+            this.runs = runs;
+            this.cardinality = cardinality;
+        }
+
+        static RunContainer fromWords(long[] words, int runCount) {
+            char[] runs = new char[runCount * 2];
+            int n = 0;
+            int card = 0;
+            int bit = nextSet(words, 0);
+            while (bit >= 0) {
+                int end = nextClear(words, bit);
+                runs[n++] = (char) bit;
+                runs[n++] = (char) (end - bit - 1);
+                card += end - bit;
+                bit = end < 65_536 ? nextSet(words, end) : -1;
+            }
+            return new RunContainer(runs, card);
+        }
+
+        static RunContainer read(ByteBuffer in) {
+            int count = in.getChar();
+            char[] runs = new char[count * 2];
+            int card = 0;
+            for (int i = 0; i < runs.length; i += 2) {
+                runs[i] = in.getChar();
+                runs[i + 1] = in.getChar();
+                card += runs[i + 1] + 1;
+            }
+            return new RunContainer(runs, card);
+        }
+
+        private Container mutable() {
+            return Container.fromWords(words());
+        }
+
+        @Override
+        Container add(char value) {
+            return contains(value) ? this : mutable().add(value);
+        }
+
+        @Override
+        Container remove(char value) {
+            return contains(value) ? mutable().remove(value) : this;
+        }
+
+        @Override
+        boolean contains(char value) {
+            int lo = 0;
+            int hi = runs.length / 2 - 1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                int start = runs[mid * 2];
+                if (value < start) {
+                    hi = mid - 1;
+                } else if (value > start + runs[mid * 2 + 1]) {
+                    lo = mid + 1;
+                } else {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        void forEach(int high, IntConsumer consumer) {
+            for (int i = 0; i < runs.length; i += 2) {
+                int end = runs[i] + runs[i + 1];
+                for (int v = runs[i]; v <= end; v++) {
+                    consumer.accept(high | v);
+                }
+            }
+        }
+
+        @Override
+        long[] words() {
+            long[] words = new long[WORDS];
+            for (int i = 0; i < runs.length; i += 2) {
+                setRange(words, runs[i], runs[i] + runs[i + 1] + 1);
+            }
+            return words;
+        }
+
+        @Override
+        int serializedSize() {
+            return 2 + 2 * runs.length;
+        }
+
+        @Override
+        void write(ByteBuffer out) {
+            out.put(TYPE_RUN);
+            out.putChar((char) (runs.length / 2));
+            for (char value : runs) {
+                out.putChar(value);
+            }
+        }
+
+        @Override
+        long heapBytes() {
+            return 24 + 16 + runs.length * 2L;
+        }
+
+        @Override
+        Container copy() {
+            return this; // immutable
+        }
+
+        private static int nextSet(long[] words, int from) {
+            int i = from >>> 6;
+            long word = words[i] & (-1L << from);
+            while (word == 0) {
+                if (++i == WORDS) {
+                    return -1;
+                }
+                word = words[i];
+            }
+            return (i << 6) + Long.numberOfTrailingZeros(word);
+        }
+
+        private static int nextClear(long[] words, int from) {
+            int i = from >>> 6;
+            long word = ~words[i] & (-1L << from);
+            while (word == 0) {
+                if (++i == WORDS) {
+                    return 65_536;
+                }
+                word = ~words[i];
+            }
+            return (i << 6) + Long.numberOfTrailingZeros(word);
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package com.hexaware.cms.util;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Forward-only XLSX writer: rows go straight into the deflated worksheet entry, so memory
+ * does not grow with the row count. Strings are written inline (no shared-strings table,
+ * which would have to be held in memory). The workbook parts that list the sheets are
+ * written last, which lets a report spill onto further sheets past Excel's row limit.
+ */
+public class StreamingXlsxWriter implements Closeable {
+
+    public static final String CONTENT_TYPE = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+
+    private static final int MAX_ROWS_PER_SHEET = 1_048_576;
+    private static final int MAX_SHEET_NAME = 31;
+    private static final String SHEET_NAME_FORBIDDEN = "[]:*?/\\";
+    private static final long EXCEL_EPOCH_OFFSET = 25_569; // 1970-01-01 as an Excel serial date
+    private static final int STYLE_HEADER = 1;
+    private static final int STYLE_DATE = 2;
+    private static final String MAIN_NS = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+    private static final String REL_NS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+    private final ZipOutputStream zip;
+    private final Writer xml;
+    private final String sheetName;
+    private String[] header;
+    private int sheets;
+    private int rowsInSheet;
+    private boolean inRow;
+
+    public StreamingXlsxWriter(OutputStream out, String sheetName) {
+        this.zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        this.zip.setLevel(Deflater.BEST_SPEED);
+        this.xml = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8), 1 << 16);
+        this.sheetName = sheetName;
+    }
+
+    // ✅ Bold, frozen header row; repeated at the top of every overflow sheet
+    public void header(String... titles) throws IOException {
+        this.header = titles.clone();
+        if (sheets == 0) {
+            startSheet();
+        }
+    }
+
+    public StreamingXlsxWriter startRow() throws IOException {
+        if (sheets == 0 || rowsInSheet >= MAX_ROWS_PER_SHEET) {
+            startSheet();
+        }
+        xml.write("<row>");
+        inRow = true;
+        rowsInSheet++;
+        return this;
+    }
+
+    public StreamingXlsxWriter cell(String value) throws IOException {
+        inlineString(value, 0);
+        return this;
+    }
+
+    public StreamingXlsxWriter cell(long value) throws IOException {
+        xml.write("<c><v>");
+        xml.write(Long.toString(value));
+        xml.write("</v></c>");
+        return this;
+    }
+
+    public StreamingXlsxWriter cell(LocalDate value) throws IOException {
+        if (value == null) {
+            return blank();
+        }
+        xml.write("<c s=\"" + STYLE_DATE + "\"><v>");
+        xml.write(Long.toString(value.toEpochDay() + EXCEL_EPOCH_OFFSET));
+        xml.write("</v></c>");
+        return this;
+    }
+
+    public StreamingXlsxWriter blank() throws IOException {
+        xml.write("<c/>");
+        return this;
+    }
+
+    public void endRow() throws IOException {
+        xml.write("</row>");
+        inRow = false;
+    }
+
+    // Pushes buffered rows through the deflater to the client
+    public void flush() throws IOException {
+        xml.flush();
+        zip.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (inRow) {
+            endRow();
+        }
+        if (sheets == 0) {
+            startSheet();
+        }
+        endSheet();
+        writeEntry("xl/styles.xml", styles());
+        writeEntry("xl/workbook.xml", workbook());
+        writeEntry("xl/_rels/workbook.xml.rels", workbookRels());
+        writeEntry("_rels/.rels", "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+                + "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+                + "<Relationship Id=\"rId1\" Type=\"" + REL_NS + "/officeDocument\" Target=\"xl/workbook.xml\"/>"
+                + "</Relationships>");
+        writeEntry("[Content_Types].xml", contentTypes());
+        // Finish the archive but leave the caller's stream open
+        zip.finish();
+        zip.flush();
+    }
+
+    private void inlineString(String value, int style) throws IOException {
+        if (value == null) {
+            xml.write("<c/>");
+            return;
+        }
+        xml.write(style == 0 ? "<c t=\"inlineStr\"><is><t xml:space=\"preserve\">"
+                : "<c t=\"inlineStr\" s=\"" + style + "\"><is><t xml:space=\"preserve\">");
+        escape(value);
+        xml.write("</t></is></c>");
+    }
+
+    private void startSheet() throws IOException {
+        if (sheets > 0) {
+            endSheet();
+        }
+        sheets++;
+        rowsInSheet = 0;
+        zip.putNextEntry(new ZipEntry("xl/worksheets/sheet" + sheets + ".xml"));
+        xml.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?><worksheet xmlns=\"" + MAIN_NS + "\">");
+        if (header != null) {
+            xml.write("<sheetViews><sheetView workbookViewId=\"0\"><pane ySplit=\"1\" topLeftCell=\"A2\" "
+                    + "activePane=\"bottomLeft\" state=\"frozen\"/></sheetView></sheetViews>");
+        }
+        xml.write("<sheetData>");
+        if (header != null) {
+            xml.write("<row>");
+            for (String title : header) {
+                inlineString(title, STYLE_HEADER);
+            }
+            xml.write("</row>");
+            rowsInSheet++;
+        }
+    }
+
+    private void endSheet() throws IOException {
+        xml.write("</sheetData></worksheet>");
+        xml.flush();
+        zip.closeEntry();
+    }
+
+    private void writeEntry(String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        xml.write(content);
+        xml.flush();
+        zip.closeEntry();
+    }
+
+    private void escape(String value) throws IOException {
+        escape(value, xml);
+    }
+
+    // Escapes markup and drops characters XML 1.0 cannot carry
+    private static void escape(String value, Appendable out) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&' -> out.append("&amp;");
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '"' -> out.append("&quot;");
+                default -> {
+                    if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Name of the index-th sheet (1-based) as Excel accepts it: no []:*?/\ or control
+     * characters, no leading or trailing apostrophe, at most 31 characters including the
+     * " (n)" suffix of overflow sheets. Not XML-escaped.
+     */
+    static String sheetName(String base, int index) {
+        StringBuilder name = new StringBuilder();
+        if (base != null) {
+            for (int i = 0; i < base.length(); i++) {
+                char c = base.charAt(i);
+                if (c >= 0x20 && SHEET_NAME_FORBIDDEN.indexOf(c) < 0) {
+                    name.append(c);
+                }
+            }
+        }
+        String cleaned = name.toString().strip();
+        while (cleaned.startsWith("'")) {
+            cleaned = cleaned.substring(1);
+        }
+        if (cleaned.isBlank()) {
+            cleaned = "Sheet";
+        }
+        String suffix = index == 1 ? "" : " (" + index + ")";
+        int limit = MAX_SHEET_NAME - suffix.length();
+        if (cleaned.length() > limit) {
+            // Don't split a surrogate pair
+            int end = Character.isLowSurrogate(cleaned.charAt(limit)) ? limit - 1 : limit;
+            cleaned = cleaned.substring(0, end);
+        }
+        cleaned = cleaned.strip();
+        while (cleaned.endsWith("'")) {
+            cleaned = cleaned.substring(0, cleaned.length() - 1);
+        }
+        return cleaned + suffix;
+    }
+
+    private String workbook() throws IOException {
+        StringBuilder sb = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>")
+                .append("<workbook xmlns=\"").append(MAIN_NS).append("\" xmlns:r=\"").append(REL_NS).append("\"><sheets>");
+        for (int i = 1; i <= sheets; i++) {
+            sb.append("<sheet name=\"");
+            escape(sheetName(sheetName, i), sb);
+            sb.append("\" sheetId=\"").append(i).append("\" r:id=\"rId").append(i).append("\"/>");
+        }
+        return sb.append("</sheets></workbook>").toString();
+    }
+
+    private String workbookRels() {
+        StringBuilder sb = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>")
+                .append("<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">");
+        for (int i = 1; i <= sheets; i++) {
+            sb.append("<Relationship Id=\"rId").append(i).append("\" Type=\"").append(REL_NS)
+                    .append("/worksheet\" Target=\"worksheets/sheet").append(i).append(".xml\"/>");
+        }
+        sb.append("<Relationship Id=\"rId").append(sheets + 1).append("\" Type=\"").append(REL_NS)
+                .append("/styles\" Target=\"styles.xml\"/>");
+        return sb.append("</Relationships>").toString();
+    }
+
+    private String contentTypes() {
+        StringBuilder sb = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>")
+                .append("<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">")
+                .append("<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>")
+                .append("<Default Extension=\"xml\" ContentType=\"application/xml\"/>")
+                .append("<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>")
+                .append("<Override PartName=\"/xl/styles.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml\"/>");
+        for (int i = 1; i <= sheets; i++) {
+            sb.append("<Override PartName=\"/xl/worksheets/sheet").append(i)
+                    .append(".xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>");
+        }
+        return sb.append("</Types>").toString();
+    }
+
+    private static String styles() {
+        return "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?><styleSheet xmlns=\"" + MAIN_NS + "\">"
+                + "<fonts count=\"2\"><font><sz val=\"11\"/><name val=\"Calibri\"/></font>"
+                + "<font><b/><sz val=\"11\"/><name val=\"Calibri\"/></font></fonts>"
+                + "<fills count=\"2\"><fill><patternFill patternType=\"none\"/></fill>"
+                + "<fill><patternFill patternType=\"gray125\"/></fill></fills>"
+                + "<borders count=\"1\"><border><left/><right/><top/><bottom/><diagonal/></border></borders>"
+                + "<cellStyleXfs count=\"1\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\"/></cellStyleXfs>"
+                + "<cellXfs count=\"3\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\"/>"
+                + "<xf numFmtId=\"0\" fontId=\"1\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyFont=\"1\"/>"
+                + "<xf numFmtId=\"14\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyNumberFormat=\"1\"/></cellXfs>"
+                + "<cellStyles count=\"1\"><cellStyle name=\"Normal\" xfId=\"0\" builtinId=\"0\"/></cellStyles>"
+                + "</styleSheet>";
+    }
+}
@@ -0,0 +1,124 @@
+package com.hexaware.cms.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token buckets keyed by string, each a single AtomicLong. A bucket holding up to capacity
+ * tokens and refilling one every interval is stored as the time at which it will be full
+ * again (the GCRA form of a token bucket): taking a token pushes that time forward by one
+ * interval and is refused when it would land more than capacity intervals in the future.
+ * Refill is therefore lazy and an acquire is one CAS, with no lock and no timer per bucket.
+ * A bucket whose full-again time has passed is indistinguishable from a new one, so idle
+ * eviction can drop it at any moment without changing any decision.
+ */
+public class TokenBucketLimiter {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final int maxBuckets;
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder untracked = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+    private final AtomicLong lastOverflowSweep = new AtomicLong();
+
+    /**
+     * @param capacity   tokens a fresh bucket holds (the burst)
+     * @param periodNanos time to refill an empty bucket completely
+     * @param maxBuckets keys tracked at once; beyond that, new keys pass unthrottled
+     */
+    public TokenBucketLimiter(int capacity, long periodNanos, int maxBuckets) {
+        if (capacity < 1 || periodNanos < capacity) {
+            throw new IllegalArgumentException("Invalid bucket: " + capacity + " tokens per " + periodNanos + " ns");
+        }
+        this.intervalNanos = periodNanos / capacity;
+        this.burstNanos = intervalNanos * capacity;
+        this.maxBuckets = maxBuckets;
+    }
+
+    // ✅ 0 when a token was taken, otherwise nanoseconds until the next one is available
+    public long tryAcquire(String key) {
+        return tryAcquire(key, System.nanoTime());
+    }
+
+    public long tryAcquire(String key, long now) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = newBucket(key, now);
+            if (bucket == null) {
+                untracked.increment();
+                allowed.increment();
+                return 0;
+            }
+        }
+        while (true) {
+            long fullAt = bucket.get();
+            long next = Math.max(fullAt, now) + intervalNanos;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                rejected.increment();
+                return wait;
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                allowed.increment();
+                return 0;
+            }
+        }
+    }
+
+    // Drops buckets that have refilled completely; returns how many were removed
+    public int evictIdle() {
+        return evictIdle(System.nanoTime());
+    }
+
+    public int evictIdle(long now) {
+        int removed = 0;
+        for (var entry : buckets.entrySet()) {
+            long fullAt = entry.getValue().get();
+            if (fullAt - now <= 0 && buckets.remove(entry.getKey(), entry.getValue())) {
+                removed++;
+            }
+        }
+        evicted.add(removed);
+        return removed;
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    public long allowedCount() {
+        return allowed.sum();
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    public long untrackedCount() {
+        return untracked.sum();
+    }
+
+    public long evictedCount() {
+        return evicted.sum();
+    }
+
+    private AtomicLong newBucket(String key, long now) {
+        if (buckets.size() >= maxBuckets) {
+            // At most one inline sweep per second when a flood of distinct keys fills the table
+            long last = lastOverflowSweep.get();
+            if (now - last > 1_000_000_000L && lastOverflowSweep.compareAndSet(last, now)) {
+                evictIdle(now);
+            }
+            if (buckets.size() >= maxBuckets) {
+                return null;
+            }
+        }
+        // A bucket removed by eviction between get() and here is simply recreated
+        return buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+    }
+}
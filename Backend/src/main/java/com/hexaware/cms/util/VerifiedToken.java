@@ -0,0 +1,18 @@
+package com.hexaware.cms.util;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+
+// ✅ Result of a single parse + signature check of a JWT
+public record VerifiedToken(String subject, Date expiration, Claims claims) {
+
+    public boolean isExpired(long nowMillis) {
+        return expiration != null && expiration.getTime() <= nowMillis;
+    }
+
+    // JWT ID; null for tokens issued before jti was added (they can only expire)
+    public String id() {
+        return claims != null ? claims.getId() : null;
+    }
+}
@@ -0,0 +1,123 @@
+package com.hexaware.cms.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Size- and TTL-bounded cache of tokens whose signature has already been checked.
+ * Entries are keyed by a SHA-256 digest of the raw token and never outlive the token's own exp.
+ */
+public class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final ConcurrentHashMap<TokenKey, Entry> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final long ttlMillis;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public VerifiedTokenCache(int maxSize, long ttlMillis) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+    }
+
+    public boolean isEnabled() {
+        return maxSize > 0 && ttlMillis > 0;
+    }
+
+    public VerifiedToken get(TokenKey key, long nowMillis) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expiresAt <= nowMillis) {
+            entries.remove(key, entry);
+            evictions.increment();
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.token;
+    }
+
+    public void put(TokenKey key, VerifiedToken token, long nowMillis) {
+        long expiresAt = nowMillis + ttlMillis;
+        if (token.expiration() != null) {
+            expiresAt = Math.min(expiresAt, token.expiration().getTime());
+        }
+        if (expiresAt <= nowMillis) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            evict(nowMillis);
+        }
+        entries.put(key, new Entry(token, expiresAt));
+    }
+
+    public void invalidate(TokenKey key) {
+        entries.remove(key);
+    }
+
+    // Drop expired entries first; if still full, shed ~10% of the cache in iteration order
+    private void evict(long nowMillis) {
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            if (it.next().expiresAt <= nowMillis) {
+                it.remove();
+                evictions.increment();
+            }
+        }
+        int toShed = entries.size() - maxSize + Math.max(1, maxSize / 10);
+        it = entries.values().iterator();
+        while (toShed-- > 0 && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions.increment();
+        }
+    }
+
+    public static TokenKey keyOf(String token) {
+        MessageDigest digest = SHA256.get();
+        digest.reset();
+        ByteBuffer hash = ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        return new TokenKey(hash.getLong(), hash.getLong());
+    }
+
+    public Map<String, Object> stats() {
+        long h = hits.sum();
+        long m = misses.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", entries.size());
+        stats.put("maxSize", maxSize);
+        stats.put("hits", h);
+        stats.put("misses", m);
+        stats.put("evictions", evictions.sum());
+        stats.put("hitRate", h + m == 0 ? 0.0 : (double) h / (h + m));
+        return stats;
+    }
+
+    public long getHits() { return hits.sum(); }
+    public long getMisses() { return misses.sum(); }
+
+    // 128 bits of the token's SHA-256 digest
+    public record TokenKey(long high, long low) {}
+
+    private record Entry(VerifiedToken token, long expiresAt) {}
+}
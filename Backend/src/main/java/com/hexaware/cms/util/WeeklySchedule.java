@@ -0,0 +1,197 @@
+package com.hexaware.cms.util;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parses the free-text course schedule into weekly slots. Understands the forms used in the
+ * catalog and the usual variants: "Mon, Wed, Fri 9:00-10:30 AM", "Tue/Thu 2-3:30pm",
+ * "Mon-Fri 14:00-15:00" (also "Mon - Fri", "Mon to Fri"), "MWF 9:00-9:50",
+ * "TTh 11:00 AM - 12:15 PM", and several segments separated by ';'. A meridiem given only on
+ * the end time applies to the start time too, unless that would put the start after the end
+ * ("11:00-12:30 PM" starts at 11 AM).
+ * Text that cannot be parsed yields no slots.
+ */
+public final class WeeklySchedule {
+
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
+    private static final Pattern TIME_RANGE = Pattern.compile(
+            "(\\d{1,2})(?:[:.](\\d{2}))?\\s*([ap])?\\.?m?\\.?\\s*(?:-|–|—|to)\\s*(\\d{1,2})(?:[:.](\\d{2}))?\\s*([ap])?\\.?m?\\.?",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern DAY_SEPARATOR = Pattern.compile("[,/&+\\s]+|\\band\\b");
+    // "Mon - Fri", "Mon – Fri", "Mon to Fri" -> "mon-fri", so a range stays one token when split
+    private static final Pattern DAY_RANGE = Pattern.compile("\\s*(?:-|–|—|\\bto\\b)\\s*");
+    private static final String[] DAY_NAMES = {"mon", "tue", "wed", "thu", "fri", "sat", "sun"};
+
+    // ✅ One weekly occurrence: minutes since midnight, end exclusive
+    public record Slot(DayOfWeek day, int startMinute, int endMinute) {
+
+        public boolean overlaps(Slot other) {
+            return day == other.day && startMinute < other.endMinute && other.startMinute < endMinute;
+        }
+
+        @Override
+        public String toString() {
+            return day.name().substring(0, 3) + " " + clock(startMinute) + "-" + clock(endMinute);
+        }
+    }
+
+    private WeeklySchedule() {}
+
+    public static List<Slot> parse(String schedule) {
+        if (schedule == null || schedule.isBlank()) {
+            return List.of();
+        }
+        List<Slot> slots = new ArrayList<>();
+        for (String segment : schedule.split("[;|\\n]")) {
+            Matcher time = TIME_RANGE.matcher(segment);
+            if (!time.find()) {
+                continue;
+            }
+            Set<DayOfWeek> days = parseDays(segment.substring(0, time.start()));
+            int[] range = parseRange(time);
+            if (days.isEmpty() || range == null) {
+                continue;
+            }
+            for (DayOfWeek day : days) {
+                slots.add(new Slot(day, range[0], range[1]));
+            }
+        }
+        slots.sort((a, b) -> a.day != b.day ? a.day.compareTo(b.day) : Integer.compare(a.startMinute, b.startMinute));
+        return Collections.unmodifiableList(slots);
+    }
+
+    private static int[] parseRange(Matcher time) {
+        int startHour = Integer.parseInt(time.group(1));
+        int startMinute = time.group(2) != null ? Integer.parseInt(time.group(2)) : 0;
+        int endHour = Integer.parseInt(time.group(4));
+        int endMinute = time.group(5) != null ? Integer.parseInt(time.group(5)) : 0;
+        String startMeridiem = time.group(3);
+        String endMeridiem = time.group(6);
+        if (startHour > 24 || endHour > 24 || startMinute > 59 || endMinute > 59) {
+            return null;
+        }
+
+        int end = toMinutes(endHour, endMinute, endMeridiem);
+        int start;
+        if (startMeridiem != null || endMeridiem == null) {
+            start = toMinutes(startHour, startMinute, startMeridiem);
+        } else {
+            start = toMinutes(startHour, startMinute, endMeridiem);
+            if (start >= end) {
+                start = toMinutes(startHour, startMinute, "a");
+            }
+        }
+        if (start < 0 || end > MINUTES_PER_DAY || start >= end) {
+            return null;
+        }
+        return new int[] {start, end};
+    }
+
+    private static int toMinutes(int hour, int minute, String meridiem) {
+        if (meridiem != null) {
+            if (hour < 1 || hour > 12) {
+                return -1;
+            }
+            hour = hour % 12 + (meridiem.equalsIgnoreCase("p") ? 12 : 0);
+        }
+        return hour * 60 + minute;
+    }
+
+    private static Set<DayOfWeek> parseDays(String text) {
+        Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        String normalized = DAY_RANGE.matcher(text.trim().toLowerCase(Locale.ROOT)).replaceAll("-");
+        for (String token : DAY_SEPARATOR.split(normalized)) {
+            if (token.isEmpty()) {
+                continue;
+            }
+            int dash = token.indexOf('-');
+            if (dash > 0) {
+                DayOfWeek from = dayOf(token.substring(0, dash));
+                DayOfWeek to = dayOf(token.substring(dash + 1));
+                if (from != null && to != null) {
+                    for (DayOfWeek day = from; ; day = day.plus(1)) {
+                        days.add(day);
+                        if (day == to) {
+                            break;
+                        }
+                    }
+                }
+                continue;
+            }
+            DayOfWeek day = dayOf(token);
+            if (day != null) {
+                days.add(day);
+            } else {
+                days.addAll(compactDays(token));
+            }
+        }
+        return days;
+    }
+
+    // "mon", "monday", "tues", "thurs", ...
+    private static DayOfWeek dayOf(String token) {
+        String t = token.replace(".", "");
+        if (t.length() < 3) {
+            return null;
+        }
+        for (int i = 0; i < DAY_NAMES.length; i++) {
+            if (t.startsWith(DAY_NAMES[i])) {
+                return DayOfWeek.of(i + 1);
+            }
+        }
+        return null;
+    }
+
+    // Registrar shorthand: "mwf", "tth", "tr" (R = Thursday), "su"/"sa"
+    private static Set<DayOfWeek> compactDays(String token) {
+        Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        int i = 0;
+        while (i < token.length()) {
+            char c = token.charAt(i);
+            char next = i + 1 < token.length() ? token.charAt(i + 1) : ' ';
+            if (c == 't' && next == 'h') {
+                days.add(DayOfWeek.THURSDAY);
+                i += 2;
+            } else if (c == 't' && next == 'u') {
+                days.add(DayOfWeek.TUESDAY);
+                i += 2;
+            } else if (c == 's' && next == 'a') {
+                days.add(DayOfWeek.SATURDAY);
+                i += 2;
+            } else if (c == 's' && next == 'u') {
+                days.add(DayOfWeek.SUNDAY);
+                i += 2;
+            } else {
+                DayOfWeek day = switch (c) {
+                    case 'm' -> DayOfWeek.MONDAY;
+                    case 't' -> DayOfWeek.TUESDAY;
+                    case 'w' -> DayOfWeek.WEDNESDAY;
+                    case 'r' -> DayOfWeek.THURSDAY;
+                    case 'f' -> DayOfWeek.FRIDAY;
+                    case 's' -> DayOfWeek.SATURDAY;
+                    case 'u' -> DayOfWeek.SUNDAY;
+                    default -> null;
+                };
+                if (day == null) {
+                    return EnumSet.noneOf(DayOfWeek.class); // not day shorthand after all
+                }
+                days.add(day);
+                i++;
+            }
+        }
+        return days;
+    }
+
+    private static String clock(int minutes) {
+        return String.format("%02d:%02d", minutes / 60, minutes % 60);
+    }
+}
@@ -0,0 +1,138 @@
+-- Baseline schema, matching the JPA mappings in com.hexaware.cms.model.
+-- Applied by Flyway under the prod profile; later changes go in V2__..., never edit this file.
+
+-- Pooled sequences: increment matches allocationSize = 50 on every entity
+create sequence users_seq start with 1 increment by 50;
+create sequence students_seq start with 1 increment by 50;
+create sequence marks_seq start with 1 increment by 50;
+create sequence fees_seq start with 1 increment by 50;
+create sequence courses_seq start with 1 increment by 50;
+create sequence enrollments_seq start with 1 increment by 50;
+create sequence student_results_seq start with 1 increment by 50;
+create sequence attendance_sessions_seq start with 1 increment by 50;
+create sequence attendance_roster_seq start with 1 increment by 50;
+
+create table users (
+    id bigint not null,
+    email varchar(255) not null,
+    password varchar(255) not null,
+    name varchar(255) not null,
+    role varchar(16) check (role in ('ADMIN', 'TEACHER', 'STUDENT')),
+    created_at timestamp(6) not null,
+    primary key (id),
+    constraint uk_users_email unique (email)
+);
+
+create table students (
+    id bigint not null,
+    student_id varchar(32) not null,
+    student_name varchar(255) not null,
+    email varchar(255),
+    course varchar(255),
+    semester varchar(255),
+    department varchar(255) not null,
+    primary key (id),
+    constraint uk_students_student_id unique (student_id)
+);
+create index idx_students_dept_sid on students (department, student_id);
+create index idx_students_semester_dept_sid on students (semester, department, student_id);
+create index idx_students_course_dept_sid on students (course, department, student_id);
+
+create table marks (
+    id bigint not null,
+    student_id varchar(32) not null,
+    subject_name varchar(255) not null,
+    marks integer not null,
+    max_marks integer not null,
+    semester varchar(255),
+    grade varchar(2),
+    primary key (id)
+);
+create index idx_marks_student on marks (student_id);
+
+create table fees (
+    id bigint not null,
+    student_id varchar(32) not null,
+    student_name varchar(255),
+    course varchar(255),
+    semester varchar(255),
+    total_fees bigint not null,
+    fee_paid bigint not null,
+    balance_due bigint not null,
+    last_payment_date date,
+    last_payment_amount bigint not null,
+    payment_status varchar(16),
+    due_date date,
+    version bigint not null,
+    primary key (id)
+);
+create index idx_fees_student on fees (student_id);
+create index idx_fees_semester_course on fees (semester, course);
+
+create table courses (
+    id bigint not null,
+    course_code varchar(32) not null,
+    course_name varchar(255) not null,
+    department varchar(255),
+    credits integer not null,
+    duration varchar(255),
+    instructor varchar(255),
+    schedule varchar(255),
+    classroom varchar(255),
+    description varchar(1000),
+    prerequisites varchar(255),
+    enrolled_students integer not null,
+    max_capacity integer not null,
+    semester varchar(255),
+    primary key (id),
+    constraint uk_courses_course_code unique (course_code)
+);
+
+create table enrollments (
+    id bigint not null,
+    course_id bigint not null,
+    student_id varchar(32) not null,
+    enrolled_at timestamp(6) with time zone not null,
+    primary key (id),
+    constraint uk_enrollments_course_student unique (course_id, student_id)
+);
+create index idx_enrollments_student on enrollments (student_id);
+
+create table student_results (
+    id bigint not null,
+    student_id varchar(32) not null,
+    semester varchar(255),
+    subjects integer not null,
+    total_marks integer not null,
+    max_total_marks integer not null,
+    percentage double precision not null,
+    gpa double precision not null,
+    class_rank integer not null,
+    class_size integer not null,
+    computed_at timestamp(6) not null,
+    primary key (id),
+    constraint uk_results_student_semester unique (student_id, semester)
+);
+
+create table attendance_sessions (
+    id bigint not null,
+    course_id bigint not null,
+    session_date date not null,
+    period_no integer not null,
+    present_count integer not null,
+    roster_size integer not null,
+    present_bitmap blob not null,
+    recorded_at timestamp(6) with time zone not null,
+    primary key (id),
+    constraint uk_attendance_sessions_course_date_period unique (course_id, session_date, period_no)
+);
+
+create table attendance_roster (
+    id bigint not null,
+    course_id bigint not null,
+    student_id varchar(32) not null,
+    bit_position integer not null,
+    primary key (id),
+    constraint uk_attendance_roster_course_student unique (course_id, student_id),
+    constraint uk_attendance_roster_course_position unique (course_id, bit_position)
+);
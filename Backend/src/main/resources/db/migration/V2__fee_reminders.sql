@@ -0,0 +1,39 @@
+-- Overdue-fee reminders: outbox written by FeeReminderJob, drained by FeeReminderDispatcher,
+-- plus the checkpoint table a crashed run resumes from.
+
+create sequence fee_reminders_seq start with 1 increment by 50;
+
+create table fee_reminders (
+    id bigint not null,
+    fee_id bigint not null,
+    student_id varchar(32) not null,
+    student_name varchar(255),
+    course varchar(255),
+    semester varchar(255),
+    balance_due bigint not null,
+    due_date date not null,
+    days_overdue integer not null,
+    run_date date not null,
+    status varchar(16) not null,
+    attempts integer not null,
+    last_error varchar(255),
+    created_at timestamp(6) with time zone not null,
+    dispatched_at timestamp(6) with time zone,
+    primary key (id),
+    constraint uk_fee_reminders_fee_run unique (fee_id, run_date)
+);
+
+create index idx_fee_reminders_status on fee_reminders (status, id);
+
+create table batch_checkpoints (
+    job_name varchar(64) not null,
+    run_date date not null,
+    last_id bigint not null,
+    status varchar(16) not null,
+    chunks bigint not null,
+    rows_scanned bigint not null,
+    items_written bigint not null,
+    started_at timestamp(6) with time zone not null,
+    updated_at timestamp(6) with time zone not null,
+    primary key (job_name)
+);
@@ -0,0 +1,17 @@
+-- Revoked JWT ids (logout). Each node keeps them in memory (TokenRevocationService) and
+-- polls this table by revoked_at to pick up revocations made on other nodes.
+
+create sequence revoked_tokens_seq start with 1 increment by 50;
+
+create table revoked_tokens (
+    id bigint not null,
+    jti varchar(64) not null,
+    subject varchar(255),
+    expires_at timestamp(6) with time zone not null,
+    revoked_at timestamp(6) with time zone not null,
+    primary key (id),
+    constraint uk_revoked_tokens_jti unique (jti)
+);
+
+create index idx_revoked_tokens_revoked_at on revoked_tokens (revoked_at);
+create index idx_revoked_tokens_expires_at on revoked_tokens (expires_at);
@@ -0,0 +1,5 @@
+-- Emails are stored trimmed and lower-cased; registration used to keep them as typed.
+-- Rows that would collide with an existing normalized address are left for manual cleanup.
+update users u set email = lower(trim(u.email))
+where u.email <> lower(trim(u.email))
+  and not exists (select 1 from users o where o.id <> u.id and o.email = lower(trim(u.email)));
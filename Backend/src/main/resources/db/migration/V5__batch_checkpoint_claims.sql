@@ -0,0 +1,8 @@
+-- Cross-node ownership of batch runs (FeeReminderJob claims its run here before starting) and
+-- of outbox rows (FeeReminderDispatcher claims a batch before sending it).
+
+alter table batch_checkpoints add column owner_id varchar(64);
+alter table batch_checkpoints add column lease_until timestamp(6) with time zone;
+
+alter table fee_reminders add column claimed_by varchar(64);
+alter table fee_reminders add column claimed_until timestamp(6) with time zone;
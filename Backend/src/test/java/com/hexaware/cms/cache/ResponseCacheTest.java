@@ -0,0 +1,57 @@
+package com.hexaware.cms.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCacheTest {
+
+    private static final byte[] BODY = "[{\"id\":1}]".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void servesUntilTheGroupIsInvalidated() {
+        ResponseCache cache = new ResponseCache(16, 1024, 1 << 20, 60_000);
+        ResponseCache.Key key = cache.key(CacheGroup.COURSES, "/api/courses");
+        cache.put(key, BODY, "application/json", Map.of());
+        assertArrayEquals(BODY, cache.get(cache.key(CacheGroup.COURSES, "/api/courses")).body());
+
+        cache.invalidate(CacheGroup.COURSES);
+        assertNull(cache.get(cache.key(CacheGroup.COURSES, "/api/courses")));
+        assertNull(cache.get(key));
+    }
+
+    @Test
+    void responseBuiltDuringAWriteIsNotStored() {
+        ResponseCache cache = new ResponseCache(16, 1024, 1 << 20, 60_000);
+        ResponseCache.Key before = cache.key(CacheGroup.FEES, "/api/fees");
+        cache.invalidate(CacheGroup.FEES);
+        ResponseCache.CachedResponse response = cache.put(before, BODY, "application/json", Map.of());
+        assertEquals(ResponseCache.etagOf(BODY), response.etag());
+        assertNull(cache.get(cache.key(CacheGroup.FEES, "/api/fees")));
+        assertEquals(0L, cache.stats().get("storedBytes"));
+    }
+
+    @Test
+    void entriesExpireAfterTheTtl() throws InterruptedException {
+        ResponseCache cache = new ResponseCache(16, 1024, 1 << 20, 20);
+        ResponseCache.Key key = cache.key(CacheGroup.STUDENTS, "/api/students");
+        cache.put(key, BODY, "application/json", Map.of());
+        assertNotNull(cache.get(key));
+
+        Thread.sleep(40);
+        assertNull(cache.get(key));
+        assertEquals(0, cache.stats().get("entries"));
+        assertEquals(0L, cache.stats().get("storedBytes"));
+    }
+
+    @Test
+    void invalidationIsPerGroup() {
+        ResponseCache cache = new ResponseCache(16, 1024, 1 << 20, 60_000);
+        cache.put(cache.key(CacheGroup.STUDENTS, "/api/students"), BODY, "application/json", Map.of());
+        cache.invalidate(CacheGroup.COURSES);
+        assertNotNull(cache.get(cache.key(CacheGroup.STUDENTS, "/api/students")));
+    }
+}
@@ -0,0 +1,148 @@
+package com.hexaware.cms.ledger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaymentJournalTest {
+
+    private static final int SEGMENT_SIZE = 64 * 1024;
+
+    private Path directory;
+    private PaymentJournal journal;
+
+    @BeforeEach
+    void open() throws IOException {
+        directory = Files.createTempDirectory("payment-journal");
+        journal = PaymentJournal.open(directory, SEGMENT_SIZE, 16, 1024);
+    }
+
+    @AfterEach
+    void close() throws IOException {
+        journal.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    void concurrentPaymentsNeverExceedTheLimit() throws Exception {
+        int payments = 64;
+        long amount = 100;
+        long limit = 1_000; // room for exactly 10 payments
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<CompletableFuture<PaymentJournal.Entry>>> submitted = new ArrayList<>();
+        try {
+            for (int i = 0; i < payments; i++) {
+                submitted.add(pool.submit(() -> {
+                    start.await();
+                    return journal.append(7L, amount, limit, 0);
+                }));
+            }
+            start.countDown();
+
+            int succeeded = 0;
+            int rejected = 0;
+            for (Future<CompletableFuture<PaymentJournal.Entry>> future : submitted) {
+                try {
+                    PaymentJournal.Entry entry = future.get(10, TimeUnit.SECONDS).get(10, TimeUnit.SECONDS);
+                    assertTrue(entry.paidAfter() <= limit);
+                    succeeded++;
+                } catch (ExecutionException e) {
+                    OverpaymentException overpayment = assertInstanceOf(OverpaymentException.class, e.getCause());
+                    assertEquals(0, overpayment.getBalanceDue());
+                    rejected++;
+                }
+            }
+            assertEquals(10, succeeded);
+            assertEquals(payments - 10, rejected);
+            assertEquals(limit, journal.balance(7L).paid());
+            assertEquals(54L, journal.stats().get("rejectedOverpayments"));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void partialPaymentReportsRemainingBalance() throws Exception {
+        journal.append(1L, 600, 1_000, 0).get(10, TimeUnit.SECONDS);
+        ExecutionException error = assertThrows(ExecutionException.class,
+                () -> journal.append(1L, 500, 1_000, 0).get(10, TimeUnit.SECONDS));
+        OverpaymentException overpayment = assertInstanceOf(OverpaymentException.class, error.getCause());
+        assertEquals(400, overpayment.getBalanceDue());
+        assertEquals(1_000, journal.append(1L, 400, 1_000, 0).get(10, TimeUnit.SECONDS).paidAfter());
+    }
+
+    @Test
+    void limitsApplyPerFee() throws Exception {
+        assertEquals(500, journal.append(1L, 500, 500, 0).get(10, TimeUnit.SECONDS).paidAfter());
+        assertEquals(500, journal.append(2L, 500, 500, 0).get(10, TimeUnit.SECONDS).paidAfter());
+        assertThrows(ExecutionException.class, () -> journal.append(1L, 1, 500, 0).get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void rejectedPaymentsAreNotReplayed() throws Exception {
+        journal.append(3L, 800, 1_000, 0).get(10, TimeUnit.SECONDS);
+        assertThrows(ExecutionException.class, () -> journal.append(3L, 300, 1_000, 0).get(10, TimeUnit.SECONDS));
+        journal.close();
+
+        journal = PaymentJournal.open(directory, SEGMENT_SIZE, 16, 1024);
+        assertEquals(800, journal.balance(3L).paid());
+        assertThrows(ExecutionException.class, () -> journal.append(3L, 300, 1_000, 0).get(10, TimeUnit.SECONDS));
+        assertEquals(1_000, journal.append(3L, 200, 1_000, 0).get(10, TimeUnit.SECONDS).paidAfter());
+    }
+
+    @Test
+    void firstPaymentStartsFromTheTablesPaidAmount() throws Exception {
+        // 600 was paid before the journal saw the fee (e.g. a ledger directory from an earlier run)
+        PaymentJournal.Entry entry = journal.append(4L, 100, 1_000, 600).get(10, TimeUnit.SECONDS);
+        assertEquals(700, entry.paidAfter());
+        ExecutionException error = assertThrows(ExecutionException.class,
+                () -> journal.append(4L, 400, 1_000, 0).get(10, TimeUnit.SECONDS));
+        assertEquals(300, assertInstanceOf(OverpaymentException.class, error.getCause()).getBalanceDue());
+        // Only the first payment's opening balance counts
+        assertEquals(1_000, journal.append(4L, 300, 1_000, 999).get(10, TimeUnit.SECONDS).paidAfter());
+    }
+
+    @Test
+    void openingBalanceCannotBeOverpaid() throws Exception {
+        ExecutionException error = assertThrows(ExecutionException.class,
+                () -> journal.append(5L, 500, 1_000, 900).get(10, TimeUnit.SECONDS));
+        assertEquals(100, assertInstanceOf(OverpaymentException.class, error.getCause()).getBalanceDue());
+        assertNull(journal.balance(5L));
+    }
+
+    @Test
+    void openingBalanceIsReplayedButNotCountedAsAPayment() throws Exception {
+        journal.append(6L, 100, 1_000, 600).get(10, TimeUnit.SECONDS);
+        assertEquals(1L, journal.stats().get("appended"));
+        assertEquals(List.of(6L), journal.drainDirty());
+        journal.close();
+
+        journal = PaymentJournal.open(directory, SEGMENT_SIZE, 16, 1024);
+        PaymentJournal.Balance balance = journal.balance(6L);
+        assertEquals(700, balance.paid());
+        assertEquals(100, balance.lastAmount());
+        assertTrue(balance.hasPayments());
+        assertEquals(1_000, journal.append(6L, 300, 1_000, 0).get(10, TimeUnit.SECONDS).paidAfter());
+
+        journal.compact().get(10, TimeUnit.SECONDS);
+        journal.close();
+        journal = PaymentJournal.open(directory, SEGMENT_SIZE, 16, 1024);
+        assertEquals(1_000, journal.balance(6L).paid());
+    }
+}
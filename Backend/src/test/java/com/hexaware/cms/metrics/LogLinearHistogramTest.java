@@ -0,0 +1,91 @@
+package com.hexaware.cms.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogLinearHistogramTest {
+
+    @Test
+    void bucketsTileTheRangeWithoutGaps() {
+        for (int bucket = 0; bucket < LogLinearHistogram.BUCKETS - 1; bucket++) {
+            long upper = LogLinearHistogram.upperBoundOf(bucket);
+            assertEquals(bucket, LogLinearHistogram.bucketOf(upper), "upper bound of " + bucket);
+            assertEquals(bucket + 1, LogLinearHistogram.bucketOf(upper + 1), "first value after " + bucket);
+        }
+    }
+
+    @Test
+    void reportedBoundIsWithinOneSixteenthOfTheValue() {
+        Random random = new Random(12);
+        for (int i = 0; i < 100_000; i++) {
+            long value = random.nextLong() >>> (23 + random.nextInt(40));
+            long upper = LogLinearHistogram.upperBoundOf(LogLinearHistogram.bucketOf(value));
+            assertTrue(upper >= value, value + " -> " + upper);
+            assertTrue(upper - value <= value / 16, value + " -> " + upper);
+        }
+    }
+
+    @Test
+    void smallValuesAreExactAndOutliersLandInTheTopBucket() {
+        for (long value = 0; value < 16; value++) {
+            assertEquals(value, LogLinearHistogram.upperBoundOf(LogLinearHistogram.bucketOf(value)));
+        }
+        assertEquals(LogLinearHistogram.BUCKETS - 1, LogLinearHistogram.bucketOf(Long.MAX_VALUE));
+        assertEquals(LogLinearHistogram.BUCKETS - 1, LogLinearHistogram.bucketOf(1L << 41));
+        assertEquals((1L << 41) - 1, LogLinearHistogram.upperBoundOf(LogLinearHistogram.BUCKETS - 2));
+    }
+
+    @Test
+    void percentilesOfAUniformSpread() {
+        LogLinearHistogram histogram = new LogLinearHistogram();
+        for (long value = 1; value <= 10_000; value++) {
+            histogram.record(value);
+        }
+        histogram.record(-5); // clamped to 0
+
+        LogLinearHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(10_001, snapshot.count());
+        assertEquals(50_005_000, snapshot.sum());
+        assertEquals(10_000, snapshot.max());
+        assertEquals(50_005_000 / 10_001.0, snapshot.mean(), 1e-9);
+        assertEquals(0, snapshot.percentile(0));
+        assertEquals(10_000, snapshot.percentile(1.0));
+        for (double q : new double[] {0.5, 0.9, 0.99}) {
+            long exact = (long) Math.ceil(q * 10_001) - 1;
+            long reported = snapshot.percentile(q);
+            assertTrue(reported >= exact && reported <= exact + exact / 16, "p" + q + " = " + reported);
+        }
+    }
+
+    @Test
+    void emptySnapshotReportsZeros() {
+        LogLinearHistogram.Snapshot snapshot = new LogLinearHistogram().snapshot();
+        assertEquals(0, snapshot.count());
+        assertEquals(0.0, snapshot.mean());
+        assertEquals(0, snapshot.percentile(0.99));
+    }
+
+    @Test
+    void concurrentRecordingLosesNothing() throws Exception {
+        LogLinearHistogram histogram = new LogLinearHistogram();
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 1; i <= 50_000; i++) {
+                    histogram.record(i);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        LogLinearHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(400_000, snapshot.count());
+        assertEquals(8L * 50_000 * 50_001 / 2, snapshot.sum());
+        assertEquals(50_000, snapshot.max());
+    }
+}
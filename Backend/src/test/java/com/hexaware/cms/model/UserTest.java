@@ -0,0 +1,22 @@
+package com.hexaware.cms.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserTest {
+
+    @Test
+    void emailsAreStoredNormalized() {
+        User user = new User("  Rajesh@Hexaware.College ", "hash", "Rajesh", Role.STUDENT);
+        assertEquals("rajesh@hexaware.college", user.getEmail());
+        user.setEmail("PRIYA@hexaware.college");
+        assertEquals("priya@hexaware.college", user.getEmail());
+    }
+
+    @Test
+    void normalizeEmailIsNullSafe() {
+        assertNull(User.normalizeEmail(null));
+        assertEquals("a@b.c", User.normalizeEmail("A@B.C\t"));
+    }
+}
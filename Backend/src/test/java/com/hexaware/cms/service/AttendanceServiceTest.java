@@ -0,0 +1,109 @@
+package com.hexaware.cms.service;
+
+import com.hexaware.cms.model.AttendanceRosterEntry;
+import com.hexaware.cms.repository.AttendanceRosterRepository;
+import com.hexaware.cms.repository.AttendanceSessionRepository;
+import com.hexaware.cms.repository.CourseRepository;
+import com.hexaware.cms.repository.EnrollmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AttendanceServiceTest {
+
+    private static final long COURSE = 1L;
+    private static final LocalDate MONDAY = LocalDate.of(2025, 1, 6);
+
+    private CourseRepository courseRepository;
+    private EnrollmentRepository enrollmentRepository;
+    private AttendanceSessionRepository sessionRepository;
+    private AttendanceRosterRepository rosterRepository;
+    private final List<AttendanceRosterEntry> saved = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        courseRepository = mock(CourseRepository.class);
+        enrollmentRepository = mock(EnrollmentRepository.class);
+        sessionRepository = mock(AttendanceSessionRepository.class);
+        rosterRepository = mock(AttendanceRosterRepository.class);
+        when(courseRepository.existsById(COURSE)).thenReturn(true);
+        when(sessionRepository.findByCourseId(COURSE)).thenReturn(List.of());
+        when(sessionRepository.findByCourseIdAndSessionDateAndPeriod(eq(COURSE), any(), anyInt()))
+                .thenReturn(Optional.empty());
+        when(rosterRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<AttendanceRosterEntry> entries = invocation.getArgument(0);
+            saved.addAll(entries);
+            return entries;
+        });
+    }
+
+    private AttendanceService service(long ttlMillis) {
+        AttendanceService service = new AttendanceService(mock(PlatformTransactionManager.class), ttlMillis);
+        ReflectionTestUtils.setField(service, "courseRepository", courseRepository);
+        ReflectionTestUtils.setField(service, "enrollmentRepository", enrollmentRepository);
+        ReflectionTestUtils.setField(service, "sessionRepository", sessionRepository);
+        ReflectionTestUtils.setField(service, "rosterRepository", rosterRepository);
+        return service;
+    }
+
+    @Test
+    void loadedSectionIsReusedUntilItExpires() {
+        when(rosterRepository.findByCourseIdOrderByPositionAsc(COURSE)).thenReturn(List.of());
+        when(enrollmentRepository.findStudentIdsByCourseId(COURSE)).thenReturn(List.of());
+
+        AttendanceService cached = service(60_000);
+        assertSame(cached.section(COURSE), cached.section(COURSE));
+        verify(sessionRepository, times(1)).findByCourseId(COURSE);
+
+        AttendanceService expiring = service(0);
+        assertNotSame(expiring.section(COURSE), expiring.section(COURSE));
+        verify(sessionRepository, times(3)).findByCourseId(COURSE);
+    }
+
+    @Test
+    void rosterGrownOnAnotherNodeIsReloadedBeforeAssigningPositions() {
+        when(enrollmentRepository.findStudentIdsByCourseId(COURSE)).thenReturn(List.of("S0", "S1", "S2"));
+        when(rosterRepository.findByCourseIdOrderByPositionAsc(COURSE))
+                .thenReturn(List.of(new AttendanceRosterEntry(COURSE, "S0", 0)))
+                .thenReturn(List.of(new AttendanceRosterEntry(COURSE, "S0", 0), new AttendanceRosterEntry(COURSE, "S1", 1)));
+        AttendanceService service = service(60_000);
+        assertEquals(1, service.section(COURSE).rosterSize());
+
+        // Another node has since given S1 position 1
+        when(rosterRepository.countByCourseId(COURSE)).thenReturn(2L);
+        service.record(COURSE, MONDAY, 1, List.of("S2"), null);
+
+        assertEquals(1, saved.size());
+        assertEquals("S2", saved.get(0).getStudentId());
+        assertEquals(2, saved.get(0).getPosition());
+        SectionAttendance section = service.section(COURSE);
+        assertEquals(1, section.positionOf("S1"));
+        assertEquals(1, section.student("S2").attended());
+        assertEquals(1L, service.stats().get("staleRosterReloads"));
+    }
+
+    @Test
+    void unchangedRosterIsNotReloaded() {
+        when(enrollmentRepository.findStudentIdsByCourseId(COURSE)).thenReturn(List.of("S0", "S1"));
+        when(rosterRepository.findByCourseIdOrderByPositionAsc(COURSE))
+                .thenReturn(List.of(new AttendanceRosterEntry(COURSE, "S0", 0)));
+        when(rosterRepository.countByCourseId(COURSE)).thenReturn(1L);
+        AttendanceService service = service(60_000);
+
+        service.record(COURSE, MONDAY, 1, null, List.of("S0"));
+
+        assertEquals(1, saved.get(0).getPosition());
+        assertEquals(0L, service.stats().get("staleRosterReloads"));
+        verify(rosterRepository, times(1)).findByCourseIdOrderByPositionAsc(COURSE);
+        assertEquals(0, service.section(COURSE).student("S0").attended());
+    }
+}
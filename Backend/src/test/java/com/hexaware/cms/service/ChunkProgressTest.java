@@ -0,0 +1,90 @@
+package com.hexaware.cms.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkProgressTest {
+
+    @Test
+    void checkpointAdvancesOnlyOverTheFinishedPrefix() {
+        ChunkProgress progress = new ChunkProgress(0, 0, 0, 0);
+        progress.submitted(100);
+        progress.submitted(200);
+        progress.submitted(300);
+
+        assertNull(progress.completed(300, 10, 2));
+        assertNull(progress.completed(200, 10, 1));
+        assertEquals(0, progress.current().lastId());
+
+        assertEquals(new ChunkProgress.Checkpoint(300, 3, 30, 3), progress.completed(100, 10, 0));
+    }
+
+    @Test
+    void checkpointStopsAtTheFirstUnfinishedChunk() {
+        ChunkProgress progress = new ChunkProgress(0, 0, 0, 0);
+        progress.submitted(100);
+        progress.submitted(200);
+        progress.submitted(300);
+
+        assertEquals(100, progress.completed(100, 5, 5).lastId());
+        assertNull(progress.completed(300, 5, 5));
+        assertEquals(100, progress.current().lastId());
+    }
+
+    @Test
+    void resumedRunContinuesFromTheStoredCheckpoint() {
+        ChunkProgress progress = new ChunkProgress(500, 5, 2_500, 40);
+        assertEquals(new ChunkProgress.Checkpoint(500, 5, 2_500, 40), progress.current());
+
+        progress.submitted(600);
+        assertEquals(new ChunkProgress.Checkpoint(600, 6, 2_600, 45), progress.completed(600, 100, 5));
+    }
+
+    @Test
+    void failureIsSticky() {
+        ChunkProgress progress = new ChunkProgress(0, 0, 0, 0);
+        progress.submitted(100);
+        progress.submitted(200);
+        progress.fail();
+        assertEquals(100, progress.completed(100, 1, 1).lastId());
+        assertTrue(progress.failed());
+    }
+
+    @Test
+    void concurrentCompletionsReachTheLastChunk() throws Exception {
+        int chunks = 2_000;
+        ChunkProgress progress = new ChunkProgress(0, 0, 0, 0);
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= chunks; id++) {
+            progress.submitted(id * 10);
+            ids.add(id * 10);
+        }
+        Collections.shuffle(ids);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Long> seen = new CopyOnWriteArrayList<>();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Long id : ids) {
+                futures.add(pool.submit(() -> {
+                    ChunkProgress.Checkpoint checkpoint = progress.completed(id, 3, 1);
+                    if (checkpoint != null) {
+                        seen.add(checkpoint.lastId());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(new ChunkProgress.Checkpoint(chunks * 10L, chunks, chunks * 3L, chunks), progress.current());
+        assertTrue(seen.contains(chunks * 10L));
+    }
+}
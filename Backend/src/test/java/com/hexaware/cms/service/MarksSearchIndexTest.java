@@ -0,0 +1,102 @@
+package com.hexaware.cms.service;
+
+import com.hexaware.cms.model.Mark;
+import com.hexaware.cms.model.Student;
+import com.hexaware.cms.repository.MarkRepository;
+import com.hexaware.cms.repository.StudentRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class MarksSearchIndexTest {
+
+    private StudentRepository studentRepository;
+    private MarkRepository markRepository;
+    private MarksSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository = mock(StudentRepository.class);
+        markRepository = mock(MarkRepository.class);
+        searchIndex = new MarksSearchIndex(mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(searchIndex, "studentRepository", studentRepository);
+        ReflectionTestUtils.setField(searchIndex, "markRepository", markRepository);
+        ReflectionTestUtils.setField(searchIndex, "entityManager", mock(EntityManager.class));
+        when(markRepository.streamAllOrderByStudentId())
+                .thenAnswer(invocation -> Stream.of(new Mark("S1", "Physics", 78, 100, "Fall 2024")));
+        when(markRepository.findByStudentIdIn(any()))
+                .thenReturn(List.of(new Mark("S1", "Physics", 78, 100, "Fall 2024")));
+    }
+
+    private static Student student(String studentId, String name) {
+        return new Student(studentId, name, studentId.toLowerCase() + "@college.edu", "BSc", "Fall 2024", "Science");
+    }
+
+    private List<String> idsMatching(String query) {
+        return searchIndex.search(query, 10).stream().map(hit -> hit.doc().studentId()).toList();
+    }
+
+    @Test
+    void searchesNamesIdsAndSubjectsByPrefix() {
+        when(studentRepository.streamAll())
+                .thenAnswer(invocation -> Stream.of(student("S1", "Anita Rao"), student("S2", "Ravi Kumar")));
+
+        searchIndex.rebuild();
+
+        assertEquals(List.of("S1"), idsMatching("anit"));
+        assertEquals(List.of("S1"), idsMatching("phys rao"));
+        assertEquals(List.of("S1", "S2"), idsMatching("s"));
+        assertTrue(idsMatching("anita kumar").isEmpty());
+    }
+
+    @Test
+    void updateDuringRebuildSurvivesTheSwap() {
+        when(studentRepository.findByStudentIdIn(any())).thenReturn(List.of(student("S1", "Priya Rao")));
+        // The snapshot still has the old name; the rename commits and is reindexed mid-rebuild
+        when(studentRepository.streamAll()).thenAnswer(invocation -> {
+            searchIndex.reindex(List.of("S1"));
+            return Stream.of(student("S1", "Anita Rao"));
+        });
+
+        searchIndex.rebuild();
+
+        assertEquals(List.of("S1"), idsMatching("priya"));
+        assertTrue(idsMatching("anita").isEmpty());
+        assertEquals(1L, searchIndex.stats().get("replayedAfterRebuild"));
+    }
+
+    @Test
+    void deleteDuringRebuildSurvivesTheSwap() {
+        when(studentRepository.findByStudentIdIn(any())).thenReturn(List.of());
+        when(studentRepository.streamAll()).thenAnswer(invocation -> {
+            searchIndex.reindex(List.of("S2"));
+            return Stream.of(student("S1", "Anita Rao"), student("S2", "Ravi Kumar"));
+        });
+
+        searchIndex.rebuild();
+
+        assertTrue(idsMatching("ravi").isEmpty());
+        assertEquals(1, searchIndex.stats().get("documents"));
+    }
+
+    @Test
+    void reindexOutsideARebuildUpdatesInPlace() {
+        when(studentRepository.streamAll()).thenAnswer(invocation -> Stream.of(student("S1", "Anita Rao")));
+        searchIndex.rebuild();
+
+        when(studentRepository.findByStudentIdIn(any())).thenReturn(List.of(student("S1", "Priya Rao")));
+        searchIndex.reindex(List.of("S1"));
+
+        assertEquals(List.of("S1"), idsMatching("priya"));
+        assertTrue(idsMatching("anita").isEmpty());
+        assertEquals(0L, searchIndex.stats().get("replayedAfterRebuild"));
+    }
+}
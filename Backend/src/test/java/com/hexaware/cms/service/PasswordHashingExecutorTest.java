@@ -0,0 +1,75 @@
+package com.hexaware.cms.service;
+
+import com.hexaware.cms.exception.ServiceBusyException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingExecutorTest {
+
+    // Hashes of "import-*" passwords block until released, standing in for a long BCrypt run
+    private final CountDownLatch releaseImports = new CountDownLatch(1);
+    private final Set<String> hashingThreads = ConcurrentHashMap.newKeySet();
+    private final PasswordEncoder encoder = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence raw) {
+            hashingThreads.add(Thread.currentThread().getName());
+            if (raw.toString().startsWith("import-")) {
+                try {
+                    releaseImports.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return "hash:" + raw;
+        }
+
+        @Override
+        public boolean matches(CharSequence raw, String encoded) {
+            return encoded.equals(encode(raw));
+        }
+    };
+
+    // One login thread with a one-slot queue; one bulk thread with a one-slot queue
+    private final PasswordHashingExecutor executor = new PasswordHashingExecutor(encoder, 1, 1, 2, 1, 1);
+
+    @AfterEach
+    void shutdown() {
+        releaseImports.countDown();
+        executor.destroy();
+    }
+
+    @Test
+    void importDoesNotOccupyTheLoginPool() throws Exception {
+        ExecutorService uploader = Executors.newSingleThreadExecutor();
+        try {
+            Future<List<String>> imported = uploader.submit(() -> executor.encodeAll(List.of("import-1", "import-2", "import-3")));
+            // Bulk thread and queue are taken and the uploader is hashing inline; logins still get through
+            assertEquals("hash:login", executor.encode("login").get(5, TimeUnit.SECONDS));
+            assertTrue(executor.matches("login", "hash:login").get(5, TimeUnit.SECONDS));
+
+            releaseImports.countDown();
+            assertEquals(List.of("hash:import-1", "hash:import-2", "hash:import-3"), imported.get(10, TimeUnit.SECONDS));
+            assertTrue(hashingThreads.contains("password-hash-bulk-1"));
+            assertTrue(hashingThreads.contains("password-hash-1"));
+        } finally {
+            uploader.shutdownNow();
+        }
+    }
+
+    @Test
+    void loginRejectedWhenItsOwnQueueIsFull() throws Exception {
+        executor.encode("import-a"); // occupies the only login thread
+        executor.encode("import-b"); // fills the queue
+        CompletableFuture<String> rejected = executor.encode("login");
+        ExecutionException error = assertThrows(ExecutionException.class, () -> rejected.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ServiceBusyException.class, error.getCause());
+        assertEquals(1L, executor.getRejectedCount());
+    }
+}
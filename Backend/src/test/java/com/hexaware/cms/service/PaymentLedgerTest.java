@@ -0,0 +1,32 @@
+package com.hexaware.cms.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaymentLedgerTest {
+
+    @Test
+    void configuredDirectoryIsUsedAsIs() {
+        assertEquals(Path.of("/var/lib/cms/ledger"),
+                PaymentLedger.directoryFor("/var/lib/cms/ledger", "jdbc:postgresql://db:5432/cms"));
+    }
+
+    @Test
+    void inMemoryDatabaseGetsAFreshTempDirectory() {
+        Path first = PaymentLedger.directoryFor("", "jdbc:h2:mem:college_db;DB_CLOSE_DELAY=-1");
+        Path second = PaymentLedger.directoryFor(null, "jdbc:h2:mem:college_db");
+        assertTrue(first.startsWith(Path.of(System.getProperty("java.io.tmpdir"))));
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    void persistentDatabaseWithoutLedgerDirectoryFailsStartup() {
+        assertThrows(IllegalStateException.class,
+                () -> PaymentLedger.directoryFor("", "jdbc:postgresql://db:5432/cms"));
+        assertThrows(IllegalStateException.class,
+                () -> PaymentLedger.directoryFor(" ", "jdbc:h2:file:/data/college_db"));
+    }
+}
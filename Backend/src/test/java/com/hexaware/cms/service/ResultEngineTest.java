@@ -0,0 +1,107 @@
+package com.hexaware.cms.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResultEngineTest {
+
+    // Rows arrive ordered by (semester, student), as LOAD_SQL returns them
+    private static ResultEngine engine() {
+        ResultEngine engine = ResultEngine.builder()
+                .add(1, "A", "Fall 2024", "CS", 90, 100, null)
+                .add(2, "A", "Fall 2024", "CS", 80, 100, null)
+                .add(3, "B", "Fall 2024", "CS", 70, 100, null)
+                .add(4, "B", "Fall 2024", "CS", 60, 100, null)
+                .add(5, "C", "Fall 2024", "CS", 90, 100, null)
+                .add(6, "C", "Fall 2024", "CS", 80, 100, null)
+                .add(7, "D", null, "CS", 50, 100, null)
+                .build();
+        engine.computeAll(ForkJoinPool.commonPool());
+        engine.markGradesStored();
+        return engine;
+    }
+
+    private static int rankOf(ResultEngine engine, String studentId) {
+        return engine.rank(engine.indexOf(studentId, "Fall 2024"));
+    }
+
+    @Test
+    void computesTotalsGradesAndCompetitionRanks() {
+        ResultEngine engine = engine();
+        int a = engine.indexOf("A", "Fall 2024");
+        assertEquals(170, engine.totalMarks(a));
+        assertEquals(85.0, engine.percentage(a), 0.001);
+        assertEquals(3.85, engine.gpa(a), 0.001);
+        assertEquals(1, rankOf(engine, "A"));
+        assertEquals(1, rankOf(engine, "C"));
+        assertEquals(3, rankOf(engine, "B"));
+        assertEquals(3, engine.cohortSize(a));
+    }
+
+    @Test
+    void studentsWithoutASemesterAreIndexed() {
+        ResultEngine engine = engine();
+        int d = engine.indexOf("D", null);
+        assertTrue(d >= 0);
+        assertNull(engine.semester(d));
+        assertEquals(1, engine.rank(d));
+        assertEquals(1, engine.cohortSize(d));
+    }
+
+    @Test
+    void correctionOnACopyLeavesThePublishedEngineUntouched() {
+        ResultEngine published = engine();
+        ResultEngine next = published.copy();
+        next.correct(3, 100);
+        int[] changed = next.correct(4, 100);
+
+        assertEquals(1, rankOf(next, "B"));
+        assertEquals(2, rankOf(next, "A"));
+        assertEquals(2, rankOf(next, "C"));
+        assertEquals(3, changed.length);
+
+        assertEquals(3, rankOf(published, "B"));
+        assertEquals(1, rankOf(published, "A"));
+        assertEquals(130, published.totalMarks(published.indexOf("B", "Fall 2024")));
+    }
+
+    @Test
+    void incrementalRanksMatchAFullRecompute() {
+        ResultEngine corrected = engine().copy();
+        corrected.correct(1, 40);
+        corrected.correct(6, 100);
+
+        ResultEngine recomputed = ResultEngine.builder()
+                .add(1, "A", "Fall 2024", "CS", 40, 100, null)
+                .add(2, "A", "Fall 2024", "CS", 80, 100, null)
+                .add(3, "B", "Fall 2024", "CS", 70, 100, null)
+                .add(4, "B", "Fall 2024", "CS", 60, 100, null)
+                .add(5, "C", "Fall 2024", "CS", 90, 100, null)
+                .add(6, "C", "Fall 2024", "CS", 100, 100, null)
+                .build();
+        recomputed.computeAll(ForkJoinPool.commonPool());
+        for (String student : List.of("A", "B", "C")) {
+            assertEquals(rankOf(recomputed, student), rankOf(corrected, student), student);
+        }
+    }
+
+    @Test
+    void onlyCorrectedGradesAreReportedForWriteBack() {
+        ResultEngine next = engine().copy();
+        next.correct(2, 95);
+        List<Long> changed = new ArrayList<>();
+        next.forEachChangedGrade(m -> changed.add(next.markId(m)));
+        assertEquals(List.of(2L), changed);
+        assertEquals("A+", next.grade(1));
+    }
+
+    @Test
+    void unknownMarkIsNotCorrected() {
+        assertNull(engine().copy().correct(99, 10));
+    }
+}
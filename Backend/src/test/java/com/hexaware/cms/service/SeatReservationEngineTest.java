@@ -0,0 +1,141 @@
+package com.hexaware.cms.service;
+
+import com.hexaware.cms.service.SeatReservationEngine.Outcome;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeatReservationEngineTest {
+
+    private final AtomicLong now = new AtomicLong(1_000);
+    private final SeatReservationEngine engine = new SeatReservationEngine(100, now::get);
+
+    @Test
+    void rejectsOnceCapacityIsTaken() {
+        engine.loadCourse(1L, 2, 1, List.of("S0"));
+        assertEquals(Outcome.RESERVED, engine.reserve(1L, "S1").outcome());
+        assertEquals(Outcome.FULL, engine.reserve(1L, "S2").outcome());
+        assertEquals(Outcome.ALREADY_ENROLLED, engine.reserve(1L, "S0").outcome());
+        assertEquals(Outcome.UNKNOWN_COURSE, engine.reserve(9L, "S1").outcome());
+    }
+
+    @Test
+    void expiredHoldReturnsItsSeat() {
+        engine.loadCourse(1L, 1, 0, List.of());
+        SeatReservationEngine.Hold hold = engine.reserve(1L, "S1").hold();
+        now.addAndGet(100);
+        assertEquals(Outcome.HOLD_EXPIRED, engine.confirm(hold.holdId()).outcome());
+        assertEquals(1, engine.seats(1L).available());
+        assertEquals(Outcome.HOLD_NOT_FOUND, engine.confirm(hold.holdId()).outcome());
+    }
+
+    @Test
+    void sweeperExpiresOnlyUnconfirmedHolds() {
+        engine.loadCourse(1L, 2, 0, List.of());
+        String confirmed = engine.reserve(1L, "S1").hold().holdId();
+        engine.reserve(1L, "S2");
+        assertEquals(Outcome.CONFIRMED, engine.confirm(confirmed).outcome());
+        now.addAndGet(100);
+        assertEquals(1, engine.expireDue());
+        assertEquals(new SeatReservationEngine.SeatCounts(2, 1, 0, 1), engine.seats(1L));
+    }
+
+    @Test
+    void revokedConfirmationFreesTheSeat() {
+        engine.loadCourse(1L, 1, 0, List.of());
+        engine.confirm(engine.reserve(1L, "S1").hold().holdId());
+        assertEquals(Outcome.FULL, engine.reserve(1L, "S2").outcome());
+        engine.revokeConfirmed(1L, "S1");
+        assertEquals(new SeatReservationEngine.SeatCounts(1, 0, 0, 1), engine.seats(1L));
+        assertEquals(Outcome.RESERVED, engine.reserve(1L, "S1").outcome());
+    }
+
+    // Enrollment rush: reserve -> confirm / release / abandon from many threads while a sweeper
+    // expires abandoned holds; no course may ever be over-allocated and every seat is accounted for
+    @Test
+    void enrollmentRushNeverOverAllocates() throws Exception {
+        int capacity = 500;
+        List<Long> courses = List.of(1L, 2L, 3L, 4L);
+        SeatReservationEngine rush = new SeatReservationEngine(5, System::currentTimeMillis);
+        courses.forEach(id -> rush.loadCourse(id, capacity, 0, List.of()));
+
+        LongAdder reserved = new LongAdder();
+        LongAdder confirmed = new LongAdder();
+        LongAdder released = new LongAdder();
+        LongAdder expiredOnConfirm = new LongAdder();
+        LongAdder expiredBySweeper = new LongAdder();
+        AtomicLong studentIds = new AtomicLong();
+        AtomicReference<String> violation = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(1);
+
+        Thread sweeper = new Thread(() -> {
+            while (done.getCount() > 0) {
+                expiredBySweeper.add(rush.expireDue());
+                for (Long id : courses) {
+                    SeatReservationEngine.SeatCounts seats = rush.seats(id);
+                    if (seats.confirmed() + seats.held() > capacity) {
+                        violation.compareAndSet(null, "course " + id + " over-allocated: " + seats);
+                    }
+                }
+            }
+        }, "hold-sweeper");
+        sweeper.start();
+
+        int threads = 32;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            workers.add(pool.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < 2_000; i++) {
+                    long courseId = courses.get(random.nextInt(courses.size()));
+                    SeatReservationEngine.Result hold = rush.reserve(courseId, "S" + studentIds.incrementAndGet());
+                    if (hold.outcome() != Outcome.RESERVED) {
+                        continue;
+                    }
+                    reserved.increment();
+                    int roll = random.nextInt(100);
+                    if (roll < 85) {
+                        Outcome outcome = rush.confirm(hold.hold().holdId()).outcome();
+                        if (outcome == Outcome.CONFIRMED) {
+                            confirmed.increment();
+                        } else if (outcome == Outcome.HOLD_EXPIRED) {
+                            expiredOnConfirm.increment();
+                        }
+                    } else if (roll < 95 && rush.release(hold.hold().holdId()).outcome() == Outcome.RELEASED) {
+                        released.increment();
+                    }
+                }
+            }));
+        }
+        try {
+            for (Future<?> worker : workers) {
+                worker.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            done.countDown();
+            sweeper.join();
+            pool.shutdownNow();
+        }
+
+        assertNull(violation.get());
+        long confirmedSeats = 0;
+        long heldSeats = 0;
+        for (Long id : courses) {
+            SeatReservationEngine.SeatCounts seats = rush.seats(id);
+            assertTrue(seats.confirmed() + seats.held() <= capacity, "over-allocated: " + seats);
+            confirmedSeats += seats.confirmed();
+            heldSeats += seats.held();
+        }
+        assertEquals(confirmed.sum(), confirmedSeats);
+        assertEquals(reserved.sum() - released.sum() - expiredOnConfirm.sum() - expiredBySweeper.sum(),
+                confirmedSeats + heldSeats);
+    }
+}
@@ -0,0 +1,94 @@
+package com.hexaware.cms.service;
+
+import com.hexaware.cms.util.RoaringBitmap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SectionAttendanceTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2025, 1, 6);
+
+    private SectionAttendance section;
+
+    @BeforeEach
+    void setUp() {
+        section = new SectionAttendance(1L);
+        for (String studentId : List.of("S0", "S1", "S2", "S3")) {
+            section.addToRoster(studentId, section.rosterSize());
+        }
+        section.setActive(RoaringBitmap.range(0, 4));
+    }
+
+    private static SectionAttendance.SessionKey day(int offset) {
+        return new SectionAttendance.SessionKey(MONDAY.plusDays(offset), 1);
+    }
+
+    @Test
+    void countsAttendancePerStudent() {
+        section.putSession(day(0), RoaringBitmap.of(0, 1, 2), 4);
+        section.putSession(day(1), RoaringBitmap.of(0, 1), 4);
+
+        assertEquals(2, section.student("S0").attended());
+        assertEquals(1, section.student("S2").attended());
+        assertEquals(2, section.student("S3").sessions());
+        assertEquals(0.0, section.student("S3").percentage(), 0.001);
+        assertEquals(List.of(day(1)), section.absences("S2"));
+        assertNull(section.student("S9"));
+    }
+
+    @Test
+    void rerecordingASessionOnlyMovesChangedStudents() {
+        section.putSession(day(0), RoaringBitmap.of(0, 1), 4);
+        section.putSession(day(0), RoaringBitmap.of(1, 2), 4);
+
+        assertEquals(1, section.sessionCount());
+        assertEquals(0, section.student("S0").attended());
+        assertEquals(1, section.student("S1").attended());
+        assertEquals(1, section.student("S2").attended());
+        assertEquals(1, section.student("S0").sessions());
+    }
+
+    @Test
+    void lateJoinerIsOnlyCountedForLaterSessions() {
+        section.putSession(day(0), RoaringBitmap.of(0, 1, 2, 3), 4);
+        section.addToRoster("S4", 4);
+        section.setActive(RoaringBitmap.range(0, 5));
+        section.putSession(day(1), RoaringBitmap.of(0, 4), 5);
+
+        assertEquals(1, section.student("S4").sessions());
+        assertEquals(100.0, section.student("S4").percentage(), 0.001);
+        assertEquals(List.of(), section.absences("S4"));
+        assertThrows(IllegalStateException.class, () -> section.putSession(day(2), RoaringBitmap.of(0), 6));
+    }
+
+    @Test
+    void listsActiveStudentsBelowThresholdLowestFirst() {
+        section.putSession(day(0), RoaringBitmap.of(0, 1, 2), 4);
+        section.putSession(day(1), RoaringBitmap.of(0, 1), 4);
+        section.putSession(day(2), RoaringBitmap.of(0, 1, 2), 4);
+        section.putSession(day(3), RoaringBitmap.of(0), 4);
+        // S3 dropped the course: still on the roster, no longer listed
+        section.setActive(RoaringBitmap.range(0, 3));
+
+        List<String> below = section.below(75).stream().map(SectionAttendance.StudentAttendance::studentId).toList();
+        assertEquals(List.of("S2"), below);
+        assertEquals(List.of("S2", "S1"),
+                section.below(100).stream().map(SectionAttendance.StudentAttendance::studentId).toList());
+    }
+
+    @Test
+    void absentThroughoutNeedsEverySessionInTheRange() {
+        section.putSession(day(0), RoaringBitmap.of(0, 1), 4);
+        section.putSession(day(1), RoaringBitmap.of(0, 2), 4);
+        section.putSession(day(4), RoaringBitmap.of(3), 4);
+
+        assertEquals(List.of("S3"), section.absentThroughout(MONDAY, MONDAY.plusDays(1)));
+        assertEquals(List.of(), section.absentThroughout(MONDAY, MONDAY.plusDays(4)));
+        assertEquals(List.of(), section.absentThroughout(MONDAY.plusDays(2), MONDAY.plusDays(3)));
+    }
+}
@@ -0,0 +1,96 @@
+package com.hexaware.cms.service;
+
+import com.hexaware.cms.service.TimetableIndex.Clash;
+import com.hexaware.cms.service.TimetableIndex.ClashKind;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimetableIndexTest {
+
+    private TimetableIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TimetableIndex();
+        index.putSection(TimetableIndex.section(1, "CS101", "Fall 2024", "Room 101", "Dr. Rao", "Mon, Wed 9:00-10:30"));
+        index.putSection(TimetableIndex.section(2, "MA101", "Fall 2024", "Room 102", "Dr. Iyer", "Mon 10:00-11:00"));
+        index.putSection(TimetableIndex.section(3, "PH101", "Fall 2024", "Room 103", "Dr. Sen", "Tue 9:00-10:00"));
+    }
+
+    @Test
+    void enrollIfFreeRejectsAnOverlappingCourse() {
+        assertEquals(List.of(), index.enrollIfFree("S1", 1));
+
+        List<Clash> clashes = index.enrollIfFree("S1", 2);
+        assertEquals(List.of(new Clash(ClashKind.STUDENT, "S1", 2, 1, DayOfWeek.MONDAY, 600, 630)), clashes);
+        // Nothing was recorded, so the clash-free course still goes through
+        assertEquals(List.of(), index.enrollIfFree("S1", 3));
+        assertEquals(List.of(), index.studentClashes("S2", 2));
+    }
+
+    @Test
+    void unenrollFreesTheSlot() {
+        index.enrollIfFree("S1", 1);
+        index.unenroll("S1", 1);
+        assertEquals(List.of(), index.enrollIfFree("S1", 2));
+    }
+
+    @Test
+    void roomAndInstructorDoubleBookingsIgnoreCaseAndSpacing() {
+        TimetableIndex.Section proposed = TimetableIndex.section(
+                4, "CS102", "Fall 2024", "room  101", "DR. RAO", "Wed 10:00-11:00");
+
+        List<Clash> clashes = index.proposedClashes(proposed);
+        assertEquals(2, clashes.size());
+        assertEquals(List.of(ClashKind.ROOM, ClashKind.INSTRUCTOR), clashes.stream().map(Clash::kind).toList());
+        assertTrue(clashes.stream().allMatch(c -> c.otherCourseId() == 1 && c.startMinute() == 600 && c.endMinute() == 630));
+
+        TimetableIndex.Section otherSemester = TimetableIndex.section(
+                4, "CS102", "Spring 2025", "Room 101", "Dr. Rao", "Wed 10:00-11:00");
+        assertEquals(List.of(), index.proposedClashes(otherSemester));
+    }
+
+    @Test
+    void rescheduledSectionMovesItsStudents() {
+        index.enroll("S1", 1);
+        index.putSection(TimetableIndex.section(1, "CS101", "Fall 2024", "Room 101", "Dr. Rao", "Thu 9:00-10:30"));
+
+        assertEquals(List.of(), index.enrollIfFree("S1", 2));
+        index.putSection(TimetableIndex.section(6, "CH101", "Fall 2024", "Room 104", "Dr. Das", "Thu 9:30-10:00"));
+        assertEquals(List.of(new Clash(ClashKind.STUDENT, "S1", 6, 1, DayOfWeek.THURSDAY, 570, 600)),
+                index.enrollIfFree("S1", 6));
+    }
+
+    @Test
+    void validateAllReportsEachPairOnce() {
+        index.putSection(TimetableIndex.section(4, "CS102", "Fall 2024", "Room 101", "Dr. Kapoor", "Mon 10:00-11:00"));
+        index.enroll("S1", 2);
+        index.enroll("S1", 1);
+        index.enroll("S2", 3);
+
+        List<Clash> clashes = index.validateAll();
+        assertEquals(List.of(
+                new Clash(ClashKind.ROOM, "Room 101", 1, 4, DayOfWeek.MONDAY, 600, 630),
+                new Clash(ClashKind.STUDENT, "S1", 1, 2, DayOfWeek.MONDAY, 600, 630)), clashes);
+    }
+
+    @Test
+    void removedSectionNoLongerClashes() {
+        index.enroll("S1", 1);
+        index.removeSection(1);
+        assertEquals(List.of(), index.enrollIfFree("S1", 2));
+        assertEquals(List.of(), index.validateAll());
+    }
+
+    @Test
+    void unparseableScheduleNeverClashes() {
+        index.putSection(TimetableIndex.section(5, "XX100", "Fall 2024", "Room 101", "Dr. Rao", "TBA"));
+        assertEquals(List.of(), index.sectionClashes(5));
+        assertEquals(1L, index.stats().get("unscheduledSections"));
+    }
+}
@@ -0,0 +1,108 @@
+package com.hexaware.cms.service;
+
+import com.hexaware.cms.dto.UserImportReport;
+import com.hexaware.cms.dto.UserImportReport.RowResult;
+import com.hexaware.cms.dto.UserImportReport.Status;
+import com.hexaware.cms.model.User;
+import com.hexaware.cms.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserImportServiceTest {
+
+    private static final String CSV = """
+            name,email,password
+            Dup,dup@college.edu,secret-1
+            Broken,broken@college.edu,secret-2
+            Ok,ok@college.edu,secret-3
+            """;
+
+    private final PasswordEncoder encoder = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence raw) {
+            return "hash:" + raw;
+        }
+
+        @Override
+        public boolean matches(CharSequence raw, String encoded) {
+            return encoded.equals(encode(raw));
+        }
+    };
+
+    private final PasswordHashingExecutor hashing = new PasswordHashingExecutor(encoder, 1, 8, 2, 1, 8);
+    private final List<String> persisted = new ArrayList<>();
+    private EntityManager entityManager;
+    private UserImportService service;
+
+    @BeforeEach
+    void setUp() {
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findExistingEmails(any())).thenReturn(List.of());
+        entityManager = mock(EntityManager.class);
+        service = new UserImportService(mock(PlatformTransactionManager.class), 100);
+        ReflectionTestUtils.setField(service, "userRepository", userRepository);
+        ReflectionTestUtils.setField(service, "passwordHashingExecutor", hashing);
+        ReflectionTestUtils.setField(service, "entityManager", entityManager);
+    }
+
+    @AfterEach
+    void shutdown() {
+        hashing.destroy();
+    }
+
+    private UserImportReport importCsv() throws Exception {
+        return service.importUsers(new ByteArrayInputStream(CSV.getBytes(StandardCharsets.UTF_8)),
+                UserImportService.Format.CSV);
+    }
+
+    @Test
+    void onlyUniqueKeyViolationsAreReportedAsExistingUsers() throws Exception {
+        doAnswer(invocation -> {
+            User user = invocation.getArgument(0);
+            switch (user.getEmail()) {
+                case "dup@college.edu" -> throw new DataIntegrityViolationException("unique key users.email");
+                case "broken@college.edu" -> throw new IllegalStateException("Connection reset");
+                default -> persisted.add(user.getEmail());
+            }
+            return null;
+        }).when(entityManager).persist(any());
+
+        UserImportReport report = importCsv();
+
+        List<RowResult> rows = report.rows();
+        assertEquals(new RowResult(2, "dup@college.edu", Status.SKIPPED, "User already exists"), rows.get(0));
+        assertEquals(new RowResult(3, "broken@college.edu", Status.FAILED, "Insert failed: Connection reset"), rows.get(1));
+        assertEquals(new RowResult(4, "ok@college.edu", Status.CREATED, null), rows.get(2));
+        assertEquals(1, report.created());
+        assertEquals(1, report.skipped());
+        assertEquals(1, report.failed());
+    }
+
+    @Test
+    void cleanChunkIsInsertedInOneBatch() throws Exception {
+        doAnswer(invocation -> {
+            persisted.add(((User) invocation.getArgument(0)).getEmail());
+            return null;
+        }).when(entityManager).persist(any());
+
+        UserImportReport report = importCsv();
+
+        assertEquals(3, report.created());
+        assertEquals(List.of("dup@college.edu", "broken@college.edu", "ok@college.edu"), persisted);
+        verify(entityManager, times(1)).flush();
+    }
+}
@@ -0,0 +1,97 @@
+package com.hexaware.cms.service;
+
+import com.hexaware.cms.model.Role;
+import com.hexaware.cms.model.UserPrincipal;
+import com.hexaware.cms.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserPrincipalCacheTest {
+
+    private static final String EMAIL = "ravi@college.edu";
+
+    private UserRepository userRepository;
+    private UserPrincipalCache cache;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        cache = new UserPrincipalCache(userRepository, 100, 60_000);
+    }
+
+    private static UserPrincipal principal(String name) {
+        return new UserPrincipal(1L, EMAIL, name, "hash", Role.STUDENT);
+    }
+
+    @Test
+    void repeatedLookupsAreServedFromTheCache() {
+        when(userRepository.findPrincipalByEmail(EMAIL)).thenReturn(Optional.of(principal("Ravi")));
+
+        assertEquals("Ravi", cache.get(EMAIL).orElseThrow().name());
+        assertEquals("Ravi", cache.get("  Ravi@College.EDU ").orElseThrow().name());
+
+        verify(userRepository, times(1)).findPrincipalByEmail(EMAIL);
+        assertEquals(1L, cache.stats().get("hits"));
+    }
+
+    @Test
+    void unknownEmailsAreNotCached() {
+        when(userRepository.findPrincipalByEmail(EMAIL)).thenReturn(Optional.empty());
+
+        assertTrue(cache.get(EMAIL).isEmpty());
+        assertTrue(cache.get(EMAIL).isEmpty());
+
+        verify(userRepository, times(2)).findPrincipalByEmail(EMAIL);
+    }
+
+    @Test
+    void invalidationDuringALoadDiscardsTheLoadedValue() {
+        // The writer commits and evicts while this reader still holds the old row
+        when(userRepository.findPrincipalByEmail(EMAIL))
+                .thenAnswer(invocation -> {
+                    cache.invalidate(EMAIL);
+                    return Optional.of(principal("Old name"));
+                })
+                .thenReturn(Optional.of(principal("New name")));
+
+        assertEquals("Old name", cache.get(EMAIL).orElseThrow().name());
+        assertEquals("New name", cache.get(EMAIL).orElseThrow().name());
+        assertEquals("New name", cache.get(EMAIL).orElseThrow().name());
+
+        verify(userRepository, times(2)).findPrincipalByEmail(EMAIL);
+        assertEquals(1L, cache.stats().get("staleLoadsDiscarded"));
+    }
+
+    @Test
+    void invalidateAllDiscardsLoadsInFlight() {
+        when(userRepository.findPrincipalByEmail(EMAIL))
+                .thenAnswer(invocation -> {
+                    cache.invalidateAll();
+                    return Optional.of(principal("Old name"));
+                })
+                .thenReturn(Optional.of(principal("New name")));
+
+        cache.get(EMAIL);
+        assertEquals(0, cache.stats().get("size"));
+        assertEquals("New name", cache.get(EMAIL).orElseThrow().name());
+        assertEquals(1, cache.stats().get("size"));
+    }
+
+    @Test
+    void invalidationEvictsACachedEntry() {
+        when(userRepository.findPrincipalByEmail(EMAIL))
+                .thenReturn(Optional.of(principal("Old name")))
+                .thenReturn(Optional.of(principal("New name")));
+
+        cache.get(EMAIL);
+        cache.invalidate("RAVI@college.edu");
+
+        assertEquals("New name", cache.get(EMAIL).orElseThrow().name());
+        verify(userRepository, times(2)).findPrincipalByEmail(EMAIL);
+    }
+}
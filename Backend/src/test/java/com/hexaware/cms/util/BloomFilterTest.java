@@ -0,0 +1,52 @@
+package com.hexaware.cms.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void hasNoFalseNegatives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("jti-" + i);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("jti-" + i), "jti-" + i);
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTheTargetAtCapacity() {
+        BloomFilter filter = new BloomFilter(50_000, 0.01);
+        for (int i = 0; i < 50_000; i++) {
+            filter.add("revoked-" + i);
+        }
+        int falsePositives = 0;
+        int probes = 200_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("live-" + i)) {
+                falsePositives++;
+            }
+        }
+        double rate = falsePositives / (double) probes;
+        assertTrue(rate < 0.02, "false-positive rate " + rate);
+    }
+
+    @Test
+    void sizesBitsAndHashesFromTheTarget() {
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+        // ~9.6 bits and ~7 hashes per element for 1%
+        assertTrue(filter.bitCount() >= 9_585 && filter.bitCount() < 9_585 + 64, "bits " + filter.bitCount());
+        assertEquals(7, filter.hashCount());
+        assertEquals(filter.bitCount() / 8, filter.sizeInBytes());
+    }
+
+    @Test
+    void rejectsInvalidSizing() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 1));
+    }
+}
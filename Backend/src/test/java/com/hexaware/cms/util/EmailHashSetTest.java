@@ -0,0 +1,100 @@
+package com.hexaware.cms.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmailHashSetTest {
+
+    @Test
+    void addressesAreMatchedAfterNormalization() {
+        EmailHashSet emails = new EmailHashSet(10);
+        assertTrue(emails.add("Ravi@College.edu"));
+        assertFalse(emails.add("  ravi@college.EDU "));
+
+        assertTrue(emails.contains("ravi@college.edu"));
+        assertFalse(emails.contains("ravi@college.com"));
+        assertEquals(1, emails.size());
+    }
+
+    @Test
+    void removeKeepsTheRestOfAProbeRunReachable() {
+        EmailHashSet emails = new EmailHashSet(16);
+        List<String> added = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            added.add("user" + i + "@college.edu");
+            emails.add(added.get(i));
+        }
+        for (int i = 0; i < 12; i += 2) {
+            assertTrue(emails.remove(added.get(i)));
+        }
+        assertFalse(emails.remove(added.get(0)));
+        for (int i = 0; i < 12; i++) {
+            assertEquals(i % 2 == 1, emails.contains(added.get(i)), added.get(i));
+        }
+        assertEquals(6, emails.size());
+    }
+
+    // Random adds and removes through several resizes, checked against a HashSet
+    @Test
+    void matchesAHashSet() {
+        Random random = new Random(25);
+        EmailHashSet emails = new EmailHashSet(16);
+        Set<String> expected = new HashSet<>();
+        for (int step = 0; step < 50_000; step++) {
+            String email = "s" + random.nextInt(5_000) + "@college.edu";
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(email), emails.remove(email), "remove " + email);
+            } else {
+                assertEquals(expected.add(email), emails.add(email), "add " + email);
+            }
+        }
+        assertEquals(expected.size(), emails.size());
+        for (int i = 0; i < 5_000; i++) {
+            String email = "s" + i + "@college.edu";
+            assertEquals(expected.contains(email), emails.contains(email), email);
+        }
+    }
+
+    @Test
+    void usesEightBytesPerSlotAtMostThreeQuartersFull() {
+        EmailHashSet emails = new EmailHashSet(1_000);
+        for (int i = 0; i < 1_000; i++) {
+            emails.add("user" + i + "@college.edu");
+        }
+        long slots = (emails.sizeInBytes() - 16) / Long.BYTES;
+        assertTrue(slots >= 1_000 / 0.75, "slots " + slots);
+        assertEquals(0, Long.bitCount(slots) - 1, "power of two");
+    }
+
+    @Test
+    void readersSeeEveryAddressWhileTheTableGrows() throws Exception {
+        EmailHashSet emails = new EmailHashSet(16);
+        for (int i = 0; i < 100; i++) {
+            emails.add("stable" + i + "@college.edu");
+        }
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < 100_000; i++) {
+                emails.add("new" + i + "@college.edu");
+            }
+        });
+        writer.start();
+        int misses = 0;
+        while (writer.isAlive()) {
+            for (int i = 0; i < 100; i++) {
+                if (!emails.contains("stable" + i + "@college.edu")) {
+                    misses++;
+                }
+            }
+        }
+        writer.join();
+        assertEquals(0, misses);
+        assertEquals(100_100, emails.size());
+    }
+}
@@ -0,0 +1,105 @@
+package com.hexaware.cms.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntervalTreeTest {
+
+    private record Interval(int start, int end, long id) {
+        boolean overlaps(int from, int to) {
+            return start < to && from < end;
+        }
+    }
+
+    private static List<Interval> overlaps(IntervalTree tree, int start, int end) {
+        List<Interval> found = new ArrayList<>();
+        tree.forEachOverlap(start, end, (s, e, id) -> found.add(new Interval(s, e, id)));
+        return found;
+    }
+
+    @Test
+    void intervalsAreHalfOpen() {
+        IntervalTree tree = new IntervalTree();
+        tree.insert(540, 600, 1);
+
+        assertFalse(tree.overlapsAny(600, 660, -1));
+        assertFalse(tree.overlapsAny(480, 540, -1));
+        assertTrue(tree.overlapsAny(599, 600, -1));
+        assertTrue(tree.overlapsAny(500, 700, -1));
+        assertFalse(tree.overlapsAny(500, 700, 1));
+    }
+
+    @Test
+    void reportsOverlapsInStartOrder() {
+        IntervalTree tree = new IntervalTree();
+        tree.insert(600, 660, 3);
+        tree.insert(540, 600, 1);
+        tree.insert(570, 630, 2);
+        tree.insert(720, 780, 4);
+
+        assertEquals(List.of(new Interval(540, 600, 1), new Interval(570, 630, 2), new Interval(600, 660, 3)),
+                overlaps(tree, 590, 610));
+        assertEquals(List.of(), overlaps(tree, 660, 720));
+    }
+
+    @Test
+    void duplicateInsertIsIgnoredAndRemoveIsExact() {
+        IntervalTree tree = new IntervalTree();
+        tree.insert(540, 600, 1);
+        tree.insert(540, 600, 1);
+        tree.insert(540, 600, 2);
+        assertEquals(2, tree.size());
+
+        assertFalse(tree.remove(540, 601, 1));
+        assertTrue(tree.remove(540, 600, 1));
+        assertFalse(tree.remove(540, 600, 1));
+        assertEquals(List.of(new Interval(540, 600, 2)), overlaps(tree, 0, 1440));
+        assertTrue(tree.remove(540, 600, 2));
+        assertTrue(tree.isEmpty());
+    }
+
+    @Test
+    void rejectsEmptyIntervals() {
+        IntervalTree tree = new IntervalTree();
+        assertThrows(IllegalArgumentException.class, () -> tree.insert(600, 600, 1));
+        assertThrows(IllegalArgumentException.class, () -> tree.insert(600, 540, 1));
+    }
+
+    // Random inserts and removes, every query checked against a linear scan
+    @Test
+    void matchesABruteForceScan() {
+        Random random = new Random(11);
+        IntervalTree tree = new IntervalTree();
+        List<Interval> stored = new ArrayList<>();
+        for (int step = 0; step < 5_000; step++) {
+            if (!stored.isEmpty() && random.nextInt(3) == 0) {
+                Interval victim = stored.remove(random.nextInt(stored.size()));
+                assertTrue(tree.remove(victim.start, victim.end, victim.id));
+            } else {
+                int start = random.nextInt(1_400);
+                Interval added = new Interval(start, start + 1 + random.nextInt(120), step);
+                tree.insert(added.start, added.end, added.id);
+                stored.add(added);
+            }
+            assertEquals(stored.size(), tree.size());
+
+            int from = random.nextInt(1_440);
+            int to = from + 1 + random.nextInt(60);
+            List<Interval> expected = stored.stream()
+                    .filter(interval -> interval.overlaps(from, to))
+                    .sorted((a, b) -> a.start != b.start ? Integer.compare(a.start, b.start)
+                            : a.end != b.end ? Integer.compare(a.end, b.end) : Long.compare(a.id, b.id))
+                    .toList();
+            assertEquals(expected, overlaps(tree, from, to));
+            assertEquals(!expected.isEmpty(), tree.overlapsAny(from, to, -1));
+            if (expected.size() == 1) {
+                assertFalse(tree.overlapsAny(from, to, expected.get(0).id));
+            }
+        }
+    }
+}
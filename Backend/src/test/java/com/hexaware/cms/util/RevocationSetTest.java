@@ -0,0 +1,98 @@
+package com.hexaware.cms.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RevocationSetTest {
+
+    private static final long MINUTE = 60_000;
+    private static final long NOW = 1_700_000_000_000L;
+
+    private final RevocationSet revoked = new RevocationSet(MINUTE, 1_000, 0.01);
+
+    @Test
+    void revokedTokenIsFoundUntilItExpires() {
+        assertTrue(revoked.revoke("a", NOW + 30 * MINUTE, NOW));
+
+        assertTrue(revoked.isRevoked("a", NOW + 30 * MINUTE));
+        assertFalse(revoked.isRevoked("b", NOW + 30 * MINUTE));
+        assertFalse(revoked.isRevoked(null, NOW + 30 * MINUTE));
+        assertEquals(1, revoked.size());
+    }
+
+    @Test
+    void duplicateAndAlreadyExpiredRevocationsAreIgnored() {
+        assertTrue(revoked.revoke("a", NOW + MINUTE, NOW));
+        assertFalse(revoked.revoke("a", NOW + MINUTE, NOW));
+        assertFalse(revoked.revoke("b", NOW, NOW));
+        assertFalse(revoked.revoke(null, NOW + MINUTE, NOW));
+        assertEquals(1, revoked.size());
+    }
+
+    @Test
+    void expireDropsOnlyBucketsWhoseTokensHaveAllExpired() {
+        revoked.revoke("early", NOW + 10 * MINUTE, NOW);
+        revoked.revoke("late", NOW + 20 * MINUTE, NOW);
+
+        assertEquals(0, revoked.expire(NOW + 5 * MINUTE));
+        assertEquals(1, revoked.expire(NOW + 11 * MINUTE));
+
+        assertFalse(revoked.isRevoked("early", NOW + 10 * MINUTE));
+        assertTrue(revoked.isRevoked("late", NOW + 20 * MINUTE));
+        assertEquals(1, revoked.size());
+    }
+
+    @Test
+    void growingPastTheFilterSizeRebuildsWithoutLosingIds() {
+        RevocationSet small = new RevocationSet(MINUTE, 10, 0.01);
+        for (int i = 0; i < 5_000; i++) {
+            small.revoke("jti-" + i, NOW + (i % 60) * MINUTE + 1, NOW);
+        }
+        for (int i = 0; i < 5_000; i++) {
+            assertTrue(small.isRevoked("jti-" + i, NOW + (i % 60) * MINUTE + 1), "jti-" + i);
+        }
+        assertTrue((long) small.stats().get("rebuilds") > 0);
+    }
+
+    @Test
+    void concurrentRevocationsSurviveRebuilds() throws Exception {
+        RevocationSet shared = new RevocationSet(MINUTE, 16, 0.01);
+        int threads = 8;
+        int perThread = 2_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                pool.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    for (int i = 0; i < perThread; i++) {
+                        shared.revoke(thread + "-" + i, NOW + MINUTE, NOW);
+                    }
+                });
+            }
+            start.countDown();
+        } finally {
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+        }
+
+        assertEquals(threads * perThread, shared.size());
+        for (int t = 0; t < threads; t++) {
+            for (int i = 0; i < perThread; i++) {
+                assertTrue(shared.isRevoked(t + "-" + i, NOW + MINUTE), t + "-" + i);
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.hexaware.cms.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoaringBitmapTest {
+
+    // Sparse values (array containers), a dense block (bitset) and long runs, across several chunks
+    private static RoaringBitmap mixed(Random random, BitSet expected) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        for (int i = 0; i < 2_000; i++) {
+            int value = random.nextInt(300_000);
+            bitmap.add(value);
+            expected.set(value);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            int value = 70_000 + random.nextInt(20_000);
+            bitmap.add(value);
+            expected.set(value);
+        }
+        int from = 131_000 + random.nextInt(1_000);
+        bitmap.addRange(from, from + 5_000);
+        expected.set(from, from + 5_000);
+        return bitmap;
+    }
+
+    private static void assertSame(BitSet expected, RoaringBitmap actual) {
+        assertEquals(expected.cardinality(), actual.cardinality());
+        assertArrayEquals(expected.stream().toArray(), actual.toArray());
+    }
+
+    @Test
+    void matchesABitSetAcrossContainerTypes() {
+        Random random = new Random(17);
+        BitSet expected = new BitSet();
+        RoaringBitmap bitmap = mixed(random, expected);
+        for (int i = 0; i < 3_000; i++) {
+            int value = random.nextInt(300_000);
+            bitmap.remove(value);
+            expected.clear(value);
+        }
+        assertSame(expected, bitmap);
+        for (int i = 0; i < 1_000; i++) {
+            int value = random.nextInt(300_000);
+            assertEquals(expected.get(value), bitmap.contains(value), "contains " + value);
+        }
+    }
+
+    @Test
+    void setOperationsMatchABitSet() {
+        Random random = new Random(42);
+        BitSet a = new BitSet();
+        BitSet b = new BitSet();
+        RoaringBitmap left = mixed(random, a);
+        RoaringBitmap right = mixed(random, b);
+
+        BitSet and = (BitSet) a.clone();
+        and.and(b);
+        BitSet or = (BitSet) a.clone();
+        or.or(b);
+        BitSet andNot = (BitSet) a.clone();
+        andNot.andNot(b);
+
+        assertSame(and, RoaringBitmap.and(left, right));
+        assertEquals(and.cardinality(), RoaringBitmap.andCardinality(left, right));
+        assertSame(or, RoaringBitmap.or(left, right));
+        assertSame(andNot, RoaringBitmap.andNot(left, right));
+        // Inputs are left untouched
+        assertSame(a, left);
+        assertSame(b, right);
+    }
+
+    @Test
+    void serializationRoundTripsBeforeAndAfterRunOptimize() {
+        BitSet expected = new BitSet();
+        RoaringBitmap bitmap = mixed(new Random(7), expected);
+
+        assertEquals(bitmap, RoaringBitmap.deserialize(bitmap.serialize()));
+        int before = bitmap.serializedSizeInBytes();
+        bitmap.runOptimize();
+        byte[] bytes = bitmap.serialize();
+        assertEquals(bitmap.serializedSizeInBytes(), bytes.length);
+        assertTrue(bytes.length <= before);
+        assertSame(expected, RoaringBitmap.deserialize(bytes));
+    }
+
+    @Test
+    void fullSectionRunCompressesToAFewBytes() {
+        RoaringBitmap present = RoaringBitmap.range(0, 20_000);
+        present.remove(5_000);
+        present.runOptimize();
+        assertEquals(19_999, present.cardinality());
+        assertTrue(present.serializedSizeInBytes() < 64, present.serializedSizeInBytes() + " bytes");
+        assertFalse(RoaringBitmap.deserialize(present.serialize()).contains(5_000));
+    }
+
+    @Test
+    void copyIsIndependent() {
+        RoaringBitmap original = RoaringBitmap.of(1, 2, 3);
+        RoaringBitmap copy = original.copy();
+        copy.add(4);
+        copy.remove(1);
+        assertArrayEquals(new int[] {1, 2, 3}, original.toArray());
+        assertArrayEquals(new int[] {2, 3, 4}, copy.toArray());
+    }
+
+    @Test
+    void rejectsNegativeValues() {
+        assertThrows(IllegalArgumentException.class, () -> new RoaringBitmap().add(-1));
+    }
+}
@@ -0,0 +1,82 @@
+package com.hexaware.cms.util;
+
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingXlsxWriterTest {
+
+    private static Map<String, byte[]> unzip(byte[] xlsx) throws IOException {
+        Map<String, byte[]> entries = new HashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(xlsx))) {
+            for (ZipEntry entry; (entry = zip.getNextEntry()) != null; ) {
+                entries.put(entry.getName(), zip.readAllBytes());
+            }
+        }
+        return entries;
+    }
+
+    private static Document parse(byte[] xml) throws Exception {
+        return DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(new ByteArrayInputStream(xml));
+    }
+
+    @Test
+    void sheetNameDropsCharactersExcelRejects() {
+        assertEquals("Fees 202425 Q1", StreamingXlsxWriter.sheetName("Fees [2024/25]: Q1?*\\", 1));
+        assertEquals("Fees", StreamingXlsxWriter.sheetName("'Fees'", 1));
+        assertEquals("Tab", StreamingXlsxWriter.sheetName("Ta\tb", 1));
+        assertEquals("Sheet", StreamingXlsxWriter.sheetName(" []' ", 1));
+        assertEquals("Sheet (3)", StreamingXlsxWriter.sheetName(null, 3));
+    }
+
+    @Test
+    void sheetNameFitsThirtyOneCharactersWithTheOverflowSuffix() {
+        String base = "Outstanding fees by course and semester";
+        assertEquals("Outstanding fees by course and", StreamingXlsxWriter.sheetName(base, 1));
+        String second = StreamingXlsxWriter.sheetName(base, 2);
+        assertEquals("Outstanding fees by course (2)", second);
+        assertTrue(second.length() <= 31);
+        assertEquals(31, StreamingXlsxWriter.sheetName("x".repeat(40), 12).length());
+
+        String emoji = "a".repeat(30) + "😀";
+        assertEquals("a".repeat(30), StreamingXlsxWriter.sheetName(emoji, 1));
+    }
+
+    @Test
+    void workbookIsWellFormedForAnyNameOrCellText() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (StreamingXlsxWriter writer = new StreamingXlsxWriter(out, "R&D <\"Fees\">")) {
+            writer.header("Student", "Amount", "Due");
+            writer.startRow().cell("Tom & Jerry <\"x\">\u0001").cell(1500).cell(LocalDate.of(2025, 1, 31)).endRow();
+            writer.startRow().cell((String) null).blank().cell((LocalDate) null).endRow();
+        }
+
+        Map<String, byte[]> entries = unzip(out.toByteArray());
+        assertTrue(entries.keySet().containsAll(List.of("[Content_Types].xml", "_rels/.rels",
+                "xl/workbook.xml", "xl/_rels/workbook.xml.rels", "xl/styles.xml", "xl/worksheets/sheet1.xml")));
+
+        Element sheet = (Element) parse(entries.get("xl/workbook.xml")).getElementsByTagName("sheet").item(0);
+        assertEquals("R&D <\"Fees\">", sheet.getAttribute("name"));
+
+        NodeList text = parse(entries.get("xl/worksheets/sheet1.xml")).getElementsByTagName("t");
+        assertEquals("Student", text.item(0).getTextContent());
+        assertEquals("Tom & Jerry <\"x\">", text.item(3).getTextContent());
+        NodeList values = parse(entries.get("xl/worksheets/sheet1.xml")).getElementsByTagName("v");
+        assertEquals("1500", values.item(0).getTextContent());
+        assertEquals("45688", values.item(1).getTextContent());
+    }
+}
@@ -0,0 +1,135 @@
+package com.hexaware.cms.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketLimiterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+    private static final long T0 = 1_000 * SECOND;
+
+    // 5 tokens, refilled one every 12 s
+    private final TokenBucketLimiter limiter = new TokenBucketLimiter(5, 60 * SECOND, 100);
+
+    @Test
+    void allowsTheBurstThenReportsTheWaitForTheNextToken() {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire("10.0.0.1", T0));
+        }
+        assertEquals(12 * SECOND, limiter.tryAcquire("10.0.0.1", T0));
+        assertEquals(2 * SECOND, limiter.tryAcquire("10.0.0.1", T0 + 10 * SECOND));
+        assertEquals(0, limiter.tryAcquire("10.0.0.1", T0 + 12 * SECOND));
+        assertEquals(12 * SECOND, limiter.tryAcquire("10.0.0.1", T0 + 12 * SECOND));
+        assertEquals(6, limiter.allowedCount());
+        assertEquals(3, limiter.rejectedCount());
+    }
+
+    @Test
+    void rejectedAttemptsDoNotConsumeTokens() {
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("k", T0);
+        }
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limiter.tryAcquire("k", T0 + SECOND) > 0);
+        }
+        assertEquals(0, limiter.tryAcquire("k", T0 + 12 * SECOND));
+    }
+
+    @Test
+    void sustainsTheRefillRateAndRefillsCompletelyWhenIdle() {
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("k", T0);
+        }
+        for (int i = 1; i <= 20; i++) {
+            assertEquals(0, limiter.tryAcquire("k", T0 + i * 12 * SECOND), "request " + i);
+        }
+        long later = T0 + 20 * 12 * SECOND + 60 * SECOND;
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire("k", later));
+        }
+        assertTrue(limiter.tryAcquire("k", later) > 0);
+    }
+
+    @Test
+    void keysHaveIndependentBuckets() {
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("a", T0);
+        }
+        assertTrue(limiter.tryAcquire("a", T0) > 0);
+        assertEquals(0, limiter.tryAcquire("b", T0));
+        assertEquals(2, limiter.size());
+    }
+
+    @Test
+    void evictsOnlyBucketsThatHaveRefilled() {
+        limiter.tryAcquire("idle", T0);
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("busy", T0 + 50 * SECOND);
+        }
+        assertEquals(1, limiter.evictIdle(T0 + 60 * SECOND));
+        assertEquals(1, limiter.size());
+        assertTrue(limiter.tryAcquire("busy", T0 + 60 * SECOND) > 0);
+        assertEquals(1, limiter.evictedCount());
+    }
+
+    @Test
+    void keysBeyondTheTableSizePassUntrackedUntilASweepFreesRoom() {
+        TokenBucketLimiter small = new TokenBucketLimiter(1, 10 * SECOND, 2);
+        small.tryAcquire("a", T0);
+        small.tryAcquire("b", T0);
+
+        assertEquals(0, small.tryAcquire("c", T0));
+        assertEquals(0, small.tryAcquire("c", T0));
+        assertEquals(2, small.untrackedCount());
+        assertEquals(2, small.size());
+
+        // Once a and b have refilled, the next new key sweeps them out and is tracked
+        assertEquals(0, small.tryAcquire("c", T0 + 20 * SECOND));
+        assertTrue(small.tryAcquire("c", T0 + 20 * SECOND) > 0);
+        assertEquals(1, small.size());
+    }
+
+    @Test
+    void concurrentCallersShareOneBurst() throws Exception {
+        TokenBucketLimiter shared = new TokenBucketLimiter(100, 100 * SECOND, 10);
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger granted = new AtomicInteger();
+        try {
+            for (int t = 0; t < 16; t++) {
+                pool.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    for (int i = 0; i < 1_000; i++) {
+                        if (shared.tryAcquire("hot", T0) == 0) {
+                            granted.incrementAndGet();
+                        }
+                    }
+                });
+            }
+            start.countDown();
+        } finally {
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+        }
+        assertEquals(100, granted.get());
+        assertEquals(16_000 - 100, shared.rejectedCount());
+    }
+
+    @Test
+    void rejectsInvalidBuckets() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketLimiter(0, SECOND, 10));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketLimiter(10, 5, 10));
+    }
+}
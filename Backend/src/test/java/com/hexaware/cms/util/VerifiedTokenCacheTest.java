@@ -0,0 +1,97 @@
+package com.hexaware.cms.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedTokenCacheTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    private static VerifiedToken token(String subject, long expiresAt) {
+        return new VerifiedToken(subject, new Date(expiresAt), null);
+    }
+
+    @Test
+    void entriesLiveForTheTtlWhenTheTokenOutlivesIt() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(100, 1_000);
+        VerifiedTokenCache.TokenKey key = VerifiedTokenCache.keyOf("a.b.c");
+        cache.put(key, token("alice@example.com", NOW + 60_000), NOW);
+
+        assertEquals("alice@example.com", cache.get(key, NOW + 999).subject());
+        assertNull(cache.get(key, NOW + 1_000));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(0, cache.stats().get("size"));
+    }
+
+    @Test
+    void entriesNeverOutliveTheTokenExpiry() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(100, 60_000);
+        VerifiedTokenCache.TokenKey key = VerifiedTokenCache.keyOf("a.b.c");
+        cache.put(key, token("alice@example.com", NOW + 500), NOW);
+
+        assertNotNull(cache.get(key, NOW + 499));
+        assertNull(cache.get(key, NOW + 500));
+    }
+
+    @Test
+    void alreadyExpiredTokensAreNotCached() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(100, 60_000);
+        VerifiedTokenCache.TokenKey key = VerifiedTokenCache.keyOf("a.b.c");
+        cache.put(key, token("alice@example.com", NOW), NOW);
+
+        assertEquals(0, cache.stats().get("size"));
+        assertNull(cache.get(key, NOW));
+    }
+
+    @Test
+    void sizeStaysBoundedAndExpiredEntriesGoFirst() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, 60_000);
+        VerifiedTokenCache.TokenKey shortLived = VerifiedTokenCache.keyOf("short");
+        cache.put(shortLived, token("short", NOW + 10), NOW);
+        for (int i = 0; i < 9; i++) {
+            cache.put(VerifiedTokenCache.keyOf("t" + i), token("t" + i, NOW + 60_000), NOW);
+        }
+        VerifiedTokenCache.TokenKey fresh = VerifiedTokenCache.keyOf("fresh");
+        cache.put(fresh, token("fresh", NOW + 60_000), NOW + 20);
+
+        // Dropping the expired entry made room, so no live entry was shed
+        assertNull(cache.get(shortLived, NOW + 20));
+        assertNotNull(cache.get(fresh, NOW + 20));
+        for (int i = 0; i < 9; i++) {
+            assertNotNull(cache.get(VerifiedTokenCache.keyOf("t" + i), NOW + 20));
+        }
+        assertEquals(10, cache.stats().get("size"));
+
+        for (int i = 0; i < 1_000; i++) {
+            cache.put(VerifiedTokenCache.keyOf("bulk" + i), token("bulk" + i, NOW + 60_000), NOW);
+        }
+        assertTrue((int) cache.stats().get("size") <= 10);
+    }
+
+    @Test
+    void invalidateRemovesTheEntry() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(100, 60_000);
+        VerifiedTokenCache.TokenKey key = VerifiedTokenCache.keyOf("a.b.c");
+        cache.put(key, token("alice@example.com", NOW + 60_000), NOW);
+        cache.invalidate(key);
+
+        assertNull(cache.get(key, NOW));
+    }
+
+    @Test
+    void keysAreStableAndDistinguishTokens() {
+        assertEquals(VerifiedTokenCache.keyOf("header.payload.sig"), VerifiedTokenCache.keyOf("header.payload.sig"));
+        assertNotEquals(VerifiedTokenCache.keyOf("header.payload.sig"), VerifiedTokenCache.keyOf("header.payload.sih"));
+    }
+
+    @Test
+    void disabledWhenSizeOrTtlIsZero() {
+        assertTrue(new VerifiedTokenCache(10, 1_000).isEnabled());
+        assertFalse(new VerifiedTokenCache(0, 1_000).isEnabled());
+        assertFalse(new VerifiedTokenCache(10, 0).isEnabled());
+    }
+}
@@ -0,0 +1,80 @@
+package com.hexaware.cms.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.util.List;
+
+import static java.time.DayOfWeek.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class WeeklyScheduleTest {
+
+    private static List<DayOfWeek> days(String schedule) {
+        return WeeklySchedule.parse(schedule).stream().map(WeeklySchedule.Slot::day).toList();
+    }
+
+    private static String slots(String schedule) {
+        return WeeklySchedule.parse(schedule).toString();
+    }
+
+    @Test
+    void parsesDayListsAndRanges() {
+        assertEquals(List.of(MONDAY, WEDNESDAY, FRIDAY), days("Mon, Wed, Fri 9:00-10:30 AM"));
+        assertEquals(List.of(TUESDAY, THURSDAY), days("Tue/Thu 2-3:30pm"));
+        assertEquals(List.of(MONDAY, TUESDAY, WEDNESDAY, THURSDAY, FRIDAY), days("Mon-Fri 14:00-15:00"));
+        // Wraps over the weekend; slots come back sorted by day
+        assertEquals(List.of(MONDAY, SATURDAY, SUNDAY), days("Sat-Mon 10-11"));
+    }
+
+    @Test
+    void dayRangeMayHaveSpacesOrWordsAroundTheDash() {
+        List<DayOfWeek> weekdays = List.of(MONDAY, TUESDAY, WEDNESDAY, THURSDAY, FRIDAY);
+        assertEquals(weekdays, days("Mon - Fri 9-10"));
+        assertEquals(weekdays, days("Mon -Fri 9-10"));
+        assertEquals(weekdays, days("Monday – Friday 9-10"));
+        assertEquals(weekdays, days("Mon to Fri 9-10"));
+        assertEquals(List.of(MONDAY, WEDNESDAY, THURSDAY, FRIDAY), days("Mon, Wed - Fri 9-10"));
+        assertEquals("[MON 09:00-10:00, TUE 09:00-10:00, WED 09:00-10:00, THU 09:00-10:00, FRI 09:00-10:00]",
+                slots("Mon - Fri 9-10"));
+    }
+
+    @Test
+    void parsesRegistrarShorthand() {
+        assertEquals(List.of(MONDAY, WEDNESDAY, FRIDAY), days("MWF 9:00-9:50"));
+        assertEquals(List.of(TUESDAY, THURSDAY), days("TTh 11:00 AM - 12:15 PM"));
+        assertEquals(List.of(TUESDAY, THURSDAY), days("TR 11-12"));
+    }
+
+    @Test
+    void endMeridiemAppliesToStartUnlessThatReversesTheRange() {
+        assertEquals("[TUE 14:00-15:30]", slots("Tue 2-3:30pm"));
+        assertEquals("[MON 11:00-12:30]", slots("Mon 11:00-12:30 PM"));
+        assertEquals("[THU 11:00-12:15]", slots("Th 11:00 AM - 12:15 PM"));
+        assertEquals("[FRI 09:00-10:30]", slots("Fri 9:00-10:30 AM"));
+    }
+
+    @Test
+    void splitsSegmentsAndSortsSlots() {
+        assertEquals("[MON 09:00-10:00, TUE 14:00-15:00, WED 09:00-10:00]",
+                slots("Mon, Wed 9-10; Tue 14:00-15:00"));
+    }
+
+    @Test
+    void unparseableTextYieldsNoSlots() {
+        assertTrue(WeeklySchedule.parse(null).isEmpty());
+        assertTrue(WeeklySchedule.parse("  ").isEmpty());
+        assertTrue(WeeklySchedule.parse("TBA").isEmpty());
+        assertTrue(WeeklySchedule.parse("Mon 25:00-26:00").isEmpty());
+        assertTrue(WeeklySchedule.parse("Mon 10-9").isEmpty());
+        assertTrue(WeeklySchedule.parse("Online 9-10").isEmpty());
+    }
+
+    @Test
+    void overlapIsHalfOpen() {
+        WeeklySchedule.Slot first = new WeeklySchedule.Slot(MONDAY, 540, 600);
+        assertFalse(first.overlaps(new WeeklySchedule.Slot(MONDAY, 600, 660)));
+        assertTrue(first.overlaps(new WeeklySchedule.Slot(MONDAY, 599, 660)));
+        assertFalse(first.overlaps(new WeeklySchedule.Slot(TUESDAY, 540, 600)));
+    }
+}
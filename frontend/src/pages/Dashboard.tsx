@@ -4,90 +4,55 @@ import { Users, BookOpen, DollarSign, FileText, Search } from 'lucide-react'
 import { StatsCard } from '@/components/dashboard/StatsCard'
 import { QuickActions } from '@/components/dashboard/QuickActions'
 import { RecentActivities } from '@/components/dashboard/RecentActivities'
-import { studentService, Student as StudentType } from '@/services/studentService'
-import { courseService, Course as CourseType } from '@/services/courseService'
-import { feeService, FeesSummary } from '@/services/feeService'
+import { dashboardService, DashboardSummary } from '@/services/dashboardService'
 import { Alert, AlertDescription } from '@/components/ui/alert'
 import { AlertCircle } from 'lucide-react'
 
 export function Dashboard() {
-  // Fetch students
-  const { data: students = [], error: studentsError, isLoading: studentsPending } =
-    useQuery<StudentType[]>({
-      queryKey: ['students'],
-      queryFn: async () => {
-        try {
-          return await studentService.getAllStudents()
-        } catch (e) {
-          console.error('Error fetching students', e)
-          throw e
-        }
-      },
-      retry: false,
-    })
-
-  // Fetch courses
-  const { data: courses = [], error: coursesError, isLoading: coursesPending } =
-    useQuery<CourseType[]>({
-      queryKey: ['courses'],
-      queryFn: async () => {
-        try {
-          return await courseService.getAll()
-        } catch (e) {
-          console.error('Error fetching courses', e)
-          throw e
-        }
-      },
-      retry: false,
-    })
-
-  // Fetch fee summary
-  const { data: feesSummary, error: feesError, isLoading: feesPending } =
-    useQuery<FeesSummary>({
-      queryKey: ['feesSummary'],
-      queryFn: async () => {
-        try {
-          return await feeService.getSummary()
-        } catch (e) {
-          console.error('Error fetching fees summary', e)
-          throw e
-        }
-      },
-      retry: false,
-    })
+  // One request for every card; sections the backend could not load come back as unavailable
+  const { data: dashboard, error, isLoading } = useQuery<DashboardSummary>({
+    queryKey: ['dashboard'],
+    queryFn: async () => {
+      try {
+        return await dashboardService.getSummary()
+      } catch (e) {
+        console.error('Error fetching dashboard', e)
+        throw e
+      }
+    },
+    retry: false,
+  })
 
-  const hasErrors = !!(studentsError || coursesError || feesError)
-  const isLoading = studentsPending || coursesPending || feesPending
+  const sections = dashboard?.sections
+  const hasErrors = !!error || !!dashboard?.partial
+  const show = (value: number | undefined, format: (n: number) => string = (n) => n.toString()) =>
+    isLoading ? 'Loading...' : value === undefined ? '—' : format(value)
 
   const stats = [
     {
       title: 'Total Students',
-      value: studentsPending ? 'Loading...' : students.length.toString(),
+      value: show(sections?.students?.total),
       icon: Users,
       trend: 'Active enrollments',
       trendUp: true,
     },
     {
       title: 'Available Courses',
-      value: coursesPending ? 'Loading...' : courses.length.toString(),
+      value: show(sections?.courses?.total),
       icon: BookOpen,
       trend: 'All departments',
       trendUp: true,
     },
     {
       title: 'Fees Collected',
-      value: feesPending
-        ? 'Loading...'
-        : `$${feesSummary?.totalFeesCollected.toLocaleString() || 0}`,
+      value: show(sections?.fees?.totalFeesCollected, (n) => `$${n.toLocaleString()}`),
       icon: DollarSign,
       trend: 'Payment records',
       trendUp: true,
     },
     {
       title: 'Outstanding Balance',
-      value: feesPending
-        ? 'Loading...'
-        : `$${feesSummary?.totalOutstanding.toLocaleString() || 0}`,
+      value: show(sections?.fees?.totalOutstanding, (n) => `$${n.toLocaleString()}`),
       icon: FileText,
       trend: 'Pending payments',
       trendUp: false,
@@ -0,0 +1,25 @@
+import axios from 'axios';
+
+export interface DashboardSummary {
+  sections: {
+    students?: { total: number };
+    courses?: { total: number };
+    fees?: { totalFeesCollected?: number; totalOutstanding?: number };
+  };
+  // Sections the backend could not load in time ("timeout" | "error" | "busy")
+  unavailable?: Record<string, string>;
+  partial: boolean;
+  elapsedMillis: number;
+}
+
+const API_URL = 'http://localhost:8080/api/dashboard';
+
+// Only the counts the dashboard cards show
+const DASHBOARD_FIELDS = 'students,courses,fees.totalFeesCollected,fees.totalOutstanding';
+
+export const dashboardService = {
+  getSummary: async (): Promise<DashboardSummary> => {
+    const response = await axios.get(`${API_URL}?fields=${DASHBOARD_FIELDS}`);
+    return response.data;
+  },
+};